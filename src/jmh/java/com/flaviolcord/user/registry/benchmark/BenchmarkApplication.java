@@ -0,0 +1,86 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import com.flaviolcord.user.registry.UserRegistryApplication;
+import com.flaviolcord.user.registry.domain.model.User;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Starts the application for benchmarks that need the real persistence stack.
+ * <p>
+ * The context runs against the default in-memory H2 database, without the web layer unless asked for,
+ * with production log levels so the logging aspect does not format debug output.
+ * </p>
+ */
+final class BenchmarkApplication {
+
+    private static final String[] QUIET = {
+            "--spring.main.banner-mode=off",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.org.springframework.web=WARN",
+            "--logging.level.com.flaviolcord.user.registry=INFO"
+    };
+
+    private BenchmarkApplication() { }
+
+    /**
+     * Starts a new application context.
+     *
+     * @param args extra command-line arguments, e.g. {@code --spring.profiles.active=mmap}
+     * @return the running context; the caller is responsible for closing it
+     */
+    static ConfigurableApplicationContext start(String... args) {
+        String[] allArgs = Arrays.copyOf(QUIET, QUIET.length + args.length);
+        System.arraycopy(args, 0, allArgs, QUIET.length, args.length);
+        return new SpringApplicationBuilder(UserRegistryApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(allArgs);
+    }
+
+    /**
+     * Starts a new application context with the embedded web server on a random port.
+     *
+     * @param builder customizes the application before it starts
+     * @param args    extra command-line arguments, e.g. {@code --spring.threads.virtual.enabled=true}
+     * @return the running context; the caller is responsible for closing it
+     */
+    static ConfigurableApplicationContext startWebServer(SpringApplicationBuilder builder, String... args) {
+        return startWebServer(builder, WebApplicationType.SERVLET, args);
+    }
+
+    /**
+     * Starts a new application context with the {@code reactive} profile and its Netty server on a random port.
+     *
+     * @param builder customizes the application before it starts
+     * @param args    extra command-line arguments, e.g. {@code --spring.r2dbc.pool.max-size=400}
+     * @return the running context; the caller is responsible for closing it
+     */
+    static ConfigurableApplicationContext startReactiveWebServer(SpringApplicationBuilder builder, String... args) {
+        return startWebServer(builder.profiles("reactive"), WebApplicationType.REACTIVE, args);
+    }
+
+    private static ConfigurableApplicationContext startWebServer(SpringApplicationBuilder builder,
+                                                                 WebApplicationType type, String... args) {
+        String[] allArgs = Arrays.copyOf(QUIET, QUIET.length + args.length + 1);
+        allArgs[QUIET.length] = "--server.port=0";
+        System.arraycopy(args, 0, allArgs, QUIET.length + 1, args.length);
+        return builder.sources(UserRegistryApplication.class)
+                .web(type)
+                .run(allArgs);
+    }
+
+    /**
+     * Creates a user that passes validation.
+     *
+     * @param username the username of the user
+     * @return a new valid User without ID
+     */
+    static User validUser(String username) {
+        return new User(null, username, LocalDate.of(1990, 1, 1), "France", "1234567890", "Male");
+    }
+}
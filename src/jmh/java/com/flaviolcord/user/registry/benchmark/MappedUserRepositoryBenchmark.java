@@ -0,0 +1,106 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups in the memory-mapped store of the {@code mmap} profile with the H2/JPA repository.
+ * <p>
+ * Both stores are filled with {@code users} users through {@code UserRepository.saveAll}. The heap used after a full
+ * GC, before and after the load, is printed during setup: the difference is the heap the store needs for its data.
+ * The in-memory H2 database keeps its tables on the heap, so the JPA store needs a heap larger than the data set,
+ * e.g. {@code -p users=10000000 -jvmArgs -Xmx8g}; the mapped store keeps records and indexes off-heap.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappedUserRepositoryBenchmark {
+
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+
+    @Param({"jpa", "mmap"})
+    private String store;
+
+    @Param({"100000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private Path directory;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("mapped-benchmark");
+        context = "mmap".equals(store)
+                ? BenchmarkApplication.start("--spring.profiles.active=mmap",
+                        "--user.mapped.directory=" + directory,
+                        "--user.mapped.expected-users=" + users)
+                : BenchmarkApplication.start();
+        userRepository = context.getBean(UserRepository.class);
+
+        ids = new long[users];
+        long heapBefore = usedHeapAfterGc();
+        for (int from = 0; from < users; from += LOAD_CHUNK_SIZE) {
+            int to = Math.min(from + LOAD_CHUNK_SIZE, users);
+            List<User> chunk = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                chunk.add(BenchmarkApplication.validUser("user" + i));
+            }
+            List<User> saved = userRepository.saveAll(chunk);
+            for (int i = from; i < to; i++) {
+                ids[i] = saved.get(i - from).id();
+            }
+        }
+        long heapAfter = usedHeapAfterGc();
+        System.out.printf("%n%s store with %,d users: %,d KiB of heap used by the data%n",
+                store, users, (heapAfter - heapBefore) / 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return userRepository.findById(ids[ThreadLocalRandom.current().nextInt(users)]);
+    }
+
+    @Benchmark
+    public Optional<User> findByUsername() {
+        return userRepository.findByUsername("user" + ThreadLocalRandom.current().nextInt(users));
+    }
+
+    @Benchmark
+    public Optional<User> findByUsernameMiss() {
+        return userRepository.findByUsername("missing" + ThreadLocalRandom.current().nextInt(users));
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
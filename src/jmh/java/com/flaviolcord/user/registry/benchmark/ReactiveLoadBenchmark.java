@@ -0,0 +1,131 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load comparison of the servlet stack and the {@code reactive} profile.
+ * <p>
+ * {@value #CLIENTS} concurrent clients register users through {@code POST /api/v1/users}, or look up one user
+ * through {@code GET /api/v1/users/{id}}, while every SQL statement is delayed by {@code latencyMillis} to stand
+ * in for a remote database. The stacks compared are:
+ * <ul>
+ *     <li>{@code servlet}: Tomcat with {@code server.tomcat.threads.max} platform threads, JPA over JDBC</li>
+ *     <li>{@code servlet-virtual}: the same on virtual threads</li>
+ *     <li>{@code reactive}: WebFlux on Reactor Netty's event loops, R2DBC, with the delay on a timer</li>
+ * </ul>
+ * Both connection pools hold {@value #CONNECTIONS} connections. A lookup is served from the user cache after
+ * the first request, so it measures the web stack alone.
+ * </p>
+ * <p>
+ * Throughput mode reports requests per second; sample mode reports the latency distribution, including p99.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xss256k")
+@Threads(ReactiveLoadBenchmark.CLIENTS)
+public class ReactiveLoadBenchmark {
+
+    static final int CLIENTS = 1024;
+
+    static final int CONNECTIONS = 400;
+
+    @Param({"servlet", "servlet-virtual", "reactive"})
+    public String stack;
+
+    @Param({"50"})
+    public long latencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private URI registerUri;
+    private URI lookupUri;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Duration latency = Duration.ofMillis(latencyMillis);
+        if (stack.equals("reactive")) {
+            context = BenchmarkApplication.startReactiveWebServer(new SpringApplicationBuilder()
+                            .initializers(context -> context.getBeanFactory()
+                                    .addBeanPostProcessor(SlowConnectionFactory.wrapping(latency))),
+                    "--spring.r2dbc.pool.max-size=" + CONNECTIONS,
+                    "--spring.r2dbc.pool.max-acquire-time=60s");
+        } else {
+            context = BenchmarkApplication.startWebServer(new SpringApplicationBuilder()
+                            .initializers(context -> context.getBeanFactory()
+                                    .addBeanPostProcessor(SlowDataSource.wrapping(latency))),
+                    "--spring.threads.virtual.enabled=" + stack.equals("servlet-virtual"),
+                    "--server.tomcat.threads.max=200",
+                    "--server.tomcat.accept-count=" + CLIENTS,
+                    "--spring.datasource.hikari.maximum-pool-size=" + CONNECTIONS,
+                    "--spring.datasource.hikari.connection-timeout=60000",
+                    "--user.rate-limit.enabled=false",
+                    "--user.load-shedding.enabled=false");
+        }
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        registerUri = URI.create("http://localhost:" + port + "/api/v1/users");
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+
+        String body = httpClient.send(registerRequest(), HttpResponse.BodyHandlers.ofString()).body();
+        String id = body.replaceAll("^\\{\"id\":(\\d+),.*$", "$1");
+        lookupUri = URI.create(registerUri + "/" + id);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        clientExecutor.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int register() throws Exception {
+        return expect(201, httpClient.send(registerRequest(), HttpResponse.BodyHandlers.discarding()));
+    }
+
+    @Benchmark
+    public int lookup() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(lookupUri).GET().build();
+        return expect(200, httpClient.send(request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    private HttpRequest registerRequest() {
+        String body = """
+                {"username":"load-%d","birthdate":"1990-01-01","country_of_residence":"France"}
+                """.formatted(sequence.incrementAndGet());
+        return HttpRequest.newBuilder(registerUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static int expect(int status, HttpResponse<?> response) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
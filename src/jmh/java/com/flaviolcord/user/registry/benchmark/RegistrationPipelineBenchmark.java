@@ -0,0 +1,51 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import com.flaviolcord.user.registry.application.usecase.RegisterUserUseCase;
+import com.flaviolcord.user.registry.domain.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks the whole {@link RegisterUserUseCase#execute(User)} pipeline against H2,
+ * including the transaction, the logging aspect, validation, the duplicate check and the INSERT.
+ * Every invocation registers a new username so the duplicate check always misses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationPipelineBenchmark {
+
+    private static final int THREADS = 4;
+
+    private ConfigurableApplicationContext context;
+    private RegisterUserUseCase registerUserUseCase;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        registerUserUseCase = context.getBean(RegisterUserUseCase.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User register() {
+        return registerUserUseCase.execute(BenchmarkApplication.validUser("user-" + sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public User registerMultiThreaded() {
+        return registerUserUseCase.execute(BenchmarkApplication.validUser("user-mt-" + sequence.incrementAndGet()));
+    }
+}
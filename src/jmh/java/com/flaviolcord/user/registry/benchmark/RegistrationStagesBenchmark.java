@@ -0,0 +1,81 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import com.flaviolcord.user.registry.application.validator.UserValidator;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapperImpl;
+import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the in-memory stages of {@code RegisterUserUseCase.execute}: validation and
+ * the {@link UserMapper} conversions done on the way in and out of the persistence layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistrationStagesBenchmark {
+
+    private UserValidator userValidator;
+    private UserMapper userMapper;
+    private User user;
+    private UserDTO userDTO;
+    private UserEntity userEntity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserProperties userProperties = new UserProperties();
+        userProperties.setAllowedCountry("France");
+        userProperties.setMinAge(18);
+        userValidator = new UserValidator(userProperties);
+        userMapper = new UserMapperImpl();
+
+        user = BenchmarkApplication.validUser("benchmark");
+        userDTO = userMapper.toDTO(user);
+        userEntity = userMapper.toEntity(user);
+    }
+
+    @Benchmark
+    public void validate() {
+        userValidator.validate(user);
+    }
+
+    @Benchmark
+    public User mapDtoToDomain() {
+        return userMapper.toDomainModel(userDTO);
+    }
+
+    @Benchmark
+    public UserEntity mapDomainToEntity() {
+        return userMapper.toEntity(user);
+    }
+
+    @Benchmark
+    public User mapEntityToDomain() {
+        return userMapper.toDomainModel(userEntity);
+    }
+
+    @Benchmark
+    public UserDTO mapDomainToDto() {
+        return userMapper.toDTO(user);
+    }
+
+    /**
+     * All in-memory stages of one registration, in the order the request path runs them.
+     */
+    @Benchmark
+    public void allStages(Blackhole blackhole) {
+        User domainUser = userMapper.toDomainModel(userDTO);
+        userValidator.validate(domainUser);
+        blackhole.consume(userMapper.toEntity(domainUser));
+        blackhole.consume(userMapper.toDTO(userMapper.toDomainModel(userEntity)));
+    }
+}
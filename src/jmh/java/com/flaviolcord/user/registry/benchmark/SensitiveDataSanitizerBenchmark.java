@@ -0,0 +1,64 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapperImpl;
+import com.flaviolcord.user.registry.util.LegacySensitiveDataSanitizer;
+import com.flaviolcord.user.registry.util.SensitiveDataSanitizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link SensitiveDataSanitizer} with the reflection-per-call implementation it replaced,
+ * on the arguments and results {@code LoggingAspect} logs for a registration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SensitiveDataSanitizerBenchmark {
+
+    private User user;
+    private UserDTO userDTO;
+    private Object[] args;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        user = BenchmarkApplication.validUser("benchmark");
+        userDTO = new UserMapperImpl().toDTO(user);
+        args = new Object[]{user, "1234567890", 42L};
+    }
+
+    @Benchmark
+    public String sanitizeUser() {
+        return SensitiveDataSanitizer.sanitizeArg(user);
+    }
+
+    @Benchmark
+    public String sanitizeUserLegacy() {
+        return LegacySensitiveDataSanitizer.sanitizeArg(user);
+    }
+
+    @Benchmark
+    public String sanitizeUserDto() {
+        return SensitiveDataSanitizer.sanitizeArg(userDTO);
+    }
+
+    @Benchmark
+    public String sanitizeUserDtoLegacy() {
+        return LegacySensitiveDataSanitizer.sanitizeArg(userDTO);
+    }
+
+    @Benchmark
+    public String sanitizeArgs() {
+        return SensitiveDataSanitizer.sanitizeArgs(args);
+    }
+
+    @Benchmark
+    public String sanitizeArgsLegacy() {
+        return LegacySensitiveDataSanitizer.sanitizeArgs(args);
+    }
+}
@@ -0,0 +1,90 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+
+/**
+ * Wraps the application's R2DBC connection factory so that every statement execution is delayed,
+ * the non-blocking counterpart of {@link SlowDataSource}.
+ * <p>
+ * The delay is a timer rather than a sleep: the statement is only executed once it fires, and no thread waits
+ * in the meantime, as with a remote database answering over a non-blocking driver.
+ * </p>
+ * <p>
+ * The wrappers are JDK proxies rather than classes of this package, so the application's logging
+ * aspect does not try to advise them.
+ * </p>
+ */
+final class SlowConnectionFactory {
+
+    private SlowConnectionFactory() { }
+
+    /**
+     * Returns a post-processor that wraps the application's connection factory.
+     *
+     * @param latency the delay added to every statement execution
+     * @return the post-processor to register with the bean factory
+     */
+    static BeanPostProcessor wrapping(Duration latency) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof ConnectionFactory && !Proxy.isProxyClass(bean.getClass())
+                        ? proxy(bean, latency)
+                        : bean;
+            }
+        };
+    }
+
+    /**
+     * Wraps a connection factory, connection or statement, keeping all of its interfaces, so that the connections
+     * and statements it creates are wrapped too, and statement executions are delayed.
+     */
+    private static Object proxy(Object target, Duration latency) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (target instanceof Statement && method.getName().equals("execute")) {
+                return Mono.delay(latency).thenMany(Flux.defer(() -> Flux.from(publisher(method, target, args))));
+            }
+            Object result = invoke(method, target, args);
+            if (target instanceof ConnectionFactory && method.getName().equals("create")) {
+                return Mono.from((Publisher<?>) result).map(connection -> proxy(connection, latency));
+            }
+            if (target instanceof Connection && result instanceof Statement) {
+                return proxy(result, latency);
+            }
+            return result == target ? proxy : result;
+        };
+        return Proxy.newProxyInstance(target.getClass().getClassLoader(),
+                ClassUtils.getAllInterfacesForClass(target.getClass()), handler);
+    }
+
+    private static Publisher<?> publisher(Method method, Object target, Object[] args) {
+        try {
+            return (Publisher<?>) invoke(method, target, args);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
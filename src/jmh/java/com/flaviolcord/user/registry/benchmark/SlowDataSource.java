@@ -0,0 +1,76 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Wraps the application's data source so that every statement execution is delayed.
+ * <p>
+ * The in-memory H2 database answers in microseconds, so it never shows how request handling behaves
+ * when threads spend most of their time waiting on a remote database. The wrapper sleeps before each
+ * {@code execute*} call to stand in for that network round trip.
+ * </p>
+ * <p>
+ * The wrappers are JDK proxies rather than classes of this package, so the application's logging
+ * aspect does not try to advise them.
+ * </p>
+ */
+final class SlowDataSource {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeBatch", "executeLargeUpdate");
+
+    private SlowDataSource() { }
+
+    /**
+     * Returns a post-processor that wraps the application's data source.
+     *
+     * @param latency the delay added to every statement execution
+     * @return the post-processor to register with the bean factory
+     */
+    static BeanPostProcessor wrapping(Duration latency) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource && !Proxy.isProxyClass(bean.getClass())
+                        ? proxy(DataSource.class, bean, latency)
+                        : bean;
+            }
+        };
+    }
+
+    /**
+     * Wraps a data source, connection or statement so that the connections and statements it creates
+     * are wrapped too, and statement executions are delayed.
+     */
+    private static <T> T proxy(Class<T> type, Object target, Duration latency) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (returnType == Connection.class || Statement.class.isAssignableFrom(returnType)) {
+                return proxy(returnType, invoke(method, target, args), latency);
+            }
+            if (target instanceof Statement && EXECUTE_METHODS.contains(method.getName())) {
+                Thread.sleep(latency);
+            }
+            return invoke(method, target, args);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
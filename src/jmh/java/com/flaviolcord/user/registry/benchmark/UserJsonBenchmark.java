@@ -0,0 +1,98 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.json.UserJsonCache;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@code UserDTO} JSON codec with the reflective bean (de)serializers of the default
+ * {@code ObjectMapper}, both configured as Spring Boot configures its object mapper:
+ * <ul>
+ *     <li>{@code serialize*} and {@code deserialize*}: one {@code UserDTO} to and from bytes</li>
+ *     <li>{@code lookupBody*}: the body of {@code GET /api/v1/users/{id}} from a found {@code User}, mapped and
+ *     serialized reflectively as before, or taken from the {@link UserJsonCache} for a repeated lookup</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper reflectiveObjectMapper;
+    private UserMapper userMapper;
+    private UserJsonCache userJsonCache;
+    private User user;
+    private UserDTO userDTO;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        reflectiveObjectMapper = Jackson2ObjectMapperBuilder.json()
+                .annotationIntrospector(new JacksonAnnotationIntrospector() {
+                    @Override
+                    public Object findSerializer(Annotated annotated) {
+                        return annotated.getRawType() == UserDTO.class ? null : super.findSerializer(annotated);
+                    }
+
+                    @Override
+                    public Object findDeserializer(Annotated annotated) {
+                        return annotated.getRawType() == UserDTO.class ? null : super.findDeserializer(annotated);
+                    }
+                })
+                .build();
+        userMapper = new UserMapperImpl();
+        userJsonCache = new UserJsonCache(userMapper, objectMapper, new UserProperties());
+
+        User valid = BenchmarkApplication.validUser("benchmark");
+        user = new User(42L, valid.username(), valid.birthdate(), valid.countryOfResidence(),
+                valid.phoneNumber(), valid.gender(), 0L);
+        userDTO = userMapper.toDTO(user);
+        json = objectMapper.writeValueAsBytes(userDTO);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(userDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeReflective() throws IOException {
+        return reflectiveObjectMapper.writeValueAsBytes(userDTO);
+    }
+
+    @Benchmark
+    public UserDTO deserialize() throws IOException {
+        return objectMapper.readValue(json, UserDTO.class);
+    }
+
+    @Benchmark
+    public UserDTO deserializeReflective() throws IOException {
+        return reflectiveObjectMapper.readValue(json, UserDTO.class);
+    }
+
+    @Benchmark
+    public byte[] lookupBodyCached() {
+        return userJsonCache.serialize(user);
+    }
+
+    @Benchmark
+    public byte[] lookupBodyReflective() throws IOException {
+        return reflectiveObjectMapper.writeValueAsBytes(userMapper.toDTO(user));
+    }
+}
@@ -0,0 +1,71 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
+import com.flaviolcord.user.registry.infrastructure.persistence.repository.JpaUserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the work done by {@code GET /api/v1/users/{id}} on a cache miss, from the repository to the DTO,
+ * each inside a read-only transaction as in the application:
+ * <ul>
+ *     <li>{@code entity}: the former path, loading a managed {@code UserEntity}, mapping it to a {@code User}
+ *     and then to a {@code UserDTO}</li>
+ *     <li>{@code projection}: {@code UserRepository.findById}, which reads the row straight into a {@code User},
+ *     then maps it to a {@code UserDTO}</li>
+ * </ul>
+ * The second-level cache is disabled so that both paths query the database. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserReadPathBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private JpaUserRepository jpaUserRepository;
+    private UserMapper userMapper;
+    private TransactionTemplate readOnlyTransaction;
+    private long id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("--user.second-level-cache.enabled=false");
+        userRepository = context.getBean(UserRepository.class);
+        jpaUserRepository = context.getBean(JpaUserRepository.class);
+        userMapper = context.getBean(UserMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        id = userRepository.save(BenchmarkApplication.validUser("reader")).id();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDTO entity() {
+        return readOnlyTransaction.execute(status -> jpaUserRepository.findById(id)
+                .map(userMapper::toDomainModel)
+                .map(userMapper::toDTO)
+                .orElseThrow());
+    }
+
+    @Benchmark
+    public UserDTO projection() {
+        return readOnlyTransaction.execute(status -> userRepository.findById(id)
+                .map(userMapper::toDTO)
+                .orElseThrow());
+    }
+}
@@ -0,0 +1,70 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks the database stages of {@code RegisterUserUseCase.execute} against H2:
+ * the {@code findByUsername} duplicate check (hit and miss) and {@code UserRepositoryImpl.save}.
+ * Each stage has a single-threaded and a multi-threaded variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserRepositoryBenchmark {
+
+    private static final int THREADS = 4;
+    private static final String EXISTING_USERNAME = "existing";
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userRepository = context.getBean(UserRepository.class);
+        userRepository.save(BenchmarkApplication.validUser(EXISTING_USERNAME));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> findByUsernameHit() {
+        return userRepository.findByUsername(EXISTING_USERNAME);
+    }
+
+    @Benchmark
+    public Optional<User> findByUsernameMiss() {
+        return userRepository.findByUsername("missing");
+    }
+
+    @Benchmark
+    public User save() {
+        return userRepository.save(BenchmarkApplication.validUser("save-" + sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public Optional<User> findByUsernameMissMultiThreaded() {
+        return userRepository.findByUsername("missing");
+    }
+
+    @Benchmark
+    @Threads(THREADS)
+    public User saveMultiThreaded() {
+        return userRepository.save(BenchmarkApplication.validUser("save-mt-" + sequence.incrementAndGet()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import com.flaviolcord.user.registry.application.validator.LegacyUserValidator;
+import com.flaviolcord.user.registry.application.validator.UserValidator;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of validating one user: {@link UserValidator}, with its rules compiled into a cutoff table,
+ * against {@link LegacyUserValidator}, which computes the age with {@code Period.between} on every call.
+ * <p>
+ * The validated users cycle through {@code countries} allowed countries, with varied birthdates, so that neither
+ * the lookup nor the date arithmetic is folded into a constant. The legacy validator supports a single country,
+ * so it is always given users of that country.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserValidatorBenchmark {
+
+    private static final int USERS = 1024;
+
+    @Param({"1", "50"})
+    private int countries;
+
+    private UserValidator userValidator;
+    private LegacyUserValidator legacyUserValidator;
+    private User[] users;
+    private User[] legacyUsers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        UserProperties userProperties = new UserProperties();
+        userProperties.setAllowedCountry("Country 0");
+        userProperties.setMinAge(18);
+        for (int i = 1; i < countries; i++) {
+            userProperties.getValidation().getMinAges().put("Country " + i, 16 + i % 6);
+        }
+        userValidator = new UserValidator(userProperties);
+        legacyUserValidator = new LegacyUserValidator("Country 0", 18);
+
+        List<User> validUsers = new ArrayList<>();
+        List<User> validLegacyUsers = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            LocalDate birthdate = LocalDate.now().minusYears(30).minusDays(i);
+            validUsers.add(new User(null, "user" + i, birthdate, "country " + i % countries, "0612345678", "Male"));
+            validLegacyUsers.add(new User(null, "user" + i, birthdate, "country 0", "0612345678", "Male"));
+        }
+        users = validUsers.toArray(User[]::new);
+        legacyUsers = validLegacyUsers.toArray(User[]::new);
+    }
+
+    @Benchmark
+    public void validate() {
+        userValidator.validate(users[next++ & (USERS - 1)]);
+    }
+
+    @Benchmark
+    public void validateLegacy() {
+        legacyUserValidator.validate(legacyUsers[next++ & (USERS - 1)]);
+    }
+}
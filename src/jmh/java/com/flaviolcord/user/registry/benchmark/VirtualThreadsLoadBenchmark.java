@@ -0,0 +1,98 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load comparison of request handling on platform threads and on virtual threads.
+ * <p>
+ * {@value #CLIENTS} concurrent clients register users through {@code POST /api/v1/users} against the
+ * embedded Tomcat, while every SQL statement is delayed by {@code latencyMillis} to stand in for a remote
+ * database. The connection pool is larger than Tomcat's platform-thread pool, so in platform mode
+ * concurrency is capped by the {@code server.tomcat.threads.max} worker threads, and in virtual mode by
+ * the database connections.
+ * </p>
+ * <p>
+ * Throughput mode reports requests per second; sample mode reports the latency distribution, including p99.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xss256k")
+@Threads(VirtualThreadsLoadBenchmark.CLIENTS)
+public class VirtualThreadsLoadBenchmark {
+
+    static final int CLIENTS = 1024;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"50"})
+    public long latencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private URI registerUri;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder()
+                .initializers(context -> context.getBeanFactory()
+                        .addBeanPostProcessor(SlowDataSource.wrapping(Duration.ofMillis(latencyMillis))));
+        context = BenchmarkApplication.startWebServer(builder,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=200",
+                "--server.tomcat.accept-count=" + CLIENTS,
+                "--spring.datasource.hikari.maximum-pool-size=400",
+                "--spring.datasource.hikari.connection-timeout=60000");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        registerUri = URI.create("http://localhost:" + port + "/api/v1/users");
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        clientExecutor.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int register() throws Exception {
+        String body = """
+                {"username":"load-%d","birthdate":"1990-01-01","country_of_residence":"France"}
+                """.formatted(sequence.incrementAndGet());
+        HttpRequest request = HttpRequest.newBuilder(registerUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
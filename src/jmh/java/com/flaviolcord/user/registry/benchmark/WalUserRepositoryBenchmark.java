@@ -0,0 +1,68 @@
+package com.flaviolcord.user.registry.benchmark;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares registration throughput of the write-ahead log store of the {@code wal} profile with the H2/JPA
+ * repository.
+ * <p>
+ * Both stores write to disk: the JPA store runs against a file-based H2 database, so each save commits a transaction
+ * to its file, while the log store makes each save durable with an fsync shared by every save waiting at the same
+ * time. With one thread both pay a full commit per save; with 16 threads the log groups concurrent saves into one
+ * write and one fsync.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalUserRepositoryBenchmark {
+
+    @Param({"jpa", "wal"})
+    private String store;
+
+    private final AtomicLong usernames = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("wal-benchmark");
+        context = "wal".equals(store)
+                ? BenchmarkApplication.start("--spring.profiles.active=wal",
+                        "--user.wal.directory=" + directory)
+                : BenchmarkApplication.start("--spring.datasource.url=jdbc:h2:file:" + directory.resolve("db"));
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public User save() {
+        return userRepository.save(BenchmarkApplication.validUser("user" + usernames.incrementAndGet()));
+    }
+
+    @Benchmark
+    @Threads(16)
+    public User saveConcurrently() {
+        return userRepository.save(BenchmarkApplication.validUser("user" + usernames.incrementAndGet()));
+    }
+}
@@ -0,0 +1,343 @@
+package com.flaviolcord.user.registry.application.async;
+
+import com.flaviolcord.user.registry.application.usecase.RegisterUserUseCase;
+import com.flaviolcord.user.registry.application.validator.UserValidator;
+import com.flaviolcord.user.registry.domain.model.RegistrationStatus;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.exception.RegistrationQueueFullException;
+import com.flaviolcord.user.registry.infrastructure.exception.UserRegistrationException;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import com.flaviolcord.user.registry.infrastructure.persistence.routing.ReadYourWrites;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue of registrations processed in the background by a fixed pool of writer threads.
+ * <p>
+ * {@link #submit(User)} validates the user in memory, queues it and returns at once, so the request thread
+ * holds neither a transaction nor a connection while the user is written. Each writer takes the next
+ * registration and runs {@link RegisterUserUseCase#execute(User)} in its own transaction, so at most
+ * {@code user.async.workers} connections are used however many registrations are waiting. A full queue
+ * rejects new registrations instead of growing.
+ * </p>
+ * <p>
+ * The status of every accepted registration is kept in a bounded map for {@code user.async.status-time-to-live}
+ * after it was processed, keyed by a random ID so it cannot be guessed by other clients. Pending statuses are
+ * neither evicted nor expired: their number is bounded by the queue, and each one is settled by a writer or on
+ * shutdown. A created status records the replication position of the user's write, which the writer tracks with
+ * {@link ReadYourWrites#track}, so the client polling it can read its own user.
+ * </p>
+ * <p>
+ * On shutdown, new registrations are refused and the writers finish the queued ones, for at most
+ * {@code user.async.drain-timeout}. This runs after the web server has stopped and before the data source
+ * is closed. Registrations still queued after the timeout are marked rejected. A registration is only queued
+ * while the lifecycle lock is held and the queue is accepting, so none can be queued after the leftovers
+ * are collected.
+ * </p>
+ * <p>
+ * Metrics exposed through Micrometer:
+ * <ul>
+ *     <li>{@code user.registration.queue.size} - registrations waiting for a writer</li>
+ *     <li>{@code user.registration.queue.capacity} - the most registrations that may wait</li>
+ *     <li>{@code user.registration.async} - processed registrations by {@code outcome}
+ *     ({@code created}, {@code rejected}) and registrations refused with {@code outcome=queue_full}</li>
+ * </ul>
+ */
+@Component
+@Profile("!reactive")
+public class RegistrationQueue implements SmartLifecycle, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistrationQueue.class);
+
+    /**
+     * Stops after the web server, so no request can submit once the queue is draining.
+     */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private static final long POLL_MILLIS = 100;
+
+    private final RegisterUserUseCase registerUserUseCase;
+    private final UserValidator userValidator;
+    private final int workers;
+    private final Duration drainTimeout;
+    private final BlockingQueue<Registration> queue;
+    private final Cache<UUID, RegistrationStatus> statuses;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+
+    private volatile boolean accepting;
+    private volatile boolean stopping;
+    private ExecutorService writers;
+
+    /**
+     * Creates the queue from the {@code user.async} properties.
+     *
+     * @param registerUserUseCase the use case run by the writers
+     * @param userValidator       the validator applied before a registration is queued
+     * @param userProperties      the configuration holding the queue settings
+     */
+    public RegistrationQueue(RegisterUserUseCase registerUserUseCase, UserValidator userValidator,
+                             UserProperties userProperties) {
+        UserProperties.Async settings = userProperties.getAsync();
+        this.registerUserUseCase = registerUserUseCase;
+        this.userValidator = userValidator;
+        this.workers = settings.getWorkers();
+        this.drainTimeout = settings.getDrainTimeout();
+        this.queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        this.statuses = Caffeine.newBuilder()
+                .maximumWeight(settings.getMaximumStatuses())
+                .weigher((UUID id, RegistrationStatus status) -> isPending(status) ? 0 : 1)
+                .expireAfter(new StatusExpiry(settings.getStatusTimeToLive()))
+                .build();
+    }
+
+    /**
+     * Validates a user and queues its registration.
+     *
+     * @param user the user to register
+     * @return the ID under which the status of the registration can be looked up
+     * @throws ValidationException            if the user data is invalid
+     * @throws RegistrationQueueFullException if the queue is full or shutting down
+     */
+    public UUID submit(User user) {
+        userValidator.validate(user);
+
+        UUID id = UUID.randomUUID();
+        lifecycleLock.lock();
+        try {
+            if (!accepting) {
+                refused.increment();
+                throw new RegistrationQueueFullException("Registrations are not accepted while shutting down.");
+            }
+            statuses.put(id, RegistrationStatus.PENDING);
+            if (!queue.offer(new Registration(id, user))) {
+                statuses.invalidate(id);
+                refused.increment();
+                throw new RegistrationQueueFullException("Too many registrations are waiting, retry later.");
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the status of a queued registration.
+     *
+     * @param id the ID returned by {@link #submit(User)}
+     * @return an Optional containing the status, or empty if the ID is unknown or its status has expired
+     */
+    public Optional<RegistrationStatus> status(UUID id) {
+        return Optional.ofNullable(statuses.getIfPresent(id));
+    }
+
+    /**
+     * Returns the number of registrations waiting for a writer.
+     *
+     * @return the size of the queue
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Starts the writers and begins accepting registrations.
+     */
+    @Override
+    public synchronized void start() {
+        if (writers != null) {
+            return;
+        }
+        stopping = false;
+        writers = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("registration-writer-", 0).factory());
+        for (int i = 0; i < workers; i++) {
+            writers.execute(this::drain);
+        }
+        lifecycleLock.lock();
+        try {
+            accepting = true;
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting registrations and waits for the writers to process the queued ones.
+     */
+    @Override
+    public synchronized void stop() {
+        if (writers == null) {
+            return;
+        }
+        lifecycleLock.lock();
+        try {
+            // No submit can queue a registration after this, so the leftovers drained below are all of them
+            accepting = false;
+        } finally {
+            lifecycleLock.unlock();
+        }
+        stopping = true;
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                writers.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            writers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        writers = null;
+
+        List<Registration> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(registration ->
+                complete(registration, RegistrationStatus.rejected("The registration was not processed before shutdown.")));
+        if (!abandoned.isEmpty()) {
+            logger.warn("{} queued registrations were not processed before shutdown", abandoned.size());
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return writers != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Processes queued registrations until the writers are shut down and the queue is empty.
+     */
+    private void drain() {
+        while (true) {
+            Registration registration;
+            try {
+                registration = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            if (registration == null) {
+                if (stopping) {
+                    return;
+                }
+                continue;
+            }
+            process(registration);
+        }
+    }
+
+    private void process(Registration registration) {
+        try {
+            AtomicLong position = new AtomicLong();
+            User user = ReadYourWrites.track(() -> registerUserUseCase.execute(registration.user()), position::set);
+            complete(registration, RegistrationStatus.created(user, position.get()));
+        } catch (ValidationException | UserRegistrationException ex) {
+            complete(registration, RegistrationStatus.rejected(ex.getMessage()));
+        } catch (RuntimeException ex) {
+            if (ex instanceof DataIntegrityViolationException integrity
+                    && UserRegistrationException.isDuplicateUsername(integrity)) {
+                // Taken after the pre-check, by a concurrent registration or another node
+                complete(registration, RegistrationStatus.rejected("Username is already taken"));
+                return;
+            }
+            logger.error("Asynchronous registration {} failed", registration.id(), ex);
+            complete(registration, RegistrationStatus.rejected("The registration failed, please retry."));
+        }
+    }
+
+    private void complete(Registration registration, RegistrationStatus status) {
+        (status.state() == RegistrationStatus.State.CREATED ? created : rejected).increment();
+        statuses.put(registration.id(), status);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Registers the queue size gauges and the outcome counters.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("user.registration.queue.size", queue, BlockingQueue::size)
+                .description("Registrations waiting for a writer")
+                .register(registry);
+        Gauge.builder("user.registration.queue.capacity", queue, q -> q.size() + q.remainingCapacity())
+                .description("Most registrations that may wait for a writer")
+                .register(registry);
+        FunctionCounter.builder("user.registration.async", created, LongAdder::sum)
+                .description("Asynchronous registrations by outcome")
+                .tag("outcome", "created")
+                .register(registry);
+        FunctionCounter.builder("user.registration.async", rejected, LongAdder::sum)
+                .description("Asynchronous registrations by outcome")
+                .tag("outcome", "rejected")
+                .register(registry);
+        FunctionCounter.builder("user.registration.async", refused, LongAdder::sum)
+                .description("Asynchronous registrations by outcome")
+                .tag("outcome", "queue_full")
+                .register(registry);
+    }
+
+    private static boolean isPending(RegistrationStatus status) {
+        return status.state() == RegistrationStatus.State.PENDING;
+    }
+
+    /**
+     * Keeps pending statuses until they are settled, and settled ones for the status time-to-live.
+     */
+    private record StatusExpiry(Duration timeToLive) implements Expiry<UUID, RegistrationStatus> {
+
+        @Override
+        public long expireAfterCreate(UUID id, RegistrationStatus status, long currentTime) {
+            return isPending(status) ? Long.MAX_VALUE : timeToLive.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID id, RegistrationStatus status, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, status, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID id, RegistrationStatus status, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * A queued registration.
+     */
+    private record Registration(UUID id, User user) {
+    }
+}
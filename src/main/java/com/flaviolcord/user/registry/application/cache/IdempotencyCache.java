@@ -0,0 +1,159 @@
+package com.flaviolcord.user.registry.application.cache;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.exception.IdempotencyKeyReusedException;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-memory store of the outcome of registrations sent with an {@code Idempotency-Key}.
+ * <p>
+ * The first request for a key runs the registration; a retry with the same key gets the stored user back
+ * without validating or touching the database again. Concurrent requests for a key that is still in flight
+ * wait for the first one and share its outcome, so the registration runs once. A failed registration is not
+ * stored: the waiting requests get the same error and the next retry runs the registration again.
+ * </p>
+ * <p>
+ * A key is bound to the user it was first sent with; reusing it for a different user is rejected.
+ * Keys are kept for {@code user.idempotency.time-to-live} and at most {@code user.idempotency.maximum-size}
+ * of them are stored.
+ * </p>
+ * <p>
+ * Hit, miss, eviction and size statistics are published through Micrometer as the {@code cache.*}
+ * meters tagged {@code cache=idempotency-keys}.
+ * </p>
+ */
+@Component
+public class IdempotencyCache implements MeterBinder {
+
+    static final String CACHE_NAME = "idempotency-keys";
+
+    private final boolean enabled;
+    private final int maxKeyLength;
+    private final Cache<String, Entry> cache;
+
+    /**
+     * Creates the store from the {@code user.idempotency} properties.
+     *
+     * @param userProperties the configuration holding the idempotency settings
+     */
+    public IdempotencyCache(UserProperties userProperties) {
+        UserProperties.Idempotency settings = userProperties.getIdempotency();
+        this.enabled = settings.isEnabled();
+        this.maxKeyLength = settings.getMaxKeyLength();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Runs a registration at most once per key.
+     *
+     * @param key          the idempotency key sent by the client
+     * @param user         the user to register, compared with the one the key was first sent with
+     * @param registration registers the user and returns the saved user
+     * @return the registered user, and whether it was replayed from an earlier request with the same key
+     * @throws ValidationException            if the key is blank or too long
+     * @throws IdempotencyKeyReusedException if the key was first sent with a different user
+     */
+    public Outcome register(String key, User user, Supplier<User> registration) {
+        if (!enabled) {
+            return new Outcome(registration.get(), false);
+        }
+        if (key.isBlank() || key.length() > maxKeyLength) {
+            throw new ValidationException("The Idempotency-Key header must have between 1 and "
+                    + maxKeyLength + " characters.");
+        }
+
+        Entry entry = new Entry(user, new CompletableFuture<>());
+        Entry existing = cache.get(key, ignored -> entry);
+        if (existing == entry) {
+            return new Outcome(run(key, entry, registration), false);
+        }
+
+        if (!existing.user().equals(user)) {
+            throw new IdempotencyKeyReusedException("The Idempotency-Key was already used for a different user.");
+        }
+        return new Outcome(await(existing.response()), true);
+    }
+
+    /**
+     * Runs the registration owning a key and publishes its outcome to the requests waiting for it.
+     */
+    private User run(String key, Entry entry, Supplier<User> registration) {
+        try {
+            User registeredUser = registration.get();
+            entry.response().complete(registeredUser);
+            return registeredUser;
+        } catch (RuntimeException | Error ex) {
+            // Forget the key so that a later retry can register the user again
+            cache.asMap().remove(key, entry);
+            entry.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Waits for the registration owning a key, rethrowing its failure as is.
+     */
+    private static User await(CompletableFuture<User> response) {
+        try {
+            return response.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return the hit, miss and eviction counts so far
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Registers the Caffeine cache metrics under the {@value #CACHE_NAME} cache name.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * The outcome of a registration sent with an idempotency key.
+     *
+     * @param user     the registered user
+     * @param replayed whether the user was registered by an earlier request with the same key
+     */
+    public record Outcome(User user, boolean replayed) {
+    }
+
+    /**
+     * A stored key: the user it was first sent with, and the registration that is or was running for it.
+     */
+    private record Entry(User user, CompletableFuture<User> response) {
+    }
+}
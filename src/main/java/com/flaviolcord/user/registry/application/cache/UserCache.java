@@ -0,0 +1,110 @@
+package com.flaviolcord.user.registry.application.cache;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Bounded in-memory cache of domain {@link User} records, keyed by ID.
+ * <p>
+ * Entries are evicted when the cache exceeds {@code user.cache.maximum-size} or once they are older than
+ * {@code user.cache.time-to-live}. Lookups never touch the database, so a hit costs neither a transaction
+ * nor a connection.
+ * </p>
+ * <p>
+ * Users written inside a transaction are only cached once that transaction commits, so a rolled-back
+ * registration can never be served from the cache.
+ * </p>
+ * <p>
+ * Hit, miss, eviction and size statistics are published through Micrometer as the {@code cache.*}
+ * meters tagged {@code cache=users}.
+ * </p>
+ */
+@Component
+public class UserCache implements MeterBinder {
+
+    static final String CACHE_NAME = "users";
+
+    private final boolean enabled;
+    private final Cache<Long, User> cache;
+
+    /**
+     * Creates the cache from the {@code user.cache} properties.
+     *
+     * @param userProperties the configuration holding the cache settings
+     */
+    public UserCache(UserProperties userProperties) {
+        UserProperties.Cache settings = userProperties.getCache();
+        this.enabled = settings.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached user with the given ID.
+     *
+     * @param id the ID of the user
+     * @return an Optional containing the cached user, or empty if it is not cached
+     */
+    public Optional<User> get(Long id) {
+        if (!enabled || id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * Caches a user once the current transaction commits, or immediately if there is none.
+     *
+     * @param user the user to cache; ignored if it has no ID
+     */
+    public void put(User user) {
+        if (!enabled || user.id() == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.put(user.id(), user);
+                }
+            });
+        } else {
+            cache.put(user.id(), user);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return the hit, miss and eviction counts so far
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Registers the Caffeine cache metrics under the {@value #CACHE_NAME} cache name.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
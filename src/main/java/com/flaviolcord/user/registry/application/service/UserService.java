@@ -1,23 +1,47 @@
 package com.flaviolcord.user.registry.application.service;
 
+import com.flaviolcord.user.registry.application.async.RegistrationQueue;
+import com.flaviolcord.user.registry.application.usecase.ExportUsersUseCase;
 import com.flaviolcord.user.registry.application.usecase.FindUserByIdUseCase;
+import com.flaviolcord.user.registry.application.usecase.FindUserVersionUseCase;
+import com.flaviolcord.user.registry.application.usecase.FindUsersByIdsUseCase;
+import com.flaviolcord.user.registry.application.usecase.ListUsersUseCase;
+import com.flaviolcord.user.registry.application.usecase.RegisterUserBatchUseCase;
 import com.flaviolcord.user.registry.application.usecase.RegisterUserUseCase;
+import com.flaviolcord.user.registry.domain.model.RegistrationResult;
+import com.flaviolcord.user.registry.domain.model.RegistrationStatus;
 import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.model.UserLookupResult;
+import com.flaviolcord.user.registry.infrastructure.exception.RegistrationNotFoundException;
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
 /**
  * Service layer for user management operations.
  * Delegates business logic to specific use cases.
  */
 @Service
+@Profile("!reactive")
 @Transactional
 @AllArgsConstructor
 public class UserService {
 
     private final RegisterUserUseCase registerUserUseCase;
     private final FindUserByIdUseCase findUserByIdUseCase;
+    private final RegisterUserBatchUseCase registerUserBatchUseCase;
+    private final ListUsersUseCase listUsersUseCase;
+    private final ExportUsersUseCase exportUsersUseCase;
+    private final FindUserVersionUseCase findUserVersionUseCase;
+    private final FindUsersByIdsUseCase findUsersByIdsUseCase;
+    private final RegistrationQueue registrationQueue;
 
     /**
      * Registers a new user.
@@ -31,6 +55,47 @@ public class UserService {
         return registerUserUseCase.execute(user);
     }
 
+    /**
+     * Validates a user and queues its registration for a background writer.
+     * Runs without a transaction: the user is written later, in the writer's own transaction.
+     *
+     * @param user the user to register
+     * @return the ID under which the status of the registration can be looked up
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if user data is invalid
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.RegistrationQueueFullException if the queue is full
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UUID submitRegistration(User user) {
+        return registrationQueue.submit(user);
+    }
+
+    /**
+     * Finds the status of a registration queued by {@link #submitRegistration(User)}.
+     *
+     * @param id the ID of the registration
+     * @return the current status of the registration
+     * @throws RegistrationNotFoundException if the ID is unknown or its status has expired
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RegistrationStatus findRegistrationStatus(UUID id) {
+        return registrationQueue.status(id)
+                .orElseThrow(() -> new RegistrationNotFoundException("Registration not found with ID: " + id));
+    }
+
+    /**
+     * Registers a batch of users, rejecting invalid or duplicate entries individually.
+     * Does not start a transaction: the use case commits the users in chunks, each in its own transaction,
+     * unless the caller already runs in one, which the chunks then join.
+     *
+     * @param users the users to register
+     * @return one registration result per input user, in the same order as the input
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if the batch is too large
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<RegistrationResult> registerUsers(List<User> users) {
+        return registerUserBatchUseCase.execute(users);
+    }
+
     /**
      * Finds a user by their ID.
      *
@@ -38,7 +103,57 @@ public class UserService {
      * @return the found user
      * @throws com.flaviolcord.user.registry.infrastructure.exception.UserNotFoundException if user is not found
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public User findUserById(Long id) {
         return findUserByIdUseCase.execute(id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Finds many users by their IDs at once.
+     *
+     * @param ids the IDs of the users to find
+     * @return the found users in request order, and the IDs that were not found
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if the number of IDs is out of range
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public UserLookupResult findUsersByIds(List<Long> ids) {
+        return findUsersByIdsUseCase.execute(ids);
+    }
+
+    /**
+     * Finds the current version of a user without reading the rest of the record.
+     *
+     * @param id the ID of the user
+     * @return the current version of the user
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.UserNotFoundException if user is not found
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public long findUserVersion(Long id) {
+        return findUserVersionUseCase.execute(id);
+    }
+
+    /**
+     * Lists one page of users in ascending ID order, handing each user to the consumer as it is read.
+     *
+     * @param after    the ID of the last user of the previous page, or {@code null} for the first page
+     * @param limit    the maximum number of users in the page, or {@code null} for the default
+     * @param consumer receives the users of the page in order
+     * @return the cursor of the next page, or empty if this is the last page
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if the limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> listUsers(Long after, Integer limit, Consumer<User> consumer) {
+        return listUsersUseCase.execute(after, limit, consumer);
+    }
+
+    /**
+     * Exports every user in ascending ID order, handing each user to the consumer as it is read.
+     *
+     * @param consumer receives every user in order
+     * @return the number of exported users
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(Consumer<User> consumer) {
+        return exportUsersUseCase.execute(consumer);
+    }
+}
@@ -0,0 +1,45 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Use case for exporting every registered user.
+ * Users are handed to the caller one at a time while they are read from a single forward-only cursor,
+ * so the export is never buffered, however many users there are.
+ * The whole export runs in one read-only transaction and holds its connection until it completes.
+ */
+@Service
+@Profile("!reactive")
+@Transactional(readOnly = true)
+@AllArgsConstructor
+public class ExportUsersUseCase {
+
+    private final UserRepository userRepository;
+
+    /**
+     * Executes the use case to export all users.
+     *
+     * @param consumer receives every user in ascending ID order
+     * @return the number of exported users
+     */
+    public long execute(Consumer<User> consumer) {
+        long count = 0;
+        try (Stream<User> users = userRepository.streamAll()) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -1,22 +1,31 @@
 package com.flaviolcord.user.registry.application.usecase;
 
+import com.flaviolcord.user.registry.application.cache.UserCache;
 import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.domain.repository.UserRepository;
 import com.flaviolcord.user.registry.infrastructure.exception.UserNotFoundException;
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 /**
  * Use case for finding a user by their ID.
  * Implements the business logic for user retrieval.
+ * Reads through the {@link UserCache}; only cache misses reach the repository.
+ * It joins an existing transaction but never starts one, so a cache hit costs no connection.
  */
 @Service
-@Transactional
+@Profile("!reactive")
+@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 @AllArgsConstructor
 public class FindUserByIdUseCase {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     /**
      * Executes the use case to find a user by ID.
@@ -26,7 +35,14 @@ public class FindUserByIdUseCase {
      * @throws UserNotFoundException if no user is found with the given ID
      */
     public User execute(Long id) {
-        return userRepository.findById(id)
+        Optional<User> cachedUser = userCache.get(id);
+        if (cachedUser.isPresent()) {
+            return cachedUser.get();
+        }
+
+        User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
+        userCache.put(user);
+        return user;
     }
 }
\ No newline at end of file
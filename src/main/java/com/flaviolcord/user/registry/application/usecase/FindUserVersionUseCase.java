@@ -0,0 +1,41 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.application.cache.UserCache;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.exception.UserNotFoundException;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Use case for finding the current version of a user, to tell whether a copy held by a client is stale.
+ * Answers from the {@link UserCache} when the user is cached; otherwise only the version column is read,
+ * so the full record is never loaded or mapped.
+ * Like {@link FindUserByIdUseCase}, it joins an existing transaction but never starts one.
+ */
+@Service
+@Profile("!reactive")
+@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+@AllArgsConstructor
+public class FindUserVersionUseCase {
+
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+
+    /**
+     * Executes the use case to find the version of a user.
+     *
+     * @param id the ID of the user
+     * @return the current version of the user
+     * @throws UserNotFoundException if no user is found with the given ID
+     */
+    public long execute(Long id) {
+        return userCache.get(id)
+                .map(User::version)
+                .or(() -> userRepository.findVersionById(id))
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
+    }
+}
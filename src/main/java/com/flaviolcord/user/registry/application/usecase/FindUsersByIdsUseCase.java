@@ -0,0 +1,87 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.application.cache.UserCache;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.model.UserLookupResult;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Use case for looking up many users by ID at once.
+ * Reads through the {@link UserCache}: cached users are served from memory and all remaining IDs are resolved
+ * by a single repository call, instead of one lookup per ID. Unknown IDs are reported rather than failing the call.
+ * Like {@link FindUserByIdUseCase}, it joins an existing transaction but never starts one.
+ */
+@Service
+@Profile("!reactive")
+@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+@AllArgsConstructor
+public class FindUsersByIdsUseCase {
+
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final UserProperties userProperties;
+
+    /**
+     * Executes the use case to look up users by ID.
+     * Repeated IDs are resolved and returned once.
+     *
+     * @param ids the IDs to look up
+     * @return the found users in request order, and the IDs that were not found
+     * @throws ValidationException if no ID, a {@code null} ID or more IDs than the configured maximum are requested
+     */
+    public UserLookupResult execute(List<Long> ids) {
+        int maxIds = userProperties.getLookup().getMaxIds();
+        if (ids == null || ids.isEmpty() || ids.size() > maxIds) {
+            throw new ValidationException("Between 1 and " + maxIds + " IDs must be requested.");
+        }
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.contains(null)) {
+            throw new ValidationException("IDs must not be null.");
+        }
+
+        Map<Long, User> found = new HashMap<>(requested.size() * 2);
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : requested) {
+            Optional<User> cachedUser = userCache.get(id);
+            if (cachedUser.isPresent()) {
+                found.put(id, cachedUser.get());
+            } else {
+                uncached.add(id);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            for (User user : userRepository.findAllById(uncached)) {
+                found.put(user.id(), user);
+                userCache.put(user);
+            }
+        }
+
+        List<User> users = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            User user = found.get(id);
+            if (user != null) {
+                users.add(user);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new UserLookupResult(users, missingIds);
+    }
+}
@@ -0,0 +1,61 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Use case for listing users page by page.
+ * Uses keyset pagination: a page starts after the ID of the last user of the previous page,
+ * so every page costs the same regardless of how deep it is.
+ * Users are handed to the caller one at a time while they are read, so a page is never buffered.
+ */
+@Service
+@Profile("!reactive")
+@Transactional(readOnly = true)
+@AllArgsConstructor
+public class ListUsersUseCase {
+
+    private final UserRepository userRepository;
+    private final UserProperties userProperties;
+
+    /**
+     * Executes the use case to list one page of users.
+     * One extra row is read to tell whether a next page exists without a separate count query.
+     *
+     * @param after    the ID of the last user of the previous page, or {@code null} for the first page
+     * @param limit    the maximum number of users in the page, or {@code null} for the configured default
+     * @param consumer receives the users of the page in ascending ID order
+     * @return the cursor of the next page, or empty if this is the last page
+     * @throws ValidationException if the limit is not between 1 and the configured maximum
+     */
+    public Optional<Long> execute(Long after, Integer limit, Consumer<User> consumer) {
+        UserProperties.Listing listing = userProperties.getListing();
+        int pageSize = limit != null ? limit : listing.getDefaultLimit();
+        if (pageSize < 1 || pageSize > listing.getMaxLimit()) {
+            throw new ValidationException("Limit must be between 1 and " + listing.getMaxLimit() + ".");
+        }
+
+        long afterId = after != null ? after : 0L;
+        try (Stream<User> users = userRepository.streamAfter(afterId, pageSize + 1)) {
+            Iterator<User> iterator = users.iterator();
+            Long lastId = null;
+            for (int i = 0; i < pageSize && iterator.hasNext(); i++) {
+                User user = iterator.next();
+                consumer.accept(user);
+                lastId = user.id();
+            }
+            return iterator.hasNext() ? Optional.of(lastId) : Optional.empty();
+        }
+    }
+}
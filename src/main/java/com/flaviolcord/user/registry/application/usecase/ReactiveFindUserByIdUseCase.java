@@ -0,0 +1,37 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.application.cache.UserCache;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.ReactiveUserRepository;
+import com.flaviolcord.user.registry.infrastructure.exception.UserNotFoundException;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link FindUserByIdUseCase} for the {@code reactive} profile.
+ * Reads through the same {@link UserCache}; only cache misses reach the repository.
+ */
+@Service
+@Profile("reactive")
+@AllArgsConstructor
+public class ReactiveFindUserByIdUseCase {
+
+    private final ReactiveUserRepository userRepository;
+    private final UserCache userCache;
+
+    /**
+     * Executes the use case to find a user by ID.
+     *
+     * @param id the ID of the user to find
+     * @return a Mono emitting the found User, or failing with {@link UserNotFoundException} if no user is found
+     *         with the given ID
+     */
+    public Mono<User> execute(Long id) {
+        return Mono.defer(() -> Mono.justOrEmpty(userCache.get(id)))
+                .switchIfEmpty(Mono.defer(() -> userRepository.findById(id)
+                        .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with ID: " + id)))
+                        .doOnNext(userCache::put)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.application.cache.UserCache;
+import com.flaviolcord.user.registry.application.validator.UserValidator;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.ReactiveUserRepository;
+import com.flaviolcord.user.registry.infrastructure.exception.UserRegistrationException;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link RegisterUserUseCase} for the {@code reactive} profile.
+ * Applies the same {@link UserValidator} and uniqueness check, and runs the check and the insert in one reactive
+ * transaction. The registered user is written through to the {@link UserCache} once the transaction commits.
+ */
+@Service
+@Profile("reactive")
+@AllArgsConstructor
+public class ReactiveRegisterUserUseCase {
+
+    private final ReactiveUserRepository userRepository;
+    private final UserValidator userValidator;
+    private final UserCache userCache;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * Executes the use case to register a new user.
+     *
+     * @param user the user entity to register
+     * @return a Mono emitting the registered User with generated ID, or failing with
+     *         {@link com.flaviolcord.user.registry.infrastructure.exception.ValidationException} if the user data is
+     *         invalid or {@link UserRegistrationException} if the username is already taken
+     */
+    public Mono<User> execute(User user) {
+        return Mono.fromRunnable(() -> userValidator.validate(user))
+                .then(Mono.defer(() -> userRepository.findByUsername(user.username()).hasElement()))
+                .flatMap(taken -> taken
+                        ? Mono.<User>error(new UserRegistrationException("Username is already taken"))
+                        : userRepository.save(user))
+                // A concurrent registration of the same username is stopped by the unique constraint
+                .onErrorMap(DataIntegrityViolationException.class,
+                        ex -> new UserRegistrationException("Username is already taken"))
+                // The user is emitted once the transaction has committed
+                .as(transactionalOperator::transactional)
+                .doOnNext(userCache::put);
+    }
+}
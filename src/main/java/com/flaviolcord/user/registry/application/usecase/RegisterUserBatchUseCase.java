@@ -0,0 +1,137 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.application.cache.UserCache;
+import com.flaviolcord.user.registry.application.validator.UserValidator;
+import com.flaviolcord.user.registry.domain.model.RegistrationResult;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.exception.UserRegistrationException;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Use case for registering many users at once.
+ * Applies the same validation and uniqueness rules as {@link RegisterUserUseCase},
+ * but checks all usernames with one set-based query and persists the accepted users in batched writes.
+ * A rejected user does not prevent the others from being registered.
+ * <p>
+ * The accepted users are written in chunks of {@code user.batch.chunk-size}, each committed in its own
+ * transaction. The username check is only a pre-check: a username taken concurrently fails the chunk at commit,
+ * which is then retried one user at a time so that only the conflicting users are rejected.
+ * Like a single registration, the users of a chunk are written through to the {@link UserCache} once it commits.
+ * </p>
+ */
+@Service
+@Profile("!reactive")
+@AllArgsConstructor
+public class RegisterUserBatchUseCase {
+
+    static final String USERNAME_TAKEN = "Username is already taken";
+    static final String USERNAME_DUPLICATED = "Username is duplicated within the batch";
+    static final String CONFLICT = "The user conflicts with the stored data";
+
+    private final UserRepository userRepository;
+    private final UserValidator userValidator;
+    private final UserProperties userProperties;
+    private final PlatformTransactionManager transactionManager;
+    private final UserCache userCache;
+
+    /**
+     * Executes the use case to register a batch of users.
+     *
+     * @param users the users to register
+     * @return one result per input user, in the same order as the input
+     * @throws ValidationException if the batch exceeds the configured maximum size
+     */
+    public List<RegistrationResult> execute(List<User> users) {
+        int maxSize = userProperties.getBatch().getMaxSize();
+        if (users.size() > maxSize) {
+            throw new ValidationException("A batch cannot contain more than " + maxSize + " users.");
+        }
+
+        RegistrationResult[] results = new RegistrationResult[users.size()];
+
+        // Validate each user and keep the first occurrence of every username
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            try {
+                userValidator.validate(user);
+            } catch (ValidationException ex) {
+                results[i] = RegistrationResult.failure(ex.getMessage());
+                continue;
+            }
+
+            if (candidates.putIfAbsent(user.username(), i) != null) {
+                results[i] = RegistrationResult.failure(USERNAME_DUPLICATED);
+            }
+        }
+
+        // Check all remaining usernames against the database at once
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Set<String> takenUsernames = transaction.execute(status ->
+                userRepository.findExistingUsernames(candidates.keySet()));
+
+        List<User> toSave = new ArrayList<>(candidates.size());
+        List<Integer> toSaveIndexes = new ArrayList<>(candidates.size());
+        candidates.forEach((username, index) -> {
+            if (takenUsernames.contains(username)) {
+                results[index] = RegistrationResult.failure(USERNAME_TAKEN);
+            } else {
+                toSave.add(users.get(index));
+                toSaveIndexes.add(index);
+            }
+        });
+
+        // Save the accepted users in batched writes, one transaction per chunk
+        int chunkSize = Math.max(1, userProperties.getBatch().getChunkSize());
+        for (int from = 0; from < toSave.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, toSave.size());
+            List<User> chunk = toSave.subList(from, to);
+            List<Integer> chunkIndexes = toSaveIndexes.subList(from, to);
+            try {
+                List<User> savedUsers = transaction.execute(status -> {
+                    List<User> saved = userRepository.saveAll(chunk);
+                    saved.forEach(userCache::put);
+                    return saved;
+                });
+                for (int i = 0; i < savedUsers.size(); i++) {
+                    results[chunkIndexes.get(i)] = RegistrationResult.success(savedUsers.get(i));
+                }
+            } catch (DataIntegrityViolationException ex) {
+                // Rolled back as a whole: find the conflicting users by saving them one by one
+                for (int i = 0; i < chunk.size(); i++) {
+                    results[chunkIndexes.get(i)] = saveOne(transaction, chunk.get(i));
+                }
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private RegistrationResult saveOne(TransactionTemplate transaction, User user) {
+        try {
+            return RegistrationResult.success(transaction.execute(status -> {
+                User saved = userRepository.save(user);
+                userCache.put(saved);
+                return saved;
+            }));
+        } catch (DataIntegrityViolationException ex) {
+            return RegistrationResult.failure(
+                    UserRegistrationException.isDuplicateUsername(ex) ? USERNAME_TAKEN : CONFLICT);
+        }
+    }
+}
@@ -1,24 +1,29 @@
 package com.flaviolcord.user.registry.application.usecase;
 
+import com.flaviolcord.user.registry.application.cache.UserCache;
 import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.domain.repository.UserRepository;
 import com.flaviolcord.user.registry.application.validator.UserValidator;
 import com.flaviolcord.user.registry.infrastructure.exception.UserRegistrationException;
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Use case for registering a new user.
  * Implements the business logic for user registration including validation and uniqueness checks.
+ * The registered user is written through to the {@link UserCache} once the transaction commits.
  */
 @Service
+@Profile("!reactive")
 @Transactional
 @AllArgsConstructor
 public class RegisterUserUseCase {
 
     private final UserRepository userRepository;
     private final UserValidator userValidator;
+    private final UserCache userCache;
 
     /**
      * Executes the use case to register a new user.
@@ -32,12 +37,14 @@ public class RegisterUserUseCase {
         // Validate the user data
         userValidator.validate(user);
 
-        // Check if the username is already taken
-        if (userRepository.findByUsername(user.username()).isPresent()) {
+        // Check if the username is already taken; a username taken after the check is rejected by the store
+        if (userRepository.existsByUsername(user.username())) {
             throw new UserRegistrationException("Username is already taken");
         }
 
-        // Save the user to the database
-        return userRepository.save(user);
+        // Save the user to the database and cache it for lookups by ID
+        User savedUser = userRepository.save(user);
+        userCache.put(savedUser);
+        return savedUser;
     }
 }
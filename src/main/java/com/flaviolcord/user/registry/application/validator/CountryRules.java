@@ -0,0 +1,159 @@
+package com.flaviolcord.user.registry.application.validator;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The registration rules compiled for one day: the allowed countries and, for each, the latest birthdate of a user
+ * old enough to register.
+ * <p>
+ * A user is at least {@code n} years old exactly when born on or before today minus {@code n} years, the same
+ * result {@link java.time.Period#between} gives, so the age check is a single date comparison against a cutoff
+ * computed once per day. Countries are found in an open-addressing table hashed ignoring case, so a lookup takes
+ * constant time and allocates nothing, whatever the number of countries.
+ * </p>
+ * <p>
+ * Instances are immutable. They expire at the next midnight of the clock they were compiled with, when the cutoffs
+ * move by a day and the rules must be {@link #recompile(Clock) recompiled}.
+ * </p>
+ */
+final class CountryRules {
+
+    private final Map<String, Integer> minAges;
+    private final String[] countries;
+    private final int[] ages;
+    private final LocalDate[] cutoffs;
+    private final int mask;
+    private final long validFrom;
+    private final long expiresAt;
+    private final String countryMessage;
+
+    private CountryRules(Map<String, Integer> minAges, LocalDate today, ZoneId zone) {
+        this.minAges = minAges;
+        this.validFrom = today.atStartOfDay(zone).toInstant().toEpochMilli();
+        this.expiresAt = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        int capacity = Integer.highestOneBit(Math.max(2, minAges.size() * 2 - 1)) << 1;
+        this.countries = new String[capacity];
+        this.ages = new int[capacity];
+        this.cutoffs = new LocalDate[capacity];
+        this.mask = capacity - 1;
+
+        for (Map.Entry<String, Integer> rule : minAges.entrySet()) {
+            int slot = hash(rule.getKey()) & mask;
+            while (countries[slot] != null) {
+                if (countries[slot].equalsIgnoreCase(rule.getKey())) {
+                    throw new IllegalArgumentException("Duplicate rule for country " + rule.getKey());
+                }
+                slot = (slot + 1) & mask;
+            }
+            countries[slot] = rule.getKey();
+            ages[slot] = rule.getValue();
+            cutoffs[slot] = today.minusYears(rule.getValue());
+        }
+        this.countryMessage = "Only residents of " + String.join(", ", minAges.keySet()) + " are allowed to register.";
+    }
+
+    /**
+     * Compiles rules for the current day of a clock.
+     *
+     * @param minAges the minimum age by allowed country, in the order the countries are listed in messages
+     * @param clock   the clock giving the current day and the time zone of its midnight
+     * @return the compiled rules
+     * @throws IllegalArgumentException if there are no countries, a country is blank or listed twice ignoring case,
+     *                                  or an age is negative
+     */
+    static CountryRules compile(Map<String, Integer> minAges, Clock clock) {
+        if (minAges.isEmpty()) {
+            throw new IllegalArgumentException("At least one country must be allowed");
+        }
+        for (Map.Entry<String, Integer> rule : minAges.entrySet()) {
+            if (rule.getKey() == null || rule.getKey().isBlank()) {
+                throw new IllegalArgumentException("Country of a rule must not be blank");
+            }
+            if (rule.getValue() == null || rule.getValue() < 0) {
+                throw new IllegalArgumentException("Invalid minimum age for " + rule.getKey() + ": " + rule.getValue());
+            }
+        }
+        return new CountryRules(Collections.unmodifiableMap(new LinkedHashMap<>(minAges)), LocalDate.now(clock),
+                clock.getZone());
+    }
+
+    /**
+     * Compiles the same rules again for the current day of a clock.
+     *
+     * @param clock the clock giving the current day
+     * @return the recompiled rules
+     */
+    CountryRules recompile(Clock clock) {
+        return compile(minAges, clock);
+    }
+
+    /**
+     * Returns whether the current time is outside the day the rules were compiled for.
+     *
+     * @param now the current time, in milliseconds since the epoch
+     * @return {@code true} from the next midnight on, or if the clock was set back before the day began
+     */
+    boolean isExpired(long now) {
+        return now >= expiresAt || now < validFrom;
+    }
+
+    /**
+     * Returns the rules the table was compiled from.
+     *
+     * @return the minimum age by allowed country
+     */
+    Map<String, Integer> minAges() {
+        return minAges;
+    }
+
+    /**
+     * Checks that a user lives in an allowed country and is old enough to register there.
+     *
+     * @param user the user to validate
+     * @throws ValidationException  if the country is not allowed or the user is too young
+     * @throws NullPointerException if the country is allowed and the birthdate is missing
+     */
+    void validate(User user) {
+        int slot = find(user.countryOfResidence());
+        if (slot < 0) {
+            throw new ValidationException(countryMessage);
+        }
+        if (user.birthdate().isAfter(cutoffs[slot])) {
+            throw new ValidationException("The user must be at least " + ages[slot] + " years old.");
+        }
+    }
+
+    private int find(String country) {
+        if (country == null) {
+            return -1;
+        }
+        int slot = hash(country) & mask;
+        while (countries[slot] != null) {
+            if (countries[slot].equalsIgnoreCase(country)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Hashes a country name so that names equal ignoring case, in the sense of {@link String#equalsIgnoreCase},
+     * hash alike.
+     */
+    private static int hash(String country) {
+        int hash = 0;
+        for (int i = 0; i < country.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(country.charAt(i)));
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
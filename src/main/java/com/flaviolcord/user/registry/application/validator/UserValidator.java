@@ -3,33 +3,98 @@ package com.flaviolcord.user.registry.application.validator;
 import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
 import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
-import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-import java.time.Period;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Validates the business rules of a registration: the user must live in an allowed country and be at least the
+ * minimum age of that country.
+ * <p>
+ * The rules are compiled into {@link CountryRules}, a table of birthdate cutoffs by country, so a validation is one
+ * constant-time lookup and one date comparison. The table is recompiled by the first validation after midnight, and
+ * replaced as a whole by {@link #reload(Map)}: a validation sees either the old rules or the new ones, never a mix.
+ * </p>
+ */
 @Component
-@AllArgsConstructor
 public class UserValidator {
 
-    private final UserProperties userProperties;
+    private final Clock clock;
+    private final AtomicReference<CountryRules> rules;
 
+    /**
+     * Creates a validator for the rules configured in {@code user.allowed-country}, {@code user.min-age} and
+     * {@code user.validation.min-ages}, using the system clock and time zone.
+     *
+     * @param userProperties the configured rules
+     */
+    @Autowired
+    public UserValidator(UserProperties userProperties) {
+        this(userProperties, Clock.systemDefaultZone());
+    }
+
+    UserValidator(UserProperties userProperties, Clock clock) {
+        this.clock = clock;
+        this.rules = new AtomicReference<>(CountryRules.compile(configuredRules(userProperties), clock));
+    }
+
+    /**
+     * Validates a user against the current rules.
+     *
+     * @param user the user to validate
+     * @throws ValidationException if the country is not allowed or the user is too young for it
+     */
     public void validate(User user) {
-        validateAge(user);
-        validateCountry(user);
+        currentRules().validate(user);
+    }
+
+    /**
+     * Replaces the rules. The new rules are compiled before they are published, so invalid rules leave the current
+     * ones in place.
+     *
+     * @param minAges the minimum age by allowed country, in the order the countries are listed in messages
+     * @throws IllegalArgumentException if the rules are invalid
+     */
+    public void reload(Map<String, Integer> minAges) {
+        rules.set(CountryRules.compile(minAges, clock));
+    }
+
+    /**
+     * Returns the rules currently applied.
+     *
+     * @return the minimum age by allowed country
+     */
+    public Map<String, Integer> currentMinAges() {
+        return rules.get().minAges();
     }
 
-    private void validateAge(User user) {
-        int userAge = Period.between(user.birthdate(), LocalDate.now()).getYears();
-        if (userAge < userProperties.getMinAge()) {
-            throw new ValidationException("The user must be at least " + userProperties.getMinAge() + " years old.");
+    /**
+     * Returns the rules configured in the properties: {@code user.allowed-country} at {@code user.min-age}, if set,
+     * followed by the entries of {@code user.validation.min-ages}.
+     *
+     * @param userProperties the properties
+     * @return the minimum age by allowed country
+     */
+    public static Map<String, Integer> configuredRules(UserProperties userProperties) {
+        Map<String, Integer> minAges = new LinkedHashMap<>();
+        if (userProperties.getAllowedCountry() != null) {
+            minAges.put(userProperties.getAllowedCountry(), userProperties.getMinAge());
         }
+        minAges.putAll(userProperties.getValidation().getMinAges());
+        return minAges;
     }
 
-    private void validateCountry(User user) {
-        if (!userProperties.getAllowedCountry().equalsIgnoreCase(user.countryOfResidence())) {
-            throw new ValidationException("Only residents of " + userProperties.getAllowedCountry() + " are allowed to register.");
+    private CountryRules currentRules() {
+        CountryRules current = rules.get();
+        if (current.isExpired(clock.millis())) {
+            CountryRules recompiled = current.recompile(clock);
+            // A concurrent reload wins over the recompiled old rules
+            current = rules.compareAndSet(current, recompiled) ? recompiled : rules.get();
         }
+        return current;
     }
 }
@@ -0,0 +1,43 @@
+package com.flaviolcord.user.registry.domain.model;
+
+/**
+ * Outcome of registering a single user as part of a batch.
+ * Either holds the registered user or the reason it was rejected, never both.
+ *
+ * @param user the registered user with generated ID, or {@code null} if the registration was rejected
+ * @param error the rejection reason, or {@code null} if the registration succeeded
+ */
+public record RegistrationResult(
+        User user,
+        String error
+) {
+
+    /**
+     * Creates a successful result for the given registered user.
+     *
+     * @param user the registered user
+     * @return a successful RegistrationResult
+     */
+    public static RegistrationResult success(User user) {
+        return new RegistrationResult(user, null);
+    }
+
+    /**
+     * Creates a rejected result with the given reason.
+     *
+     * @param error the reason the registration was rejected
+     * @return a rejected RegistrationResult
+     */
+    public static RegistrationResult failure(String error) {
+        return new RegistrationResult(null, error);
+    }
+
+    /**
+     * Indicates whether the registration succeeded.
+     *
+     * @return {@code true} if the user was registered; {@code false} otherwise
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.flaviolcord.user.registry.domain.model;
+
+/**
+ * Status of a registration accepted for asynchronous processing.
+ * Pending until a writer has processed it, then either created with the ID of the new user, or rejected.
+ *
+ * @param state the processing state of the registration
+ * @param userId the ID of the registered user, or {@code null} unless the state is {@link State#CREATED}
+ * @param error the rejection reason, or {@code null} unless the state is {@link State#REJECTED}
+ * @param position the replication position of the write that created the user, or 0 if it is not known,
+ *                 handed to the client so it can read the user it registered
+ */
+public record RegistrationStatus(
+        State state,
+        Long userId,
+        String error,
+        long position
+) {
+
+    /**
+     * The status of every registration that has not been processed yet.
+     */
+    public static final RegistrationStatus PENDING = new RegistrationStatus(State.PENDING, null, null, 0);
+
+    /**
+     * Creates the status of a registration that created a user.
+     *
+     * @param user     the registered user
+     * @param position the replication position of the write that created the user, or 0 if it is not known
+     * @return a created RegistrationStatus
+     */
+    public static RegistrationStatus created(User user, long position) {
+        return new RegistrationStatus(State.CREATED, user.id(), null, position);
+    }
+
+    /**
+     * Creates the status of a registration that was rejected.
+     *
+     * @param error the reason the registration was rejected
+     * @return a rejected RegistrationStatus
+     */
+    public static RegistrationStatus rejected(String error) {
+        return new RegistrationStatus(State.REJECTED, null, error, 0);
+    }
+
+    /**
+     * The processing states of an asynchronous registration.
+     */
+    public enum State {
+        PENDING, CREATED, REJECTED
+    }
+}
@@ -12,6 +12,7 @@ import java.time.LocalDate;
  * @param countryOfResidence the user's country of residence
  * @param phoneNumber the user's phone number (optional)
  * @param gender the user's gender (optional, can be "Male", "Female", or "Other")
+ * @param version the version of the stored record, incremented on every change; {@code null} until it is saved
  */
 public record User(
         Long id,
@@ -19,5 +20,21 @@ public record User(
         LocalDate birthdate,
         String countryOfResidence,
         String phoneNumber,
-        String gender
-){}
\ No newline at end of file
+        String gender,
+        Long version
+){
+
+    /**
+     * Creates a user that has not been saved yet, or whose version is not known.
+     *
+     * @param id the unique identifier of the user
+     * @param username the unique username of the user
+     * @param birthdate the user's date of birth
+     * @param countryOfResidence the user's country of residence
+     * @param phoneNumber the user's phone number (optional)
+     * @param gender the user's gender (optional, can be "Male", "Female", or "Other")
+     */
+    public User(Long id, String username, LocalDate birthdate, String countryOfResidence, String phoneNumber, String gender) {
+        this(id, username, birthdate, countryOfResidence, phoneNumber, gender, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.flaviolcord.user.registry.domain.model;
+
+import java.util.List;
+
+/**
+ * Outcome of looking up many users by ID at once.
+ * Every distinct requested ID appears exactly once, either among the found users or among the missing IDs.
+ *
+ * @param users the users that were found, in the order their IDs were first requested
+ * @param missingIds the requested IDs for which no user exists, in request order
+ */
+public record UserLookupResult(
+        List<User> users,
+        List<Long> missingIds
+) {}
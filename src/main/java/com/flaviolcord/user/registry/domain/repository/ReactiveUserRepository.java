@@ -0,0 +1,36 @@
+package com.flaviolcord.user.registry.domain.repository;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserRepository} for the {@code reactive} profile.
+ * Every method returns at once; the work starts when the returned {@link Mono} is subscribed to.
+ */
+public interface ReactiveUserRepository {
+
+    /**
+     * Saves a user to the persistence store. A user without ID is inserted with a generated ID; a user with an ID
+     * replaces the stored user of the same version.
+     *
+     * @param user the user to save
+     * @return a Mono emitting the saved user with its ID and new version
+     */
+    Mono<User> save(User user);
+
+    /**
+     * Finds a user by their ID.
+     *
+     * @param id the ID of the user to find
+     * @return a Mono emitting the user if found, or completing empty if not found
+     */
+    Mono<User> findById(Long id);
+
+    /**
+     * Finds a user by their username.
+     *
+     * @param username the username of the user to find
+     * @return a Mono emitting the user if found, or completing empty if not found
+     */
+    Mono<User> findByUsername(String username);
+}
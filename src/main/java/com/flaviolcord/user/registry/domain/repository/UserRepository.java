@@ -2,7 +2,11 @@ package com.flaviolcord.user.registry.domain.repository;
 
 import com.flaviolcord.user.registry.domain.model.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Domain repository interface for User operations.
@@ -18,6 +22,14 @@ public interface UserRepository {
      */
     User save(User user);
 
+    /**
+     * Saves a list of users to the persistence store in a single batched write.
+     *
+     * @param users the users to save
+     * @return the saved users with generated IDs, in the same order as the input
+     */
+    List<User> saveAll(List<User> users);
+
     /**
      * Finds a user by their ID.
      *
@@ -26,6 +38,23 @@ public interface UserRepository {
      */
     Optional<User> findById(Long id);
 
+    /**
+     * Finds the users with the given IDs.
+     * IDs without a user are skipped, so the result may be shorter than the input.
+     *
+     * @param ids the IDs of the users to find
+     * @return the users found, in no particular order
+     */
+    List<User> findAllById(Collection<Long> ids);
+
+    /**
+     * Finds the version of a user by their ID, without reading the rest of the record.
+     *
+     * @param id the ID of the user
+     * @return an Optional containing the version if the user exists, or empty if not
+     */
+    Optional<Long> findVersionById(Long id);
+
     /**
      * Finds a user by their username.
      *
@@ -33,4 +62,49 @@ public interface UserRepository {
      * @return an Optional containing the user if found, or empty if not found
      */
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Checks whether a username is already registered, as the pre-check of a registration.
+     * <p>
+     * Unlike {@link #findByUsername(String)}, the answer may miss a username registered concurrently or by another
+     * node sharing the store: the store's own uniqueness check, which rejects the write with a
+     * {@link org.springframework.dao.DataIntegrityViolationException}, remains the final guard.
+     * </p>
+     *
+     * @param username the username to check
+     * @return {@code true} if the username is known to be registered
+     */
+    default boolean existsByUsername(String username) {
+        return findByUsername(username).isPresent();
+    }
+
+    /**
+     * Finds which of the given usernames are already registered, as the pre-check of a batch registration.
+     * Like {@link #existsByUsername(String)}, the answer may miss usernames registered concurrently or by another
+     * node sharing the store.
+     *
+     * @param usernames the usernames to check
+     * @return the subset of the given usernames that already exist in the persistence store
+     */
+    Set<String> findExistingUsernames(Collection<String> usernames);
+
+    /**
+     * Streams the users whose ID is greater than the given one, in ascending ID order.
+     * Seeks directly to the first matching ID, so the cost of a page does not depend on its position.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @param afterId the ID to start after
+     * @param limit   the maximum number of users to return
+     * @return a stream of at most {@code limit} users
+     */
+    Stream<User> streamAfter(long afterId, int limit);
+
+    /**
+     * Streams every user in ascending ID order.
+     * Users are read one at a time, so memory use does not depend on the number of users.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return a stream of all users
+     */
+    Stream<User> streamAll();
+}
@@ -0,0 +1,32 @@
+package com.flaviolcord.user.registry.infrastructure.config;
+
+import com.flaviolcord.user.registry.infrastructure.persistence.SnowflakeIdentifierGenerator;
+import com.flaviolcord.user.registry.util.SnowflakeIdGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the generator of entity IDs.
+ * A single {@link SnowflakeIdGenerator} is created from the {@code user.id} properties
+ * and handed to Hibernate, so every {@code @SnowflakeId} property draws from the same node-local sequence.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    /**
+     * Creates the ID generator of this node and passes it to Hibernate.
+     * The generator is deliberately not a bean of its own, so it is not wrapped in the logging aspect
+     * and generating an ID stays a plain method call.
+     *
+     * @param userProperties the configuration holding the node ID, epoch and maximum clock regression
+     * @return a customizer adding the generator to the Hibernate settings
+     */
+    @Bean
+    public HibernatePropertiesCustomizer snowflakeIdGeneratorCustomizer(UserProperties userProperties) {
+        UserProperties.Id settings = userProperties.getId();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(
+                settings.getNodeId(), settings.getEpoch(), settings.getMaxClockRegression());
+        return properties -> properties.put(SnowflakeIdentifierGenerator.GENERATOR_SETTING, generator);
+    }
+}
@@ -1,9 +1,11 @@
 package com.flaviolcord.user.registry.infrastructure.config;
 
+import com.flaviolcord.user.registry.infrastructure.metrics.MethodLatencyRegistry;
 import com.flaviolcord.user.registry.util.SensitiveDataSanitizer;
 import lombok.AllArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -18,6 +20,11 @@ import org.springframework.stereotype.Component;
  * <p>
  * Sensitive data in method arguments and results are sanitized before logging to ensure privacy and security.
  * </p>
+ * <p>
+ * The duration of every call is measured with {@link System#nanoTime()} and recorded in the
+ * {@link MethodLatencyRegistry} whatever the log level, so latency percentiles are always available
+ * through the {@code latency} actuator endpoint.
+ * </p>
  */
 @Aspect
 @Component
@@ -26,21 +33,27 @@ public class LoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
 
+    private final MethodLatencyRegistry methodLatencyRegistry;
+
     /**
      * Pointcut expression that matches all method executions within the
-     * {@code com.flaviolcord.user.registry} package.
+     * {@code com.flaviolcord.user.registry} package, except the metrics package the aspect records into
+     * and the JSON package, whose (de)serializers Spring instantiates as beans and calls once per object.
      * <p>
      * This pointcut is used to define where the logging aspect should be applied.
      * </p>
      */
-    @Pointcut("execution(* com.flaviolcord.user.registry..*(..))")
+    @Pointcut("execution(* com.flaviolcord.user.registry..*(..))"
+            + " && !within(com.flaviolcord.user.registry.infrastructure.metrics..*)"
+            + " && !within(com.flaviolcord.user.registry.infrastructure.json..*)")
     public void applicationPackagePointcut() {
     }
 
     /**
      * Around advice that intercepts method executions matched by the {@link #applicationPackagePointcut()}
      * pointcut expression. Logs the method entry, arguments, result, and execution time. Also logs exceptions
-     * if they are thrown.
+     * if they are thrown. The execution time is recorded in the {@link MethodLatencyRegistry}, including for
+     * calls that throw.
      * <p>
      * The method execution is wrapped around to log the entry and exit times as well as any exceptions thrown
      * during execution. The result is also sanitized before being logged.
@@ -52,7 +65,7 @@ public class LoggingAspect {
      */
     @Around("applicationPackagePointcut()")
     public Object logAroundMethod(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
 
         if (logger.isDebugEnabled()) {
             logger.debug("Entering method: {} with arguments: {}",
@@ -65,20 +78,26 @@ public class LoggingAspect {
         try {
             result = joinPoint.proceed();
         } catch (Throwable ex) {
+            record(joinPoint, System.nanoTime() - startTime);
             logger.error("Exception in method: {} with cause: {}", joinPoint.getSignature(), ex.getMessage());
             throw ex;
         }
 
-        long duration = System.currentTimeMillis() - startTime;
+        long duration = System.nanoTime() - startTime;
+        record(joinPoint, duration);
 
         if (logger.isDebugEnabled()) {
             logger.debug("Exiting method: {} with result: {} (Execution time: {} ms)",
                     joinPoint.getSignature(),
                     SensitiveDataSanitizer.sanitizeArg(result),
-                    duration
+                    duration / 1_000_000.0
             );
         }
 
         return result;
     }
-}
\ No newline at end of file
+
+    private void record(ProceedingJoinPoint joinPoint, long nanos) {
+        methodLatencyRegistry.record(((MethodSignature) joinPoint.getSignature()).getMethod(), nanos);
+    }
+}
@@ -0,0 +1,64 @@
+package com.flaviolcord.user.registry.infrastructure.config;
+
+import com.flaviolcord.user.registry.infrastructure.ratelimit.RateLimitFilter;
+import com.flaviolcord.user.registry.util.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+/**
+ * Puts the {@link RateLimitFilter} in front of every other filter, built from the {@code user.rate-limit}
+ * and {@code user.load-shedding} properties.
+ * The filter is deliberately not a bean of its own, so it is not wrapped in the logging aspect
+ * and admitting a request stays a plain method call.
+ */
+@Configuration
+@Profile("!reactive")
+public class RateLimitConfig {
+
+    /**
+     * Creates the admission filter.
+     *
+     * @param userProperties the configuration holding the rate limits and the load-shedding threshold
+     * @return the filter registration, ahead of every other filter
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(UserProperties userProperties) {
+        UserProperties.RateLimit rateLimit = userProperties.getRateLimit();
+        UserProperties.LoadShedding loadShedding = userProperties.getLoadShedding();
+        RateLimitFilter filter = new RateLimitFilter(
+                limiter(rateLimit, rateLimit.getRegistration()),
+                limiter(rateLimit, rateLimit.getLookup()),
+                limiter(rateLimit, rateLimit.getBulk()),
+                rateLimit.getClientHeader(),
+                rateLimit.getTrustedProxies(),
+                loadShedding.isEnabled() ? loadShedding.getMaxInFlight() : 0,
+                loadShedding.getRetryAfter());
+
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Publishes the admission metrics of the filter.
+     *
+     * @param rateLimitFilter the filter registration
+     * @return a binder registering the filter's meters
+     */
+    @Bean
+    public MeterBinder rateLimitMetrics(FilterRegistrationBean<RateLimitFilter> rateLimitFilter) {
+        return rateLimitFilter.getFilter()::bindTo;
+    }
+
+    private static TokenBucketRateLimiter limiter(UserProperties.RateLimit rateLimit,
+                                                  UserProperties.RateLimit.Budget budget) {
+        if (!rateLimit.isEnabled()) {
+            return null;
+        }
+        return new TokenBucketRateLimiter(budget.getPermitsPerSecond(), budget.getBurst(), rateLimit.getMaxClients());
+    }
+}
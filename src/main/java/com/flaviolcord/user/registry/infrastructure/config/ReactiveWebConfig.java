@@ -0,0 +1,53 @@
+package com.flaviolcord.user.registry.infrastructure.config;
+
+import com.flaviolcord.user.registry.infrastructure.controller.ReactiveUserHandler;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Serves the user API with WebFlux when the {@code reactive} profile is active.
+ * <p>
+ * Requests are handled on the few event-loop threads of Reactor Netty, rather than one Tomcat thread per request,
+ * and reach the database through R2DBC. Registration and retrieval by ID are routed to the
+ * {@link ReactiveUserHandler}. The other endpoints of the servlet API are not ported yet and answer 404 with this
+ * profile.
+ * </p>
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+
+    /**
+     * Creates the Reactor Netty server. Tomcat is on the classpath for the servlet API and would otherwise be
+     * chosen to run WebFlux too, through its blocking servlet adapter.
+     *
+     * @return the factory of the Netty web server
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Routes the user API to the handler functions.
+     *
+     * @param handler the handler functions of the user API
+     * @return the routes of {@code POST /api/v1/users} and {@code GET /api/v1/users/{id}}
+     */
+    @Bean
+    public RouterFunction<ServerResponse> userRoutes(ReactiveUserHandler handler) {
+        return route()
+                .path("/api/v1/users", users -> users
+                        .POST("", queryParam("async", "true").negate(), handler::registerUser)
+                        .GET("/{id}", handler::getUserById))
+                .filter(handler::handleErrors)
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package com.flaviolcord.user.registry.infrastructure.config;
+
+import com.flaviolcord.user.registry.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import com.flaviolcord.user.registry.infrastructure.persistence.routing.ReadYourWritesFilter;
+import com.flaviolcord.user.registry.infrastructure.persistence.routing.ReplicationPosition;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to a replica database when the {@code replica} profile is active.
+ * <p>
+ * The primary pool is built from the {@code spring.datasource} properties and the replica pool from
+ * {@code user.replica.url} with the same driver and credentials. The data source used by JPA routes each
+ * transaction to one of them (see {@link ReadWriteRoutingDataSource}). The replication itself is the databases'
+ * business: this profile only reads its progress through a {@link ReplicationPosition} bean, which a deployment
+ * supplies from the database (e.g. GTID or LSN). Locally, the {@code replica-sim} profile supplies one that
+ * simulates replication between two in-memory H2 databases (see {@link SimulatedReplicationConfig}).
+ * </p>
+ * <p>
+ * Use cases need no change: read-only transactions, including the {@code SUPPORTS} transactions of the lookups,
+ * go to the replica, and registrations go to the primary.
+ * </p>
+ */
+@Configuration
+@Profile("replica")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Creates the connection pool of the primary database.
+     *
+     * @param properties the {@code spring.datasource} properties
+     * @return the primary pool
+     */
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Creates the connection pool of the replica database.
+     *
+     * @param properties     the {@code spring.datasource} properties, for the driver and credentials
+     * @param userProperties the configuration holding the replica URL
+     * @return the replica pool
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, UserProperties userProperties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(userProperties.getReplica().getUrl())
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    /**
+     * Creates the data source choosing between the primary and the replica for each connection.
+     *
+     * @param primary     the primary pool
+     * @param replica     the replica pool
+     * @param positions the replication positions of the primary and the replica
+     * @return the routing data source
+     */
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                        @Qualifier("replicaDataSource") DataSource replica,
+                                                        ReplicationPosition positions) {
+        return new ReadWriteRoutingDataSource(primary, replica, positions);
+    }
+
+    /**
+     * Creates the data source used by JPA, deferring the choice of target to the first statement of a transaction.
+     *
+     * @param routingDataSource the routing data source
+     * @return the lazy data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Registers the filter reading and returning the read-your-writes token of each request.
+     *
+     * @return the filter registration, ahead of every other filter
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,83 @@
+package com.flaviolcord.user.registry.infrastructure.config;
+
+import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Configures the Hibernate second-level cache of the JPA user store.
+ * <p>
+ * The {@value UserEntity#CACHE_REGION} region holds user entities by ID and the
+ * {@value UserEntity#NATURAL_ID_CACHE_REGION} region resolves usernames to IDs, so a lookup by username that
+ * was seen before needs no SQL. Both are bounded Caffeine caches created from the {@code user.second-level-cache}
+ * properties; Hibernate refuses to start if an entity asks for any other region, so no cache can grow unbounded.
+ * </p>
+ * <p>
+ * Regions are read-write: a registration, update or deletion replaces or evicts the cached entries when its
+ * transaction commits, and a transaction that rolls back leaves them untouched.
+ * </p>
+ * <p>
+ * Hibernate statistics are enabled so that the hit, miss and put counts of each region are published through
+ * Micrometer as the {@code hibernate.second.level.cache.*} and {@code hibernate.cache.natural.id.*} meters.
+ * </p>
+ */
+@Configuration
+@Profile("!mmap & !wal & !sharded & !reactive")
+public class SecondLevelCacheConfig {
+
+    /**
+     * Creates the cache manager holding the second-level cache regions.
+     * Each application context gets its own manager, closed with the context.
+     *
+     * @param userProperties the configuration holding the size and time to live of the regions
+     * @return the cache manager
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(UserProperties userProperties) {
+        UserProperties.SecondLevelCache settings = userProperties.getSecondLevelCache();
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        CaffeineConfiguration<Object, Object> region = new CaffeineConfiguration<>();
+        region.setMaximumSize(OptionalLong.of(settings.getMaximumSize()));
+        region.setExpireAfterWrite(OptionalLong.of(settings.getTimeToLive().toNanos()));
+        region.setStoreByValue(false);
+        cacheManager.createCache(UserEntity.CACHE_REGION, region);
+        cacheManager.createCache(UserEntity.NATURAL_ID_CACHE_REGION, region);
+        return cacheManager;
+    }
+
+    /**
+     * Enables the second-level cache in Hibernate, backed by the given cache manager.
+     *
+     * @param hibernateCacheManager the cache manager holding the regions
+     * @param userProperties        the configuration telling whether the cache is enabled
+     * @return a customizer adding the cache settings to the Hibernate settings
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager,
+                                                                    UserProperties userProperties) {
+        boolean enabled = userProperties.getSecondLevelCache().isEnabled();
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+}
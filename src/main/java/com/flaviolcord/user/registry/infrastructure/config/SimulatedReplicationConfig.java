@@ -0,0 +1,76 @@
+package com.flaviolcord.user.registry.infrastructure.config;
+
+import com.flaviolcord.user.registry.infrastructure.persistence.routing.SimulatedReplication;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+
+/**
+ * Simulates replication between two in-memory H2 databases when the {@code replica-sim} profile is active.
+ * <p>
+ * The profile is a local stand-in for a real replica: it activates the {@code replica} profile and supplies its
+ * replication positions through a {@link SimulatedReplication}, which copies the changes committed on the primary
+ * to the replica after {@code user.replica.lag}. It refuses to start unless the primary is an H2 database and the
+ * replica an in-memory H2 database, so it can never be pointed at a real replica.
+ * </p>
+ */
+@Configuration
+@Profile("replica-sim")
+public class SimulatedReplicationConfig {
+
+    static final String IN_MEMORY_H2 = "jdbc:h2:mem:";
+
+    /**
+     * Creates the replication from the primary to the replica.
+     *
+     * @param primary              the primary pool
+     * @param replica              the replica pool
+     * @param dataSourceProperties the {@code spring.datasource} properties, holding the primary URL
+     * @param userProperties       the configuration holding the replica URL and the replication lag
+     * @return the replication, started once the context is ready
+     * @throws IllegalStateException if either database is not the kind of H2 database the simulation needs
+     */
+    @Bean
+    public SimulatedReplication simulatedReplication(@Qualifier("primaryDataSource") DataSource primary,
+                                                     @Qualifier("replicaDataSource") DataSource replica,
+                                                     DataSourceProperties dataSourceProperties,
+                                                     UserProperties userProperties) {
+        checkUrls(dataSourceProperties.determineUrl(), userProperties.getReplica().getUrl());
+        return new SimulatedReplication(primary, replica, userProperties.getReplica().getLag());
+    }
+
+    /**
+     * Subscribes the replication to the changes Hibernate commits.
+     *
+     * @param replication the replication
+     * @return a customizer adding the replication observer to the Hibernate settings
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicationObserverCustomizer(SimulatedReplication replication) {
+        return properties -> properties.put(AvailableSettings.SESSION_FACTORY_OBSERVER, replication.hibernateObserver());
+    }
+
+    /**
+     * Checks that the primary is an H2 database, which the simulation copies with H2's {@code SCRIPT}, and that
+     * the replica is an in-memory H2 database, which starts empty and vanishes with the application.
+     *
+     * @param primaryUrl the JDBC URL of the primary
+     * @param replicaUrl the JDBC URL of the replica
+     * @throws IllegalStateException if either URL is of another kind
+     */
+    static void checkUrls(String primaryUrl, String replicaUrl) {
+        if (primaryUrl == null || !primaryUrl.startsWith("jdbc:h2:")) {
+            throw new IllegalStateException("The replica-sim profile needs an H2 primary, not " + primaryUrl);
+        }
+        if (replicaUrl == null || !replicaUrl.startsWith(IN_MEMORY_H2)) {
+            throw new IllegalStateException("The replica-sim profile only replicates to an in-memory H2 database ("
+                    + IN_MEMORY_H2 + "...), not " + replicaUrl);
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package com.flaviolcord.user.registry.infrastructure.config;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Configuration properties for user management.
  * Loads properties with the 'user' prefix from the application configuration files.
@@ -14,6 +23,77 @@ import org.springframework.context.annotation.Configuration;
  * user:
  *   allowed-country: France
  *   min-age: 18
+ *   validation:
+ *     min-ages:
+ *       Germany: 18
+ *       "[United States]": 21
+ *     rules-file: config/validation-rules.properties
+ *     reload-interval: 10s
+ *   batch:
+ *     max-size: 10000
+ *     chunk-size: 500
+ *     import-chunk-size: 500
+ *     import-max-line-length: 8192
+ *   username-index:
+ *     enabled: true
+ *     expected-insertions: 1000000
+ *     false-positive-probability: 0.01
+ *   cache:
+ *     maximum-size: 100000
+ *     time-to-live: 10m
+ *   second-level-cache:
+ *     maximum-size: 100000
+ *     time-to-live: 10m
+ *   json-cache:
+ *     maximum-size: 100000
+ *     time-to-live: 10m
+ *   idempotency:
+ *     maximum-size: 100000
+ *     time-to-live: 24h
+ *   rate-limit:
+ *     client-header: X-Client-Id
+ *     trusted-proxies: 10.0.0.1
+ *     max-clients: 100000
+ *     registration:
+ *       permits-per-second: 20
+ *       burst: 40
+ *     lookup:
+ *       permits-per-second: 500
+ *       burst: 1000
+ *     bulk:
+ *       permits-per-second: 1000
+ *       burst: 10000
+ *   load-shedding:
+ *     max-in-flight: 180
+ *     retry-after: 1s
+ *   async:
+ *     queue-capacity: 10000
+ *     workers: 4
+ *     status-time-to-live: 10m
+ *     drain-timeout: 30s
+ *   listing:
+ *     default-limit: 100
+ *     max-limit: 1000
+ *   lookup:
+ *     max-ids: 1000
+ *   id:
+ *     node-id: 0
+ *     epoch: 2025-01-01T00:00:00Z
+ *     max-clock-regression: 1s
+ *   mapped:
+ *     directory: data
+ *     expected-users: 1000000
+ *   wal:
+ *     directory: data/wal
+ *     snapshot-interval: 100000
+ *   replica:
+ *     url: jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1
+ *     lag: 500ms
+ *   sharding:
+ *     bucket-count: 256
+ *     shards:
+ *       - url: jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1
+ *       - url: jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1
  * </pre>
  */
 @Configuration
@@ -32,4 +112,566 @@ public class UserProperties {
      * Users younger than this age will be rejected during registration.
      */
     private int minAge;
+
+    /**
+     * Settings for the per-country registration rules.
+     */
+    private Validation validation = new Validation();
+
+    /**
+     * Settings for bulk registration.
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * Settings for the in-memory username index.
+     */
+    private UsernameIndex usernameIndex = new UsernameIndex();
+
+    /**
+     * Settings for the cache of users looked up by ID.
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * Settings for the Hibernate second-level cache of user entities and usernames.
+     */
+    private SecondLevelCache secondLevelCache = new SecondLevelCache();
+
+    /**
+     * Settings for the cache of serialized user lookup responses.
+     */
+    private JsonCache jsonCache = new JsonCache();
+
+    /**
+     * Settings for the store of registrations sent with an idempotency key.
+     */
+    private Idempotency idempotency = new Idempotency();
+
+    /**
+     * Settings for the per-client rate limits of registrations and lookups.
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * Settings for rejecting requests once too many are in flight.
+     */
+    private LoadShedding loadShedding = new LoadShedding();
+
+    /**
+     * Settings for registrations processed asynchronously.
+     */
+    private Async async = new Async();
+
+    /**
+     * Settings for the paginated user listing.
+     */
+    private Listing listing = new Listing();
+
+    /**
+     * Settings for looking up many users by ID at once.
+     */
+    private Lookup lookup = new Lookup();
+
+    /**
+     * Settings for the generation of user IDs.
+     */
+    private Id id = new Id();
+
+    /**
+     * Settings for the memory-mapped user store of the {@code mmap} profile.
+     */
+    private Mapped mapped = new Mapped();
+
+    /**
+     * Settings for the log-structured user store of the {@code wal} profile.
+     */
+    private Wal wal = new Wal();
+
+    /**
+     * Settings for the read replica of the {@code replica} profile.
+     */
+    private Replica replica = new Replica();
+
+    /**
+     * Settings for the sharded user store of the {@code sharded} profile.
+     */
+    private Sharding sharding = new Sharding();
+
+    /**
+     * Configuration properties for bulk registration.
+     */
+    @Getter @Setter
+    public static class Batch {
+
+        /**
+         * The maximum number of users accepted in a single bulk registration request.
+         * Larger batches are rejected as a whole.
+         */
+        private int maxSize = 10000;
+
+        /**
+         * The number of users of a bulk registration committed together. A chunk that fails because one of its
+         * usernames was taken concurrently is retried one user at a time.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * The number of records committed together by the streaming import.
+         * Bounds the memory held per chunk; capped at {@link #maxSize}.
+         */
+        private int importChunkSize = 500;
+
+        /**
+         * The longest line, in characters, read by the streaming import. Longer lines are skipped without being
+         * buffered and reported as rejected.
+         */
+        private int importMaxLineLength = 8192;
+    }
+
+    /**
+     * Configuration properties for the in-memory username index used to skip duplicate-check queries.
+     */
+    @Getter @Setter
+    public static class UsernameIndex {
+
+        /**
+         * Whether the index is used. When disabled, every duplicate check queries the database.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The number of usernames the index is sized for.
+         * Beyond this, the false-positive rate grows and more checks fall back to the database.
+         */
+        private long expectedInsertions = 1_000_000;
+
+        /**
+         * The target false-positive probability once {@link #expectedInsertions} usernames are indexed.
+         */
+        private double falsePositiveProbability = 0.01;
+    }
+
+    /**
+     * Configuration properties for the cache of users looked up by ID.
+     */
+    @Getter @Setter
+    public static class Cache {
+
+        /**
+         * Whether lookups by ID are cached.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The maximum number of users kept in the cache.
+         * Least recently used entries are evicted beyond this size.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * How long a user stays in the cache after it was loaded or registered.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+
+    /**
+     * Configuration properties for the Hibernate second-level cache of user entities and of usernames resolved
+     * to IDs. Each region is bounded separately by these settings.
+     */
+    @Getter @Setter
+    public static class SecondLevelCache {
+
+        /**
+         * Whether the second-level cache is used. When disabled, every lookup by username queries the database.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The maximum number of entries kept in each region.
+         * Entries are evicted by frequency and recency beyond this size.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * How long an entry stays in a region after it was cached.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+
+    /**
+     * Configuration properties for the cache of the JSON bodies of user lookups by ID.
+     */
+    @Getter @Setter
+    public static class JsonCache {
+
+        /**
+         * Whether response bodies are cached. When disabled, every lookup serializes the user.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The maximum number of bodies kept in the cache.
+         * Entries are evicted by frequency and recency beyond this size.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * How long a body stays in the cache after it was written.
+         */
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+
+    /**
+     * Configuration properties for the store of registrations sent with an {@code Idempotency-Key} header.
+     */
+    @Getter @Setter
+    public static class Idempotency {
+
+        /**
+         * Whether the {@code Idempotency-Key} header is honored. When disabled, every request registers the user.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The maximum number of keys kept in the store.
+         * Least recently used keys are evicted beyond this size.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * How long a key is remembered after its first request. Retries after that register the user again.
+         */
+        private Duration timeToLive = Duration.ofHours(24);
+
+        /**
+         * The longest key accepted.
+         */
+        private int maxKeyLength = 255;
+    }
+
+    /**
+     * Configuration properties for the per-client rate limits of registrations and lookups by ID.
+     */
+    @Getter @Setter
+    public static class RateLimit {
+
+        /**
+         * Whether requests are rate limited. When disabled, only load shedding applies.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The request header identifying the client behind a trusted proxy. It is only read on requests from
+         * one of the {@link #trustedProxies} or carrying an authenticated principal; other requests, and requests
+         * without it, are limited by remote address.
+         */
+        private String clientHeader = "X-Client-Id";
+
+        /**
+         * The remote addresses of the proxies whose {@link #clientHeader} is trusted.
+         */
+        private List<String> trustedProxies = new ArrayList<>();
+
+        /**
+         * The number of clients whose budget is tracked. Beyond this, clients with a full budget are forgotten.
+         */
+        private int maxClients = 100_000;
+
+        /**
+         * The budget of each client for {@code POST /api/v1/users}.
+         */
+        private Budget registration = new Budget(20, 40);
+
+        /**
+         * The budget of each client for {@code GET /api/v1/users/{id}}.
+         */
+        private Budget lookup = new Budget(500, 1000);
+
+        /**
+         * The budget of each client for {@code POST /api/v1/users/batch} and {@code /import}, in entries:
+         * a request is admitted on one permit and charged one per entry once processed.
+         */
+        private Budget bulk = new Budget(1000, 10000);
+
+        /**
+         * A token bucket: requests may burst up to {@link #burst}, refilled at {@link #permitsPerSecond}.
+         */
+        @Getter @Setter
+        @NoArgsConstructor
+        public static class Budget {
+
+            /**
+             * The sustained number of requests per second.
+             */
+            private double permitsPerSecond;
+
+            /**
+             * The number of requests that may be sent at once after a quiet period.
+             */
+            private int burst;
+
+            /**
+             * Creates a budget.
+             *
+             * @param permitsPerSecond the sustained number of requests per second
+             * @param burst            the number of requests that may be sent at once
+             */
+            public Budget(double permitsPerSecond, int burst) {
+                this.permitsPerSecond = permitsPerSecond;
+                this.burst = burst;
+            }
+        }
+    }
+
+    /**
+     * Configuration properties for rejecting requests to the users API once too many are in flight.
+     */
+    @Getter @Setter
+    public static class LoadShedding {
+
+        /**
+         * Whether requests are shed under load.
+         */
+        private boolean enabled = true;
+
+        /**
+         * The number of concurrent requests beyond which new ones are rejected with 503.
+         * Should stay below the number of request threads (200 by default), so shed requests are answered before they queue.
+         */
+        private long maxInFlight = 180;
+
+        /**
+         * The delay suggested to shed clients in the {@code Retry-After} header, in whole seconds.
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Configuration properties for registrations accepted with {@code async=true} and processed in the background.
+     */
+    @Getter @Setter
+    public static class Async {
+
+        /**
+         * The number of registrations that may wait for a writer. Beyond this, new ones are refused with 503.
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * The number of writer threads, and so the most connections used by asynchronous registrations.
+         */
+        private int workers = 4;
+
+        /**
+         * The maximum number of processed registration statuses kept. Least recently used ones are evicted beyond
+         * this; pending statuses are never evicted.
+         */
+        private long maximumStatuses = 100_000;
+
+        /**
+         * How long the status of a registration can be polled after it last changed.
+         */
+        private Duration statusTimeToLive = Duration.ofMinutes(10);
+
+        /**
+         * How long shutdown waits for the queued registrations to be processed.
+         */
+        private Duration drainTimeout = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Configuration properties for the paginated user listing.
+     */
+    @Getter @Setter
+    public static class Listing {
+
+        /**
+         * The page size used when a request does not specify one.
+         */
+        private int defaultLimit = 100;
+
+        /**
+         * The largest page size a request may ask for.
+         */
+        private int maxLimit = 1000;
+    }
+
+    /**
+     * Configuration properties for looking up many users by ID at once.
+     */
+    @Getter @Setter
+    public static class Lookup {
+
+        /**
+         * The largest number of IDs a single lookup request may ask for.
+         */
+        private int maxIds = 1000;
+    }
+
+    /**
+     * Configuration properties for the generation of user IDs.
+     */
+    @Getter @Setter
+    public static class Id {
+
+        /**
+         * The ID of this application node, between 0 and 1023.
+         * Must be unique among the nodes writing to the same database.
+         */
+        private long nodeId = 0;
+
+        /**
+         * The instant ID timestamps are counted from. Must never change once IDs have been generated.
+         */
+        private Instant epoch = Instant.parse("2025-01-01T00:00:00Z");
+
+        /**
+         * How far the system clock may move backwards before ID generation fails.
+         * Within this window, IDs keep increasing from the last timestamp used.
+         */
+        private Duration maxClockRegression = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Configuration properties for the memory-mapped user store, used instead of the database
+     * when the {@code mmap} profile is active.
+     */
+    @Getter @Setter
+    public static class Mapped {
+
+        /**
+         * The directory holding the user records file and the scratch files of its indexes.
+         */
+        private Path directory = Path.of("data");
+
+        /**
+         * The number of users the indexes are sized for when the store is opened.
+         * Beyond this, the indexes grow by doubling, which pauses writes while they are rebuilt.
+         */
+        private long expectedUsers = 1_000_000;
+    }
+
+    /**
+     * Configuration properties for the log-structured user store, used instead of the database
+     * when the {@code wal} profile is active.
+     */
+    @Getter @Setter
+    public static class Wal {
+
+        /**
+         * The directory holding the write-ahead log segments and the latest snapshot.
+         */
+        private Path directory = Path.of("data/wal");
+
+        /**
+         * The number of records appended to the log after which a new snapshot is written and the older
+         * segments are deleted. Bounds both the disk used by the log and the replay time on startup.
+         */
+        private long snapshotInterval = 100_000;
+    }
+
+    /**
+     * Configuration properties for the read replica, to which read-only transactions are routed
+     * when the {@code replica} profile is active.
+     */
+    @Getter @Setter
+    public static class Replica {
+
+        /**
+         * The JDBC URL of the replica database. It is opened with the driver and credentials of
+         * {@code spring.datasource}.
+         */
+        private String url = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+        /**
+         * The artificial delay after which a change committed on the primary is copied to the replica,
+         * standing in for the replication lag of a real replica. Only used by the {@code replica-sim} profile.
+         */
+        private Duration lag = Duration.ofMillis(500);
+    }
+
+    /**
+     * Configuration properties for the sharded user store, used instead of the single database
+     * when the {@code sharded} profile is active.
+     */
+    @Getter @Setter
+    public static class Sharding {
+
+        /**
+         * The number of hash buckets users and usernames are spread over. Buckets, not users, are assigned to
+         * shards, so the mapping can change by moving whole buckets. Must not change once users are stored.
+         */
+        private int bucketCount = 256;
+
+        /**
+         * The shard databases. Buckets are split evenly between them in order, unless every shard lists its
+         * {@link Shard#getBuckets() buckets}.
+         */
+        private List<Shard> shards = new ArrayList<>(List.of(
+                new Shard("jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1"),
+                new Shard("jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1")));
+
+        /**
+         * A shard database.
+         */
+        @Getter @Setter
+        @NoArgsConstructor
+        public static class Shard {
+
+            /**
+             * The JDBC URL of the shard.
+             */
+            private String url;
+
+            /**
+             * The database user of the shard.
+             */
+            private String username = "sa";
+
+            /**
+             * The password of the database user.
+             */
+            private String password = "";
+
+            /**
+             * The buckets assigned to the shard, as comma-separated numbers and inclusive ranges,
+             * e.g. {@code 0-127,200}. Empty to split the buckets evenly.
+             */
+            private String buckets = "";
+
+            /**
+             * Creates a shard with default credentials and no explicit buckets.
+             *
+             * @param url the JDBC URL of the shard
+             */
+            public Shard(String url) {
+                this.url = url;
+            }
+        }
+    }
+
+    /**
+     * Configuration properties for the per-country registration rules, applied in addition to
+     * {@link #allowedCountry} and {@link #minAge}.
+     */
+    @Getter @Setter
+    public static class Validation {
+
+        /**
+         * The minimum age by allowed country. Country names are matched ignoring case.
+         */
+        private Map<String, Integer> minAges = new LinkedHashMap<>();
+
+        /**
+         * A file of {@code country=minimum age} lines that replaces the configured rules when set. The file is
+         * checked every {@link #reloadInterval} and its rules replace the current ones as a whole when it changes.
+         */
+        private Path rulesFile;
+
+        /**
+         * How often the rules file is checked for changes.
+         */
+        private Duration reloadInterval = Duration.ofSeconds(10);
+    }
 }
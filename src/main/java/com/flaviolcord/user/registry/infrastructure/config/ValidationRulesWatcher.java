@@ -0,0 +1,151 @@
+package com.flaviolcord.user.registry.infrastructure.config;
+
+import com.flaviolcord.user.registry.application.validator.UserValidator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the registration rules of {@code user.validation.rules-file} into the {@link UserValidator}, and reloads
+ * them whenever the file changes, without a restart.
+ * <p>
+ * The file holds one {@code country=minimum age} rule per line; blank lines and lines starting with {@code #} are
+ * ignored. It is read at startup, where an invalid file fails the startup, then checked every
+ * {@code user.validation.reload-interval}. A changed file replaces all the rules at once; if it cannot be read or
+ * holds an invalid rule, the current rules stay in place and a warning is logged.
+ * </p>
+ */
+@Component
+public class ValidationRulesWatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationRulesWatcher.class);
+
+    private final UserValidator userValidator;
+    private final Path rulesFile;
+    private final long reloadIntervalMillis;
+
+    private ScheduledExecutorService scheduler;
+    private FileTime loadedModifiedTime;
+    private long loadedSize = -1;
+
+    /**
+     * Creates the watcher.
+     *
+     * @param userValidator  the validator the rules are loaded into
+     * @param userProperties the location of the rules file and the reload interval
+     */
+    public ValidationRulesWatcher(UserValidator userValidator, UserProperties userProperties) {
+        this.userValidator = userValidator;
+        this.rulesFile = userProperties.getValidation().getRulesFile();
+        this.reloadIntervalMillis = userProperties.getValidation().getReloadInterval().toMillis();
+    }
+
+    /**
+     * Loads the rules file, if one is configured, and starts checking it for changes.
+     *
+     * @throws UncheckedIOException     if the file cannot be read
+     * @throws IllegalArgumentException if the file holds an invalid rule
+     */
+    @PostConstruct
+    public void start() {
+        if (rulesFile == null) {
+            return;
+        }
+        try {
+            reload();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read validation rules from " + rulesFile, ex);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("validation-rules-reload").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::reloadIfChanged, reloadIntervalMillis, reloadIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops checking the rules file.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Reloads the rules if the modification time or the size of the file changed since they were last loaded.
+     *
+     * @return {@code true} if new rules were loaded
+     */
+    boolean reloadIfChanged() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(rulesFile, BasicFileAttributes.class);
+            if (attributes.lastModifiedTime().equals(loadedModifiedTime) && attributes.size() == loadedSize) {
+                return false;
+            }
+            reload();
+            return true;
+        } catch (IOException | IllegalArgumentException ex) {
+            logger.warn("Keeping the current validation rules, cannot reload {}: {}", rulesFile, ex.toString());
+            return false;
+        }
+    }
+
+    private void reload() throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(rulesFile, BasicFileAttributes.class);
+        Map<String, Integer> minAges = parse(Files.readAllLines(rulesFile, StandardCharsets.UTF_8));
+        userValidator.reload(minAges);
+        // Attributes read before the content, so a change made while reading is loaded again on the next check
+        loadedModifiedTime = attributes.lastModifiedTime();
+        loadedSize = attributes.size();
+        logger.info("Loaded {} validation rules from {}", minAges.size(), rulesFile);
+    }
+
+    /**
+     * Parses {@code country=minimum age} lines.
+     *
+     * @param lines the lines of a rules file
+     * @return the minimum age by country, in file order
+     * @throws IllegalArgumentException if a line is not a rule or a country is listed twice
+     */
+    static Map<String, Integer> parse(List<String> lines) {
+        Map<String, Integer> minAges = new LinkedHashMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid rule at line " + (i + 1) + ": " + line);
+            }
+            String country = line.substring(0, separator).strip();
+            int minAge;
+            try {
+                minAge = Integer.parseInt(line.substring(separator + 1).strip());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid minimum age at line " + (i + 1) + ": " + line, ex);
+            }
+            if (minAges.put(country, minAge) != null) {
+                throw new IllegalArgumentException("Duplicate rule for " + country + " at line " + (i + 1));
+            }
+        }
+        return minAges;
+    }
+}
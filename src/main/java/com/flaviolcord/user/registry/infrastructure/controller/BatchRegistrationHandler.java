@@ -0,0 +1,99 @@
+package com.flaviolcord.user.registry.infrastructure.controller;
+
+import com.flaviolcord.user.registry.application.service.UserService;
+import com.flaviolcord.user.registry.domain.model.RegistrationResult;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.dto.BatchRegistrationItemDTO;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Registers a list of user DTOs as one batch and reports a result per entry.
+ * <p>
+ * Shared by the web endpoints that accept many users at once. Entries that violate the
+ * {@link UserDTO} constraints are rejected here; the remaining entries are registered through
+ * {@link UserService#registerUsers(List)}, which applies the business rules.
+ * </p>
+ */
+@Component
+@Profile("!reactive")
+@AllArgsConstructor
+public class BatchRegistrationHandler {
+
+    private final UserService userService;
+    private final UserMapper userMapper;
+    private final Validator validator;
+
+    /**
+     * Registers the given entries in a single batch.
+     *
+     * @param userDTOs the user information for each registration; {@code null} entries are rejected
+     * @return one result per entry, in input order, with {@code index} set to the entry's position in the list
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if the batch is too large
+     */
+    public List<BatchRegistrationItemDTO> register(List<UserDTO> userDTOs) {
+        BatchRegistrationItemDTO[] items = new BatchRegistrationItemDTO[userDTOs.size()];
+
+        // Reject entries that violate the DTO constraints, convert the others to domain models
+        List<User> users = new ArrayList<>(userDTOs.size());
+        List<Integer> userIndexes = new ArrayList<>(userDTOs.size());
+        for (int i = 0; i < userDTOs.size(); i++) {
+            UserDTO userDTO = userDTOs.get(i);
+            String violations = userDTO == null ? "Entry is required" : describeViolations(userDTO);
+            if (violations.isEmpty()) {
+                users.add(userMapper.toDomainModel(userDTO));
+                userIndexes.add(i);
+            } else {
+                items[i] = rejected(i, userDTO == null ? null : userDTO.getUsername(), violations);
+            }
+        }
+
+        List<RegistrationResult> results = userService.registerUsers(users);
+
+        // Merge the registration results back into input order
+        for (int i = 0; i < results.size(); i++) {
+            RegistrationResult result = results.get(i);
+            int index = userIndexes.get(i);
+            items[index] = result.isSuccess()
+                    ? new BatchRegistrationItemDTO(index, BatchRegistrationItemDTO.CREATED,
+                            result.user().id(), result.user().username(), null)
+                    : rejected(index, users.get(i).username(), result.error());
+        }
+
+        return List.of(items);
+    }
+
+    /**
+     * Builds the result of an entry that was rejected.
+     *
+     * @param index    the position of the entry
+     * @param username the username sent for the entry, if any
+     * @param error    the rejection reason
+     * @return a rejected BatchRegistrationItemDTO
+     */
+    static BatchRegistrationItemDTO rejected(int index, String username, String error) {
+        return new BatchRegistrationItemDTO(index, BatchRegistrationItemDTO.REJECTED, null, username, error);
+    }
+
+    /**
+     * Validates a DTO against its bean validation constraints.
+     *
+     * @param userDTO the DTO to validate
+     * @return the violations formatted as {@code field: message}, sorted and comma separated,
+     *         or an empty string if the DTO is valid
+     */
+    private String describeViolations(UserDTO userDTO) {
+        return validator.validate(userDTO).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,134 @@
+package com.flaviolcord.user.registry.infrastructure.controller;
+
+import com.flaviolcord.user.registry.application.usecase.ReactiveFindUserByIdUseCase;
+import com.flaviolcord.user.registry.application.usecase.ReactiveRegisterUserUseCase;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.exception.GlobalExceptionHandler.ErrorResponse;
+import com.flaviolcord.user.registry.infrastructure.exception.UserNotFoundException;
+import com.flaviolcord.user.registry.infrastructure.exception.UserRegistrationException;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import com.flaviolcord.user.registry.infrastructure.json.UserJsonCache;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux handler functions serving user registration and retrieval with the {@code reactive} profile.
+ * <p>
+ * They answer {@code POST /api/v1/users} and {@code GET /api/v1/users/{id}} with the same bodies, headers and
+ * error responses as {@link UserController}, without blocking the event loop: the use cases return a
+ * {@link Mono} that completes when the database answers.
+ * </p>
+ *
+ * @see com.flaviolcord.user.registry.infrastructure.config.ReactiveWebConfig
+ */
+@Component
+@Profile("reactive")
+@AllArgsConstructor
+public class ReactiveUserHandler {
+
+    private final ReactiveRegisterUserUseCase registerUserUseCase;
+    private final ReactiveFindUserByIdUseCase findUserByIdUseCase;
+    private final UserMapper userMapper;
+    private final UserJsonCache userJsonCache;
+    private final Validator validator;
+
+    /**
+     * Creates a new user.
+     * <p>
+     * Idempotency keys are not supported here, so a request carrying an {@code Idempotency-Key} header is rejected
+     * rather than registered without the protection the client asked for.
+     * </p>
+     *
+     * @param request the request holding the user information for registration
+     * @return a Mono emitting the created UserDTO with HTTP status 201 (CREATED)
+     */
+    public Mono<ServerResponse> registerUser(ServerRequest request) {
+        if (request.headers().firstHeader(UserController.IDEMPOTENCY_KEY) != null) {
+            return Mono.error(new ValidationException(
+                    UserController.IDEMPOTENCY_KEY + " is not supported by the reactive API"));
+        }
+
+        return request.bodyToMono(UserDTO.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Request body is missing")))
+                .doOnNext(this::validate)
+                .map(userMapper::toDomainModel)
+                .flatMap(registerUserUseCase::execute)
+                .flatMap(user -> ServerResponse.status(HttpStatus.CREATED)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(userMapper.toDTO(user)));
+    }
+
+    /**
+     * Retrieves a user by their ID.
+     * <p>
+     * The response carries the same strong {@code ETag} as {@link UserController#getUserById}, and a request
+     * sending a matching {@code If-None-Match} gets 304 (NOT MODIFIED) without a body. The body is taken from the
+     * {@link UserJsonCache}.
+     * </p>
+     *
+     * @param request the request holding the ID of the user to retrieve
+     * @return a Mono emitting the UserDTO as JSON with HTTP status 200 (OK)
+     */
+    public Mono<ServerResponse> getUserById(ServerRequest request) {
+        String id = request.pathVariable("id");
+        return Mono.fromCallable(() -> Long.valueOf(id))
+                .onErrorMap(NumberFormatException.class, ex -> new ServerWebInputException("Invalid user ID: " + id))
+                .flatMap(findUserByIdUseCase::execute)
+                .flatMap(user -> ServerResponse.ok()
+                        .eTag(UserController.eTagOf(user.id(), user.version()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(userJsonCache.serialize(user)));
+    }
+
+    /**
+     * Converts the errors of the handlers into the error responses of {@link GlobalExceptionHandler}.
+     *
+     * @param request the current request
+     * @param next    the handler of the request
+     * @return a Mono emitting the response of the handler, or the error response it failed with
+     */
+    public Mono<ServerResponse> handleErrors(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return next.handle(request)
+                .onErrorResume(ValidationException.class,
+                        ex -> errorResponse(HttpStatus.BAD_REQUEST, "Validation error", ex.getMessage()))
+                .onErrorResume(UserRegistrationException.class,
+                        ex -> errorResponse(HttpStatus.BAD_REQUEST, "Registration error", ex.getMessage()))
+                .onErrorResume(UserNotFoundException.class,
+                        ex -> errorResponse(HttpStatus.NOT_FOUND, "User not found", ex.getMessage()));
+    }
+
+    /**
+     * Applies the bean validation constraints of the DTO, as {@code @Valid} does for {@link UserController}.
+     *
+     * @param userDTO the DTO to validate
+     * @throws ValidationException listing every invalid field if the DTO is invalid
+     */
+    private void validate(UserDTO userDTO) {
+        Set<ConstraintViolation<UserDTO>> violations = validator.validate(userDTO);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static Mono<ServerResponse> errorResponse(HttpStatus status, String error, String message) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(status.value(), error, message));
+    }
+}
@@ -1,65 +1,244 @@
 package com.flaviolcord.user.registry.infrastructure.controller;
 
+import com.flaviolcord.user.registry.application.cache.IdempotencyCache;
 import com.flaviolcord.user.registry.application.service.UserService;
+import com.flaviolcord.user.registry.domain.model.RegistrationStatus;
 import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.model.UserLookupResult;
+import com.flaviolcord.user.registry.infrastructure.dto.BatchRegistrationItemDTO;
+import com.flaviolcord.user.registry.infrastructure.dto.BatchRegistrationResponseDTO;
+import com.flaviolcord.user.registry.infrastructure.dto.RegistrationStatusDTO;
 import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.dto.UserLookupResponseDTO;
+import com.flaviolcord.user.registry.infrastructure.json.UserJsonCache;
 import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
+import com.flaviolcord.user.registry.infrastructure.persistence.routing.ReadYourWrites;
+import com.flaviolcord.user.registry.infrastructure.ratelimit.RateLimitFilter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.UUID;
 
 /**
  * REST controller for managing user operations.
  * Provides endpoints for user registration and retrieval.
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/users")
 @AllArgsConstructor
 public class UserController {
 
+    /**
+     * The request header carrying the client-chosen key that makes a registration safe to retry.
+     */
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /**
+     * The response header set to {@code true} when a registration was replayed from an earlier request.
+     */
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final UserService userService;
     private final UserMapper userMapper;
+    private final BatchRegistrationHandler batchRegistrationHandler;
+    private final IdempotencyCache idempotencyCache;
+    private final UserJsonCache userJsonCache;
 
     /**
      * Creates a new user.
+     * <p>
+     * When the request carries an {@code Idempotency-Key} header, a retry with the same key returns the user
+     * created by the first request, with an {@code Idempotent-Replayed: true} header, instead of registering
+     * it again. Concurrent requests with the same key register the user once.
+     * </p>
      *
-     * @param userDTO the user information for registration
+     * @param userDTO        the user information for registration
+     * @param idempotencyKey the idempotency key of the request, if any
      * @return ResponseEntity containing the created UserDTO with HTTP status 201 (CREATED)
-     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if the user data is invalid
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if the user data or the key is invalid
      * @throws com.flaviolcord.user.registry.infrastructure.exception.UserRegistrationException if the username is already taken
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.IdempotencyKeyReusedException if the key was used for a different user
      */
     @PostMapping
-    public ResponseEntity<UserDTO> registerUser(@RequestBody @Valid UserDTO userDTO) {
+    public ResponseEntity<UserDTO> registerUser(@RequestBody @Valid UserDTO userDTO,
+                                                @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         // Convert DTO to domain model
         User user = userMapper.toDomainModel(userDTO);
 
-        User registeredUser = userService.registerUser(user);
+        // Register the user, or replay the outcome of an earlier request with the same key
+        IdempotencyCache.Outcome outcome = idempotencyKey == null
+                ? new IdempotencyCache.Outcome(userService.registerUser(user), false)
+                : idempotencyCache.register(idempotencyKey, user, () -> userService.registerUser(user));
 
         // Convert domain model back to DTO
-        UserDTO responseDTO = userMapper.toDTO(registeredUser);
+        UserDTO responseDTO = userMapper.toDTO(outcome.user());
 
         // Return the response with HTTP status 201 (CREATED)
-        return ResponseEntity.status(HttpStatus.CREATED).body(responseDTO);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (outcome.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return response.body(responseDTO);
+    }
+
+    /**
+     * Accepts a user for asynchronous registration, e.g. {@code POST /api/v1/users?async=true}.
+     * <p>
+     * The user is validated and queued, and the response is sent before it is written. Its {@code Location}
+     * is the status URL to poll; the username is only checked for duplicates when the user is written.
+     * </p>
+     *
+     * @param userDTO the user information for registration
+     * @return ResponseEntity containing the pending status with HTTP status 202 (ACCEPTED)
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if the user data is invalid
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.RegistrationQueueFullException if the queue is full
+     */
+    @PostMapping(params = "async=true")
+    public ResponseEntity<RegistrationStatusDTO> submitUser(@RequestBody @Valid UserDTO userDTO) {
+        UUID registrationId = userService.submitRegistration(userMapper.toDomainModel(userDTO));
+
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/v1/users/registrations/{id}")
+                        .buildAndExpand(registrationId)
+                        .toUri())
+                .body(toStatusDTO(registrationId, RegistrationStatus.PENDING));
+    }
+
+    /**
+     * Retrieves the status of an asynchronous registration.
+     * <p>
+     * Once the user is created, the response carries the read-your-writes token of its write, so the client
+     * can read the user it registered.
+     * </p>
+     *
+     * @param id the ID of the registration
+     * @return ResponseEntity containing the status with HTTP status 200 (OK)
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.RegistrationNotFoundException if the
+     *         registration is unknown or its status has expired
+     */
+    @GetMapping("/registrations/{id}")
+    public ResponseEntity<RegistrationStatusDTO> getRegistrationStatus(@PathVariable UUID id) {
+        RegistrationStatus status = userService.findRegistrationStatus(id);
+        ReadYourWrites.observed(status.position());
+        return ResponseEntity.ok(toStatusDTO(id, status));
+    }
+
+    private static RegistrationStatusDTO toStatusDTO(UUID registrationId, RegistrationStatus status) {
+        return new RegistrationStatusDTO(registrationId, status.state().name(), status.userId(), status.error());
+    }
+
+    /**
+     * Creates many users in a single request.
+     * <p>
+     * Each entry is validated on its own; invalid entries and usernames that are already taken
+     * are reported as rejected without preventing the remaining entries from being created.
+     * </p>
+     *
+     * @param userDTOs the user information for each registration
+     * @param request  the HTTP request, charged one rate-limit permit per entry
+     * @return ResponseEntity containing one result per entry, in request order, with HTTP status 200 (OK)
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if the batch is too large
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchRegistrationResponseDTO> registerUsers(@RequestBody List<UserDTO> userDTOs,
+                                                                      HttpServletRequest request) {
+        RateLimitFilter.chargeEntries(request, userDTOs.size());
+        List<BatchRegistrationItemDTO> results = batchRegistrationHandler.register(userDTOs);
+
+        int created = (int) results.stream()
+                .filter(result -> BatchRegistrationItemDTO.CREATED.equals(result.getStatus()))
+                .count();
+
+        return ResponseEntity.ok(new BatchRegistrationResponseDTO(created, results.size() - created, results));
     }
 
     /**
      * Retrieves a user by their ID.
+     * <p>
+     * The response carries a strong {@code ETag} derived from the user's ID and stored version. When the
+     * request sends a matching {@code If-None-Match}, only the version is looked up and 304 (NOT MODIFIED)
+     * is returned without reading, mapping or serializing the user.
+     * </p>
+     * <p>
+     * The body is taken from the {@link UserJsonCache}, so a repeated lookup of the same version of a user
+     * writes the bytes serialized the first time.
+     * </p>
      *
-     * @param id the ID of the user to retrieve
-     * @return ResponseEntity containing the UserDTO with HTTP status 200 (OK)
+     * @param id      the ID of the user to retrieve
+     * @param request the current request, used to evaluate {@code If-None-Match}
+     * @return ResponseEntity containing the UserDTO as JSON with HTTP status 200 (OK), or {@code null} once a
+     *         304 (NOT MODIFIED) response has been prepared
      * @throws com.flaviolcord.user.registry.infrastructure.exception.UserNotFoundException if the user is not found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getUserById(@PathVariable Long id, WebRequest request) {
+        // Answer a conditional request from the version alone
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(eTagOf(id, userService.findUserVersion(id)))) {
+            return null;
+        }
+
         // Retrieve the user by ID
         User user = userService.findUserById(id);
 
-        // Convert domain model to DTO
-        UserDTO responseDTO = userMapper.toDTO(user);
+        // Return the serialized UserDTO with HTTP status 200 (OK)
+        return ResponseEntity.ok()
+                .eTag(eTagOf(user.id(), user.version()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(userJsonCache.serialize(user));
+    }
+
+    /**
+     * Retrieves many users by their IDs in a single request, e.g. {@code GET /api/v1/users?ids=1,2,3}.
+     * IDs that do not exist are listed in {@code missing_ids} instead of failing the request.
+     *
+     * @param ids the IDs of the users to retrieve
+     * @return ResponseEntity containing the found users in request order and the missing IDs, with HTTP status 200 (OK)
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if the number of IDs is out of range
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<UserLookupResponseDTO> getUsersByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(lookup(ids));
+    }
+
+    /**
+     * Retrieves many users by their IDs, taking the IDs as a JSON array in the request body.
+     * Equivalent to {@link #getUsersByIds(List)} for ID lists too long for a URL.
+     *
+     * @param ids the IDs of the users to retrieve
+     * @return ResponseEntity containing the found users in request order and the missing IDs, with HTTP status 200 (OK)
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if the number of IDs is out of range
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<UserLookupResponseDTO> lookupUsers(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(lookup(ids));
+    }
+
+    private UserLookupResponseDTO lookup(List<Long> ids) {
+        UserLookupResult result = userService.findUsersByIds(ids);
+        return new UserLookupResponseDTO(userMapper.toDTOs(result.users()), result.missingIds());
+    }
 
-        // Return the response with HTTP status 200 (OK)
-        return ResponseEntity.ok(responseDTO);
+    /**
+     * Builds the entity tag of a version of a user.
+     *
+     * @param id      the ID of the user
+     * @param version the version of the user
+     * @return the quoted, strong entity tag
+     */
+    static String eTagOf(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
     }
-}
\ No newline at end of file
+}
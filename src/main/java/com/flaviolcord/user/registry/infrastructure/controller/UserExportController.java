@@ -0,0 +1,266 @@
+package com.flaviolcord.user.registry.infrastructure.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flaviolcord.user.registry.application.service.UserService;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller for exporting the whole user base.
+ * <p>
+ * Users are written to the response as they are read from a forward-only database cursor, either as
+ * newline-delimited JSON (one {@link com.flaviolcord.user.registry.infrastructure.dto.UserDTO} per line)
+ * or as CSV with a header row. Only a fixed-size write buffer is held in memory, so the export runs in
+ * constant memory however many users there are, and the first record is flushed as soon as it is read.
+ * </p>
+ * <p>
+ * When the client sends {@code Accept-Encoding: gzip}, the body is compressed on the fly and sent with
+ * {@code Content-Encoding: gzip}.
+ * </p>
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/users")
+@AllArgsConstructor
+public class UserExportController {
+
+    static final String CSV_HEADER = "id,username,birthdate,country_of_residence,phone_number,gender";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UserService userService;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Exports every user in ascending ID order.
+     *
+     * @param format         the export format, {@code ndjson} (default) or {@code csv}
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request, if any
+     * @param response       the HTTP response the export is streamed to
+     * @throws IOException         if writing the response fails
+     * @throws ValidationException if the format is not supported
+     */
+    @GetMapping("/export")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format,
+                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                            HttpServletResponse response) throws IOException {
+        Format exportFormat = Format.of(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(exportFormat.mediaType.toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("users." + exportFormat.extension)
+                .build()
+                .toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        OutputStream body = response.getOutputStream();
+        GZIPOutputStream compressed = null;
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            compressed = new GZIPOutputStream(body, BUFFER_SIZE, true);
+            body = compressed;
+        }
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RecordWriter writer = exportFormat == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(out);
+        try {
+            userService.exportUsers(writer::write);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writer.finish();
+        if (compressed != null) {
+            compressed.finish();
+        }
+    }
+
+    /**
+     * Checks whether the client accepts a gzip-encoded response.
+     *
+     * @param acceptEncoding the {@code Accept-Encoding} header of the request, if any
+     * @return {@code true} if gzip is listed without a zero quality value
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends a value as a CSV field, quoting it when it contains a delimiter, quote or line break.
+     * <p>
+     * A value starting with {@code =}, {@code +}, {@code -}, {@code @}, a tab or a carriage return would be run
+     * as a formula by spreadsheet applications, so it is prefixed with {@code '} and quoted.
+     * </p>
+     *
+     * @param out   the writer to append to
+     * @param value the value to append; {@code null} is written as an empty field
+     * @throws IOException if writing fails
+     */
+    static void writeCsvField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean formula = !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+        if (!formula && value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        if (formula) {
+            out.write('\'');
+        }
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    /**
+     * The supported export formats.
+     */
+    private enum Format {
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        private static Format of(String name) {
+            for (Format format : values()) {
+                if (format.extension.equals(name.toLowerCase(Locale.ROOT))) {
+                    return format;
+                }
+            }
+            throw new ValidationException("Format must be ndjson or csv.");
+        }
+    }
+
+    /**
+     * Writes users to the response in one export format.
+     * The first record is flushed immediately so the client sees data as soon as the cursor yields it;
+     * after that, output is only flushed when the buffer fills.
+     */
+    private abstract static class RecordWriter {
+
+        final Writer out;
+        private boolean flushed;
+
+        private RecordWriter(Writer out) {
+            this.out = out;
+        }
+
+        private void write(User user) {
+            try {
+                writeRecord(user);
+                if (!flushed) {
+                    flush();
+                    flushed = true;
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        abstract void writeRecord(User user) throws IOException;
+
+        void flush() throws IOException {
+            out.flush();
+        }
+
+        void finish() throws IOException {
+            flush();
+        }
+    }
+
+    /**
+     * Writes one JSON object per line, with the same field names as the other user endpoints.
+     */
+    private final class NdjsonWriter extends RecordWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonWriter(Writer out) throws IOException {
+            super(out);
+            this.generator = objectMapper.createGenerator(out);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void writeRecord(User user) throws IOException {
+            generator.writeObject(userMapper.toDTO(user));
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * Writes a header row followed by one row per user.
+     */
+    private static final class CsvWriter extends RecordWriter {
+
+        private CsvWriter(Writer out) throws IOException {
+            super(out);
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+
+        @Override
+        void writeRecord(User user) throws IOException {
+            out.write(String.valueOf(user.id()));
+            out.write(',');
+            writeCsvField(out, user.username());
+            out.write(',');
+            writeCsvField(out, user.birthdate() != null ? user.birthdate().toString() : null);
+            out.write(',');
+            writeCsvField(out, user.countryOfResidence());
+            out.write(',');
+            writeCsvField(out, user.phoneNumber());
+            out.write(',');
+            writeCsvField(out, user.gender());
+            out.write('\n');
+        }
+    }
+}
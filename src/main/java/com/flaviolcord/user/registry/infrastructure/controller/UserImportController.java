@@ -0,0 +1,306 @@
+package com.flaviolcord.user.registry.infrastructure.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.dto.BatchRegistrationItemDTO;
+import com.flaviolcord.user.registry.infrastructure.dto.ImportChunkResultDTO;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.ratelimit.RateLimitFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * REST controller for streaming user imports.
+ * <p>
+ * Reads newline-delimited JSON (one {@link UserDTO} per line) from the request body as it arrives,
+ * registers the records in fixed-size chunks and writes one {@link ImportChunkResultDTO} line per chunk
+ * back to the client. Only the current chunk is held in memory, so heap use does not grow with the
+ * size of the input. Each chunk is committed in its own transaction.
+ * </p>
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/users")
+@AllArgsConstructor
+public class UserImportController {
+
+    private final BatchRegistrationHandler batchRegistrationHandler;
+    private final ObjectMapper objectMapper;
+    private final UserProperties userProperties;
+
+    /**
+     * Imports users from a newline-delimited JSON body.
+     * <p>
+     * Blank lines are ignored. Lines that are not valid JSON, or longer than
+     * {@code user.batch.import-max-line-length}, are reported as rejected without stopping the import. Bodies sent with {@code Content-Encoding: gzip} are decompressed on the fly.
+     * The status and headers are sent before the first chunk is registered, so the response carries no
+     * header set by a later write, such as a read-your-writes token.
+     * </p>
+     *
+     * @param contentEncoding the {@code Content-Encoding} header of the request, if any
+     * @param request         the HTTP request whose body is read incrementally, charged one rate-limit permit
+     *                        per record
+     * @param response        the HTTP response that progress lines are written and flushed to
+     * @throws IOException if reading the request or writing the response fails
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(@RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        UserProperties.Batch batch = userProperties.getBatch();
+        int chunkSize = Math.max(1, Math.min(batch.getImportChunkSize(), batch.getMaxSize()));
+        int maxLineLength = Math.max(1, batch.getImportMaxLineLength());
+        ObjectReader reader = objectMapper.readerFor(UserDTO.class);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        try (LineReader lines = new LineReader(new InputStreamReader(
+                decode(request.getInputStream(), contentEncoding), StandardCharsets.UTF_8), maxLineLength)) {
+            response.flushBuffer();
+            Chunk chunk = new Chunk(chunkSize);
+            int chunkNumber = 0;
+            long processed = 0;
+            int lineNumber = 0;
+
+            for (String line = lines.readLine(); line != null; line = lines.readLine(), lineNumber++) {
+                if (lines.isTooLong()) {
+                    chunk.reject(BatchRegistrationHandler.rejected(lineNumber, null,
+                            "Line exceeds " + maxLineLength + " characters"));
+                } else if (line.isBlank()) {
+                    continue;
+                } else {
+                    try {
+                        chunk.add(reader.readValue(line), lineNumber);
+                    } catch (JsonProcessingException ex) {
+                        chunk.reject(BatchRegistrationHandler.rejected(lineNumber, null, "Malformed JSON record"));
+                    }
+                }
+
+                if (chunk.size() == chunkSize) {
+                    processed += chunk.size();
+                    RateLimitFilter.chargeEntries(request, chunk.size());
+                    writeLine(out, chunk.flush(++chunkNumber, processed));
+                }
+            }
+
+            if (chunk.size() > 0) {
+                processed += chunk.size();
+                RateLimitFilter.chargeEntries(request, chunk.size());
+                writeLine(out, chunk.flush(++chunkNumber, processed));
+            }
+        }
+    }
+
+    /**
+     * Wraps the request body in a decompressing stream when it is gzip encoded.
+     *
+     * @param body            the raw request body
+     * @param contentEncoding the {@code Content-Encoding} header of the request, if any
+     * @return a stream of the decoded body
+     * @throws IOException if the gzip header cannot be read
+     */
+    private static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        return isGzip(contentEncoding) ? new GZIPInputStream(body) : body;
+    }
+
+    /**
+     * Tells whether a {@code Content-Encoding} header lists the gzip coding. Codings are comma-separated tokens
+     * compared case-insensitively, and {@code x-gzip} is the registered alias of {@code gzip}.
+     *
+     * @param contentEncoding the {@code Content-Encoding} header of the request, if any
+     * @return {@code true} if one of the codings is gzip
+     */
+    private static boolean isGzip(String contentEncoding) {
+        if (contentEncoding == null) {
+            return false;
+        }
+        for (String coding : contentEncoding.split(",")) {
+            String token = coding.trim();
+            if (token.equalsIgnoreCase("gzip") || token.equalsIgnoreCase("x-gzip")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes a chunk result as a single JSON line and flushes it to the client.
+     *
+     * @param out    the response output stream
+     * @param result the chunk result to write
+     * @throws IOException if writing fails
+     */
+    private void writeLine(OutputStream out, ImportChunkResultDTO result) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(result));
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Reads the lines of the body, never buffering more than the maximum line length.
+     * <p>
+     * Lines end with {@code \n}, optionally preceded by {@code \r}. The rest of a line that grows beyond the
+     * maximum is skipped as it is read; the line is then returned empty and {@link #isTooLong()} is set.
+     * </p>
+     */
+    private static final class LineReader implements Closeable {
+
+        private final Reader in;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        private boolean tooLong;
+
+        private LineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Reads the next line.
+         *
+         * @return the line without its terminator, or {@code null} at the end of the body
+         * @throws IOException if reading the body fails
+         */
+        private String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    limit = Math.max(0, in.read(buffer));
+                    position = 0;
+                    if (limit == 0) {
+                        return read ? finish() : null;
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++;
+                    return finish();
+                }
+            }
+        }
+
+        private boolean isTooLong() {
+            return tooLong;
+        }
+
+        private void append(int start, int end) {
+            if (tooLong) {
+                return;
+            }
+            // One extra character for a trailing '\r'
+            if (line.length() + end - start > maxLength + 1) {
+                tooLong = true;
+                line.setLength(0);
+            } else {
+                line.append(buffer, start, end - start);
+            }
+        }
+
+        private String finish() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                line.setLength(--length);
+            }
+            if (length > maxLength) {
+                tooLong = true;
+                line.setLength(0);
+            }
+            return line.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * The records of the chunk currently being read.
+     */
+    private final class Chunk {
+
+        private final List<UserDTO> userDTOs;
+        private final List<Integer> lineNumbers;
+        private final List<BatchRegistrationItemDTO> malformed = new ArrayList<>();
+
+        private Chunk(int capacity) {
+            this.userDTOs = new ArrayList<>(capacity);
+            this.lineNumbers = new ArrayList<>(capacity);
+        }
+
+        private void add(UserDTO userDTO, int lineNumber) {
+            userDTOs.add(userDTO);
+            lineNumbers.add(lineNumber);
+        }
+
+        private void reject(BatchRegistrationItemDTO item) {
+            malformed.add(item);
+        }
+
+        private int size() {
+            return userDTOs.size() + malformed.size();
+        }
+
+        /**
+         * Registers the chunk, builds its result and clears it for the next records.
+         *
+         * @param chunkNumber the 1-based sequence number of the chunk
+         * @param processed   the number of records processed so far, including this chunk
+         * @return the result of the chunk
+         */
+        private ImportChunkResultDTO flush(int chunkNumber, long processed) {
+            List<BatchRegistrationItemDTO> errors = new ArrayList<>(malformed);
+            int created = 0;
+            for (BatchRegistrationItemDTO item : batchRegistrationHandler.register(userDTOs)) {
+                item.setIndex(lineNumbers.get(item.getIndex()));
+                if (BatchRegistrationItemDTO.CREATED.equals(item.getStatus())) {
+                    created++;
+                } else {
+                    errors.add(item);
+                }
+            }
+            errors.sort(Comparator.comparingInt(BatchRegistrationItemDTO::getIndex));
+
+            ImportChunkResultDTO result = new ImportChunkResultDTO(chunkNumber, created, size() - created, processed, errors);
+            userDTOs.clear();
+            lineNumbers.clear();
+            malformed.clear();
+            return result;
+        }
+    }
+}
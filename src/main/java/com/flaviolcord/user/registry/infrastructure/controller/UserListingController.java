@@ -0,0 +1,116 @@
+package com.flaviolcord.user.registry.infrastructure.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flaviolcord.user.registry.application.service.UserService;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+/**
+ * REST controller for listing users.
+ * <p>
+ * Pages are selected with a keyset cursor ({@code after}) rather than an offset, and each user is
+ * serialized to the response as soon as it is read from the database, so large pages are never
+ * buffered in memory. The response has the form:
+ * </p>
+ * <pre>
+ * {"users":[{...},{...}],"next_cursor":42}
+ * </pre>
+ * <p>
+ * {@code next_cursor} is the value to pass as {@code after} to fetch the next page, or {@code null}
+ * on the last page.
+ * </p>
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/users")
+@AllArgsConstructor
+public class UserListingController {
+
+    private final UserService userService;
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Lists one page of users in ascending ID order.
+     *
+     * @param after    the cursor returned with the previous page; omit for the first page
+     * @param limit    the maximum number of users in the page; omit for the configured default
+     * @param response the HTTP response the page is streamed to
+     * @throws IOException if writing the response fails
+     * @throws com.flaviolcord.user.registry.infrastructure.exception.ValidationException if the limit is out of range
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public void listUsers(@RequestParam(required = false) Long after,
+                          @RequestParam(required = false) Integer limit,
+                          HttpServletResponse response) throws IOException {
+        PageWriter page = new PageWriter(response);
+        Optional<Long> nextCursor;
+        try {
+            nextCursor = userService.listUsers(after, limit, page::write);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        page.finish(nextCursor);
+    }
+
+    /**
+     * Writes the page to the response, starting the body only once the first user arrives
+     * so that a rejected request can still be answered with an error response.
+     */
+    private final class PageWriter {
+
+        private final HttpServletResponse response;
+        private JsonGenerator generator;
+
+        private PageWriter(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        private void write(User user) {
+            try {
+                start();
+                generator.writeObject(userMapper.toDTO(user));
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void finish(Optional<Long> nextCursor) throws IOException {
+            start();
+            generator.writeEndArray();
+            generator.writeFieldName("next_cursor");
+            if (nextCursor.isPresent()) {
+                generator.writeNumber(nextCursor.get());
+            } else {
+                generator.writeNull();
+            }
+            generator.writeEndObject();
+            generator.flush();
+        }
+
+        private void start() throws IOException {
+            if (generator != null) {
+                return;
+            }
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            generator = objectMapper.createGenerator(response.getOutputStream());
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("users");
+        }
+    }
+}
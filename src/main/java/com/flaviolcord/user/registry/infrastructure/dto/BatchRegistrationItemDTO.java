@@ -0,0 +1,53 @@
+package com.flaviolcord.user.registry.infrastructure.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Data Transfer Object describing the outcome of one entry in a bulk registration request.
+ * Contains the created user's ID on success, or the rejection reason on failure.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchRegistrationItemDTO {
+
+    /**
+     * Status of an entry that was registered.
+     */
+    public static final String CREATED = "CREATED";
+
+    /**
+     * Status of an entry that was rejected.
+     */
+    public static final String REJECTED = "REJECTED";
+
+    /**
+     * The position of the entry in the request body.
+     */
+    private int index;
+
+    /**
+     * Either {@value #CREATED} or {@value #REJECTED}.
+     */
+    private String status;
+
+    /**
+     * The ID of the created user.
+     * Only present when the entry was created.
+     */
+    private Long id;
+
+    /**
+     * The username of the entry, as sent in the request.
+     */
+    private String username;
+
+    /**
+     * The reason the entry was rejected.
+     * Only present when the entry was rejected.
+     */
+    private String error;
+}
@@ -0,0 +1,31 @@
+package com.flaviolcord.user.registry.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the response of a bulk registration request.
+ * Contains summary counts and one result per submitted entry, in request order.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class BatchRegistrationResponseDTO {
+
+    /**
+     * The number of users that were created.
+     */
+    private int created;
+
+    /**
+     * The number of entries that were rejected.
+     */
+    private int rejected;
+
+    /**
+     * The per-entry results, in the same order as the request body.
+     */
+    private List<BatchRegistrationItemDTO> results;
+}
@@ -0,0 +1,44 @@
+package com.flaviolcord.user.registry.infrastructure.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the progress line written after each chunk of a streaming import.
+ * Contains the counts for the chunk and the rejected records it contained.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ImportChunkResultDTO {
+
+    /**
+     * The 1-based sequence number of the chunk.
+     */
+    private int chunk;
+
+    /**
+     * The number of users created by this chunk.
+     */
+    private int created;
+
+    /**
+     * The number of records rejected in this chunk.
+     */
+    private int rejected;
+
+    /**
+     * The number of records processed so far, including this chunk.
+     */
+    @JsonProperty("total_processed")
+    private long totalProcessed;
+
+    /**
+     * The rejected records of this chunk.
+     * Their {@code index} is the 0-based line number of the record in the request body.
+     */
+    private List<BatchRegistrationItemDTO> errors;
+}
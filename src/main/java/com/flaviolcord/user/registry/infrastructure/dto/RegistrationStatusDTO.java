@@ -0,0 +1,43 @@
+package com.flaviolcord.user.registry.infrastructure.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Data Transfer Object describing the status of an asynchronous registration.
+ * Contains the created user's ID once it is registered, or the rejection reason once it is rejected.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RegistrationStatusDTO {
+
+    /**
+     * The ID of the registration, used to poll its status.
+     */
+    @JsonProperty("registration_id")
+    private UUID registrationId;
+
+    /**
+     * One of {@code PENDING}, {@code CREATED} or {@code REJECTED}.
+     */
+    private String status;
+
+    /**
+     * The ID of the created user.
+     * Only present when the registration was created.
+     */
+    @JsonProperty("user_id")
+    private Long userId;
+
+    /**
+     * The reason the registration was rejected.
+     * Only present when the registration was rejected.
+     */
+    private String error;
+}
@@ -1,6 +1,10 @@
 package com.flaviolcord.user.registry.infrastructure.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.flaviolcord.user.registry.infrastructure.json.UserDTODeserializer;
+import com.flaviolcord.user.registry.infrastructure.json.UserDTOSerializer;
 import jakarta.validation.constraints.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -11,8 +15,12 @@ import java.time.LocalDate;
 /**
  * Data Transfer Object for User operations.
  * Contains user information with validation constraints.
+ * It is read and written by {@link UserDTODeserializer} and {@link UserDTOSerializer} rather than by the
+ * reflective bean (de)serializers; the {@code @JsonProperty} names below are the ones they use.
  */
 @Getter @Setter @NoArgsConstructor
+@JsonSerialize(using = UserDTOSerializer.class)
+@JsonDeserialize(using = UserDTODeserializer.class)
 public class UserDTO {
 
     /**
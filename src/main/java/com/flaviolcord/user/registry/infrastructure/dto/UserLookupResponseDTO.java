@@ -0,0 +1,28 @@
+package com.flaviolcord.user.registry.infrastructure.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the response of a lookup of many users by ID.
+ * Contains the users that were found, in request order, and the requested IDs that do not exist.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class UserLookupResponseDTO {
+
+    /**
+     * The users that were found, in the order their IDs were requested.
+     */
+    private List<UserDTO> users;
+
+    /**
+     * The requested IDs for which no user exists, in request order.
+     */
+    @JsonProperty("missing_ids")
+    private List<Long> missingIds;
+}
@@ -2,6 +2,8 @@ package com.flaviolcord.user.registry.infrastructure.exception;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -21,7 +23,12 @@ import java.util.stream.Collectors;
  *     <li>{@link ValidationException} - For invalid user input.</li>
  *     <li>{@link UserRegistrationException} - For user registration conflicts (e.g., username already taken).</li>
  *     <li>{@link UserNotFoundException} - For cases where the requested user is not found.</li>
+ *     <li>{@link IdempotencyKeyReusedException} - For idempotency keys reused with a different request.</li>
+ *     <li>{@link RegistrationNotFoundException} - For unknown or expired asynchronous registrations.</li>
+ *     <li>{@link RegistrationQueueFullException} - For asynchronous registrations refused under load.</li>
  *     <li>{@link MethodArgumentNotValidException} - For validation errors on method arguments.</li>
+ *     <li>{@link DataIntegrityViolationException} - For writes the store rejected, such as a username taken
+ *     after the registration pre-check.</li>
  * </ul>
  *
  * <p>Each exception is converted into a standardized error response, containing:
@@ -69,6 +76,42 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.NOT_FOUND, "User not found", ex.getMessage());
     }
 
+    /**
+     * Handles {@link IdempotencyKeyReusedException}.
+     *
+     * @param ex the exception thrown when an idempotency key is reused with a different request
+     * @return a ResponseEntity containing an error response with HTTP status 422 (UNPROCESSABLE ENTITY)
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        return buildErrorResponse(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency error", ex.getMessage());
+    }
+
+    /**
+     * Handles {@link RegistrationNotFoundException}.
+     *
+     * @param ex the exception thrown when the status of an asynchronous registration is not found
+     * @return a ResponseEntity containing an error response with HTTP status 404 (NOT FOUND)
+     */
+    @ExceptionHandler(RegistrationNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleRegistrationNotFoundException(RegistrationNotFoundException ex) {
+        return buildErrorResponse(HttpStatus.NOT_FOUND, "Registration not found", ex.getMessage());
+    }
+
+    /**
+     * Handles {@link RegistrationQueueFullException}.
+     *
+     * @param ex the exception thrown when an asynchronous registration cannot be queued
+     * @return a ResponseEntity containing an error response with HTTP status 503 (SERVICE UNAVAILABLE)
+     *         and a {@code Retry-After} header
+     */
+    @ExceptionHandler(RegistrationQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleRegistrationQueueFullException(RegistrationQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service unavailable", ex.getMessage()));
+    }
+
     /**
      * Handles {@link MethodArgumentNotValidException}.
      *
@@ -85,6 +128,26 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, "Validation error", errorMessage);
     }
 
+    /**
+     * Handles {@link DataIntegrityViolationException}.
+     * <p>
+     * A duplicate username that slipped past the registration pre-check, for instance because another node
+     * registered it, is reported like one the pre-check caught. Other violations are reported without the
+     * details of the store.
+     * </p>
+     *
+     * @param ex the exception thrown when the store rejects a write
+     * @return a ResponseEntity containing an error response with HTTP status 400 (BAD REQUEST) for a duplicate
+     *         username, or 409 (CONFLICT) otherwise
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        if (UserRegistrationException.isDuplicateUsername(ex)) {
+            return buildErrorResponse(HttpStatus.BAD_REQUEST, "Registration error", "Username is already taken");
+        }
+        return buildErrorResponse(HttpStatus.CONFLICT, "Conflict", "The request conflicts with the stored data");
+    }
+
     /**
      * Builds a standardized error response.
      *
@@ -0,0 +1,21 @@
+package com.flaviolcord.user.registry.infrastructure.exception;
+
+/**
+ * Exception thrown when an idempotency key is sent again with a different request.
+ *
+ * <p>A key identifies a single registration; a client reusing it for another user
+ * would otherwise silently get back the user of the first request.
+ *
+ * @see RuntimeException
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code IdempotencyKeyReusedException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.flaviolcord.user.registry.infrastructure.exception;
+
+/**
+ * Exception thrown when the status of an asynchronous registration cannot be found.
+ *
+ * <p>Either the registration ID was never issued, or its status has expired.
+ *
+ * @see RuntimeException
+ */
+public class RegistrationNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code RegistrationNotFoundException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public RegistrationNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.flaviolcord.user.registry.infrastructure.exception;
+
+/**
+ * Exception thrown when an asynchronous registration cannot be accepted.
+ *
+ * <p>This happens when the registration queue is full, or when the application
+ * is shutting down and no longer accepts new work.
+ *
+ * @see RuntimeException
+ */
+public class RegistrationQueueFullException extends RuntimeException {
+
+    /**
+     * Constructs a new {@code RegistrationQueueFullException} with the specified detail message.
+     *
+     * @param message the detail message explaining the reason for the exception
+     */
+    public RegistrationQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,9 @@
 package com.flaviolcord.user.registry.infrastructure.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
 /**
  * Exception thrown when a user cannot be registered due to a conflict or issue.
  *
@@ -22,4 +26,28 @@ public class UserRegistrationException extends RuntimeException {
     public UserRegistrationException(String message) {
         super(message);
     }
+
+    /**
+     * Tells whether a store rejected a write because the username is already taken.
+     * <p>
+     * The registration pre-check can miss a username registered concurrently, or by another node, in which case
+     * the unique constraint on {@code users.username} (or the equivalent check of an in-memory store) rejects the
+     * write instead. The databases and stores used here all name the username and the uniqueness violation in
+     * the message.
+     * </p>
+     *
+     * @param ex the exception thrown by the store
+     * @return {@code true} if the exception reports a duplicate username
+     */
+    public static boolean isDuplicateUsername(DataIntegrityViolationException ex) {
+        return isDuplicateUsername(ex.getMessage()) || isDuplicateUsername(ex.getMostSpecificCause().getMessage());
+    }
+
+    private static boolean isDuplicateUsername(String message) {
+        if (message == null) {
+            return false;
+        }
+        String lowerCase = message.toLowerCase(Locale.ROOT);
+        return lowerCase.contains("username") && (lowerCase.contains("unique") || lowerCase.contains("duplicate"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.flaviolcord.user.registry.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads a {@link UserDTO} field by field from the JSON parser.
+ * <p>
+ * It accepts what the bean deserializer Jackson would build for the class accepts: the JSON field names of
+ * {@link UserDTO}, {@code null} or missing values, scalars coerced to the field type, and the birthdate as an
+ * ISO-8601 date. Unknown fields are handed to the context, which skips them unless
+ * {@code FAIL_ON_UNKNOWN_PROPERTIES} is enabled. Malformed values fail with the usual Jackson exceptions, so
+ * they are still answered with 400 (BAD REQUEST). But no setter is called reflectively and no property map
+ * is built per object.
+ * </p>
+ */
+public class UserDTODeserializer extends StdDeserializer<UserDTO> {
+
+    /**
+     * Creates the deserializer.
+     */
+    public UserDTODeserializer() {
+        super(UserDTO.class);
+    }
+
+    @Override
+    public UserDTO deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (UserDTO) context.handleUnexpectedToken(UserDTO.class, parser);
+        }
+
+        UserDTO user = new UserDTO();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "id" -> user.setId(_parseLong(parser, context, Long.class));
+                case "username" -> user.setUsername(parseString(parser, context));
+                case "birthdate" -> user.setBirthdate(parseDate(parser, context));
+                case "country_of_residence" -> user.setCountryOfResidence(parseString(parser, context));
+                case "phone_number" -> user.setPhoneNumber(parseString(parser, context));
+                case "gender" -> user.setGender(parseString(parser, context));
+                default -> handleUnknownProperty(parser, context, user, name);
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Reads a string field. Text is taken as is; other scalars are coerced, and structures rejected, by the
+     * {@code String} deserializer of the context.
+     */
+    private static String parseString(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            return parser.getText();
+        }
+        return parser.hasToken(JsonToken.VALUE_NULL) ? null : context.readValue(parser, String.class);
+    }
+
+    /**
+     * Parses an ISO-8601 date the way the {@code LocalDate} deserializer of Jackson does:
+     * surrounding blanks are ignored and an empty string is {@code null}.
+     */
+    private static LocalDate parseDate(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.hasToken(JsonToken.VALUE_NULL)) {
+            return null;
+        }
+        if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+            return (LocalDate) context.handleUnexpectedToken(LocalDate.class, parser);
+        }
+
+        String text = parser.getText().trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException ex) {
+            throw context.weirdStringException(text, LocalDate.class, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.flaviolcord.user.registry.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Writes a {@link UserDTO} field by field to the JSON generator.
+ * <p>
+ * The output is byte for byte what the bean serializer Jackson would build for the class writes: the fields in
+ * the same order (the renamed ones last), {@code null} for absent values, and the birthdate as an ISO-8601 date.
+ * But no bean properties are introspected and no getter is called reflectively, and the quoted field names
+ * are encoded once, so the generator copies them to the output as is.
+ * </p>
+ */
+public class UserDTOSerializer extends StdSerializer<UserDTO> {
+
+    static final SerializableString ID = new SerializedString("id");
+    static final SerializableString USERNAME = new SerializedString("username");
+    static final SerializableString BIRTHDATE = new SerializedString("birthdate");
+    static final SerializableString COUNTRY_OF_RESIDENCE = new SerializedString("country_of_residence");
+    static final SerializableString PHONE_NUMBER = new SerializedString("phone_number");
+    static final SerializableString GENDER = new SerializedString("gender");
+
+    /**
+     * Creates the serializer.
+     */
+    public UserDTOSerializer() {
+        super(UserDTO.class);
+    }
+
+    @Override
+    public void serialize(UserDTO user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(user);
+
+        generator.writeFieldName(ID);
+        Long id = user.getId();
+        if (id == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(id);
+        }
+
+        writeString(generator, USERNAME, user.getUsername());
+
+        generator.writeFieldName(BIRTHDATE);
+        LocalDate birthdate = user.getBirthdate();
+        if (birthdate == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(birthdate.toString());
+        }
+
+        writeString(generator, GENDER, user.getGender());
+        writeString(generator, COUNTRY_OF_RESIDENCE, user.getCountryOfResidence());
+        writeString(generator, PHONE_NUMBER, user.getPhoneNumber());
+
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+}
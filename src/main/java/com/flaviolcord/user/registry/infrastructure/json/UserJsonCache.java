@@ -0,0 +1,110 @@
+package com.flaviolcord.user.registry.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+/**
+ * Bounded in-memory cache of the JSON body of {@code GET /api/v1/users/{id}}, keyed by user ID and version.
+ * <p>
+ * A hit returns the bytes written for the same version of the user before, with no mapping to a
+ * {@code UserDTO} and no serialization. Since the version is part of the key, an updated user is never
+ * answered with an old body; the body of the previous version is simply no longer asked for and ages out.
+ * The cache only serializes users that were already found, so it never decides whether a user exists.
+ * </p>
+ * <p>
+ * Entries are evicted beyond {@code user.json-cache.maximum-size} or after {@code user.json-cache.time-to-live}.
+ * When the cache is disabled, or for a user without version, every call serializes the user.
+ * </p>
+ * <p>
+ * Hit, miss, eviction and size statistics are published through Micrometer as the {@code cache.*}
+ * meters tagged {@code cache=user-json}.
+ * </p>
+ */
+@Component
+public class UserJsonCache implements MeterBinder {
+
+    static final String CACHE_NAME = "user-json";
+
+    private final UserMapper userMapper;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<Key, byte[]> cache;
+
+    /**
+     * Creates the cache from the {@code user.json-cache} properties.
+     *
+     * @param userMapper     the mapper converting users to DTOs
+     * @param objectMapper   the object mapper writing the DTOs
+     * @param userProperties the configuration holding the cache settings
+     */
+    public UserJsonCache(UserMapper userMapper, ObjectMapper objectMapper, UserProperties userProperties) {
+        UserProperties.JsonCache settings = userProperties.getJsonCache();
+        this.userMapper = userMapper;
+        this.objectMapper = objectMapper;
+        this.enabled = settings.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTimeToLive())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the JSON representation of a user, as a {@code UserDTO}.
+     * The returned array may be shared and must not be modified.
+     *
+     * @param user the user to serialize
+     * @return the UTF-8 encoded JSON body
+     */
+    public byte[] serialize(User user) {
+        if (!enabled || user.id() == null || user.version() == null) {
+            return write(user);
+        }
+        return cache.get(new Key(user.id(), user.version()), key -> write(user));
+    }
+
+    private byte[] write(User user) {
+        try {
+            return objectMapper.writeValueAsBytes(userMapper.toDTO(user));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return the hit, miss and eviction counts so far
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Registers the Caffeine cache metrics under the {@value #CACHE_NAME} cache name.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * A version of a user.
+     */
+    private record Key(long id, long version) {
+    }
+}
@@ -4,6 +4,9 @@ import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
 import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
 
 /**
  * Mapper interface for converting between different representations of a user.
@@ -25,6 +28,7 @@ public interface UserMapper {
      * @param userDTO the UserDTO to convert
      * @return the corresponding User domain model
      */
+    @Mapping(target = "version", ignore = true)
     User toDomainModel(UserDTO userDTO);
 
     /**
@@ -50,4 +54,20 @@ public interface UserMapper {
      * @return the corresponding User domain model
      */
     User toDomainModel(UserEntity userEntity);
-}
\ No newline at end of file
+
+    /**
+     * Converts a list of UserEntities to domain Users in a single call.
+     *
+     * @param userEntities the UserEntities to convert
+     * @return the corresponding domain Users, in the same order
+     */
+    List<User> toDomainModels(List<UserEntity> userEntities);
+
+    /**
+     * Converts a list of domain Users to UserDTOs in a single call.
+     *
+     * @param users the domain Users to convert
+     * @return the corresponding UserDTOs, in the same order
+     */
+    List<UserDTO> toDTOs(List<User> users);
+}
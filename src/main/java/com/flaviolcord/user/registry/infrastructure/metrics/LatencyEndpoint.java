@@ -0,0 +1,54 @@
+package com.flaviolcord.user.registry.infrastructure.metrics;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint exposing the per-method latency percentiles at {@code /actuator/latency}.
+ * <p>
+ * {@code /actuator/latency} lists every instrumented method; {@code /actuator/latency/{method}}
+ * returns a single one, e.g. {@code /actuator/latency/RegisterUserUseCase.execute}.
+ * </p>
+ */
+@Component
+@Endpoint(id = "latency")
+@AllArgsConstructor
+public class LatencyEndpoint {
+
+    private final MethodLatencyRegistry methodLatencyRegistry;
+
+    /**
+     * Returns the latency summary of every method called so far.
+     *
+     * @return the latency report
+     */
+    @ReadOperation
+    public LatencyReport latencies() {
+        return new LatencyReport("milliseconds", methodLatencyRegistry.snapshot());
+    }
+
+    /**
+     * Returns the latency summary of a single method.
+     *
+     * @param method the method name, as {@code SimpleClassName.methodName}
+     * @return the summary, or {@code null} (404) if the method was never called
+     */
+    @ReadOperation
+    public MethodLatency latency(@Selector String method) {
+        return methodLatencyRegistry.snapshot(method).orElse(null);
+    }
+
+    /**
+     * The latency summaries of all instrumented methods.
+     *
+     * @param baseUnit the unit of every duration in the report
+     * @param methods  one summary per method, sorted by name
+     */
+    public record LatencyReport(String baseUnit, List<MethodLatency> methods) {
+    }
+}
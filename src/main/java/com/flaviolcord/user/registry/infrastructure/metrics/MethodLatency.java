@@ -0,0 +1,37 @@
+package com.flaviolcord.user.registry.infrastructure.metrics;
+
+import com.flaviolcord.user.registry.util.LatencyHistogram;
+
+/**
+ * Latency summary of a single method. All durations are in milliseconds.
+ *
+ * @param method the method name, as {@code SimpleClassName.methodName}
+ * @param count  the number of recorded calls
+ * @param mean   the mean duration
+ * @param p50    the median duration
+ * @param p99    the 99th percentile duration
+ * @param p999   the 99.9th percentile duration
+ * @param max    the longest duration
+ */
+public record MethodLatency(String method, long count, double mean, double p50, double p99, double p999, double max) {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Summarizes a histogram of nanosecond durations.
+     *
+     * @param method    the method name
+     * @param histogram the recorded durations
+     * @return the summary of the histogram
+     */
+    static MethodLatency of(String method, LatencyHistogram histogram) {
+        return new MethodLatency(
+                method,
+                histogram.count(),
+                histogram.mean() / NANOS_PER_MILLI,
+                histogram.valueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.valueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.valueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.max() / NANOS_PER_MILLI);
+    }
+}
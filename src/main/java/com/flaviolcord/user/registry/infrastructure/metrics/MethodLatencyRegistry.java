@@ -0,0 +1,68 @@
+package com.flaviolcord.user.registry.infrastructure.metrics;
+
+import com.flaviolcord.user.registry.util.LatencyHistogram;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-method latency histograms recorded by the {@link com.flaviolcord.user.registry.infrastructure.config.LoggingAspect}.
+ * <p>
+ * Methods are named {@code SimpleClassName.methodName}; overloads share a histogram. The histogram of a
+ * method is created on its first call, after which recording is a map lookup plus a lock-free,
+ * allocation-free {@link LatencyHistogram#record(long)}.
+ * </p>
+ */
+@Component
+public class MethodLatencyRegistry {
+
+    private final Map<Method, LatencyHistogram> histogramsByMethod = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histogramsByName = new ConcurrentHashMap<>();
+
+    /**
+     * Records the duration of one call.
+     *
+     * @param method the method that was called
+     * @param nanos  the duration of the call in nanoseconds
+     */
+    public void record(Method method, long nanos) {
+        LatencyHistogram histogram = histogramsByMethod.get(method);
+        if (histogram == null) {
+            histogram = histogramsByMethod.computeIfAbsent(method, key ->
+                    histogramsByName.computeIfAbsent(nameOf(key), name -> new LatencyHistogram()));
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Returns the latency summary of every method called so far, sorted by name.
+     *
+     * @return one summary per method
+     */
+    public List<MethodLatency> snapshot() {
+        return histogramsByName.entrySet().stream()
+                .map(entry -> MethodLatency.of(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(MethodLatency::method))
+                .toList();
+    }
+
+    /**
+     * Returns the latency summary of a single method.
+     *
+     * @param name the method name, as {@code SimpleClassName.methodName}
+     * @return an Optional containing the summary, or empty if the method was never called
+     */
+    public Optional<MethodLatency> snapshot(String name) {
+        return Optional.ofNullable(histogramsByName.get(name))
+                .map(histogram -> MethodLatency.of(name, histogram));
+    }
+
+    private static String nameOf(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
@@ -0,0 +1,113 @@
+package com.flaviolcord.user.registry.infrastructure.persistence;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction manager of the {@code mmap}, {@code wal} and {@code sharded} profiles, where there is no single
+ * database to run transactions against.
+ * <p>
+ * The user stores of these profiles apply every write immediately, so beginning, committing and rolling back do
+ * nothing. The manager still demarcates {@code @Transactional} methods and runs transaction synchronizations,
+ * so callbacks such as the after-commit cache write-through behave as they do with the database.
+ * </p>
+ * <p>
+ * The work is delegated to a plain {@link AbstractPlatformTransactionManager}, whose entry points are final and
+ * therefore must not be reached through the class-based proxy the logging aspect puts around this bean.
+ * </p>
+ */
+@Component
+@Profile({"mmap", "wal", "sharded"})
+public class ResourcelessTransactionManager implements PlatformTransactionManager {
+
+    private final PlatformTransactionManager delegate = new SynchronizationOnlyTransactionManager();
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) {
+        return delegate.getTransaction(definition);
+    }
+
+    @Override
+    public void commit(TransactionStatus status) {
+        delegate.commit(status);
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) {
+        delegate.rollback(status);
+    }
+
+    /**
+     * Transaction manager without a resource: only synchronizations are managed.
+     * The current transaction is bound to the thread, so inner {@code @Transactional} methods join it.
+     */
+    private static final class SynchronizationOnlyTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            Object current = TransactionSynchronizationManager.getResource(this);
+            return current != null ? current : new Transaction();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((Transaction) transaction).active;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            // Writes are applied to the store immediately; only mark the thread as inside a transaction
+            ((Transaction) transaction).active = true;
+            TransactionSynchronizationManager.bindResource(this, transaction);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            // Nothing to commit
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+            // Nothing to roll back
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+            // Lets the outer method see that an inner one failed, as with the database
+            ((Transaction) status.getTransaction()).rollbackOnly = true;
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            TransactionSynchronizationManager.unbindResource(this);
+            ((Transaction) transaction).active = false;
+            ((Transaction) transaction).rollbackOnly = false;
+        }
+    }
+
+    /**
+     * Marker of a transaction in progress on the current thread.
+     */
+    private static final class Transaction implements SmartTransactionObject {
+
+        private boolean active;
+        private boolean rollbackOnly;
+
+        @Override
+        public boolean isRollbackOnly() {
+            return rollbackOnly;
+        }
+
+        @Override
+        public void flush() {
+            // Nothing is buffered
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.flaviolcord.user.registry.infrastructure.persistence;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity identifier as generated by the application's
+ * {@link com.flaviolcord.user.registry.util.SnowflakeIdGenerator}.
+ *
+ * @see SnowflakeIdentifierGenerator
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
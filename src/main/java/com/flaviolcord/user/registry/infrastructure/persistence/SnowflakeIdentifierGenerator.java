@@ -0,0 +1,56 @@
+package com.flaviolcord.user.registry.infrastructure.persistence;
+
+import com.flaviolcord.user.registry.util.SnowflakeIdGenerator;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+/**
+ * Hibernate identifier generator for {@link SnowflakeId} properties.
+ * <p>
+ * IDs are produced in memory by the application's single {@link SnowflakeIdGenerator}, which is handed to
+ * Hibernate through the {@value #GENERATOR_SETTING} setting. No database round trip is needed to obtain a key,
+ * so INSERTs can be batched and nodes never contend on a shared sequence.
+ * </p>
+ */
+public class SnowflakeIdentifierGenerator implements IdentifierGenerator {
+
+    /**
+     * The Hibernate setting holding the {@link SnowflakeIdGenerator} instance to use.
+     */
+    public static final String GENERATOR_SETTING = "com.flaviolcord.user.registry.snowflake-id-generator";
+
+    private final SnowflakeIdGenerator generator;
+
+    /**
+     * Creates the generator for an annotated identifier property. Called by Hibernate.
+     *
+     * @param config  the annotation on the property
+     * @param member  the annotated field or getter
+     * @param context the context giving access to the Hibernate settings
+     * @throws IllegalStateException if no {@link SnowflakeIdGenerator} is configured
+     */
+    public SnowflakeIdentifierGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object setting = context.getServiceRegistry()
+                .requireService(ConfigurationService.class)
+                .getSettings()
+                .get(GENERATOR_SETTING);
+        if (!(setting instanceof SnowflakeIdGenerator snowflakeIdGenerator)) {
+            throw new IllegalStateException("No SnowflakeIdGenerator configured in Hibernate setting " + GENERATOR_SETTING);
+        }
+        this.generator = snowflakeIdGenerator;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Returns the next ID of the application's {@link SnowflakeIdGenerator}.
+     */
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return generator.nextId();
+    }
+}
@@ -5,29 +5,55 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDate;
 
 /**
  * JPA entity representing a user in the database.
  * Maps the user data to the 'users' table.
+ * <p>
+ * Entities are kept in the {@value #CACHE_REGION} second-level cache region, and the username to ID resolution
+ * of the natural ID in {@value #NATURAL_ID_CACHE_REGION}, so repeated lookups by ID or username can be served
+ * without SQL. Both are updated when a write commits.
+ * </p>
  */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
+@NaturalIdCache(region = UserEntity.NATURAL_ID_CACHE_REGION)
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class UserEntity {
 
+    /**
+     * The second-level cache region holding user entities by ID.
+     */
+    public static final String CACHE_REGION = "users";
+
+    /**
+     * The second-level cache region resolving usernames to user IDs.
+     */
+    public static final String NATURAL_ID_CACHE_REGION = "users-by-username";
+
     /**
      * Auto-generated unique identifier.
+     * A time-ordered, node-partitioned Snowflake ID generated in memory, so it is known before the INSERT
+     * without a database round trip, Hibernate can group inserts into JDBC batches,
+     * and new rows are appended at the end of the primary-key index.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     /**
      * User's unique username.
-     * Cannot be null and must be unique in the database.
+     * Cannot be null and must be unique in the database. It is the immutable natural ID of the user.
      */
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String username;
 
@@ -57,4 +83,12 @@ public class UserEntity {
      * Optional field that can be "Male", "Female", or "Other".
      */
     private String gender;
+
+    /**
+     * Version of the row, used for optimistic locking.
+     * Set to 0 when the user is inserted and incremented by Hibernate on every update,
+     * so it can be read on its own to tell whether a user changed.
+     */
+    @Version
+    private Long version;
 }
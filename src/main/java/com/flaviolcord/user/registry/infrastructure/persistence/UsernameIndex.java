@@ -0,0 +1,195 @@
+package com.flaviolcord.user.registry.infrastructure.persistence;
+
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.persistence.repository.JpaUserRepository;
+import com.flaviolcord.user.registry.util.BloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of registered usernames, used to skip duplicate-check queries.
+ * <p>
+ * Backed by a {@link BloomFilter} that is loaded from the {@code users} table once the application
+ * is ready and updated on every save. A definite "absent" answer lets callers skip the SELECT;
+ * a "maybe present" answer must still be confirmed against the database. Until the initial load
+ * completes, or when the index is disabled, every username is reported as maybe present.
+ * </p>
+ * <p>
+ * The index only sees writes made through this application instance. Usernames inserted by other
+ * nodes are not indexed, so it only serves the registration pre-checks, never lookups of a user, and the
+ * unique constraint on {@code users.username} remains the final guard: the violation it raises at commit is
+ * reported as a taken username by
+ * {@link com.flaviolcord.user.registry.infrastructure.exception.GlobalExceptionHandler}.
+ * </p>
+ * <p>
+ * Metrics exposed through Micrometer:
+ * <ul>
+ *     <li>{@code user.username.index.lookups} - lookups by answer ({@code absent} or {@code maybe})</li>
+ *     <li>{@code user.username.index.false.positives} - "maybe" answers the database did not confirm</li>
+ *     <li>{@code user.username.index.false.positive.rate} - observed false positives over lookups of absent usernames</li>
+ *     <li>{@code user.username.index.expected.false.positive.probability} - estimate from the filter's fill ratio</li>
+ *     <li>{@code user.username.index.size} - approximate number of indexed usernames</li>
+ *     <li>{@code user.username.index.memory} - size of the bit array in bytes</li>
+ * </ul>
+ * Not used with the {@code mmap}, {@code wal} and {@code sharded} profiles, whose stores index usernames exactly, nor
+ * with the {@code reactive} profile.
+ */
+@Component
+@Profile("!mmap & !wal & !sharded & !reactive")
+public class UsernameIndex implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameIndex.class);
+
+    private final JpaUserRepository jpaUserRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final BloomFilter filter;
+
+    private final LongAdder absentAnswers = new LongAdder();
+    private final LongAdder maybeAnswers = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile boolean ready;
+
+    /**
+     * Creates an empty index sized from the {@code user.username-index} properties.
+     *
+     * @param jpaUserRepository  the repository used to load the existing usernames
+     * @param transactionManager the transaction manager used for the initial load
+     * @param userProperties     the configuration holding the index settings
+     */
+    public UsernameIndex(JpaUserRepository jpaUserRepository,
+                         PlatformTransactionManager transactionManager,
+                         UserProperties userProperties) {
+        UserProperties.UsernameIndex settings = userProperties.getUsernameIndex();
+        this.jpaUserRepository = jpaUserRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = settings.isEnabled();
+        this.filter = BloomFilter.create(settings.getExpectedInsertions(), settings.getFalsePositiveProbability());
+    }
+
+    /**
+     * Loads every stored username into the index and starts answering lookups.
+     * Usernames saved while the load is running are added as well, so none are missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            logger.info("Username index is disabled; duplicate checks will always query the database");
+            return;
+        }
+
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<String> usernames = jpaUserRepository.streamAllUsernames()) {
+                usernames.forEach(filter::put);
+            }
+        });
+        ready = true;
+
+        logger.info("Username index loaded with ~{} usernames ({} bytes) in {} ms",
+                filter.approximateElementCount(), filter.sizeInBytes(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Checks whether a username may already be registered.
+     *
+     * @param username the username to check
+     * @return {@code false} if the username is definitely not registered; {@code true} if it may be
+     */
+    public boolean mightContain(String username) {
+        if (!ready) {
+            return true;
+        }
+
+        boolean maybe = filter.mightContain(username);
+        (maybe ? maybeAnswers : absentAnswers).increment();
+        return maybe;
+    }
+
+    /**
+     * Adds a newly saved username to the index.
+     *
+     * @param username the saved username
+     */
+    public void add(String username) {
+        filter.put(username);
+    }
+
+    /**
+     * Records that a "maybe present" answer was not confirmed by the database.
+     */
+    public void recordFalsePositive() {
+        if (ready) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * Indicates whether the initial load has completed and lookups are answered from memory.
+     *
+     * @return {@code true} if the index is loaded
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the observed false-positive rate: false positives over all lookups of usernames
+     * that turned out not to be registered.
+     *
+     * @return the observed false-positive rate, or 0 if no such lookup happened yet
+     */
+    public double observedFalsePositiveRate() {
+        double absentLookups = absentAnswers.sum() + falsePositives.sum();
+        return absentLookups == 0 ? 0 : falsePositives.sum() / absentLookups;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Registers the lookup counters and the size and accuracy gauges of the index.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("user.username.index.lookups", absentAnswers, LongAdder::sum)
+                .description("Username index lookups")
+                .tag("answer", "absent")
+                .register(registry);
+        FunctionCounter.builder("user.username.index.lookups", maybeAnswers, LongAdder::sum)
+                .description("Username index lookups")
+                .tag("answer", "maybe")
+                .register(registry);
+        FunctionCounter.builder("user.username.index.false.positives", falsePositives, LongAdder::sum)
+                .description("Maybe-present answers not confirmed by the database")
+                .register(registry);
+        Gauge.builder("user.username.index.false.positive.rate", this, UsernameIndex::observedFalsePositiveRate)
+                .description("Observed false positives over lookups of absent usernames")
+                .register(registry);
+        Gauge.builder("user.username.index.expected.false.positive.probability", filter,
+                        BloomFilter::expectedFalsePositiveProbability)
+                .description("False-positive probability estimated from the filter's fill ratio")
+                .register(registry);
+        Gauge.builder("user.username.index.size", filter, BloomFilter::approximateElementCount)
+                .description("Approximate number of indexed usernames")
+                .register(registry);
+        Gauge.builder("user.username.index.memory", filter, BloomFilter::sizeInBytes)
+                .description("Memory used by the username index")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,144 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.mapped;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A file accessed through memory mappings, addressed with {@code long} offsets.
+ * <p>
+ * A single {@link MappedByteBuffer} cannot exceed 2 GiB, so the file is mapped in chunks of a fixed power-of-two
+ * size. Chunks are mapped on first access, growing the file as needed, and stay mapped until the file is closed.
+ * Callers must lay out their values so that none crosses a chunk boundary, e.g. by using sizes that divide the
+ * chunk size.
+ * </p>
+ * <p>
+ * Every access uses absolute positions, so the buffers are never mutated and may be read by many threads at once.
+ * Mapping new chunks must be serialized by the caller; readers see a consistent set of chunks through a volatile
+ * array that is replaced, never modified, when it grows.
+ * </p>
+ */
+final class MappedFile implements Closeable {
+
+    private final FileChannel channel;
+    private final int chunkShift;
+    private final long chunkMask;
+    private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+
+    /**
+     * Opens or creates a file.
+     *
+     * @param path      the file to open
+     * @param chunkSize the size of each mapping; must be a power of two
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    MappedFile(Path path, int chunkSize) {
+        if (Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("Chunk size must be a power of two: " + chunkSize);
+        }
+        try {
+            this.channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open " + path, ex);
+        }
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkSize);
+        this.chunkMask = chunkSize - 1;
+    }
+
+    /**
+     * Returns the current size of the file.
+     *
+     * @return the size in bytes
+     */
+    long size() {
+        try {
+            return channel.size();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    long getLong(long offset) {
+        return chunk(offset).getLong(position(offset));
+    }
+
+    void putLong(long offset, long value) {
+        chunk(offset).putLong(position(offset), value);
+    }
+
+    int getInt(long offset) {
+        return chunk(offset).getInt(position(offset));
+    }
+
+    void putInt(long offset, int value) {
+        chunk(offset).putInt(position(offset), value);
+    }
+
+    byte getByte(long offset) {
+        return chunk(offset).get(position(offset));
+    }
+
+    void putByte(long offset, byte value) {
+        chunk(offset).put(position(offset), value);
+    }
+
+    void getBytes(long offset, byte[] destination, int length) {
+        chunk(offset).get(position(offset), destination, 0, length);
+    }
+
+    void putBytes(long offset, byte[] source) {
+        chunk(offset).put(position(offset), source);
+    }
+
+    /**
+     * Writes all changes to the storage device.
+     */
+    void force() {
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+
+    /**
+     * Closes the file. The mappings stay valid until they are garbage collected, but must not be used any more.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        chunks = new MappedByteBuffer[0];
+        channel.close();
+    }
+
+    private int position(long offset) {
+        return (int) (offset & chunkMask);
+    }
+
+    private MappedByteBuffer chunk(long offset) {
+        int index = (int) (offset >>> chunkShift);
+        MappedByteBuffer[] current = chunks;
+        if (index < current.length) {
+            return current[index];
+        }
+        return map(index);
+    }
+
+    private MappedByteBuffer map(int index) {
+        MappedByteBuffer[] grown = Arrays.copyOf(chunks, index + 1);
+        try {
+            for (int i = chunks.length; i <= index; i++) {
+                grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i << chunkShift, 1L << chunkShift);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot map chunk " + index, ex);
+        }
+        chunks = grown;
+        return grown[index];
+    }
+}
@@ -0,0 +1,408 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.mapped;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.util.SnowflakeIdGenerator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the UserRepository interface that keeps users in a memory-mapped file instead of a database.
+ * Active with the {@code mmap} profile, in place of the JPA-backed repository.
+ * <p>
+ * Users are stored as fixed-size records in a {@link UserRecordFile} and found through two {@link OffHeapIndex}es,
+ * one by ID and one by username, so neither the records nor the indexes take heap space; only the users being
+ * returned are materialized. Records are appended in ID order, which lets keyset pagination binary-search the file.
+ * </p>
+ * <p>
+ * The store offers the guarantees the application relies on, without the rest of a database:
+ * <ul>
+ *     <li>IDs are generated with a {@link SnowflakeIdGenerator} built from the {@code user.id} properties,
+ *     and must increase; a user with an explicit, unknown ID lower than the highest stored one is rejected</li>
+ *     <li>usernames are unique; a duplicate is rejected with a {@link DataIntegrityViolationException}</li>
+ *     <li>saving an existing user increments its version, and fails with an optimistic locking exception
+ *     when the given version is stale</li>
+ *     <li>{@link #saveAll(List)} checks every user before writing the first one, so a rejected batch
+ *     writes nothing</li>
+ * </ul>
+ * There are no transactions: a write is visible as soon as it returns and is not undone by a rollback.
+ * Writes reach the file through the page cache and are forced to the device when the store is closed.
+ * </p>
+ * <p>
+ * Writes are serialized by a read-write lock, and reads share it, so lookups proceed in parallel.
+ * The indexes are scratch files rebuilt from the records every time the store is opened.
+ * </p>
+ */
+@Repository
+@Profile("mmap")
+public class MappedUserRepository implements UserRepository {
+
+    static final String RECORDS_FILE = "users.dat";
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedUserRepository.class);
+
+    private final UserRecordFile records;
+    private final OffHeapIndex idIndex;
+    private final OffHeapIndex usernameIndex;
+    private final SnowflakeIdGenerator idGenerator;
+    private final Lock readLock;
+    private final Lock writeLock;
+    private long maxId;
+
+    /**
+     * Opens the store in the configured directory, creating it if needed, and rebuilds the indexes.
+     *
+     * @param userProperties the configuration holding the store directory, the expected number of users
+     *                       and the ID generator settings
+     * @throws UncheckedIOException if the directory or the files cannot be created
+     */
+    public MappedUserRepository(UserProperties userProperties) {
+        UserProperties.Mapped settings = userProperties.getMapped();
+        UserProperties.Id id = userProperties.getId();
+        Path directory = settings.getDirectory();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create " + directory, ex);
+        }
+
+        this.records = new UserRecordFile(directory.resolve(RECORDS_FILE));
+        long expectedUsers = Math.max(settings.getExpectedUsers(), records.count());
+        this.idIndex = new OffHeapIndex(directory, "users-id", expectedUsers);
+        this.usernameIndex = new OffHeapIndex(directory, "users-username", expectedUsers);
+        this.idGenerator = new SnowflakeIdGenerator(id.getNodeId(), id.getEpoch(), id.getMaxClockRegression());
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+
+        for (int slot = 0; slot < records.count(); slot++) {
+            index(slot, records.readId(slot), records.readUsername(slot));
+        }
+        this.maxId = records.count() > 0 ? records.readId(records.count() - 1) : 0;
+        logger.info("Opened memory-mapped user store in {} with {} users", directory, records.count());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Appends a new user, with a generated ID when it has none, or overwrites the record of an existing one.
+     *
+     * @throws DataIntegrityViolationException   if the username is taken, a value does not fit its field,
+     *                                           or a new user's ID is not above every stored ID
+     * @throws OptimisticLockingFailureException if the user exists with a different version
+     */
+    @Override
+    public User save(User user) {
+        writeLock.lock();
+        try {
+            check(user, Set.of());
+            return write(user);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Checks every user first, including usernames repeated within the batch, and only then writes them.
+     *
+     * @throws DataIntegrityViolationException   if a username is taken, a value does not fit its field,
+     *                                           or a new user's ID is not above every stored ID
+     * @throws OptimisticLockingFailureException if a user exists with a different version
+     */
+    @Override
+    public List<User> saveAll(List<User> users) {
+        writeLock.lock();
+        try {
+            Set<String> batchUsernames = new HashSet<>();
+            for (User user : users) {
+                check(user, batchUsernames);
+                if (user.username() != null) {
+                    batchUsernames.add(user.username());
+                }
+            }
+
+            List<User> saved = new ArrayList<>(users.size());
+            for (User user : users) {
+                saved.add(write(user));
+            }
+            return saved;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Probes the ID index and decodes the record it points to.
+     */
+    @Override
+    public Optional<User> findById(Long id) {
+        readLock.lock();
+        try {
+            int slot = slotOfId(id);
+            return slot >= 0 ? Optional.of(records.read(slot)) : Optional.empty();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Probes the ID index once per ID under a single read lock.
+     */
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        readLock.lock();
+        try {
+            List<User> found = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                int slot = slotOfId(id);
+                if (slot >= 0) {
+                    found.add(records.read(slot));
+                }
+            }
+            return found;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads only the version field of the record.
+     */
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        readLock.lock();
+        try {
+            int slot = slotOfId(id);
+            return slot >= 0 ? Optional.of(records.readVersion(slot)) : Optional.empty();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Probes the username index, comparing candidate records with the encoded username in place.
+     */
+    @Override
+    public Optional<User> findByUsername(String username) {
+        readLock.lock();
+        try {
+            int slot = slotOfUsername(username);
+            return slot >= 0 ? Optional.of(records.read(slot)) : Optional.empty();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Probes the username index once per username under a single read lock, without decoding any record.
+     */
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        readLock.lock();
+        try {
+            Set<String> existing = new HashSet<>();
+            for (String username : usernames) {
+                if (slotOfUsername(username) >= 0) {
+                    existing.add(username);
+                }
+            }
+            return existing;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Binary-searches the records, which are stored in ID order, for the first ID after the given one
+     * and reads the page under a single read lock. The stream needs no transaction.
+     */
+    @Override
+    public Stream<User> streamAfter(long afterId, int limit) {
+        readLock.lock();
+        try {
+            int from = firstSlotAfter(afterId);
+            int to = (int) Math.min(records.count(), (long) from + limit);
+            List<User> page = new ArrayList<>(Math.max(0, to - from));
+            for (int slot = from; slot < to; slot++) {
+                page.add(records.read(slot));
+            }
+            return page.stream();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the records present when the stream is created one at a time, each under its own read lock,
+     * so writers are never blocked for the duration of the stream. The stream needs no transaction.
+     */
+    @Override
+    public Stream<User> streamAll() {
+        int count;
+        readLock.lock();
+        try {
+            count = records.count();
+        } finally {
+            readLock.unlock();
+        }
+        return IntStream.range(0, count).mapToObj(this::read);
+    }
+
+    /**
+     * Forces the records to the storage device and closes the store. The index files are deleted.
+     *
+     * @throws IOException if a file cannot be closed
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        writeLock.lock();
+        try {
+            records.force();
+            records.close();
+            idIndex.close();
+            usernameIndex.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void check(User user, Set<String> batchUsernames) {
+        UserRecordFile.checkFits(user);
+
+        int slot = user.id() != null ? slotOfId(user.id()) : -1;
+        if (slot < 0 && user.id() != null && user.id() <= maxId) {
+            throw new DataIntegrityViolationException(
+                    "ID " + user.id() + " is not above the highest stored ID " + maxId);
+        }
+        if (slot >= 0 && user.version() != null && user.version() != records.readVersion(slot)) {
+            throw new OptimisticLockingFailureException("User " + user.id() + " was updated concurrently");
+        }
+
+        if (user.username() != null) {
+            int owner = slotOfUsername(user.username());
+            if ((owner >= 0 && owner != slot) || batchUsernames.contains(user.username())) {
+                throw new DataIntegrityViolationException("Duplicate username: " + user.username());
+            }
+        }
+    }
+
+    private User write(User user) {
+        int slot = user.id() != null ? slotOfId(user.id()) : -1;
+        if (slot >= 0) {
+            String previousUsername = records.readUsername(slot);
+            User updated = withIdAndVersion(user, user.id(), records.readVersion(slot) + 1);
+            records.write(slot, updated);
+            if (previousUsername != null) {
+                usernameIndex.remove(previousUsername.hashCode(), slot);
+            }
+            if (updated.username() != null) {
+                usernameIndex.insert(updated.username().hashCode(), slot);
+            }
+            return updated;
+        }
+
+        long id = user.id() != null ? user.id() : nextId();
+        User created = withIdAndVersion(user, id, 0L);
+        int newSlot = records.append(created);
+        index(newSlot, id, created.username());
+        maxId = id;
+        return created;
+    }
+
+    private long nextId() {
+        long id = idGenerator.nextId();
+        if (id <= maxId) {
+            throw new DataIntegrityViolationException(
+                    "Generated ID " + id + " is not above the highest stored ID " + maxId + "; check the clock");
+        }
+        return id;
+    }
+
+    private void index(int slot, long id, String username) {
+        idIndex.insert(Long.hashCode(id), slot);
+        if (username != null) {
+            usernameIndex.insert(username.hashCode(), slot);
+        }
+    }
+
+    private User read(int slot) {
+        readLock.lock();
+        try {
+            return records.read(slot);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private int slotOfId(Long id) {
+        if (id == null) {
+            return -1;
+        }
+        long key = id;
+        return idIndex.find(Long.hashCode(key), slot -> records.readId(slot) == key);
+    }
+
+    private int slotOfUsername(String username) {
+        if (username == null) {
+            return -1;
+        }
+        byte[] encoded = UserRecordFile.encodeUsername(username);
+        return usernameIndex.find(username.hashCode(), slot -> records.usernameEquals(slot, encoded));
+    }
+
+    private int firstSlotAfter(long afterId) {
+        int low = 0;
+        int high = records.count();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (records.readId(mid) <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static User withIdAndVersion(User user, long id, long version) {
+        return new User(id, user.username(), user.birthdate(), user.countryOfResidence(),
+                user.phoneNumber(), user.gender(), version);
+    }
+}
@@ -0,0 +1,223 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.mapped;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.IntPredicate;
+
+/**
+ * Off-heap hash index from a key to the slot of the record holding it, using open addressing with linear probing.
+ * <p>
+ * Each entry takes 8 bytes in a memory-mapped scratch file: the 32-bit hash of the key and the record slot plus one,
+ * so that an all-zero entry is empty. Keys themselves are not stored; a lookup compares hashes first and asks the
+ * caller to confirm the key against the record only when they match. The table doubles, into a new file, once it
+ * is more than {@value #MAX_LOAD_PERCENT}% full, and entries are removed by shifting later entries back, so no
+ * tombstones accumulate.
+ * </p>
+ * <p>
+ * The index is derived data: its file is overwritten whenever the index is created, and it is rebuilt from the
+ * records on startup. It is not thread-safe; callers must serialize writes and exclude readers while writing.
+ * </p>
+ */
+final class OffHeapIndex implements Closeable {
+
+    static final int ENTRY_BYTES = 8;
+    static final int MAX_LOAD_PERCENT = 75;
+
+    private static final int MAX_CHUNK_SIZE = 1 << 26;
+
+    private final Path directory;
+    private final String name;
+    private Path path;
+    private MappedFile table;
+    private int capacity;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty index sized for the expected number of keys.
+     *
+     * @param directory    the directory holding the index file
+     * @param name         the name of the index, used for its file name
+     * @param expectedKeys the number of keys to size the table for
+     */
+    OffHeapIndex(Path directory, String name, long expectedKeys) {
+        this.directory = directory;
+        this.name = name;
+        allocate(capacityFor(expectedKeys));
+    }
+
+    /**
+     * Returns the number of keys in the index.
+     *
+     * @return the number of keys
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of entries the table holds before it grows.
+     *
+     * @return the capacity of the table
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Finds the slot of the record holding a key.
+     *
+     * @param hash    the hash of the key
+     * @param matches tells whether the record in a slot holds the key
+     * @return the slot, or -1 if the key is not indexed
+     */
+    int find(int hash, IntPredicate matches) {
+        for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+            long offset = (long) i * ENTRY_BYTES;
+            int slot = table.getInt(offset + 4) - 1;
+            if (slot < 0) {
+                return -1;
+            }
+            if (table.getInt(offset) == hash && matches.test(slot)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Adds a key that is not indexed yet.
+     *
+     * @param hash the hash of the key
+     * @param slot the slot of the record holding the key
+     */
+    void insert(int hash, int slot) {
+        if ((long) (size + 1) * 100 > (long) capacity * MAX_LOAD_PERCENT) {
+            grow();
+        }
+        put(hash, slot);
+        size++;
+    }
+
+    /**
+     * Removes the entry of a key.
+     *
+     * @param hash the hash of the key
+     * @param slot the slot the key is indexed to
+     * @return {@code true} if the entry was found and removed
+     */
+    boolean remove(int hash, int slot) {
+        int i = spread(hash) & mask;
+        while (true) {
+            long offset = (long) i * ENTRY_BYTES;
+            int stored = table.getInt(offset + 4) - 1;
+            if (stored < 0) {
+                return false;
+            }
+            if (stored == slot && table.getInt(offset) == hash) {
+                break;
+            }
+            i = (i + 1) & mask;
+        }
+
+        // Shift back every following entry of the probe run that would otherwise become unreachable
+        int hole = i;
+        for (int j = (hole + 1) & mask; ; j = (j + 1) & mask) {
+            long offset = (long) j * ENTRY_BYTES;
+            int entrySlot = table.getInt(offset + 4);
+            if (entrySlot == 0) {
+                break;
+            }
+            int entryHash = table.getInt(offset);
+            int home = spread(entryHash) & mask;
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                write(hole, entryHash, entrySlot);
+                hole = j;
+            }
+        }
+        write(hole, 0, 0);
+        size--;
+        return true;
+    }
+
+    /**
+     * Closes the index and deletes its file.
+     *
+     * @throws IOException if the file cannot be closed or deleted
+     */
+    @Override
+    public void close() throws IOException {
+        table.close();
+        Files.deleteIfExists(path);
+    }
+
+    private void grow() {
+        MappedFile old = table;
+        Path oldPath = path;
+        int oldCapacity = capacity;
+        int oldSize = size;
+        allocate(capacity << 1);
+        size = oldSize;
+        for (int i = 0; i < oldCapacity; i++) {
+            long offset = (long) i * ENTRY_BYTES;
+            int slot = old.getInt(offset + 4);
+            if (slot != 0) {
+                put(old.getInt(offset), slot - 1);
+            }
+        }
+        try {
+            old.close();
+            Files.deleteIfExists(oldPath);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void put(int hash, int slot) {
+        int i = spread(hash) & mask;
+        while (table.getInt((long) i * ENTRY_BYTES + 4) != 0) {
+            i = (i + 1) & mask;
+        }
+        write(i, hash, slot + 1);
+    }
+
+    private void write(int index, int hash, int storedSlot) {
+        long offset = (long) index * ENTRY_BYTES;
+        table.putInt(offset, hash);
+        table.putInt(offset + 4, storedSlot);
+    }
+
+    private void allocate(int newCapacity) {
+        path = directory.resolve(name + "-" + newCapacity + ".idx");
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        long bytes = (long) newCapacity * ENTRY_BYTES;
+        table = new MappedFile(path, (int) Math.min(bytes, MAX_CHUNK_SIZE));
+        // Map every chunk up front, so lookups never have to map one
+        table.getInt(bytes - ENTRY_BYTES);
+        capacity = newCapacity;
+        mask = newCapacity - 1;
+        size = 0;
+    }
+
+    private static int capacityFor(long expectedKeys) {
+        long needed = Math.max(16, expectedKeys * 100 / MAX_LOAD_PERCENT + 1);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many keys for an index: " + expectedKeys);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * Scrambles a hash so that keys with similar hashes, such as sequential IDs, land far apart.
+     */
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,262 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.mapped;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataRetrievalFailureException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Memory-mapped file of fixed-size user records, addressed by slot number.
+ * <p>
+ * The file starts with a {@value #RECORD_BYTES}-byte header holding a magic number, the layout version and the
+ * number of records; record {@code n} follows at offset {@code (n + 1) * }{@value #RECORD_BYTES}. Each record has
+ * this layout:
+ * </p>
+ * <pre>
+ * offset  size  field
+ *      0     8  id
+ *      8     8  version
+ *     16     8  birthdate as epoch day, or Long.MIN_VALUE for null
+ *     24   128  username:             length byte + up to 127 bytes of UTF-8
+ *    152    64  country of residence: length byte + up to 63 bytes of UTF-8
+ *    216    20  phone number:         length byte + up to 19 bytes of UTF-8
+ *    236    16  gender:               length byte + up to 15 bytes of UTF-8
+ *    252     4  unused
+ * </pre>
+ * <p>
+ * A length byte of {@code 0xFF} stands for a {@code null} value. Fields are decoded straight from the mapping into
+ * the {@link User} record, and usernames are compared byte by byte in place, without decoding.
+ * </p>
+ * <p>
+ * A record is written completely before the record count in the header is raised, so a crash never exposes a
+ * partially written record. The class is not thread-safe; callers must serialize writes and exclude readers while
+ * writing.
+ * </p>
+ */
+final class UserRecordFile implements Closeable {
+
+    static final int RECORD_BYTES = 256;
+
+    private static final long MAGIC = 0x5553525245474D31L; // "USRREGM1"
+    private static final int LAYOUT_VERSION = 1;
+    private static final int CHUNK_SIZE = 1 << 26;
+
+    private static final long HEADER_MAGIC = 0;
+    private static final long HEADER_LAYOUT_VERSION = 8;
+    private static final long HEADER_COUNT = 16;
+
+    private static final int ID = 0;
+    private static final int VERSION = 8;
+    private static final int BIRTHDATE = 16;
+    private static final int USERNAME = 24;
+    private static final int USERNAME_MAX = 127;
+    private static final int COUNTRY = 152;
+    private static final int COUNTRY_MAX = 63;
+    private static final int PHONE = 216;
+    private static final int PHONE_MAX = 19;
+    private static final int GENDER = 236;
+    private static final int GENDER_MAX = 15;
+
+    private static final int NULL_LENGTH = 0xFF;
+    private static final long NULL_DATE = Long.MIN_VALUE;
+
+    private final MappedFile file;
+    private int count;
+
+    /**
+     * Opens or creates a record file.
+     *
+     * @param path the file to open
+     * @throws DataRetrievalFailureException if the file exists but is not a user record file of this layout
+     */
+    UserRecordFile(Path path) {
+        this.file = new MappedFile(path, CHUNK_SIZE);
+        if (file.size() == 0 || file.getLong(HEADER_MAGIC) == 0) {
+            file.putLong(HEADER_MAGIC, MAGIC);
+            file.putInt(HEADER_LAYOUT_VERSION, LAYOUT_VERSION);
+            file.putLong(HEADER_COUNT, 0);
+        } else if (file.getLong(HEADER_MAGIC) != MAGIC || file.getInt(HEADER_LAYOUT_VERSION) != LAYOUT_VERSION) {
+            try {
+                file.close();
+            } catch (IOException ex) {
+                // The file is rejected anyway
+            }
+            throw new DataRetrievalFailureException(path + " is not a user record file of layout " + LAYOUT_VERSION);
+        }
+        this.count = (int) file.getLong(HEADER_COUNT);
+    }
+
+    /**
+     * Returns the number of records.
+     *
+     * @return the number of records
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param user the user to store; must have an ID and a version
+     * @return the slot of the new record
+     * @throws DataIntegrityViolationException if a value is too long for its field
+     */
+    int append(User user) {
+        int slot = count;
+        write(slot, user);
+        count++;
+        file.putLong(HEADER_COUNT, count);
+        return slot;
+    }
+
+    /**
+     * Overwrites a record.
+     *
+     * @param slot the slot of the record
+     * @param user the user to store; must have the same ID as the record
+     * @throws DataIntegrityViolationException if a value is too long for its field
+     */
+    void write(int slot, User user) {
+        // Encode every field first, so an oversized value leaves the record untouched
+        byte[] username = encode(user.username(), USERNAME_MAX, "username");
+        byte[] country = encode(user.countryOfResidence(), COUNTRY_MAX, "country of residence");
+        byte[] phone = encode(user.phoneNumber(), PHONE_MAX, "phone number");
+        byte[] gender = encode(user.gender(), GENDER_MAX, "gender");
+
+        long offset = offset(slot);
+        file.putLong(offset + ID, user.id());
+        file.putLong(offset + VERSION, user.version());
+        file.putLong(offset + BIRTHDATE, user.birthdate() != null ? user.birthdate().toEpochDay() : NULL_DATE);
+        putString(offset + USERNAME, username);
+        putString(offset + COUNTRY, country);
+        putString(offset + PHONE, phone);
+        putString(offset + GENDER, gender);
+    }
+
+    /**
+     * Checks that every value of a user fits in its field, without writing anything.
+     *
+     * @param user the user to check
+     * @throws DataIntegrityViolationException if a value is too long for its field
+     */
+    static void checkFits(User user) {
+        encode(user.username(), USERNAME_MAX, "username");
+        encode(user.countryOfResidence(), COUNTRY_MAX, "country of residence");
+        encode(user.phoneNumber(), PHONE_MAX, "phone number");
+        encode(user.gender(), GENDER_MAX, "gender");
+    }
+
+    /**
+     * Reads a record.
+     *
+     * @param slot the slot of the record
+     * @return the stored user
+     */
+    User read(int slot) {
+        long offset = offset(slot);
+        long birthdate = file.getLong(offset + BIRTHDATE);
+        return new User(
+                file.getLong(offset + ID),
+                getString(offset + USERNAME),
+                birthdate != NULL_DATE ? LocalDate.ofEpochDay(birthdate) : null,
+                getString(offset + COUNTRY),
+                getString(offset + PHONE),
+                getString(offset + GENDER),
+                file.getLong(offset + VERSION));
+    }
+
+    long readId(int slot) {
+        return file.getLong(offset(slot) + ID);
+    }
+
+    long readVersion(int slot) {
+        return file.getLong(offset(slot) + VERSION);
+    }
+
+    String readUsername(int slot) {
+        return getString(offset(slot) + USERNAME);
+    }
+
+    /**
+     * Compares the stored username of a record with an encoded username, without decoding it.
+     *
+     * @param slot     the slot of the record
+     * @param username the UTF-8 bytes of the username to compare with
+     * @return {@code true} if the record holds that username
+     */
+    boolean usernameEquals(int slot, byte[] username) {
+        long offset = offset(slot) + USERNAME;
+        if ((file.getByte(offset) & 0xFF) != username.length) {
+            return false;
+        }
+        for (int i = 0; i < username.length; i++) {
+            if (file.getByte(offset + 1 + i) != username[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes a username the way it is stored, for use with {@link #usernameEquals(int, byte[])}.
+     *
+     * @param username the username
+     * @return its UTF-8 bytes
+     */
+    static byte[] encodeUsername(String username) {
+        return username.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes all changes to the storage device.
+     */
+    void force() {
+        file.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private static long offset(int slot) {
+        return (slot + 1L) * RECORD_BYTES;
+    }
+
+    private static byte[] encode(String value, int maxBytes, String field) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxBytes) {
+            throw new DataIntegrityViolationException(
+                    "Value too long for " + field + ": " + bytes.length + " bytes, at most " + maxBytes + " allowed");
+        }
+        return bytes;
+    }
+
+    private void putString(long offset, byte[] bytes) {
+        if (bytes == null) {
+            file.putByte(offset, (byte) NULL_LENGTH);
+            return;
+        }
+        file.putByte(offset, (byte) bytes.length);
+        file.putBytes(offset + 1, bytes);
+    }
+
+    private String getString(long offset) {
+        int length = file.getByte(offset) & 0xFF;
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        file.getBytes(offset + 1, bytes, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
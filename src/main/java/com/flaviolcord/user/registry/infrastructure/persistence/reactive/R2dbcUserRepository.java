@@ -0,0 +1,138 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.reactive;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.ReactiveUserRepository;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.util.SnowflakeIdGenerator;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Implementation of the {@link ReactiveUserRepository} on R2DBC, used by the {@code reactive} profile.
+ * <p>
+ * Users are kept in the {@code users} table, with the same columns as the JPA store, and read straight into
+ * {@link User} records. Statements are sent through a {@link DatabaseClient} on the non-blocking connection pool
+ * configured by {@code spring.r2dbc}, so no thread waits for the database.
+ * </p>
+ * <p>
+ * IDs are generated with a {@link SnowflakeIdGenerator} built from the {@code user.id} properties. The version
+ * starts at 0 and is incremented by every update, which fails with an {@link OptimisticLockingFailureException}
+ * if the stored user has another version.
+ * </p>
+ * <p>
+ * Statements join the transaction of the subscriber context, if any, such as the one started by a
+ * {@link org.springframework.transaction.reactive.TransactionalOperator}.
+ * </p>
+ */
+@Repository
+@Profile("reactive")
+public class R2dbcUserRepository implements ReactiveUserRepository {
+
+    private static final String USER_COLUMNS =
+            "id, username, birthdate, country_of_residence, phone_number, gender, version";
+
+    private final DatabaseClient databaseClient;
+    private final SnowflakeIdGenerator idGenerator;
+
+    /**
+     * Creates the repository on the given connection pool.
+     *
+     * @param connectionFactory the connection pool of the database
+     * @param userProperties    the configuration holding the ID generator settings
+     */
+    public R2dbcUserRepository(ConnectionFactory connectionFactory, UserProperties userProperties) {
+        UserProperties.Id id = userProperties.getId();
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.idGenerator = new SnowflakeIdGenerator(id.getNodeId(), id.getEpoch(), id.getMaxClockRegression());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if the username is taken
+     * @throws OptimisticLockingFailureException                       if the user exists with a different version
+     */
+    @Override
+    public Mono<User> save(User user) {
+        return user.id() == null ? insert(user) : update(user);
+    }
+
+    private Mono<User> insert(User user) {
+        return Mono.fromSupplier(() -> withIdentity(user, idGenerator.nextId(), 0L))
+                .flatMap(saved -> bindUser(databaseClient.sql("INSERT INTO users (" + USER_COLUMNS + ") "
+                        + "VALUES (:id, :username, :birthdate, :countryOfResidence, :phoneNumber, :gender, :version)"), saved)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(saved));
+    }
+
+    private Mono<User> update(User user) {
+        long version = user.version() == null ? 0L : user.version();
+        User saved = withIdentity(user, user.id(), version + 1);
+        return bindUser(databaseClient.sql("UPDATE users SET username = :username, birthdate = :birthdate, "
+                + "country_of_residence = :countryOfResidence, phone_number = :phoneNumber, gender = :gender, "
+                + "version = :version WHERE id = :id AND version = :expectedVersion"), saved)
+                .bind("expectedVersion", version)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> updated == 0
+                        ? Mono.error(new OptimisticLockingFailureException(
+                                "User " + user.id() + " does not exist with version " + version))
+                        : Mono.just(saved));
+    }
+
+    @Override
+    public Mono<User> findById(Long id) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(R2dbcUserRepository::mapUser)
+                .one();
+    }
+
+    @Override
+    public Mono<User> findByUsername(String username) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users WHERE username = :username")
+                .bind("username", username)
+                .map(R2dbcUserRepository::mapUser)
+                .one();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindUser(DatabaseClient.GenericExecuteSpec spec, User user) {
+        return bindNullable(bindNullable(spec
+                        .bind("id", user.id())
+                        .bind("username", user.username())
+                        .bind("birthdate", user.birthdate())
+                        .bind("countryOfResidence", user.countryOfResidence())
+                        .bind("version", user.version()),
+                "phoneNumber", user.phoneNumber()),
+                "gender", user.gender());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String name, String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+
+    private static User withIdentity(User user, long id, long version) {
+        return new User(id, user.username(), user.birthdate(), user.countryOfResidence(),
+                user.phoneNumber(), user.gender(), version);
+    }
+
+    private static User mapUser(Readable row) {
+        return new User(
+                row.get("id", Long.class),
+                row.get("username", String.class),
+                row.get("birthdate", LocalDate.class),
+                row.get("country_of_residence", String.class),
+                row.get("phone_number", String.class),
+                row.get("gender", String.class),
+                row.get("version", Long.class));
+    }
+}
@@ -1,22 +1,119 @@
 package com.flaviolcord.user.registry.infrastructure.persistence.repository;
 
+import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for UserEntity.
  * Provides basic CRUD operations and custom queries for user persistence.
+ * Lookups by username go through the natural ID (see {@link JpaUserRepositoryCustom}).
  */
-public interface JpaUserRepository extends JpaRepository<UserEntity, Long> {
+public interface JpaUserRepository extends JpaRepository<UserEntity, Long>, JpaUserRepositoryCustom {
 
     /**
-     * Finds a user entity by username.
-     * Implemented automatically by Spring Data JPA.
+     * Finds a user by ID, reading the row straight into a domain {@link User} record.
+     * No entity is instantiated or attached to the persistence context, so there is no snapshot
+     * for dirty checking and nothing to map afterwards.
      *
-     * @param username the username to search for
-     * @return an Optional containing the user entity if found, or empty if not found
+     * @param id the ID of the user
+     * @return an Optional containing the user if found, or empty if not found
      */
-    Optional<UserEntity> findByUsername(String username);
+    @Query("select new com.flaviolcord.user.registry.domain.model.User("
+            + "u.id, u.username, u.birthdate, u.countryOfResidence, u.phoneNumber, u.gender, u.version) "
+            + "from UserEntity u where u.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<User> findUserById(@Param("id") Long id);
+
+    /**
+     * Finds the users with the given IDs using a single {@code IN} query.
+     * Rows are read straight into domain {@link User} records, so no entity is instantiated.
+     *
+     * @param ids the IDs to look up
+     * @return the users found, in no particular order
+     */
+    @Query("select new com.flaviolcord.user.registry.domain.model.User("
+            + "u.id, u.username, u.birthdate, u.countryOfResidence, u.phoneNumber, u.gender, u.version) "
+            + "from UserEntity u where u.id in :ids")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<User> findUsersByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the version of a user without loading the entity.
+     * Only the version column is selected, so nothing is added to the persistence context.
+     *
+     * @param id the ID of the user
+     * @return an Optional containing the version if the user exists, or empty if not
+     */
+    @Query("select u.version from UserEntity u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Finds which of the given usernames are already stored, using a single {@code IN} query.
+     * Only the username column is selected, so no entity is loaded into the persistence context.
+     *
+     * @param usernames the usernames to check
+     * @return the subset of the given usernames that exist in the database
+     */
+    @Query("select u.username from UserEntity u where u.username in :usernames")
+    Set<String> findUsernamesIn(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Streams every stored username through a forward-only cursor.
+     * The fetch size hint makes H2 and PostgreSQL read 1000 rows at a time; MySQL Connector/J ignores it and
+     * loads the whole result unless the URL sets {@code useCursorFetch=true}.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return a stream of all usernames
+     */
+    @Query("select u.username from UserEntity u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllUsernames();
+
+    /**
+     * Streams the users whose ID is greater than the given one, in ascending ID order.
+     * The primary key index lets the database seek straight to the first row, however deep it is.
+     * Rows are read straight into domain {@link User} records, so no entity is instantiated.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @param afterId the ID to start after
+     * @param limit   the maximum number of users to return
+     * @return a stream of at most {@code limit} users
+     */
+    @Query("select new com.flaviolcord.user.registry.domain.model.User("
+            + "u.id, u.username, u.birthdate, u.countryOfResidence, u.phoneNumber, u.gender, u.version) "
+            + "from UserEntity u where u.id > :afterId order by u.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<User> streamUsersAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Streams every user, in ascending ID order, through a forward-only cursor.
+     * Rows are read straight into domain {@link User} records with a constructor expression,
+     * so no entity is ever attached to the persistence context and memory use does not grow with the table.
+     * That holds as long as the driver honours the fetch size hint, as H2 and PostgreSQL do; MySQL Connector/J
+     * only does with {@code useCursorFetch=true} in the URL, and otherwise loads every row before the first is read.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return a stream of all users
+     */
+    @Query("select new com.flaviolcord.user.registry.domain.model.User("
+            + "u.id, u.username, u.birthdate, u.countryOfResidence, u.phoneNumber, u.gender, u.version) "
+            + "from UserEntity u order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<User> streamAllUsers();
 }
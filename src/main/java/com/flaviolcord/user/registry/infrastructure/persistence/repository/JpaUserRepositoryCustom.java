@@ -0,0 +1,20 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.repository;
+
+import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+
+import java.util.Optional;
+
+/**
+ * Lookups of {@link UserEntity} that Spring Data cannot derive, implemented by {@link JpaUserRepositoryCustomImpl}.
+ */
+public interface JpaUserRepositoryCustom {
+
+    /**
+     * Finds a user entity by username through its natural ID.
+     * Unlike a derived query, this consults the natural-ID and entity second-level caches before the database.
+     *
+     * @param username the username to search for
+     * @return an Optional containing the user entity if found, or empty if not found
+     */
+    Optional<UserEntity> findByUsername(String username);
+}
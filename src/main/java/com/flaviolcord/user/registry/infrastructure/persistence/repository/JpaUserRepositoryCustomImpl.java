@@ -0,0 +1,34 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.repository;
+
+import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Implementation of {@link JpaUserRepositoryCustom}, picked up by Spring Data as a fragment of
+ * {@link JpaUserRepository}.
+ * Like the methods Spring Data implements, it runs in a read-only transaction unless called within one.
+ */
+@Transactional(readOnly = true)
+public class JpaUserRepositoryCustomImpl implements JpaUserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     *
+     * Resolves the username to an ID from the natural-ID cache, then the entity from the entity cache, and only
+     * queries the database for what neither holds.
+     */
+    @Override
+    public Optional<UserEntity> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(UserEntity.class)
+                .loadOptional(username);
+    }
+}
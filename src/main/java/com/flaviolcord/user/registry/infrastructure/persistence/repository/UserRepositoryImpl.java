@@ -4,31 +4,55 @@ import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.domain.repository.UserRepository;
 import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
 import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import com.flaviolcord.user.registry.infrastructure.persistence.UsernameIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the UserRepository interface.
  * Bridges the domain model with JPA persistence using mappers.
+ * The registration pre-checks consult the {@link UsernameIndex} first and skip the query when the username is
+ * definitely absent; lookups of a user by username always query, since the index does not see usernames registered
+ * by other nodes.
+ * Replaced by the store of the {@code mmap}, {@code wal} or {@code sharded} profile when one of them is active, and by
+ * the {@code R2dbcUserRepository} of the {@code reactive} profile.
  */
 @Repository
+@Profile("!mmap & !wal & !sharded & !reactive")
 @RequiredArgsConstructor
 public class UserRepositoryImpl implements UserRepository {
+
+    /**
+     * Maximum number of usernames or IDs bound into a single {@code IN} clause.
+     * Keeps the statement within the parameter limits of common databases.
+     */
+    static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final JpaUserRepository jpaUserRepository;
     private final UserMapper userMapper;
+    private final UsernameIndex usernameIndex;
 
     /**
      * {@inheritDoc}
      *
      * Maps the domain User to a UserEntity, persists it,
-     * and maps the result back to a domain User.
+     * and maps the result back to a domain User. The username is added to the {@link UsernameIndex}.
      */
     @Override
     public User save(User user) {
         UserEntity entity = userMapper.toEntity(user);
         UserEntity savedEntity = jpaUserRepository.save(entity);
+        indexUsername(savedEntity);
 
         return userMapper.toDomainModel(savedEntity);
     }
@@ -36,12 +60,65 @@ public class UserRepositoryImpl implements UserRepository {
     /**
      * {@inheritDoc}
      *
-     * Retrieves a UserEntity by ID and maps it to a domain User if found.
+     * Maps all domain Users to UserEntities and persists them together.
+     * With application-generated IDs and {@code hibernate.jdbc.batch_size} set,
+     * Hibernate groups the INSERTs into JDBC batches at flush time.
+     * Every username is added to the {@link UsernameIndex}.
+     */
+    @Override
+    public List<User> saveAll(List<User> users) {
+        List<UserEntity> entities = users.stream()
+                .map(userMapper::toEntity)
+                .toList();
+
+        return jpaUserRepository.saveAll(entities).stream()
+                .peek(this::indexUsername)
+                .map(userMapper::toDomainModel)
+                .toList();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the user straight into a domain User, without loading a UserEntity.
      */
     @Override
     public Optional<User> findById(Long id) {
-        return jpaUserRepository.findById(id)
-                .map(userMapper::toDomainModel);
+        return jpaUserRepository.findUserById(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Queries the IDs in chunks of {@value #IN_CLAUSE_CHUNK_SIZE}, issuing a single query when they fit in one
+     * chunk, and reads the rows straight into domain Users, without loading any UserEntity.
+     */
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        List<Long> pending = List.copyOf(ids);
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        if (pending.size() <= IN_CLAUSE_CHUNK_SIZE) {
+            return jpaUserRepository.findUsersByIdIn(pending);
+        }
+
+        List<User> users = new ArrayList<>(pending.size());
+        for (int from = 0; from < pending.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            int to = Math.min(from + IN_CLAUSE_CHUNK_SIZE, pending.size());
+            users.addAll(jpaUserRepository.findUsersByIdIn(pending.subList(from, to)));
+        }
+        return users;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Selects only the version column of the user.
+     */
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return jpaUserRepository.findVersionById(id);
     }
 
     /**
@@ -54,4 +131,75 @@ public class UserRepositoryImpl implements UserRepository {
         return jpaUserRepository.findByUsername(username)
                 .map(userMapper::toDomainModel);
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     *
+     * Returns {@code false} without querying when the {@link UsernameIndex} knows the username is absent.
+     */
+    @Override
+    public boolean existsByUsername(String username) {
+        if (!usernameIndex.mightContain(username)) {
+            return false;
+        }
+
+        boolean exists = jpaUserRepository.findByUsername(username).isPresent();
+        if (!exists) {
+            usernameIndex.recordFalsePositive();
+        }
+        return exists;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Only usernames the {@link UsernameIndex} cannot rule out are queried, in chunks of
+     * {@value #IN_CLAUSE_CHUNK_SIZE}, issuing a single query when they fit in one chunk.
+     */
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        List<String> pending = usernames.stream()
+                .filter(usernameIndex::mightContain)
+                .toList();
+        if (pending.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < pending.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            int to = Math.min(from + IN_CLAUSE_CHUNK_SIZE, pending.size());
+            existing.addAll(jpaUserRepository.findUsernamesIn(pending.subList(from, to)));
+        }
+
+        for (int i = existing.size(); i < pending.size(); i++) {
+            usernameIndex.recordFalsePositive();
+        }
+        return existing;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Streams the matching users through a forward-only cursor without loading any UserEntity.
+     */
+    @Override
+    public Stream<User> streamAfter(long afterId, int limit) {
+        return jpaUserRepository.streamUsersAfter(afterId, Limit.of(limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Streams users directly from a forward-only cursor without loading any UserEntity.
+     */
+    @Override
+    public Stream<User> streamAll() {
+        return jpaUserRepository.streamAllUsers();
+    }
+
+    private void indexUsername(UserEntity entity) {
+        if (entity.getUsername() != null) {
+            usernameIndex.add(entity.getUsername());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes connections of read-only transactions to the replica database and every other connection to the primary.
+ * <p>
+ * A read-only transaction still goes to the primary when the current request requires a replication position
+ * the replica has not applied yet (see {@link ReadYourWrites}), so a client always reads its own writes. When a
+ * read-write transaction of a tracked request commits, the primary's position is recorded as the request's new
+ * token. Both positions are read through the {@link ReplicationPosition} port.
+ * </p>
+ * <p>
+ * The target is chosen when a connection is obtained, so this data source must be wrapped in a
+ * {@link LazyConnectionDataSourceProxy}: the transaction manager asks for a connection as soon as a transaction
+ * begins, before the transaction is marked read-only, and the proxy defers the choice to the first statement.
+ * </p>
+ * <p>
+ * Metrics exposed through Micrometer:
+ * <ul>
+ *     <li>{@code user.datasource.connections} - connections handed out, by {@code target} ({@code primary} or {@code replica})</li>
+ * </ul>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+
+    /**
+     * The database a connection is taken from.
+     */
+    public enum Target { PRIMARY, REPLICA }
+
+    private final ReplicationPosition positions;
+    private final Map<Target, LongAdder> connections = new EnumMap<>(Target.class);
+
+    /**
+     * Creates a routing data source over a primary and a replica.
+     *
+     * @param primary         the database taking writes and read-write transactions
+     * @param replica         the database serving read-only transactions
+     * @param positions       the replication positions of the primary and the replica
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicationPosition positions) {
+        this.positions = positions;
+        for (Target target : Target.values()) {
+            connections.put(target, new LongAdder());
+        }
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    /**
+     * Returns the number of connections handed out from a target.
+     *
+     * @param target the primary or the replica
+     * @return the number of connections taken from that target so far
+     */
+    public long connections(Target target) {
+        return connections.get(target).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Target target : Target.values()) {
+            LongAdder counter = connections.get(target);
+            FunctionCounter.builder("user.datasource.connections", counter, LongAdder::sum)
+                    .description("Connections handed out by the read/write routing data source")
+                    .tag("target", target.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        Target target = readOnly && ReadYourWrites.requiredPosition() <= positions.replicaPosition()
+                ? Target.REPLICA
+                : Target.PRIMARY;
+        connections.get(target).increment();
+        if (!readOnly) {
+            recordPositionAfterCommit();
+        }
+        return target;
+    }
+
+    /**
+     * Hands the primary's position to the current request once its read-write transaction commits, at most once
+     * per transaction. Nothing is recorded for requests without read-your-writes tracking.
+     */
+    private void recordPositionAfterCommit() {
+        if (!ReadYourWrites.isTracking()
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ReadYourWrites.written(positions.primaryPosition());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadWriteRoutingDataSource.this);
+            }
+        });
+    }
+}
@@ -0,0 +1,127 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.routing;
+
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes state of the request running on the current thread.
+ * <p>
+ * Every change committed on the primary database advances its {@link ReplicationPosition}. A client that wrote
+ * receives the position of its last write as a token and sends it back with later requests; reads of such a
+ * request are only routed to the replica once the replica has applied that position, and go to the primary
+ * until then. Clients that never wrote, or whose writes have reached the replica, read from the replica.
+ * </p>
+ * <p>
+ * The state is opened and closed around each request by {@link ReadYourWritesFilter}. Outside a request,
+ * no position is required and writes are not tracked, unless the work is run through {@link #track}.
+ * </p>
+ */
+public final class ReadYourWrites {
+
+    /**
+     * The request and response header carrying the read-your-writes token.
+     */
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() { }
+
+    /**
+     * Starts tracking a request on the current thread.
+     *
+     * @param requiredPosition the position the replica must have applied before it may serve the request's reads
+     * @param onWrite          receives the new token after every write committed by the request
+     */
+    static void open(long requiredPosition, LongConsumer onWrite) {
+        CURRENT.set(new Session(requiredPosition, onWrite));
+    }
+
+    /**
+     * Stops tracking the request on the current thread.
+     */
+    static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs work outside a request, such as a background registration, tracking the positions of its writes.
+     * <p>
+     * Its reads are not held to any position. The state of the current thread is restored afterwards.
+     * </p>
+     *
+     * @param work    the work to run
+     * @param onWrite receives the new position after every write committed by the work
+     * @param <T>     the type of the work's result
+     * @return the result of the work
+     */
+    public static <T> T track(Supplier<T> work, LongConsumer onWrite) {
+        Session previous = CURRENT.get();
+        CURRENT.set(new Session(0, onWrite));
+        try {
+            return work.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * Hands the current request the position of a write committed on another thread, such as a background
+     * registration, so its later reads, and the token it returns, cover that write.
+     *
+     * @param position the replication position of the write, ignored if not positive
+     */
+    public static void observed(long position) {
+        if (position > 0) {
+            written(position);
+        }
+    }
+
+    /**
+     * Tells whether the writes of the current thread are tracked.
+     *
+     * @return true inside a request or tracked work
+     */
+    static boolean isTracking() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Returns the position the replica must have applied before it may serve reads of the current request.
+     *
+     * @return the required position, or 0 outside a request
+     */
+    static long requiredPosition() {
+        Session session = CURRENT.get();
+        return session != null ? session.requiredPosition : 0;
+    }
+
+    /**
+     * Records a change committed by the current request, so its later reads, and those of requests carrying
+     * the new token, see the change.
+     *
+     * @param position the replication position of the change
+     */
+    static void written(long position) {
+        Session session = CURRENT.get();
+        if (session != null && position > session.requiredPosition) {
+            session.requiredPosition = position;
+            session.onWrite.accept(position);
+        }
+    }
+
+    private static final class Session {
+
+        private final LongConsumer onWrite;
+        private long requiredPosition;
+
+        private Session(long requiredPosition, LongConsumer onWrite) {
+            this.requiredPosition = requiredPosition;
+            this.onWrite = onWrite;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.routing;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Opens the {@link ReadYourWrites} state of each request from its {@value ReadYourWrites#HEADER} header and
+ * returns the new token in the same response header after a write.
+ * <p>
+ * The token is the replication position of the client's last write. Clients keep the latest token they
+ * received and send it with every request of their session; a missing or malformed token requires nothing.
+ * The token can only be set while the response is not committed. That holds for every endpoint except the
+ * streaming import, whose headers are sent before its first chunk is registered: an import returns no token,
+ * and reads of the imported users may go to the replica until it has caught up.
+ * </p>
+ */
+public class ReadYourWritesFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        ReadYourWrites.open(parseToken(((HttpServletRequest) request).getHeader(ReadYourWrites.HEADER)),
+                position -> {
+                    if (!httpResponse.isCommitted()) {
+                        httpResponse.setHeader(ReadYourWrites.HEADER, Long.toString(position));
+                    }
+                });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.close();
+        }
+    }
+
+    private static long parseToken(String token) {
+        if (token == null) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(token.trim()));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+}
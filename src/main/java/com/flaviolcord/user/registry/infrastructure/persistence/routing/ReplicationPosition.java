@@ -0,0 +1,33 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.routing;
+
+/**
+ * Tells the read/write routing how far replication has progressed.
+ * <p>
+ * A position is a number that grows with every change committed on the primary, such as the write-ahead log
+ * LSN of PostgreSQL ({@code pg_current_wal_lsn()} on the primary, {@code pg_last_wal_replay_lsn()} on the
+ * replica). Positions must come from the databases themselves, so that they survive restarts and mean the same
+ * on every node; they are what clients receive as read-your-writes tokens.
+ * </p>
+ * <p>
+ * The {@code replica} profile needs one bean of this type. Locally, the {@code replica-sim} profile supplies
+ * {@link SimulatedReplication}.
+ * </p>
+ */
+public interface ReplicationPosition {
+
+    /**
+     * Returns the position of the latest change committed on the primary. Called after a read-write transaction
+     * of a tracked request commits, so the result covers that transaction's changes.
+     *
+     * @return the current position of the primary
+     */
+    long primaryPosition();
+
+    /**
+     * Returns the last position the replica has applied. Called whenever a read-only transaction may go to the
+     * replica, so implementations querying the database should cache the answer briefly.
+     *
+     * @return the applied position of the replica
+     */
+    long replicaPosition();
+}
@@ -0,0 +1,344 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.routing;
+
+import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Copies committed user changes from the primary H2 database to the replica after an artificial delay.
+ * <p>
+ * Stands in for the replication of a real database, so that read/write routing and read-your-writes can be run
+ * and tested locally with two in-memory H2 databases; it is only wired by the {@code replica-sim} profile. When
+ * the application starts, the schema and rows of the primary are copied into the replica, which must be empty:
+ * nothing is ever dropped. From then on, every insert, update or delete of a user that Hibernate commits on the
+ * primary gets the next replication position and is queued with the row as committed. A single thread applies
+ * each change to the replica once it is {@code user.replica.lag} old, in position order, and then advances the
+ * replica position.
+ * </p>
+ * <p>
+ * Positions follow the order in which the commit listeners run, which is not strictly the commit order: two
+ * transactions updating the same user may publish their versions the other way round. A row is therefore only
+ * written to the replica if its version is newer than the replica's, so a late older version never overwrites a
+ * newer one.
+ * </p>
+ * <p>
+ * Only changes made through Hibernate in this application instance are replicated, and positions are an
+ * in-process counter that restarts from 0 with the application, so this must never stand in for a real replica.
+ * </p>
+ * <p>
+ * Metrics exposed through Micrometer:
+ * <ul>
+ *     <li>{@code user.replica.changes} - changes committed on the primary</li>
+ *     <li>{@code user.replica.pending} - committed changes the replica has not applied yet</li>
+ * </ul>
+ */
+public class SimulatedReplication implements ReplicationPosition, MeterBinder, SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimulatedReplication.class);
+
+    private static final String UPDATE_USER = "UPDATE users SET username = ?, birthdate = ?, "
+            + "country_of_residence = ?, phone_number = ?, gender = ?, version = ? "
+            + "WHERE id = ? AND (version IS NULL OR version < ?)";
+    private static final String INSERT_USER = "INSERT INTO users "
+            + "(id, username, birthdate, country_of_residence, phone_number, gender, version) "
+            + "SELECT ?, ?, ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM users WHERE id = ?)";
+    private static final String DELETE_USER = "DELETE FROM users WHERE id = ?";
+    private static final long RETRY_DELAY_MILLIS = 1_000;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long lagNanos;
+    private final BlockingQueue<Change> changes = new LinkedBlockingQueue<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final ReentrantLock publishLock = new ReentrantLock();
+
+    private Thread applier;
+
+    /**
+     * Creates the replication between two H2 databases. Nothing is copied before the application context is ready.
+     *
+     * @param primary the database changes are committed to
+     * @param replica the database changes are copied to
+     * @param lag     the delay between a commit on the primary and its copy to the replica
+     */
+    public SimulatedReplication(DataSource primary, DataSource replica, Duration lag) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagNanos = lag.toNanos();
+    }
+
+    /**
+     * Returns the Hibernate observer that subscribes this replication to the changes committed on the primary.
+     *
+     * @return an observer registering the commit listeners once the session factory is created
+     */
+    public SessionFactoryObserver hibernateObserver() {
+        ChangeListener listener = new ChangeListener();
+        return new SessionFactoryObserver() {
+            @Override
+            public void sessionFactoryCreated(SessionFactory factory) {
+                EventListenerRegistry registry = factory.unwrap(SessionFactoryImplementor.class)
+                        .getEventEngine().getListenerRegistry();
+                registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+                registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+                registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the counter of changes published by the commit listeners.
+     */
+    @Override
+    public long primaryPosition() {
+        return published.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the counter of changes applied to the replica, so it is cheap enough to call for every connection.
+     */
+    @Override
+    public long replicaPosition() {
+        return applied.get();
+    }
+
+    /**
+     * Copies the primary into the empty replica, once Hibernate has created the schema, and starts applying
+     * changes.
+     *
+     * @throws IllegalStateException              if the replica already holds tables
+     * @throws DataAccessResourceFailureException if the primary cannot be copied to the replica
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            copyPrimary();
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("Cannot copy the primary database to the replica", ex);
+        }
+        applier = Thread.ofPlatform().name("user-replication").daemon().start(this::run);
+    }
+
+    /**
+     * Stops applying changes. Changes not applied yet are dropped.
+     */
+    @PreDestroy
+    public void close() {
+        if (applier != null) {
+            applier.interrupt();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("user.replica.changes", published, AtomicLong::get)
+                .description("User changes committed on the primary database")
+                .register(registry);
+        Gauge.builder("user.replica.pending", this, replication -> replication.published.get() - replication.applied.get())
+                .description("Committed user changes the replica has not applied yet")
+                .register(registry);
+    }
+
+    /**
+     * Queues a committed change for the replica.
+     *
+     * @param user    the user as committed
+     * @param deleted whether the user was deleted
+     */
+    void publish(UserEntity user, boolean deleted) {
+        Object[] row = deleted ? null : new Object[]{user.getId(), user.getUsername(), user.getBirthdate(),
+                user.getCountryOfResidence(), user.getPhoneNumber(), user.getGender(), user.getVersion()};
+        // Runs on the request thread: a ReentrantLock rather than a monitor, so virtual threads are not pinned
+        publishLock.lock();
+        try {
+            long position = published.incrementAndGet();
+            changes.add(new Change(position, System.nanoTime() + lagNanos, user.getId(), row));
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void copyPrimary() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SCRIPT NOPASSWORDS NOSETTINGS")) {
+            while (rows.next()) {
+                script.add(rows.getString(1));
+            }
+        }
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet tables = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES "
+                    + "WHERE TABLE_SCHEMA NOT IN ('INFORMATION_SCHEMA', 'PG_CATALOG')")) {
+                tables.next();
+                if (tables.getLong(1) > 0) {
+                    throw new IllegalStateException("The simulated replica must start empty; refusing to copy the "
+                            + "primary over " + tables.getLong(1) + " existing tables");
+                }
+            }
+            for (String command : script) {
+                statement.execute(command);
+            }
+        }
+        logger.info("Copied the primary database to the replica ({} statements)", script.size());
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Change change = changes.take();
+                long delay = change.dueNanos - System.nanoTime();
+                if (delay > 0) {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                }
+                apply(change);
+                applied.set(change.position);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applies a change to the replica, retrying until it succeeds: like a real replica, the replication stops
+     * rather than skip a change.
+     */
+    private void apply(Change change) throws InterruptedException {
+        while (true) {
+            try (Connection connection = replica.getConnection()) {
+                if (change.row != null) {
+                    upsert(connection, change.row);
+                } else {
+                    try (PreparedStatement statement = connection.prepareStatement(DELETE_USER)) {
+                        statement.setLong(1, change.id);
+                        statement.executeUpdate();
+                    }
+                }
+                return;
+            } catch (SQLException ex) {
+                logger.error("Replicating the change of user {} failed; retrying", change.id, ex);
+                Thread.sleep(RETRY_DELAY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Writes a row to the replica unless the replica already holds the same or a newer version of the user.
+     */
+    private void upsert(Connection connection, Object[] row) throws SQLException {
+        Object id = row[0];
+        Object version = row[row.length - 1];
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_USER)) {
+            for (int i = 1; i < row.length; i++) {
+                update.setObject(i, row[i]);
+            }
+            update.setObject(row.length, id);
+            update.setObject(row.length + 1, version);
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_USER)) {
+            for (int i = 0; i < row.length; i++) {
+                insert.setObject(i + 1, row[i]);
+            }
+            insert.setObject(row.length + 1, id);
+            if (insert.executeUpdate() == 0) {
+                logger.debug("Skipped version {} of user {}: the replica holds a newer one", version, id);
+            }
+        }
+    }
+
+    /**
+     * A committed change: the new row of the user, or {@code null} if the user was deleted.
+     */
+    private record Change(long position, long dueNanos, long id, Object[] row) { }
+
+    /**
+     * Receives the user changes committed by Hibernate. Changes of transactions that roll back are never seen.
+     */
+    private final class ChangeListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof UserEntity user) {
+                publish(user, false);
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof UserEntity user) {
+                publish(user, false);
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof UserEntity user) {
+                publish(user, true);
+            }
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+            // Nothing was committed, so there is nothing to replicate
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+            // Nothing was committed, so there is nothing to replicate
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+            // Nothing was committed, so there is nothing to replicate
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.sharded;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps user IDs and usernames to shards through a fixed number of hash buckets.
+ * <p>
+ * A key is hashed to a bucket, and each bucket is assigned to one shard. The number of buckets is fixed for the
+ * life of the data, so a key always hashes to the same bucket; only the assignment of buckets to shards changes
+ * when shards are added, by moving whole buckets. Without an explicit assignment, the buckets are split into
+ * contiguous, even ranges in shard order.
+ * </p>
+ */
+final class ShardMap {
+
+    private final int[] shardByBucket;
+    private final int shardCount;
+
+    /**
+     * Creates the map from the bucket assignment of each shard.
+     *
+     * @param bucketCount the number of buckets
+     * @param buckets     for each shard, its buckets as comma-separated numbers and inclusive ranges
+     *                    (e.g. {@code 0-127,200}); either every entry is blank, to split the buckets evenly,
+     *                    or every bucket is assigned to exactly one shard
+     * @throws IllegalArgumentException if there are no shards, fewer buckets than shards, or the assignment
+     *                                  is malformed, incomplete or overlapping
+     */
+    ShardMap(int bucketCount, List<String> buckets) {
+        this.shardCount = buckets.size();
+        if (shardCount == 0) {
+            throw new IllegalArgumentException("At least one shard must be configured");
+        }
+        if (bucketCount < shardCount) {
+            throw new IllegalArgumentException("Bucket count " + bucketCount + " is lower than the shard count " + shardCount);
+        }
+        this.shardByBucket = new int[bucketCount];
+
+        if (buckets.stream().allMatch(String::isBlank)) {
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                shardByBucket[bucket] = (int) ((long) bucket * shardCount / bucketCount);
+            }
+            return;
+        }
+
+        Arrays.fill(shardByBucket, -1);
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (String range : buckets.get(shard).split(",")) {
+                assign(range.trim(), shard);
+            }
+        }
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            if (shardByBucket[bucket] < 0) {
+                throw new IllegalArgumentException("Bucket " + bucket + " is not assigned to any shard");
+            }
+        }
+    }
+
+    /**
+     * Returns the number of shards.
+     *
+     * @return the shard count
+     */
+    int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Returns the shard holding a user.
+     *
+     * @param id the ID of the user
+     * @return the index of the shard
+     */
+    int shardOf(long id) {
+        return shardByBucket[(int) Long.remainderUnsigned(mix(id), shardByBucket.length)];
+    }
+
+    /**
+     * Returns the shard holding the claim of a username.
+     *
+     * @param username the username
+     * @return the index of the shard
+     */
+    int shardOf(String username) {
+        return shardOf((long) username.hashCode());
+    }
+
+    private void assign(String range, int shard) {
+        if (range.isEmpty()) {
+            return;
+        }
+        int separator = range.indexOf('-');
+        int first;
+        int last;
+        try {
+            first = Integer.parseInt(separator < 0 ? range : range.substring(0, separator).trim());
+            last = separator < 0 ? first : Integer.parseInt(range.substring(separator + 1).trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Malformed bucket range of shard " + shard + ": " + range, ex);
+        }
+        if (first < 0 || last >= shardByBucket.length || first > last) {
+            throw new IllegalArgumentException("Bucket range of shard " + shard + " out of bounds: " + range);
+        }
+        for (int bucket = first; bucket <= last; bucket++) {
+            if (shardByBucket[bucket] >= 0) {
+                throw new IllegalArgumentException("Bucket " + bucket + " is assigned to shards "
+                        + shardByBucket[bucket] + " and " + shard);
+            }
+            shardByBucket[bucket] = shard;
+        }
+    }
+
+    /**
+     * Spreads the bits of a key, so that keys sharing their low bits, such as IDs generated in the same
+     * millisecond, still fall into different buckets (the finalizer of MurmurHash3).
+     */
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,468 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.sharded;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.util.SnowflakeIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementation of the UserRepository interface that spreads users over several databases.
+ * Active with the {@code sharded} profile, in place of the JPA-backed repository.
+ * <p>
+ * Each {@link UserShard} is a database configured under {@code user.sharding.shards}. A user lives on the shard
+ * its ID hashes to, through the {@link ShardMap}, so lookups by ID touch a single shard. Usernames are made unique
+ * by claims, stored on the shard the username hashes to: registering claims the username first and fails if it is
+ * claimed, and a lookup by username reads the claim and then the user, two single-shard queries whatever the
+ * number of shards. Listing and export query every shard in parallel and merge the results in ID order.
+ * </p>
+ * <p>
+ * The store keeps the guarantees the application relies on:
+ * <ul>
+ *     <li>IDs are generated with a {@link SnowflakeIdGenerator} built from the {@code user.id} properties</li>
+ *     <li>usernames are unique across shards; a duplicate is rejected with a {@link DataIntegrityViolationException}</li>
+ *     <li>saving an existing user increments its version, and fails with an optimistic locking exception
+ *     when the given version is stale</li>
+ *     <li>{@link #saveAll(List)} checks every user before writing; if a shard then fails, the users already
+ *     inserted on other shards are deleted again and the claims released</li>
+ * </ul>
+ * Each shard commits its part of a write in its own local transaction; there is no transaction spanning shards,
+ * and a rollback of the caller's transaction does not undo a write. Updates already committed on other shards
+ * are not undone when a batch fails. A crash between claiming a username and inserting its user leaves the
+ * username claimed without a user.
+ * </p>
+ */
+@Repository
+@Profile("sharded")
+public class ShardedUserRepository implements UserRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedUserRepository.class);
+
+    private static final Comparator<User> BY_ID = Comparator.comparingLong(User::id);
+
+    private final List<UserShard> shards;
+    private final ShardMap shardMap;
+    private final SnowflakeIdGenerator idGenerator;
+    private final ExecutorService scatter = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Opens every configured shard, creating its tables if needed.
+     *
+     * @param userProperties the configuration holding the shards, the bucket count and the ID generator settings
+     * @throws IllegalArgumentException if the bucket assignment is invalid
+     */
+    public ShardedUserRepository(UserProperties userProperties) {
+        UserProperties.Sharding settings = userProperties.getSharding();
+        UserProperties.Id id = userProperties.getId();
+        this.shardMap = new ShardMap(settings.getBucketCount(), settings.getShards().stream()
+                .map(shard -> Objects.requireNonNullElse(shard.getBuckets(), ""))
+                .toList());
+        this.idGenerator = new SnowflakeIdGenerator(id.getNodeId(), id.getEpoch(), id.getMaxClockRegression());
+
+        List<UserShard> opened = new ArrayList<>();
+        try {
+            for (UserProperties.Sharding.Shard shard : settings.getShards()) {
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setPoolName("shard-" + opened.size());
+                dataSource.setJdbcUrl(shard.getUrl());
+                dataSource.setUsername(shard.getUsername());
+                dataSource.setPassword(shard.getPassword());
+                opened.add(new UserShard(opened.size(), dataSource));
+            }
+        } catch (RuntimeException ex) {
+            opened.forEach(UserShard::close);
+            scatter.shutdown();
+            throw ex;
+        }
+        this.shards = List.copyOf(opened);
+        logger.info("Opened sharded user store with {} shards and {} buckets", shards.size(), settings.getBucketCount());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws DataIntegrityViolationException   if the username is taken
+     * @throws OptimisticLockingFailureException if the user exists with a different version
+     */
+    @Override
+    public User save(User user) {
+        return saveAll(List.of(user)).get(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Checks every user first, including usernames repeated within the batch. Then claims the new usernames and
+     * writes the users, each shard in parallel.
+     *
+     * @throws DataIntegrityViolationException   if a username is taken
+     * @throws OptimisticLockingFailureException if a user exists with a different version
+     */
+    @Override
+    public List<User> saveAll(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        Set<String> batchUsernames = new HashSet<>();
+        for (User user : users) {
+            if (!batchUsernames.add(user.username())) {
+                throw new DataIntegrityViolationException("Duplicate username: " + user.username());
+            }
+        }
+
+        Map<Long, User> stored = new HashMap<>();
+        findAllById(users.stream().map(User::id).filter(Objects::nonNull).toList())
+                .forEach(user -> stored.put(user.id(), user));
+
+        List<User> saved = new ArrayList<>(users.size());
+        List<User> inserts = new ArrayList<>();
+        List<User> updates = new ArrayList<>();
+        List<User> claims = new ArrayList<>();
+        List<User> releases = new ArrayList<>();
+        for (User user : users) {
+            User current = user.id() != null ? stored.get(user.id()) : null;
+            if (current == null) {
+                User inserted = withVersion(user, user.id() != null ? user.id() : idGenerator.nextId(), 0L);
+                inserts.add(inserted);
+                claims.add(inserted);
+                saved.add(inserted);
+            } else if (!Objects.equals(current.version(), user.version())) {
+                throw new OptimisticLockingFailureException("User " + user.id() + " was updated concurrently: version "
+                        + user.version() + " is stale, current version is " + current.version());
+            } else {
+                User updated = withVersion(user, user.id(), user.version() + 1);
+                updates.add(user);
+                saved.add(updated);
+                if (!current.username().equals(user.username())) {
+                    claims.add(updated);
+                    releases.add(current);
+                }
+            }
+        }
+
+        Set<String> taken = findExistingUsernames(claims.stream().map(User::username).toList());
+        if (!taken.isEmpty()) {
+            throw new DataIntegrityViolationException("Duplicate username: " + taken.iterator().next());
+        }
+        claim(claims);
+        try {
+            write(inserts, updates);
+        } catch (RuntimeException ex) {
+            release(claims);
+            throw ex;
+        }
+        release(releases);
+        return saved;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return id != null ? shardOf(id).findById(id) : Optional.empty();
+    }
+
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return gather(groupByShard(ids, shardMap::shardOf), UserShard::findAllById).stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return id != null ? shardOf(id).findVersionById(id) : Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the username claim, then the user it names.
+     */
+    @Override
+    public Optional<User> findByUsername(String username) {
+        Long id = shards.get(shardMap.shardOf(username)).findClaims(List.of(username)).get(username);
+        if (id == null) {
+            return Optional.empty();
+        }
+        // The claim of a renamed user is released after the rename commits, so it may briefly name another username
+        return findById(id).filter(user -> user.username().equals(username));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Queries only the shards holding the claims of the given usernames, in parallel.
+     */
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> existing = new HashSet<>();
+        gather(groupByShard(usernames, shardMap::shardOf), UserShard::findClaims)
+                .forEach(claims -> existing.addAll(claims.keySet()));
+        return existing;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads up to {@code limit} users after the ID from every shard in parallel and keeps the lowest IDs.
+     */
+    @Override
+    public Stream<User> streamAfter(long afterId, int limit) {
+        Map<Integer, Long> everyShard = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            everyShard.put(shard, afterId);
+        }
+        return gather(everyShard, (shard, after) -> shard.findAfter(after, limit)).stream()
+                .flatMap(List::stream)
+                .sorted(BY_ID)
+                .limit(limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Opens a cursor on every shard and merges them in ID order, holding one user per shard in memory.
+     */
+    @Override
+    public Stream<User> streamAll() {
+        List<Stream<User>> cursors = new ArrayList<>(shards.size());
+        try {
+            for (UserShard shard : shards) {
+                cursors.add(shard.streamAll());
+            }
+        } catch (RuntimeException ex) {
+            cursors.forEach(Stream::close);
+            throw ex;
+        }
+        MergingIterator merged = new MergingIterator(cursors.stream().map(Stream::iterator).toList());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> cursors.forEach(Stream::close));
+    }
+
+    /**
+     * Closes the connection pools of every shard.
+     */
+    @PreDestroy
+    public void close() {
+        scatter.shutdown();
+        shards.forEach(UserShard::close);
+    }
+
+    private UserShard shardOf(long id) {
+        return shards.get(shardMap.shardOf(id));
+    }
+
+    /**
+     * Claims the usernames, each shard in parallel. If a shard fails, the claims made on the other shards are
+     * released again.
+     */
+    private void claim(List<User> claims) {
+        Map<Integer, List<User>> byShard = groupByShard(claims, user -> shardMap.shardOf(user.username()));
+        Map<Integer, RuntimeException> failures = run(byShard, UserShard::claim);
+        if (failures.isEmpty()) {
+            return;
+        }
+        byShard.keySet().removeAll(failures.keySet());
+        release(byShard);
+        RuntimeException failure = failures.values().iterator().next();
+        if (failure instanceof DuplicateKeyException) {
+            throw new DataIntegrityViolationException("Duplicate username: claimed by a concurrent registration", failure);
+        }
+        throw failure;
+    }
+
+    private void release(List<User> claims) {
+        release(groupByShard(claims, user -> shardMap.shardOf(user.username())));
+    }
+
+    private void release(Map<Integer, List<User>> claimsByShard) {
+        run(claimsByShard, UserShard::release).forEach((shard, failure) ->
+                logger.error("Cannot release username claims on shard {}; the usernames stay taken", shard, failure));
+    }
+
+    /**
+     * Writes the users, each shard in parallel. If a shard fails, the users inserted on the other shards are
+     * deleted again.
+     */
+    private void write(List<User> inserts, List<User> updates) {
+        Map<Integer, List<User>> insertsByShard = groupByShard(inserts, user -> shardMap.shardOf(user.id()));
+        Map<Integer, List<User>> updatesByShard = groupByShard(updates, user -> shardMap.shardOf(user.id()));
+        Map<Integer, Boolean> written = new HashMap<>();
+        insertsByShard.keySet().forEach(shard -> written.put(shard, true));
+        updatesByShard.keySet().forEach(shard -> written.put(shard, true));
+
+        Map<Integer, RuntimeException> failures = run(written, (shard, ignored) -> {
+            if (!shard.write(insertsByShard.getOrDefault(shard.index(), List.of()),
+                    updatesByShard.getOrDefault(shard.index(), List.of()))) {
+                throw new OptimisticLockingFailureException("A user of the batch was updated concurrently");
+            }
+        });
+        if (failures.isEmpty()) {
+            return;
+        }
+        insertsByShard.keySet().removeAll(failures.keySet());
+        run(insertsByShard, (shard, users) -> shard.delete(users.stream().map(User::id).toList()))
+                .forEach((shard, failure) ->
+                        logger.error("Cannot delete the users of a failed batch on shard {}", shard, failure));
+        throw failures.values().iterator().next();
+    }
+
+    /**
+     * Runs a task on each shard of the work, in parallel when there is more than one.
+     *
+     * @return the failure of each shard on which the task failed
+     */
+    private <T> Map<Integer, RuntimeException> run(Map<Integer, T> work, BiConsumer<UserShard, T> task) {
+        Map<Integer, RuntimeException> failures = new HashMap<>();
+        Map<Integer, Future<?>> running = new HashMap<>();
+        work.forEach((shard, input) -> {
+            if (work.size() == 1) {
+                try {
+                    task.accept(shards.get(shard), input);
+                } catch (RuntimeException ex) {
+                    failures.put(shard, ex);
+                }
+            } else {
+                running.put(shard, scatter.submit(() -> task.accept(shards.get(shard), input)));
+            }
+        });
+        running.forEach((shard, future) -> {
+            try {
+                await(future);
+            } catch (RuntimeException ex) {
+                failures.put(shard, ex);
+            }
+        });
+        return failures;
+    }
+
+    /**
+     * Queries each shard of the work, in parallel when there is more than one, and collects the results.
+     */
+    private <T, R> List<R> gather(Map<Integer, T> work, BiFunction<UserShard, T, R> query) {
+        if (work.size() == 1) {
+            Map.Entry<Integer, T> only = work.entrySet().iterator().next();
+            return List.of(query.apply(shards.get(only.getKey()), only.getValue()));
+        }
+        List<Future<R>> running = new ArrayList<>(work.size());
+        work.forEach((shard, input) -> running.add(scatter.submit(() -> query.apply(shards.get(shard), input))));
+        List<R> results = new ArrayList<>(running.size());
+        for (Future<R> future : running) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    private static <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while waiting for a shard", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new DataAccessResourceFailureException("Shard query failed", ex.getCause());
+        }
+    }
+
+    private static <K> Map<Integer, List<K>> groupByShard(Collection<K> keys, Function<K, Integer> shardOf) {
+        Map<Integer, List<K>> byShard = new HashMap<>();
+        for (K key : keys) {
+            byShard.computeIfAbsent(shardOf.apply(key), shard -> new ArrayList<>()).add(key);
+        }
+        return byShard;
+    }
+
+    private static User withVersion(User user, long id, long version) {
+        return new User(id, user.username(), user.birthdate(), user.countryOfResidence(),
+                user.phoneNumber(), user.gender(), version);
+    }
+
+    /**
+     * Merges iterators sorted by ID into one sorted iterator.
+     */
+    private static final class MergingIterator implements Iterator<User> {
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingLong(head -> head.user.id()));
+
+        private MergingIterator(List<Iterator<User>> sources) {
+            for (Iterator<User> source : sources) {
+                if (source.hasNext()) {
+                    heads.add(new Head(source.next(), source));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public User next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            User user = head.user;
+            if (head.source.hasNext()) {
+                head.user = head.source.next();
+                heads.add(head);
+            }
+            return user;
+        }
+
+        private static final class Head {
+
+            private User user;
+            private final Iterator<User> source;
+
+            private Head(User user, Iterator<User> source) {
+                this.user = user;
+                this.source = source;
+            }
+        }
+    }
+}
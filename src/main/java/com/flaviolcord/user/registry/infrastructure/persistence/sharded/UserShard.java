@@ -0,0 +1,244 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.sharded;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * One shard database of the {@link ShardedUserRepository}.
+ * <p>
+ * A shard holds two tables: {@code users}, the users whose ID hashes to one of its buckets, and {@code usernames},
+ * the claims of the usernames that hash to one of its buckets, each naming the ID of the user owning it. The primary
+ * key of {@code usernames} makes a username unique across every shard, and a username is resolved to its user with
+ * one lookup on the claim's shard and one on the user's shard, never by scanning the shards.
+ * </p>
+ * <p>
+ * Every method runs its statements in a local transaction on this shard only.
+ * </p>
+ */
+final class UserShard implements Closeable {
+
+    private static final String USER_COLUMNS =
+            "id, username, birthdate, country_of_residence, phone_number, gender, version";
+
+    private static final RowMapper<User> USER_MAPPER = UserShard::mapUser;
+
+    private final int index;
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    /**
+     * Opens a shard and creates its tables if they do not exist yet.
+     *
+     * @param index      the index of the shard in the shard list
+     * @param dataSource the connection pool of the shard, closed with the shard
+     */
+    UserShard(int index, HikariDataSource dataSource) {
+        this.index = index;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS users ("
+                + "id BIGINT PRIMARY KEY, "
+                + "username VARCHAR(255) NOT NULL, "
+                + "birthdate DATE NOT NULL, "
+                + "country_of_residence VARCHAR(255) NOT NULL, "
+                + "phone_number VARCHAR(255), "
+                + "gender VARCHAR(255), "
+                + "version BIGINT NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS usernames ("
+                + "username VARCHAR(255) PRIMARY KEY, "
+                + "user_id BIGINT NOT NULL)");
+    }
+
+    /**
+     * Returns the index of the shard in the shard list.
+     *
+     * @return the shard index
+     */
+    int index() {
+        return index;
+    }
+
+    /**
+     * Claims usernames for users, all or none.
+     *
+     * @param claims the users claiming their username
+     * @throws org.springframework.dao.DuplicateKeyException if a username is already claimed
+     */
+    void claim(List<User> claims) {
+        transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "INSERT INTO usernames (username, user_id) VALUES (?, ?)", claims, claims.size(),
+                (statement, user) -> {
+                    statement.setString(1, user.username());
+                    statement.setLong(2, user.id());
+                }));
+    }
+
+    /**
+     * Releases the claims of usernames, if they are still held by the given users.
+     *
+     * @param claims the users whose username claim is released
+     */
+    void release(List<User> claims) {
+        jdbcTemplate.batchUpdate("DELETE FROM usernames WHERE username = ? AND user_id = ?", claims, claims.size(),
+                (statement, user) -> {
+                    statement.setString(1, user.username());
+                    statement.setLong(2, user.id());
+                });
+    }
+
+    /**
+     * Returns the IDs of the users claiming the given usernames.
+     *
+     * @param usernames the usernames to look up
+     * @return the user ID by username, for the claimed usernames only
+     */
+    Map<String, Long> findClaims(Collection<String> usernames) {
+        Map<String, Long> claims = new HashMap<>();
+        namedJdbcTemplate.query("SELECT username, user_id FROM usernames WHERE username IN (:usernames)",
+                new MapSqlParameterSource("usernames", usernames),
+                row -> {
+                    claims.put(row.getString(1), row.getLong(2));
+                });
+        return claims;
+    }
+
+    /**
+     * Inserts new users and updates existing ones in one transaction.
+     *
+     * @param inserts the users to insert, with their ID and initial version set
+     * @param updates the users to update, with the version they were read at; the stored version is incremented
+     * @return {@code true} if every update matched its version, {@code false} if one did not and nothing was written
+     */
+    boolean write(List<User> inserts, List<User> updates) {
+        Boolean written = transaction.execute(status -> {
+            jdbcTemplate.batchUpdate("INSERT INTO users (" + USER_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    inserts, inserts.size(), (statement, user) -> {
+                        statement.setLong(1, user.id());
+                        setFields(statement, user, 2);
+                        statement.setLong(7, user.version());
+                    });
+            for (User user : updates) {
+                int updated = jdbcTemplate.update("UPDATE users SET username = ?, birthdate = ?, "
+                                + "country_of_residence = ?, phone_number = ?, gender = ?, version = version + 1 "
+                                + "WHERE id = ? AND version = ?",
+                        user.username(), user.birthdate(), user.countryOfResidence(), user.phoneNumber(),
+                        user.gender(), user.id(), user.version());
+                if (updated == 0) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(written);
+    }
+
+    /**
+     * Deletes users, to undo inserts of a batch that failed on another shard.
+     *
+     * @param ids the IDs of the users to delete
+     */
+    void delete(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            namedJdbcTemplate.update("DELETE FROM users WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids));
+        }
+    }
+
+    /**
+     * Finds a user by ID.
+     *
+     * @param id the ID of the user
+     * @return the user, or empty if this shard does not hold it
+     */
+    Optional<User> findById(long id) {
+        return jdbcTemplate.query("SELECT " + USER_COLUMNS + " FROM users WHERE id = ?", USER_MAPPER, id)
+                .stream().findFirst();
+    }
+
+    /**
+     * Finds users by ID.
+     *
+     * @param ids the IDs of the users
+     * @return the users this shard holds, in no particular order
+     */
+    List<User> findAllById(Collection<Long> ids) {
+        return namedJdbcTemplate.query("SELECT " + USER_COLUMNS + " FROM users WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), USER_MAPPER);
+    }
+
+    /**
+     * Finds the version of a user.
+     *
+     * @param id the ID of the user
+     * @return the version, or empty if this shard does not hold the user
+     */
+    Optional<Long> findVersionById(long id) {
+        return jdbcTemplate.queryForList("SELECT version FROM users WHERE id = ?", Long.class, id)
+                .stream().findFirst();
+    }
+
+    /**
+     * Finds the users of this shard after an ID.
+     *
+     * @param afterId the ID to start after
+     * @param limit   the maximum number of users
+     * @return at most {@code limit} users, in ascending ID order
+     */
+    List<User> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query("SELECT " + USER_COLUMNS + " FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                USER_MAPPER, afterId, limit);
+    }
+
+    /**
+     * Streams every user of this shard. The stream holds a connection until it is closed.
+     *
+     * @return the users, in ascending ID order
+     */
+    Stream<User> streamAll() {
+        return jdbcTemplate.queryForStream("SELECT " + USER_COLUMNS + " FROM users ORDER BY id", USER_MAPPER);
+    }
+
+    /**
+     * Closes the connection pool of the shard.
+     */
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+
+    private static void setFields(PreparedStatement statement, User user, int first) throws SQLException {
+        statement.setString(first, user.username());
+        statement.setObject(first + 1, user.birthdate());
+        statement.setString(first + 2, user.countryOfResidence());
+        statement.setString(first + 3, user.phoneNumber());
+        statement.setString(first + 4, user.gender());
+    }
+
+    private static User mapUser(ResultSet row, int rowNumber) throws SQLException {
+        return new User(row.getLong(1), row.getString(2), row.getObject(3, LocalDate.class), row.getString(4),
+                row.getString(5), row.getString(6), row.getLong(7));
+    }
+}
@@ -0,0 +1,191 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.wal;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary encoding of the user records in the write-ahead log and in snapshots.
+ * <p>
+ * Each record is framed as a 4-byte payload length, a 4-byte CRC-32C of the payload, and the payload: a record
+ * type, the ID, the version, the birthdate as an epoch day ({@code Long.MIN_VALUE} for none) and the string
+ * fields, each as a presence flag followed by modified UTF-8. The checksum lets a reader tell a complete record
+ * from one torn by a crash in the middle of a write.
+ * </p>
+ */
+final class UserLogCodec {
+
+    static final int HEADER_BYTES = 8;
+    static final int MAX_PAYLOAD_BYTES = 1 << 20;
+
+    private static final byte PUT = 1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private UserLogCodec() { }
+
+    /**
+     * Encodes a user as a framed record.
+     *
+     * @param user the user to encode; must have an ID and a version
+     * @return the header followed by the payload
+     * @throws DataIntegrityViolationException if a string field is too long to encode
+     */
+    static byte[] encode(User user) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0); // Length, patched below
+            out.writeInt(0); // Checksum, patched below
+            out.writeByte(PUT);
+            out.writeLong(user.id());
+            out.writeLong(user.version());
+            out.writeLong(user.birthdate() != null ? user.birthdate().toEpochDay() : NO_DATE);
+            writeString(out, user.username());
+            writeString(out, user.countryOfResidence());
+            writeString(out, user.phoneNumber());
+            writeString(out, user.gender());
+        } catch (UTFDataFormatException ex) {
+            throw new DataIntegrityViolationException("Value too long for the user log", ex);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        byte[] frame = bytes.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(frame, HEADER_BYTES, frame.length - HEADER_BYTES);
+        ByteBuffer.wrap(frame)
+                .putInt(frame.length - HEADER_BYTES)
+                .putInt((int) crc.getValue());
+        return frame;
+    }
+
+    /**
+     * Decodes the payload of a record.
+     *
+     * @param payload the payload, without the frame header
+     * @return the user it holds
+     * @throws IOException if the payload is not a user record
+     */
+    static User decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        if (type != PUT) {
+            throw new IOException("Unknown record type " + type);
+        }
+        long id = in.readLong();
+        long version = in.readLong();
+        long birthdate = in.readLong();
+        return new User(id, readString(in), birthdate != NO_DATE ? LocalDate.ofEpochDay(birthdate) : null,
+                readString(in), readString(in), readString(in), version);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Reads framed records one after another, stopping at the first one that is incomplete or fails its checksum.
+     */
+    static final class Reader implements Closeable {
+
+        private final DataInputStream in;
+        private long validLength;
+        private boolean torn;
+
+        /**
+         * Creates a reader over a stream positioned at the start of a record.
+         *
+         * @param in the stream to read
+         */
+        Reader(InputStream in) {
+            this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return the next user, or {@code null} at the end of the stream or at a torn record
+         * @throws IOException if reading fails, or a record with a valid checksum cannot be decoded
+         */
+        User next() throws IOException {
+            if (torn) {
+                return null;
+            }
+            int first = in.read();
+            if (first < 0) {
+                return null;
+            }
+
+            byte[] payload;
+            int checksum;
+            try {
+                byte[] rest = new byte[HEADER_BYTES - 1];
+                in.readFully(rest);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).put((byte) first).put(rest).flip();
+                int length = header.getInt();
+                checksum = header.getInt();
+                if (length <= 0 || length > MAX_PAYLOAD_BYTES) {
+                    torn = true;
+                    return null;
+                }
+                payload = new byte[length];
+                in.readFully(payload);
+            } catch (EOFException ex) {
+                torn = true;
+                return null;
+            }
+
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                torn = true;
+                return null;
+            }
+            validLength += HEADER_BYTES + payload.length;
+            return decode(payload);
+        }
+
+        /**
+         * Returns the number of bytes taken by the records read so far.
+         *
+         * @return the offset just past the last valid record
+         */
+        long validLength() {
+            return validLength;
+        }
+
+        /**
+         * Tells whether reading stopped at an incomplete or corrupt record rather than at the end of the stream.
+         *
+         * @return {@code true} if bytes follow the last valid record
+         */
+        boolean isTorn() {
+            return torn;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
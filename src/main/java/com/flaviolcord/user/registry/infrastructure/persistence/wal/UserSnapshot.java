@@ -0,0 +1,117 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.wal;
+
+import com.flaviolcord.user.registry.domain.model.User;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * Compacted copy of every user, taken at a segment boundary of the {@link WriteAheadLog}.
+ * <p>
+ * The file holds a header (magic number, format version, the first segment not covered by the snapshot and the
+ * number of users) followed by one framed record per user, in ID order. It is written to a temporary file, made
+ * durable and then renamed over the previous snapshot, so a crash leaves either the old or the new snapshot,
+ * never a partial one. Recovery loads the snapshot and replays only the segments from {@code firstSegment} on.
+ * </p>
+ */
+final class UserSnapshot {
+
+    static final String FILE_NAME = "users.snapshot";
+
+    private static final String TEMPORARY_FILE_NAME = FILE_NAME + ".tmp";
+    private static final long MAGIC = 0x5553525245475331L; // "USRREGS1"
+    private static final int FORMAT_VERSION = 1;
+
+    private UserSnapshot() { }
+
+    /**
+     * Writes a snapshot and makes it durable, replacing the previous one.
+     *
+     * @param directory    the directory of the log
+     * @param firstSegment the first segment whose records are not in the snapshot
+     * @param users        every user, in ID order
+     * @throws IOException if the snapshot cannot be written
+     */
+    static void write(Path directory, long firstSegment, List<User> users) throws IOException {
+        Path temporary = directory.resolve(TEMPORARY_FILE_NAME);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream stream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+            out.writeLong(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(firstSegment);
+            out.writeLong(users.size());
+            for (User user : users) {
+                out.write(UserLogCodec.encode(user));
+            }
+            out.flush();
+            channel.force(true);
+        }
+
+        Files.move(temporary, directory.resolve(FILE_NAME),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(directory);
+    }
+
+    /**
+     * Reads the snapshot of a directory, if there is one.
+     *
+     * @param directory the directory of the log
+     * @param consumer  receives every user of the snapshot, in ID order
+     * @return the first segment whose records are not in the snapshot, or empty if there is no snapshot
+     * @throws IOException if the snapshot cannot be read, or is incomplete or corrupt
+     */
+    static OptionalLong read(Path directory, Consumer<User> consumer) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        Files.deleteIfExists(directory.resolve(TEMPORARY_FILE_NAME));
+        if (!Files.exists(file)) {
+            return OptionalLong.empty();
+        }
+
+        try (InputStream stream = Files.newInputStream(file)) {
+            DataInputStream header = new DataInputStream(stream);
+            if (header.readLong() != MAGIC || header.readInt() != FORMAT_VERSION) {
+                throw new IOException(file + " is not a user snapshot of format " + FORMAT_VERSION);
+            }
+            long firstSegment = header.readLong();
+            long count = header.readLong();
+
+            UserLogCodec.Reader reader = new UserLogCodec.Reader(stream);
+            long read = 0;
+            for (User user = reader.next(); user != null; user = reader.next()) {
+                consumer.accept(user);
+                read++;
+            }
+            if (read != count || reader.isTorn()) {
+                throw new IOException(file + " is corrupt: read " + read + " of " + count + " users");
+            }
+            return OptionalLong.of(firstSegment);
+        }
+    }
+
+    /**
+     * Makes a rename in a directory durable. Not every platform can open a directory; there the rename is
+     * left to the file system.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            // Directories cannot be opened on this platform
+        }
+    }
+}
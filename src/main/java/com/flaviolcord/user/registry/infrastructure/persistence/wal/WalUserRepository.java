@@ -0,0 +1,619 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.wal;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.util.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the UserRepository interface backed by a write-ahead log instead of a database.
+ * Active with the {@code wal} profile, in place of the JPA-backed repository.
+ * <p>
+ * Every save is appended to a {@link WriteAheadLog} and returns once it is durable; concurrent saves are made
+ * durable together by one fsync (group commit). All users are held in in-memory hash maps by ID and by username,
+ * so lookups never touch the disk. Every {@code user.wal.snapshot-interval} records, a compacted
+ * {@link UserSnapshot} is written in the background and the segments it covers are deleted. On startup, the
+ * latest snapshot is loaded and the segments after it are replayed; a record torn by a crash is dropped.
+ * </p>
+ * <p>
+ * The store offers the same guarantees as the memory-mapped store:
+ * <ul>
+ *     <li>IDs are generated with a {@link SnowflakeIdGenerator} built from the {@code user.id} properties,
+ *     and must increase; a user with an explicit, unknown ID lower than the highest stored one is rejected</li>
+ *     <li>usernames are unique; a duplicate is rejected with a {@link DataIntegrityViolationException}</li>
+ *     <li>saving an existing user increments its version, and fails with an optimistic locking exception
+ *     when the given version is stale</li>
+ *     <li>{@link #saveAll(List)} checks every user before logging the first one, and logs the batch with a
+ *     single fsync, so a rejected batch writes nothing</li>
+ * </ul>
+ * There are no transactions: a save is visible to readers once it is durable, and is not undone by a rollback.
+ * Records queued but not yet durable are held apart from the maps readers see; they already count for the checks
+ * of later saves, so a username cannot be taken twice while its first record waits for the fsync. The maps are
+ * only updated from the completion of the log's futures, which the writer thread completes in log order, so they
+ * always hold exactly what is durable. If the log cannot be written, the save fails with a
+ * {@link DataAccessResourceFailureException}, leaves the maps untouched, and so does every later one; a restart
+ * recovers what was durable.
+ * </p>
+ * <p>
+ * Metrics exposed through Micrometer:
+ * <ul>
+ *     <li>{@code user.wal.records} - records made durable</li>
+ *     <li>{@code user.wal.syncs} - fsyncs issued; records over syncs is the average group commit size</li>
+ *     <li>{@code user.wal.snapshots} - snapshots written</li>
+ *     <li>{@code user.wal.users} - number of stored users</li>
+ * </ul>
+ */
+@Repository
+@Profile("wal")
+public class WalUserRepository implements UserRepository, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(WalUserRepository.class);
+
+    private static final long FIRST_SEGMENT = 1;
+
+    private final Path directory;
+    private final long snapshotInterval;
+    private final SnowflakeIdGenerator idGenerator;
+    private final Lock readLock;
+    private final Lock writeLock;
+    private final ExecutorService snapshotExecutor;
+    private final AtomicLong snapshots = new AtomicLong();
+
+    private final Map<Long, User> usersById = new HashMap<>();
+    private final Map<String, Long> idsByUsername = new HashMap<>();
+    private long[] ids = new long[1024];
+    private int count;
+
+    private final Map<Long, User> pendingById = new HashMap<>();
+    private final Map<String, Long> pendingIdsByUsername = new HashMap<>();
+    private long highestId;
+
+    private final WriteAheadLog log;
+    private long segment;
+    private long recordsSinceSnapshot;
+    private CompletableFuture<Void> runningSnapshot = CompletableFuture.completedFuture(null);
+
+    /**
+     * Opens the store in the configured directory, creating it if needed, and recovers its users from the
+     * latest snapshot and the log.
+     *
+     * @param userProperties the configuration holding the store directory, the snapshot interval
+     *                       and the ID generator settings
+     * @throws UncheckedIOException if the directory cannot be created or the log cannot be recovered
+     */
+    public WalUserRepository(UserProperties userProperties) {
+        UserProperties.Wal settings = userProperties.getWal();
+        UserProperties.Id id = userProperties.getId();
+        this.directory = settings.getDirectory();
+        this.snapshotInterval = settings.getSnapshotInterval();
+        this.idGenerator = new SnowflakeIdGenerator(id.getNodeId(), id.getEpoch(), id.getMaxClockRegression());
+        ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("user-wal-snapshot").daemon().factory());
+
+        this.segment = recover();
+        this.highestId = maxId();
+        this.log = new WriteAheadLog(directory, segment);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Appends a new user, with a generated ID when it has none, or a new version of an existing one, and waits
+     * until the record is durable.
+     *
+     * @throws DataIntegrityViolationException    if the username is taken or a new user's ID is not above
+     *                                            every stored ID
+     * @throws OptimisticLockingFailureException  if the user exists with a different version
+     * @throws DataAccessResourceFailureException if the log cannot be written
+     */
+    @Override
+    public User save(User user) {
+        return saveAll(List.of(user)).get(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Checks every user first, including usernames repeated within the batch, then logs them together and waits
+     * until they are durable.
+     *
+     * @throws DataIntegrityViolationException    if a username is taken or a new user's ID is not above
+     *                                            every stored ID
+     * @throws OptimisticLockingFailureException  if a user exists with a different version
+     * @throws DataAccessResourceFailureException if the log cannot be written
+     */
+    @Override
+    public List<User> saveAll(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+
+        List<User> saved = new ArrayList<>(users.size());
+        CompletableFuture<Void> durable;
+        writeLock.lock();
+        try {
+            Set<String> batchUsernames = new HashSet<>();
+            for (User user : users) {
+                check(user, batchUsernames);
+                if (user.username() != null) {
+                    batchUsernames.add(user.username());
+                }
+            }
+
+            List<byte[]> frames = new ArrayList<>(users.size());
+            for (User user : users) {
+                User next = nextVersion(user);
+                highestId = Math.max(highestId, next.id());
+                frames.add(UserLogCodec.encode(next));
+                saved.add(next);
+            }
+
+            saved.forEach(this::hold);
+            // Registered under the lock, so batches are settled in the order they were appended
+            durable = log.append(frames).whenComplete((ignored, ex) -> settle(saved, ex == null));
+            recordsSinceSnapshot += saved.size();
+            if (recordsSinceSnapshot >= snapshotInterval) {
+                startSnapshot();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        try {
+            durable.join();
+        } catch (CompletionException ex) {
+            throw new DataAccessResourceFailureException("Cannot write to the user log", ex.getCause());
+        }
+        return saved;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the user from memory.
+     */
+    @Override
+    public Optional<User> findById(Long id) {
+        readLock.lock();
+        try {
+            return Optional.ofNullable(usersById.get(id));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the users from memory under a single read lock.
+     */
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        readLock.lock();
+        try {
+            List<User> found = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                User user = usersById.get(id);
+                if (user != null) {
+                    found.add(user);
+                }
+            }
+            return found;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the version from memory.
+     */
+    @Override
+    public Optional<Long> findVersionById(Long id) {
+        return findById(id).map(User::version);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the user from memory.
+     */
+    @Override
+    public Optional<User> findByUsername(String username) {
+        readLock.lock();
+        try {
+            Long id = idsByUsername.get(username);
+            return id != null ? Optional.of(usersById.get(id)) : Optional.empty();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Checks the usernames in memory under a single read lock.
+     */
+    @Override
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        readLock.lock();
+        try {
+            Set<String> existing = new HashSet<>();
+            for (String username : usernames) {
+                if (idsByUsername.containsKey(username)) {
+                    existing.add(username);
+                }
+            }
+            return existing;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Binary-searches the IDs, which are kept in ascending order, and reads the page under a single read lock.
+     * The stream needs no transaction.
+     */
+    @Override
+    public Stream<User> streamAfter(long afterId, int limit) {
+        readLock.lock();
+        try {
+            int from = firstIndexAfter(afterId);
+            int to = (int) Math.min(count, (long) from + limit);
+            List<User> page = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                page.add(usersById.get(ids[i]));
+            }
+            return page.stream();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Reads the users present when the stream is created one at a time, each under its own read lock,
+     * so writers are never blocked for the duration of the stream. The stream needs no transaction.
+     */
+    @Override
+    public Stream<User> streamAll() {
+        int size;
+        readLock.lock();
+        try {
+            size = count;
+        } finally {
+            readLock.unlock();
+        }
+        return IntStream.range(0, size).mapToObj(this::userAt);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Registers the log counters and the number of stored users.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("user.wal.records", log, WriteAheadLog::records)
+                .description("Records made durable in the user log")
+                .register(registry);
+        FunctionCounter.builder("user.wal.syncs", log, WriteAheadLog::syncs)
+                .description("Fsyncs of the user log")
+                .register(registry);
+        FunctionCounter.builder("user.wal.snapshots", snapshots, AtomicLong::get)
+                .description("Snapshots of the user log written")
+                .register(registry);
+        Gauge.builder("user.wal.users", this, WalUserRepository::size)
+                .description("Number of users in the log-structured store")
+                .register(registry);
+    }
+
+    /**
+     * Returns the number of stored users.
+     *
+     * @return the number of users
+     */
+    public int size() {
+        readLock.lock();
+        try {
+            return count;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current users and deletes the log segments it covers, unless one is being
+     * written already.
+     *
+     * @return a future completed once the snapshot is durable and the old segments are deleted
+     */
+    public CompletableFuture<Void> snapshot() {
+        writeLock.lock();
+        try {
+            return startSnapshot();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Waits for a running snapshot, writes every queued record and closes the log.
+     *
+     * @throws IOException if the log cannot be closed
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        CompletableFuture<Void> snapshot;
+        writeLock.lock();
+        try {
+            snapshot = runningSnapshot;
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            snapshot.join();
+        } catch (CompletionException ex) {
+            // Already logged; the log still holds every record
+        }
+        snapshotExecutor.shutdown();
+        log.close();
+    }
+
+    /**
+     * Loads the latest snapshot and replays the log segments after it.
+     *
+     * @return the number of the segment new records are appended to
+     */
+    private long recover() {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            OptionalLong snapshotSegment = UserSnapshot.read(directory, this::apply);
+            long fromSegment = snapshotSegment.orElse(FIRST_SEGMENT);
+            int snapshotUsers = count;
+
+            List<Long> segments = WriteAheadLog.segments(directory);
+            long replayed = 0;
+            long lastSegment = fromSegment - 1;
+            for (int i = 0; i < segments.size(); i++) {
+                long number = segments.get(i);
+                Path file = WriteAheadLog.segmentPath(directory, number);
+                if (number < fromSegment) {
+                    // Left over by a crash between writing a snapshot and deleting the segments it covers
+                    Files.delete(file);
+                    continue;
+                }
+                replayed += WriteAheadLog.replay(file, i == segments.size() - 1, this::apply);
+                lastSegment = number;
+            }
+
+            logger.info("Opened log-structured user store in {} with {} users ({} from the snapshot, "
+                            + "{} log records replayed) in {} ms", directory, count, snapshotUsers, replayed,
+                    (System.nanoTime() - start) / 1_000_000);
+            return lastSegment + 1;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot recover the user log in " + directory, ex);
+        }
+    }
+
+    private void check(User user, Set<String> batchUsernames) {
+        User existing = latest(user.id());
+        if (existing == null && user.id() != null && user.id() <= highestId) {
+            throw new DataIntegrityViolationException(
+                    "ID " + user.id() + " is not above the highest stored ID " + highestId);
+        }
+        if (existing != null && user.version() != null && !user.version().equals(existing.version())) {
+            throw new OptimisticLockingFailureException("User " + user.id() + " was updated concurrently");
+        }
+
+        if (user.username() != null) {
+            if (isTakenByOther(idsByUsername.get(user.username()), user.id())
+                    || isTakenByOther(pendingIdsByUsername.get(user.username()), user.id())
+                    || batchUsernames.contains(user.username())) {
+                throw new DataIntegrityViolationException("Duplicate username: " + user.username());
+            }
+        }
+    }
+
+    private static boolean isTakenByOther(Long owner, Long id) {
+        return owner != null && !owner.equals(id);
+    }
+
+    private User nextVersion(User user) {
+        User existing = latest(user.id());
+        if (existing != null) {
+            return withIdAndVersion(user, user.id(), existing.version() + 1);
+        }
+
+        long id = user.id() != null ? user.id() : idGenerator.nextId();
+        if (id <= highestId) {
+            throw new DataIntegrityViolationException(
+                    "Generated ID " + id + " is not above the highest stored ID " + highestId + "; check the clock");
+        }
+        return withIdAndVersion(user, id, 0L);
+    }
+
+    /**
+     * Returns the latest version of a user, queued or durable.
+     */
+    private User latest(Long id) {
+        if (id == null) {
+            return null;
+        }
+        User pending = pendingById.get(id);
+        return pending != null ? pending : usersById.get(id);
+    }
+
+    /**
+     * Holds a record queued for logging, so that later saves are checked against it.
+     */
+    private void hold(User user) {
+        pendingById.put(user.id(), user);
+        if (user.username() != null) {
+            pendingIdsByUsername.put(user.username(), user.id());
+        }
+    }
+
+    /**
+     * Releases the records of a batch once the log has completed it, and applies them if they are durable.
+     * Runs on the log's writer thread, or on the saving thread when the log failed the batch straight away.
+     */
+    private void settle(List<User> users, boolean durable) {
+        writeLock.lock();
+        try {
+            for (User user : users) {
+                pendingById.remove(user.id(), user);
+                User later = pendingById.get(user.id());
+                if (user.username() != null
+                        && (later == null || !user.username().equals(later.username()))) {
+                    pendingIdsByUsername.remove(user.username(), user.id());
+                }
+                if (durable) {
+                    apply(user);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies a logged record to the in-memory indexes: adds a new user, or replaces a previous version.
+     */
+    private void apply(User user) {
+        User previous = usersById.put(user.id(), user);
+        if (previous == null) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = user.id();
+        } else if (previous.username() != null) {
+            idsByUsername.remove(previous.username());
+        }
+        if (user.username() != null) {
+            idsByUsername.put(user.username(), user.id());
+        }
+    }
+
+    private CompletableFuture<Void> startSnapshot() {
+        if (!runningSnapshot.isDone()) {
+            return runningSnapshot;
+        }
+
+        long firstSegment = ++segment;
+        CompletableFuture<Void> rotated = log.rotate(firstSegment);
+        recordsSinceSnapshot = 0;
+
+        runningSnapshot = CompletableFuture.runAsync(() -> writeSnapshot(firstSegment, rotated), snapshotExecutor);
+        return runningSnapshot;
+    }
+
+    /**
+     * Writes a snapshot once the log has moved to its first segment. Every record queued before the rotation is
+     * applied by then, since the writer completes them first; records of the new segment the snapshot may also
+     * hold are replayed on top of it as new versions of the same users, which changes nothing.
+     */
+    private void writeSnapshot(long firstSegment, CompletableFuture<Void> rotated) {
+        long start = System.nanoTime();
+        List<User> users;
+        try {
+            rotated.join();
+            readLock.lock();
+            try {
+                users = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    users.add(usersById.get(ids[i]));
+                }
+            } finally {
+                readLock.unlock();
+            }
+            UserSnapshot.write(directory, firstSegment, users);
+            for (long number : WriteAheadLog.segments(directory)) {
+                if (number < firstSegment) {
+                    Files.delete(WriteAheadLog.segmentPath(directory, number));
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Writing a snapshot of the user log failed; the log keeps every record", ex);
+            throw new CompletionException(ex);
+        }
+        snapshots.incrementAndGet();
+        logger.info("Wrote a snapshot of {} users in {} ms", users.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private User userAt(int index) {
+        readLock.lock();
+        try {
+            return usersById.get(ids[index]);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private long maxId() {
+        return count > 0 ? ids[count - 1] : 0;
+    }
+
+    private int firstIndexAfter(long afterId) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static User withIdAndVersion(User user, long id, long version) {
+        return new User(id, user.username(), user.birthdate(), user.countryOfResidence(),
+                user.phoneNumber(), user.gender(), version);
+    }
+}
@@ -0,0 +1,364 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.wal;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of user records, split into numbered segment files, with group commit.
+ * <p>
+ * Callers hand encoded records to {@link #append(List)} and wait on the returned future. A single writer thread
+ * takes everything queued since its previous write, writes it with one gathering write and makes it durable with
+ * one {@link FileChannel#force(boolean)}, so concurrent registrations share the cost of an fsync instead of paying
+ * one each. Records reach the file in the order they were queued.
+ * </p>
+ * <p>
+ * {@link #rotate(long)} is queued like an append: records queued before it go to the current segment and records
+ * queued after it to the new one. A snapshot taken at the same point therefore makes every older segment
+ * redundant.
+ * </p>
+ * <p>
+ * If a write or fsync fails, the log stops accepting records: the state of the file is unknown, and only a restart,
+ * which replays the log, brings it back in line with what was acknowledged.
+ * </p>
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("users-(\\d{16})\\.log");
+    private static final int MAX_BATCH = 4096;
+
+    private final Path directory;
+    private final BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final AtomicLong records = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+
+    private FileChannel channel;
+    private volatile IOException failure;
+    private boolean closed;
+
+    /**
+     * Opens a new segment and starts the writer thread.
+     *
+     * @param directory the directory of the segments
+     * @param segment   the number of the segment to append to; must not exist yet
+     * @throws UncheckedIOException if the segment cannot be created
+     */
+    WriteAheadLog(Path directory, long segment) {
+        this.directory = directory;
+        this.channel = openSegment(segment);
+        this.writer = Thread.ofPlatform().name("user-wal-writer").daemon().start(this::run);
+    }
+
+    /**
+     * Queues records for appending.
+     *
+     * @param frames the encoded records
+     * @return a future completed once the records are durable, or completed exceptionally if they cannot be written
+     */
+    CompletableFuture<Void> append(List<byte[]> frames) {
+        return enqueue(new Request(frames, 0));
+    }
+
+    /**
+     * Queues a switch to a new segment.
+     *
+     * @param segment the number of the new segment; must not exist yet
+     * @return a future completed once the previous segment is durable and closed
+     */
+    CompletableFuture<Void> rotate(long segment) {
+        return enqueue(new Request(List.of(), segment));
+    }
+
+    /**
+     * Returns the number of records made durable so far.
+     *
+     * @return the number of records
+     */
+    long records() {
+        return records.get();
+    }
+
+    /**
+     * Returns the number of fsyncs issued so far. Records over syncs is the average group commit size.
+     *
+     * @return the number of fsyncs
+     */
+    long syncs() {
+        return syncs.get();
+    }
+
+    /**
+     * Writes every queued record, then stops the writer thread and closes the current segment.
+     * Requests still queued once the writer has stopped, which only happens if it was interrupted,
+     * are failed rather than left pending.
+     *
+     * @throws IOException if the segment cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        lifecycleLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(Request.STOP);
+        } finally {
+            lifecycleLock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        List<Request> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        failPending(leftover);
+        channel.close();
+    }
+
+    /**
+     * Lists the segments in a directory.
+     *
+     * @param directory the directory of the segments
+     * @return the segment numbers in ascending order
+     * @throws IOException if the directory cannot be listed
+     */
+    static List<Long> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Returns the file of a segment.
+     *
+     * @param directory the directory of the segments
+     * @param segment   the segment number
+     * @return the path of the segment file
+     */
+    static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("users-%016d.log", segment));
+    }
+
+    /**
+     * Replays a segment. A torn record at the end of the last segment is what a crash in the middle of a write
+     * leaves behind; it was never acknowledged, so it is truncated. Older segments were made durable before the
+     * log moved past them, so a torn record there means the file is corrupt.
+     *
+     * @param segment  the segment file
+     * @param last     whether this is the last segment of the log
+     * @param consumer receives every complete record, in log order
+     * @return the number of records replayed
+     * @throws IOException if the segment cannot be read or truncated, or an older segment is corrupt
+     */
+    static long replay(Path segment, boolean last, Consumer<User> consumer) throws IOException {
+        long count = 0;
+        long validLength;
+        boolean torn;
+        try (UserLogCodec.Reader reader = new UserLogCodec.Reader(Files.newInputStream(segment))) {
+            for (User user = reader.next(); user != null; user = reader.next()) {
+                consumer.accept(user);
+                count++;
+            }
+            validLength = reader.validLength();
+            torn = reader.isTorn();
+        }
+
+        if (torn && !last) {
+            throw new IOException("Corrupt record at offset " + validLength + " of " + segment);
+        }
+        if (torn) {
+            logger.warn("Truncating torn record at offset {} of {}", validLength, segment);
+            try (FileChannel file = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                file.truncate(validLength);
+                file.force(true);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Queues a request unless the log has failed or is closed. Checking and queueing under the lifecycle lock
+     * keeps requests from slipping in behind the stop signal, where the writer would never complete them.
+     */
+    private CompletableFuture<Void> enqueue(Request request) {
+        if (failure != null) {
+            return CompletableFuture.failedFuture(failure);
+        }
+        lifecycleLock.lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IOException("The user log is closed"));
+            }
+            queue.add(request);
+        } finally {
+            lifecycleLock.unlock();
+        }
+        return request.done;
+    }
+
+    private void run() {
+        List<Request> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            boolean stop = process(batch);
+            batch.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of requests, with one fsync per run of appends between rotations.
+     *
+     * @return {@code true} if the batch asked the writer to stop
+     */
+    private boolean process(List<Request> batch) {
+        int from = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Request request = batch.get(i);
+            if (request.isAppend()) {
+                continue;
+            }
+            flush(batch.subList(from, i));
+            from = i + 1;
+            if (request == Request.STOP) {
+                failPending(batch.subList(from, batch.size()));
+                return true;
+            }
+            switchTo(request);
+        }
+        flush(batch.subList(from, batch.size()));
+        return false;
+    }
+
+    private void flush(List<Request> appends) {
+        if (appends.isEmpty()) {
+            return;
+        }
+        if (failure != null) {
+            failPending(appends);
+            return;
+        }
+
+        List<ByteBuffer> buffers = new ArrayList<>();
+        long bytes = 0;
+        for (Request request : appends) {
+            for (byte[] frame : request.frames) {
+                buffers.add(ByteBuffer.wrap(frame));
+                bytes += frame.length;
+            }
+        }
+        try {
+            ByteBuffer[] array = buffers.toArray(ByteBuffer[]::new);
+            long written = 0;
+            while (written < bytes) {
+                written += channel.write(array);
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            fail(ex);
+            failPending(appends);
+            return;
+        }
+
+        syncs.incrementAndGet();
+        records.addAndGet(buffers.size());
+        appends.forEach(request -> request.done.complete(null));
+    }
+
+    private void switchTo(Request rotation) {
+        if (failure != null) {
+            rotation.done.completeExceptionally(failure);
+            return;
+        }
+        try {
+            channel.force(true);
+            channel.close();
+            channel = openSegment(rotation.segment);
+            rotation.done.complete(null);
+        } catch (IOException ex) {
+            fail(ex);
+            rotation.done.completeExceptionally(ex);
+        } catch (UncheckedIOException ex) {
+            fail(ex.getCause());
+            rotation.done.completeExceptionally(ex.getCause());
+        }
+    }
+
+    private void fail(IOException ex) {
+        logger.error("Writing the user log failed; no further writes are accepted until restart", ex);
+        failure = ex;
+    }
+
+    private void failPending(List<Request> requests) {
+        IOException cause = failure != null ? failure : new IOException("The user log is closed");
+        requests.forEach(request -> request.done.completeExceptionally(cause));
+    }
+
+    private FileChannel openSegment(long segment) {
+        Path path = segmentPath(directory, segment);
+        try {
+            return FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create " + path, ex);
+        }
+    }
+
+    /**
+     * An append of records, a rotation to a new segment, or the stop signal.
+     */
+    private static final class Request {
+
+        private static final Request STOP = new Request(List.of(), -1);
+
+        private final List<byte[]> frames;
+        private final long segment;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Request(List<byte[]> frames, long segment) {
+            this.frames = frames;
+            this.segment = segment;
+        }
+
+        private boolean isAppend() {
+            return segment == 0;
+        }
+    }
+}
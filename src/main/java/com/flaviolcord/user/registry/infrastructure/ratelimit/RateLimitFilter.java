@@ -0,0 +1,298 @@
+package com.flaviolcord.user.registry.infrastructure.ratelimit;
+
+import com.flaviolcord.user.registry.util.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits or rejects requests to {@code /api/v1/users} before they are parsed.
+ * <p>
+ * Load shedding comes first: once more than {@code maxInFlight} requests are being processed, new ones are
+ * rejected with 503 (SERVICE UNAVAILABLE) and a {@code Retry-After} header. Registrations
+ * ({@code POST /api/v1/users}), lookups by ID ({@code GET /api/v1/users/{id}}) and bulk registrations
+ * ({@code POST /api/v1/users/batch} and {@code /import}) then draw from separate per-client
+ * {@link TokenBucketRateLimiter token buckets}; a client that has used up its budget gets 429
+ * (TOO MANY REQUESTS) with the number of seconds until its next permit in {@code Retry-After}. Other requests
+ * are only subject to load shedding.
+ * </p>
+ * <p>
+ * A bulk registration costs one permit per entry. The number of entries is only known once the body has been
+ * read, so the request is admitted on one permit and the handler reports the entries it processed through
+ * {@link #chargeEntries(ServletRequest, long)}; the rest is charged when the request completes, and the client
+ * is refused until its bucket has refilled.
+ * </p>
+ * <p>
+ * Clients are identified by their remote address. The configured client header is only trusted on requests
+ * from one of the configured trusted proxies, or carrying an authenticated principal; elsewhere a caller could
+ * send a new value with every request and never run out of budget.
+ * Rejections write a constant error body and never reach the dispatcher, so they cost neither request
+ * parsing nor a connection. Counters are {@link LongAdder}s and buckets are striped, so admitting a
+ * request touches no shared lock.
+ * </p>
+ * <p>
+ * Metrics exposed through Micrometer:
+ * <ul>
+ *     <li>{@code user.admission.requests} - requests by {@code endpoint} ({@code registration}, {@code lookup},
+ *     {@code bulk} or {@code other}) and {@code outcome} ({@code admitted}, {@code rate_limited} or {@code shed})</li>
+ *     <li>{@code user.admission.in.flight} - requests currently being processed</li>
+ *     <li>{@code user.rate.limit.clients} - client buckets currently kept, by {@code endpoint}</li>
+ * </ul>
+ */
+public class RateLimitFilter implements Filter, MeterBinder {
+
+    private static final String USERS_PATH = "/api/v1/users";
+
+    private static final String ENTRIES_ATTRIBUTE = RateLimitFilter.class.getName() + ".entries";
+
+    private static final byte[] RATE_LIMITED_BODY = errorBody(HttpStatus.TOO_MANY_REQUESTS,
+            "Rate limit exceeded", "Too many requests from this client, retry later.");
+    private static final byte[] SHED_BODY = errorBody(HttpStatus.SERVICE_UNAVAILABLE,
+            "Overloaded", "The service is overloaded, retry later.");
+
+    /**
+     * The endpoints with their own rate limit.
+     */
+    enum Endpoint {
+        REGISTRATION, LOOKUP, BULK, OTHER;
+
+        private final String tag = name().toLowerCase();
+    }
+
+    private final TokenBucketRateLimiter registrationLimiter;
+    private final TokenBucketRateLimiter lookupLimiter;
+    private final TokenBucketRateLimiter bulkLimiter;
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    private final long maxInFlight;
+    private final String sheddingRetryAfter;
+
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder[][] outcomes = new LongAdder[Endpoint.values().length][Outcome.values().length];
+
+    /**
+     * Creates the filter.
+     *
+     * @param registrationLimiter the per-client limiter of registrations, or {@code null} for no limit
+     * @param lookupLimiter       the per-client limiter of lookups by ID, or {@code null} for no limit
+     * @param bulkLimiter         the per-client limiter of bulk registration entries, or {@code null} for no limit
+     * @param clientHeader        the request header identifying the client behind a trusted proxy
+     * @param trustedProxies      the remote addresses whose client header is trusted
+     * @param maxInFlight         the number of concurrent requests beyond which new ones are shed,
+     *                            or {@code 0} to never shed
+     * @param sheddingRetryAfter  the delay suggested to shed clients
+     */
+    public RateLimitFilter(TokenBucketRateLimiter registrationLimiter, TokenBucketRateLimiter lookupLimiter,
+                           TokenBucketRateLimiter bulkLimiter, String clientHeader, Collection<String> trustedProxies,
+                           long maxInFlight, Duration sheddingRetryAfter) {
+        this.registrationLimiter = registrationLimiter;
+        this.lookupLimiter = lookupLimiter;
+        this.bulkLimiter = bulkLimiter;
+        this.clientHeader = clientHeader;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.maxInFlight = maxInFlight;
+        this.sheddingRetryAfter = Long.toString(Math.max(1, sheddingRetryAfter.toSeconds()));
+        for (LongAdder[] row : outcomes) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new LongAdder();
+            }
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String path = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
+        if (!path.startsWith(USERS_PATH)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Endpoint endpoint = endpointOf(httpRequest.getMethod(), path);
+        inFlight.increment();
+        try {
+            if (maxInFlight > 0 && inFlight.sum() > maxInFlight) {
+                count(endpoint, Outcome.SHED);
+                reject(httpResponse, HttpStatus.SERVICE_UNAVAILABLE, sheddingRetryAfter, SHED_BODY);
+                return;
+            }
+
+            TokenBucketRateLimiter limiter = limiterOf(endpoint);
+            String client = limiter == null ? null : clientOf(httpRequest);
+            long waitNanos = limiter == null ? 0 : limiter.tryAcquire(client);
+            if (waitNanos > 0) {
+                count(endpoint, Outcome.RATE_LIMITED);
+                reject(httpResponse, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds(waitNanos), RATE_LIMITED_BODY);
+                return;
+            }
+
+            count(endpoint, Outcome.ADMITTED);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                if (endpoint == Endpoint.BULK && limiter != null) {
+                    // The permit taken on admission paid for the first entry
+                    limiter.charge(client, entriesOf(request) - 1);
+                }
+            }
+        } finally {
+            inFlight.decrement();
+        }
+    }
+
+    /**
+     * Reports entries processed by a bulk registration, to be charged to the client when the request completes.
+     * May be called several times, for instance once per chunk of a streaming import.
+     *
+     * @param request the request being processed
+     * @param entries the number of entries processed since the last call
+     */
+    public static void chargeEntries(ServletRequest request, long entries) {
+        request.setAttribute(ENTRIES_ATTRIBUTE, entriesOf(request) + entries);
+    }
+
+    private static long entriesOf(ServletRequest request) {
+        return request.getAttribute(ENTRIES_ATTRIBUTE) instanceof Long entries ? entries : 0;
+    }
+
+    /**
+     * Classifies a request to the users API.
+     *
+     * @param method the HTTP method
+     * @param path   the request path, starting with {@value #USERS_PATH}
+     * @return the endpoint whose rate limit applies
+     */
+    static Endpoint endpointOf(String method, String path) {
+        String rest = path.substring(USERS_PATH.length());
+        if (rest.isEmpty() || rest.equals("/")) {
+            return "POST".equals(method) ? Endpoint.REGISTRATION : Endpoint.OTHER;
+        }
+        if ("POST".equals(method) && (rest.equals("/batch") || rest.equals("/import"))) {
+            return Endpoint.BULK;
+        }
+        if ("GET".equals(method) && rest.length() > 1 && rest.indexOf('/', 1) < 0
+                && rest.chars().skip(1).allMatch(Character::isDigit)) {
+            return Endpoint.LOOKUP;
+        }
+        return Endpoint.OTHER;
+    }
+
+    private TokenBucketRateLimiter limiterOf(Endpoint endpoint) {
+        return switch (endpoint) {
+            case REGISTRATION -> registrationLimiter;
+            case LOOKUP -> lookupLimiter;
+            case BULK -> bulkLimiter;
+            case OTHER -> null;
+        };
+    }
+
+    /**
+     * Identifies the client of a request.
+     *
+     * @param request the request
+     * @return the client header of a request from a trusted proxy or an authenticated principal,
+     *         otherwise the remote address
+     */
+    String clientOf(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (trustedProxies.contains(remoteAddress) || request.getUserPrincipal() != null) {
+            String client = request.getHeader(clientHeader);
+            if (client != null && !client.isBlank()) {
+                return client;
+            }
+        }
+        return remoteAddress;
+    }
+
+    private void count(Endpoint endpoint, Outcome outcome) {
+        outcomes[endpoint.ordinal()][outcome.ordinal()].increment();
+    }
+
+    private static String retryAfterSeconds(long waitNanos) {
+        return Long.toString(Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String retryAfter, byte[] body)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] errorBody(HttpStatus status, String error, String message) {
+        return ("{\"status\":" + status.value() + ",\"error\":\"" + error + "\",\"message\":\"" + message + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Registers the admission counters, the in-flight gauge and the tracked-clients gauges.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            for (Outcome outcome : Outcome.values()) {
+                FunctionCounter.builder("user.admission.requests", outcomes[endpoint.ordinal()][outcome.ordinal()],
+                                LongAdder::sum)
+                        .description("Requests to the users API by admission outcome")
+                        .tag("endpoint", endpoint.tag)
+                        .tag("outcome", outcome.tag)
+                        .register(registry);
+            }
+        }
+        Gauge.builder("user.admission.in.flight", inFlight, LongAdder::sum)
+                .description("Requests to the users API currently being processed")
+                .register(registry);
+        if (registrationLimiter != null) {
+            Gauge.builder("user.rate.limit.clients", registrationLimiter, TokenBucketRateLimiter::trackedClients)
+                    .description("Client buckets currently kept by the rate limiter")
+                    .tag("endpoint", Endpoint.REGISTRATION.tag)
+                    .register(registry);
+        }
+        if (lookupLimiter != null) {
+            Gauge.builder("user.rate.limit.clients", lookupLimiter, TokenBucketRateLimiter::trackedClients)
+                    .description("Client buckets currently kept by the rate limiter")
+                    .tag("endpoint", Endpoint.LOOKUP.tag)
+                    .register(registry);
+        }
+        if (bulkLimiter != null) {
+            Gauge.builder("user.rate.limit.clients", bulkLimiter, TokenBucketRateLimiter::trackedClients)
+                    .description("Client buckets currently kept by the rate limiter")
+                    .tag("endpoint", Endpoint.BULK.tag)
+                    .register(registry);
+        }
+    }
+
+    /**
+     * The outcomes of admission.
+     */
+    private enum Outcome {
+        ADMITTED, RATE_LIMITED, SHED;
+
+        private final String tag = name().toLowerCase();
+    }
+}
@@ -0,0 +1,187 @@
+package com.flaviolcord.user.registry.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter for strings.
+ * <p>
+ * Answers set-membership questions with no false negatives: if {@link #mightContain(String)} returns
+ * {@code false}, the value was never added. A {@code true} answer may be a false positive, with a
+ * probability that depends on how full the filter is.
+ * </p>
+ * <p>
+ * Bits are stored in an {@link AtomicLongArray} and set with compare-and-set, so concurrent
+ * {@link #put(String)} and {@link #mightContain(String)} calls need no locking.
+ * </p>
+ *
+ * <p><strong>Thread Safety:</strong> This class is thread-safe.</p>
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final AtomicLong setBits = new AtomicLong();
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        this.words = new AtomicLongArray((int) ((bitSize + 63) >>> 6));
+        this.bitSize = (long) words.length() << 6;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Creates a filter sized for the given number of values and target false-positive probability.
+     *
+     * @param expectedInsertions the number of values expected to be added
+     * @param falsePositiveProbability the desired false-positive probability once that many values are added,
+     *                                 strictly between 0 and 1
+     * @return a new, empty BloomFilter
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("False-positive probability must be in (0, 1): " + falsePositiveProbability);
+        }
+
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (LN2 * LN2));
+        if (bits > (long) Integer.MAX_VALUE << 6) {
+            throw new IllegalArgumentException("Filter would be too large for " + expectedInsertions + " insertions");
+        }
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * LN2));
+        return new BloomFilter(bits, hashes);
+    }
+
+    /**
+     * Adds a value to the filter.
+     *
+     * @param value the value to add
+     * @return {@code true} if any bit changed, meaning the value was definitely not present before
+     */
+    public boolean put(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+
+        boolean changed = false;
+        for (int i = 0; i < hashFunctions; i++) {
+            changed |= setBit(index(hash1, hash2, i));
+        }
+        return changed;
+    }
+
+    /**
+     * Checks whether a value may have been added to the filter.
+     *
+     * @param value the value to check
+     * @return {@code false} if the value was definitely never added; {@code true} if it may have been
+     */
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = index(hash1, hash2, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the current false-positive probability from the fraction of bits that are set.
+     *
+     * @return the probability that {@link #mightContain(String)} returns {@code true} for a value never added
+     */
+    public double expectedFalsePositiveProbability() {
+        return Math.pow((double) setBits.get() / bitSize, hashFunctions);
+    }
+
+    /**
+     * Estimates the number of distinct values added, from the fraction of bits that are set.
+     *
+     * @return the approximate number of distinct values in the filter
+     */
+    public long approximateElementCount() {
+        double fractionUnset = 1 - (double) setBits.get() / bitSize;
+        if (fractionUnset <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.round(-Math.log(fractionUnset) * bitSize / hashFunctions);
+    }
+
+    /**
+     * Returns the number of bits in the filter.
+     *
+     * @return the bit size
+     */
+    public long bitSize() {
+        return bitSize;
+    }
+
+    /**
+     * Returns the number of hash functions applied to every value.
+     *
+     * @return the number of hash functions
+     */
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Returns the memory used by the bit array.
+     *
+     * @return the size of the bit array in bytes
+     */
+    public long sizeInBytes() {
+        return bitSize >>> 3;
+    }
+
+    private boolean setBit(long bit) {
+        int wordIndex = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(wordIndex, word, word | mask));
+
+        setBits.incrementAndGet();
+        return true;
+    }
+
+    private long index(long hash1, long hash2, int i) {
+        return ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+    }
+
+    /**
+     * Computes a 64-bit hash of a string (FNV-1a over its characters, then a finalizing mix).
+     */
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Spreads the bits of a 64-bit value (the MurmurHash3 finalizer).
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -1,9 +1,12 @@
 package com.flaviolcord.user.registry.util;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.time.LocalDate;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.stream.Collectors;
 
 /**
  * Utility class for sanitizing sensitive data from objects, strings, collections, and arrays.
@@ -21,11 +24,28 @@ import java.util.stream.Collectors;
  * <li>Custom objects containing sensitive fields are sanitized recursively.</li>
  * </ul>
  *
- * <p><strong>Thread Safety:</strong> This class is thread-safe as it operates only on provided
- * inputs without maintaining any state.</p>
+ * <p>
+ * How a value is sanitized depends only on its class, so the decision is made once per class and cached
+ * in a {@link ClassValue}. For sensitive objects the cached plan holds a {@link MethodHandle} getter per
+ * declared field, so no reflection lookup happens on the logging path.
+ * </p>
+ *
+ * <p><strong>Thread Safety:</strong> This class is thread-safe. The only state it keeps is the
+ * per-class plan cache, which is safe for concurrent use.</p>
  */
 public class SensitiveDataSanitizer {
 
+    private static final int MAX_LENGTH = 100;
+    private static final int MIN_PHONE_NUMBER_DIGITS = 10;
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<Plan> PLANS = new ClassValue<>() {
+        @Override
+        protected Plan computeValue(Class<?> type) {
+            return Plan.of(type);
+        }
+    };
+
     /**
      * Default constructor for {@code SensitiveDataSanitizer}.
      * <p>
@@ -46,9 +66,9 @@ public class SensitiveDataSanitizer {
     public static String sanitizeArgs(Object[] args) {
         if (args == null || args.length == 0) return "[]";
 
-        return Arrays.stream(args)
-                .map(SensitiveDataSanitizer::sanitizeArg)
-                .collect(Collectors.joining(", ", "[", "]"));
+        StringBuilder out = new StringBuilder();
+        appendArgs(out, args);
+        return out.toString();
     }
 
     /**
@@ -68,31 +88,56 @@ public class SensitiveDataSanitizer {
      * @return a sanitized string representation of the object
      */
     public static String sanitizeArg(Object arg) {
-        if (arg == null) return "null";
-
-        if (arg instanceof Collection<?>) {
-            return ((Collection<?>) arg).stream()
-                    .map(SensitiveDataSanitizer::sanitizeArg)
-                    .collect(Collectors.joining(", ", "[", "]"));
-        }
+        StringBuilder out = new StringBuilder();
+        appendArg(out, arg);
+        return out.toString();
+    }
 
-        if (arg.getClass().isArray()) {
-            return sanitizeArgs((Object[]) arg);
+    /**
+     * Appends the sanitized form of a single object, following the plan cached for its class.
+     *
+     * @param out the builder to append to
+     * @param arg the object to sanitize
+     */
+    private static void appendArg(StringBuilder out, Object arg) {
+        if (arg == null) {
+            out.append("null");
+            return;
         }
 
-        if (arg instanceof String str) {
-            return sanitizeString(str);
+        Plan plan = PLANS.get(arg.getClass());
+        switch (plan.kind()) {
+            case COLLECTION -> appendCollection(out, (Collection<?>) arg);
+            case ARRAY -> appendArgs(out, (Object[]) arg);
+            case STRING -> appendString(out, (String) arg);
+            case DATE -> out.append(((LocalDate) arg).getYear()).append("-01-01");
+            case SENSITIVE_OBJECT -> appendFields(out, arg, plan.fields());
+            case OTHER -> appendTruncated(out, arg.toString());
         }
+    }
 
-        if (arg instanceof LocalDate date) {
-            return sanitizeDate(date);
+    private static void appendArgs(StringBuilder out, Object[] args) {
+        out.append('[');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            appendArg(out, args[i]);
         }
+        out.append(']');
+    }
 
-        if (isSensitiveObject(arg)) {
-            return sanitizeSensitiveObject(arg);
+    private static void appendCollection(StringBuilder out, Collection<?> collection) {
+        out.append('[');
+        boolean first = true;
+        for (Object element : collection) {
+            if (!first) {
+                out.append(", ");
+            }
+            appendArg(out, element);
+            first = false;
         }
-
-        return truncate(arg.toString());
+        out.append(']');
     }
 
     /**
@@ -103,83 +148,159 @@ public class SensitiveDataSanitizer {
      * <li>Other strings are truncated or replaced with placeholders.</li>
      * </ul>
      *
+     * @param out the builder to append to
      * @param str the string to sanitize
-     * @return a sanitized version of the string
      */
-    private static String sanitizeString(String str) {
+    private static void appendString(StringBuilder out, String str) {
         if ("Male".equalsIgnoreCase(str) || "Female".equalsIgnoreCase(str) || "Other".equalsIgnoreCase(str)) {
-            return "***";
+            out.append("***");
+        } else if (isPhoneNumber(str)) {
+            // Mask the phone number, leaving only the last four digits visible
+            out.append("***").append(str, str.length() - 4, str.length());
+        } else if (str.length() > 2) {
+            out.append(str, 0, 2).append("****");
+        } else {
+            out.append("****");
         }
+    }
 
-        if (str.matches("\\d{10,}")) {
-            return maskPhoneNumber(str);
+    /**
+     * Checks whether a string consists of 10 or more ASCII digits, the same strings the regular
+     * expression {@code \d{10,}} matches, without running a regex engine.
+     *
+     * @param str the string to check
+     * @return {@code true} if the string looks like a phone number
+     */
+    private static boolean isPhoneNumber(String str) {
+        if (str.length() < MIN_PHONE_NUMBER_DIGITS) {
+            return false;
         }
-
-        return str.length() > 2 ? str.substring(0, 2) + "****" : "****";
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Masks a phone number, leaving only the last four digits visible.
+     * Sanitizes a custom object by sanitizing all its fields recursively.
      *
-     * @param phoneNumber the phone number to mask
-     * @return the masked phone number
+     * @param out    the builder to append to
+     * @param obj    the object to sanitize
+     * @param fields the precomputed accessors of the object's declared fields
      */
-    private static String maskPhoneNumber(String phoneNumber) {
-        return "***" + phoneNumber.substring(Math.max(0, phoneNumber.length() - 4));
+    private static void appendFields(StringBuilder out, Object obj, FieldAccessor[] fields) {
+        out.append('{');
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            FieldAccessor field = fields[i];
+            out.append(field.name()).append('=');
+            if (field.getter() == null) {
+                out.append("<access denied>");
+            } else {
+                appendArg(out, field.get(obj));
+            }
+        }
+        out.append('}');
     }
 
     /**
-     * Normalizes a {@link LocalDate} by displaying only the year, with the month and day set to
-     * {@code 01-01}.
+     * Truncates a string to the specified maximum length and appends {@code "..."} if the string
+     * exceeds the maximum length (100).
      *
-     * @param date the date to sanitize
-     * @return a sanitized string representation of the date
+     * @param out the builder to append to
+     * @param str the string to truncate
      */
-    private static String sanitizeDate(LocalDate date) {
-        return date == null ? "null" : date.getYear() + "-01-01";
+    private static void appendTruncated(StringBuilder out, String str) {
+        if (str.length() > MAX_LENGTH) {
+            out.append(str, 0, MAX_LENGTH).append("...");
+        } else {
+            out.append(str);
+        }
     }
 
     /**
-     * Checks if an object is considered sensitive based on its class name.
-     * <p>
-     * Objects are considered sensitive if their class name contains the term "User".
-     * </p>
-     *
-     * @param obj the object to check
-     * @return {@code true} if the object is considered sensitive; {@code false} otherwise
+     * How values of a class are sanitized.
      */
-    private static boolean isSensitiveObject(Object obj) {
-        return obj.getClass().getSimpleName().contains("User");
+    private enum Kind {
+        COLLECTION, ARRAY, STRING, DATE, SENSITIVE_OBJECT, OTHER
     }
 
     /**
-     * Sanitizes a custom object by sanitizing all its fields recursively.
+     * The sanitization plan of a class: its kind and, for sensitive objects, the accessors of its fields.
      *
-     * @param obj the object to sanitize
-     * @return a sanitized string representation of the object, with fields and their values
+     * @param kind   how values of the class are sanitized
+     * @param fields the accessors of the declared fields, in declaration order; empty unless sensitive
      */
-    private static String sanitizeSensitiveObject(Object obj) {
-
-        return Arrays.stream(obj.getClass().getDeclaredFields())
-                .map(field -> {
-                    field.setAccessible(true);
-                    try {
-                        return field.getName() + "=" + sanitizeArg(field.get(obj));
-                    } catch (IllegalAccessException e) {
-                        return field.getName() + "=<access denied>";
-                    }
-                })
-                .collect(Collectors.joining(", ", "{", "}"));
+    private record Plan(Kind kind, FieldAccessor[] fields) {
+
+        private static final FieldAccessor[] NO_FIELDS = new FieldAccessor[0];
+
+        /**
+         * Builds the plan of a class. The checks run in the same order as the type checks of
+         * {@link #sanitizeArg(Object)} describe, so each class gets the same treatment as before caching.
+         * Objects are considered sensitive if their class name contains the term "User".
+         * Primitive arrays are shown by their identity string, never by their contents.
+         */
+        private static Plan of(Class<?> type) {
+            if (Collection.class.isAssignableFrom(type)) {
+                return new Plan(Kind.COLLECTION, NO_FIELDS);
+            }
+            if (type.isArray() && !type.getComponentType().isPrimitive()) {
+                return new Plan(Kind.ARRAY, NO_FIELDS);
+            }
+            if (type == String.class) {
+                return new Plan(Kind.STRING, NO_FIELDS);
+            }
+            if (type == LocalDate.class) {
+                return new Plan(Kind.DATE, NO_FIELDS);
+            }
+            if (type.getSimpleName().contains("User")) {
+                Field[] declaredFields = type.getDeclaredFields();
+                FieldAccessor[] fields = new FieldAccessor[declaredFields.length];
+                for (int i = 0; i < declaredFields.length; i++) {
+                    fields[i] = FieldAccessor.of(declaredFields[i]);
+                }
+                return new Plan(Kind.SENSITIVE_OBJECT, fields);
+            }
+            return new Plan(Kind.OTHER, NO_FIELDS);
+        }
     }
 
     /**
-     * Truncates a string to the specified maximum length and appends {@code "..."} if the string
-     * exceeds the maximum length (100).
+     * A precomputed getter for one field.
      *
-     * @param str the string to truncate
-     * @return the truncated string
+     * @param name   the field name
+     * @param getter a handle of type {@code (Object)Object} returning the field value, or {@code null}
+     *               if the field cannot be read
      */
-    private static String truncate(String str) {
-        return str.length() > 100 ? str.substring(0, 100) + "..." : str;
+    private record FieldAccessor(String name, MethodHandle getter) {
+
+        private static FieldAccessor of(Field field) {
+            field.setAccessible(true);
+            try {
+                MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                }
+                return new FieldAccessor(field.getName(), getter.asType(GETTER_TYPE));
+            } catch (IllegalAccessException e) {
+                return new FieldAccessor(field.getName(), null);
+            }
+        }
+
+        private Object get(Object obj) {
+            try {
+                return (Object) getter.invokeExact(obj);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot read field " + name, e);
+            }
+        }
     }
 }
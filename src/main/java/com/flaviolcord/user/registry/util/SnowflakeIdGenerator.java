@@ -0,0 +1,159 @@
+package com.flaviolcord.user.registry.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Generator of time-ordered, node-partitioned 64-bit IDs in the style of Twitter's Snowflake.
+ * <p>
+ * Each ID packs, from the most significant bit down:
+ * <ul>
+ *     <li>1 unused sign bit, so IDs are always positive</li>
+ *     <li>{@value #TIMESTAMP_BITS} bits of milliseconds since the configured epoch (about 69 years)</li>
+ *     <li>{@value #NODE_ID_BITS} bits of node ID, so up to {@value #MAX_NODE_ID} + 1 nodes never collide</li>
+ *     <li>{@value #SEQUENCE_BITS} bits of sequence within the millisecond</li>
+ * </ul>
+ * IDs from one node strictly increase, and IDs from different nodes sort by creation time to the millisecond,
+ * so inserts land at the end of a primary-key index.
+ * </p>
+ * <p>
+ * The last timestamp and sequence are kept in a single {@link AtomicLong} and advanced with compare-and-set.
+ * When the clock moves backwards, the generator keeps counting from its last timestamp. Its timestamp never
+ * runs ahead of the clock otherwise: once the {@value #SEQUENCE_BITS}-bit sequence of a millisecond is used up,
+ * callers wait for the clock to reach the next one. It refuses to generate IDs once the clock is behind its
+ * timestamp by more than the configured maximum clock regression, since that means the clock was set back too
+ * far to keep IDs unique and ordered.
+ * </p>
+ *
+ * <p><strong>Thread Safety:</strong> This class is thread-safe.</p>
+ */
+public final class SnowflakeIdGenerator {
+
+    static final int TIMESTAMP_BITS = 41;
+    static final int NODE_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+
+    /**
+     * The largest valid node ID.
+     */
+    public static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
+
+    private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_ID_BITS + SEQUENCE_BITS;
+
+    private final long nodeId;
+    private final long epochMillis;
+    private final long maxClockRegressionMillis;
+    private final LongSupplier clock;
+
+    /**
+     * The last timestamp, shifted left by {@value #SEQUENCE_BITS}, plus the last sequence.
+     * Incrementing it past the sequence mask carries into the timestamp.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Creates a generator that reads the system clock.
+     *
+     * @param nodeId             the ID of this node, between 0 and {@value #MAX_NODE_ID}
+     * @param epoch              the instant timestamps are counted from; must not be in the future
+     * @param maxClockRegression how far the clock may move backwards before generation fails
+     * @throws IllegalArgumentException if the node ID is out of range
+     */
+    public SnowflakeIdGenerator(long nodeId, Instant epoch, Duration maxClockRegression) {
+        this(nodeId, epoch, maxClockRegression, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a generator that reads the given clock.
+     *
+     * @param nodeId             the ID of this node, between 0 and {@value #MAX_NODE_ID}
+     * @param epoch              the instant timestamps are counted from; must not be in the future
+     * @param maxClockRegression how far the clock may move backwards before generation fails
+     * @param clock              supplies the current time in milliseconds since the Unix epoch
+     * @throws IllegalArgumentException if the node ID is out of range
+     */
+    public SnowflakeIdGenerator(long nodeId, Instant epoch, Duration maxClockRegression, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.epochMillis = epoch.toEpochMilli();
+        this.maxClockRegressionMillis = maxClockRegression.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Generates the next ID, waiting for the next millisecond if the sequence of the current one is used up.
+     *
+     * @return a positive ID, greater than every ID this generator returned before
+     * @throws IllegalStateException if the clock moved backwards by more than the maximum clock regression,
+     *                               or is before the epoch or beyond the range of the timestamp bits
+     */
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long now = currentTimestamp();
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if (lastTimestamp - now > maxClockRegressionMillis) {
+                throw new IllegalStateException("Clock moved backwards by " + (lastTimestamp - now)
+                        + " ms; refusing to generate IDs until it catches up");
+            } else if ((current & SEQUENCE_MASK) == SEQUENCE_MASK) {
+                // Sequence used up: taking a millisecond the clock has not reached would only defer the wait
+                if (now == lastTimestamp) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(lastTimestamp - now));
+                }
+                continue;
+            } else {
+                next = current + 1;
+            }
+
+            if (next >>> SEQUENCE_BITS > MAX_TIMESTAMP) {
+                throw new IllegalStateException("Timestamp exceeds " + TIMESTAMP_BITS + " bits; the ID epoch is too old");
+            }
+            if (state.compareAndSet(current, next)) {
+                return (next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT | nodeId << SEQUENCE_BITS | next & SEQUENCE_MASK;
+            }
+        }
+    }
+
+    /**
+     * Returns the ID of the node that generated an ID.
+     *
+     * @param id an ID produced by a {@code SnowflakeIdGenerator}
+     * @return the node ID encoded in the ID
+     */
+    public static long nodeIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    /**
+     * Returns the creation time encoded in an ID.
+     *
+     * @param id    an ID produced by a {@code SnowflakeIdGenerator}
+     * @param epoch the epoch the generator was configured with
+     * @return the instant the ID was generated, to the millisecond
+     */
+    public static Instant timestampOf(long id, Instant epoch) {
+        return epoch.plusMillis(id >>> TIMESTAMP_SHIFT);
+    }
+
+    private long currentTimestamp() {
+        long now = clock.getAsLong() - epochMillis;
+        if (now < 0) {
+            throw new IllegalStateException("Clock is before the ID epoch");
+        }
+        return now;
+    }
+}
@@ -0,0 +1,159 @@
+package com.flaviolcord.user.registry.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe token-bucket rate limiter with one bucket per client key.
+ * <p>
+ * Each client may take up to {@code burst} permits at once, refilled at {@code permitsPerSecond}. A bucket is
+ * kept as a single "theoretical arrival time" in nanoseconds (the generic cell rate algorithm), which admits
+ * exactly the same requests as a token bucket but fits in one {@link AtomicLong}: taking a permit is one
+ * compare-and-set, with no lock and no allocation once the client is known.
+ * </p>
+ * <p>
+ * Buckets are spread over a fixed number of independent stripes by hash of the client key, so clients in
+ * different stripes never touch the same map. A bucket whose arrival time has passed is full again and holds
+ * no information, so when a stripe outgrows its share of {@code maxClients} its full buckets are dropped.
+ * Only clients that are currently rate limited keep their bucket.
+ * </p>
+ *
+ * <p><strong>Thread Safety:</strong> This class is thread-safe.</p>
+ */
+public final class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxClientsPerStripe;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+
+    /**
+     * Creates a limiter using {@link System#nanoTime()}.
+     *
+     * @param permitsPerSecond the sustained rate of permits per client, strictly positive
+     * @param burst            the number of permits a client may take at once, at least 1
+     * @param maxClients       the number of client buckets kept before full ones are dropped, at least 1
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, int maxClients) {
+        this(permitsPerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    /**
+     * Creates a limiter reading time from the given clock.
+     *
+     * @param permitsPerSecond the sustained rate of permits per client, strictly positive
+     * @param burst            the number of permits a client may take at once, at least 1
+     * @param maxClients       the number of client buckets kept before full ones are dropped, at least 1
+     * @param nanoClock        a monotonic clock in nanoseconds
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, int maxClients, LongSupplier nanoClock) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("Permits per second must be positive: " + permitsPerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1: " + burst);
+        }
+        if (maxClients < 1) {
+            throw new IllegalArgumentException("Max clients must be at least 1: " + maxClients);
+        }
+
+        this.emissionIntervalNanos = Math.max(1, Math.round(1_000_000_000 / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+
+        int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1) << 1;
+        this.stripes = new ConcurrentHashMap[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.maxClientsPerStripe = Math.max(1, maxClients / stripeCount);
+    }
+
+    /**
+     * Takes a permit for a client if one is available.
+     *
+     * @param client the key of the client
+     * @return 0 if the permit was taken, otherwise the number of nanoseconds until one becomes available
+     */
+    public long tryAcquire(String client) {
+        AtomicLong arrival = bucket(client);
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = arrival.get();
+            long start = current - now > 0 ? current : now;
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Takes permits from a client unconditionally, after the work they pay for is done.
+     * <p>
+     * Used when the cost of a request is only known once it has been processed. The bucket may go into debt,
+     * in which case the client's next requests are refused until it has been refilled.
+     * </p>
+     *
+     * @param client  the key of the client
+     * @param permits the number of permits to take; nothing is taken if not positive
+     */
+    public void charge(String client, long permits) {
+        if (permits <= 0) {
+            return;
+        }
+        // Capped so that the arrival time cannot overflow
+        long cost = Math.min(permits, Long.MAX_VALUE / 4 / emissionIntervalNanos) * emissionIntervalNanos;
+        AtomicLong arrival = bucket(client);
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = arrival.get();
+            long start = current - now > 0 ? current : now;
+            if (arrival.compareAndSet(current, start + cost)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of client buckets currently kept.
+     *
+     * @return the number of tracked clients
+     */
+    public int trackedClients() {
+        int count = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    private AtomicLong bucket(String client) {
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[spread(client.hashCode()) & (stripes.length - 1)];
+        AtomicLong arrival = stripe.get(client);
+        if (arrival != null) {
+            return arrival;
+        }
+
+        long now = nanoClock.getAsLong();
+        if (stripe.size() >= maxClientsPerStripe) {
+            // Full buckets carry no state, dropping them changes no decision
+            stripe.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+        AtomicLong created = new AtomicLong(now);
+        AtomicLong existing = stripe.putIfAbsent(client, created);
+        return existing != null ? existing : created;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,10 @@
+-- Users table of the reactive profile, the same table Hibernate creates for UserEntity
+CREATE TABLE IF NOT EXISTS users (
+    id                   BIGINT       NOT NULL PRIMARY KEY,
+    username             VARCHAR(255) NOT NULL UNIQUE,
+    birthdate            DATE         NOT NULL,
+    country_of_residence VARCHAR(255) NOT NULL,
+    phone_number         VARCHAR(255),
+    gender               VARCHAR(255),
+    version              BIGINT
+);
@@ -0,0 +1,197 @@
+package com.flaviolcord.user.registry.application.async;
+
+import com.flaviolcord.user.registry.application.usecase.RegisterUserUseCase;
+import com.flaviolcord.user.registry.application.validator.UserValidator;
+import com.flaviolcord.user.registry.domain.model.RegistrationStatus;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.exception.RegistrationQueueFullException;
+import com.flaviolcord.user.registry.infrastructure.exception.UserRegistrationException;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import com.flaviolcord.user.registry.infrastructure.persistence.routing.ReadYourWrites;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationQueueTest {
+
+    @Mock
+    private RegisterUserUseCase registerUserUseCase;
+
+    @Mock
+    private UserValidator userValidator;
+
+    private UserProperties userProperties;
+    private RegistrationQueue registrationQueue;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userProperties = new UserProperties();
+        userProperties.getAsync().setWorkers(1);
+        user = new User(null, "john_doe", LocalDate.of(1990, 1, 1), "France", null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (registrationQueue != null) {
+            registrationQueue.stop();
+        }
+    }
+
+    @Test
+    void submit_shouldRegisterInTheBackgroundAndReportCreated() {
+        when(registerUserUseCase.execute(user)).thenReturn(new User(7L, "john_doe", LocalDate.of(1990, 1, 1),
+                "France", null, null, 0L));
+        registrationQueue = start();
+
+        UUID id = registrationQueue.submit(user);
+
+        assertEquals(RegistrationStatus.created(new User(7L, null, null, null, null, null), 0), awaitDone(id));
+    }
+
+    @Test
+    void submit_shouldRecordTheReplicationPositionOfTheWrite() {
+        when(registerUserUseCase.execute(user)).thenAnswer(invocation -> {
+            ReadYourWrites.observed(42);
+            return new User(7L, "john_doe", LocalDate.of(1990, 1, 1), "France", null, null, 0L);
+        });
+        registrationQueue = start();
+
+        UUID id = registrationQueue.submit(user);
+
+        assertEquals(42, awaitDone(id).position());
+    }
+
+    @Test
+    void submit_moreThanMaximumStatuses_shouldKeepPendingOnes() throws Exception {
+        userProperties.getAsync().setMaximumStatuses(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(registerUserUseCase.execute(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        registrationQueue = start();
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(registrationQueue.submit(user));
+        }
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        for (UUID id : ids) {
+            assertEquals(RegistrationStatus.PENDING, registrationQueue.status(id).orElseThrow());
+        }
+        release.countDown();
+    }
+
+    @Test
+    void submit_duplicateUsername_shouldReportRejected() {
+        when(registerUserUseCase.execute(user)).thenThrow(new UserRegistrationException("Username is already taken"));
+        registrationQueue = start();
+
+        UUID id = registrationQueue.submit(user);
+
+        assertEquals(RegistrationStatus.rejected("Username is already taken"), awaitDone(id));
+    }
+
+    @Test
+    void submit_invalidUser_shouldThrowWithoutQueueing() {
+        doThrow(new ValidationException("The user must be at least 18 years old.")).when(userValidator).validate(user);
+        registrationQueue = start();
+
+        assertThrows(ValidationException.class, () -> registrationQueue.submit(user));
+        assertEquals(0, registrationQueue.size());
+    }
+
+    @Test
+    void submit_fullQueue_shouldRefuse() throws Exception {
+        userProperties.getAsync().setQueueCapacity(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(registerUserUseCase.execute(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        registrationQueue = start();
+
+        registrationQueue.submit(user);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        registrationQueue.submit(user);
+
+        assertThrows(RegistrationQueueFullException.class, () -> registrationQueue.submit(user));
+        release.countDown();
+    }
+
+    @Test
+    void stop_shouldProcessQueuedRegistrationsThenRefuseNewOnes() {
+        when(registerUserUseCase.execute(user)).thenReturn(new User(7L, "john_doe", LocalDate.of(1990, 1, 1),
+                "France", null, null, 0L));
+        registrationQueue = start();
+        UUID first = registrationQueue.submit(user);
+        UUID second = registrationQueue.submit(user);
+
+        registrationQueue.stop();
+
+        assertEquals(RegistrationStatus.State.CREATED, registrationQueue.status(first).orElseThrow().state());
+        assertEquals(RegistrationStatus.State.CREATED, registrationQueue.status(second).orElseThrow().state());
+        assertFalse(registrationQueue.isRunning());
+        assertThrows(RegistrationQueueFullException.class, () -> registrationQueue.submit(user));
+    }
+
+    @Test
+    void submit_beforeStart_shouldRefuse() {
+        registrationQueue = new RegistrationQueue(registerUserUseCase, userValidator, userProperties);
+
+        assertThrows(RegistrationQueueFullException.class, () -> registrationQueue.submit(user));
+        verify(registerUserUseCase, never()).execute(any());
+    }
+
+    @Test
+    void status_unknownId_shouldBeEmpty() {
+        registrationQueue = start();
+
+        assertTrue(registrationQueue.status(UUID.randomUUID()).isEmpty());
+    }
+
+    private RegistrationQueue start() {
+        userProperties.getAsync().setDrainTimeout(Duration.ofSeconds(5));
+        RegistrationQueue queue = new RegistrationQueue(registerUserUseCase, userValidator, userProperties);
+        queue.start();
+        return queue;
+    }
+
+    private RegistrationStatus awaitDone(UUID id) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            RegistrationStatus status = registrationQueue.status(id).orElseThrow();
+            if (status.state() != RegistrationStatus.State.PENDING) {
+                return status;
+            }
+            Thread.onSpinWait();
+        }
+        return fail("Registration " + id + " was not processed");
+    }
+}
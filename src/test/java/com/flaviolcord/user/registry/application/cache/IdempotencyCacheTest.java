@@ -0,0 +1,147 @@
+package com.flaviolcord.user.registry.application.cache;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.exception.IdempotencyKeyReusedException;
+import com.flaviolcord.user.registry.infrastructure.exception.UserRegistrationException;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyCacheTest {
+
+    private UserProperties userProperties;
+    private User user;
+    private User registeredUser;
+
+    @BeforeEach
+    void setUp() {
+        userProperties = new UserProperties();
+        user = new User(null, "john_doe", LocalDate.of(1990, 1, 1), "France", "1234567890", "Male");
+        registeredUser = new User(1L, "john_doe", LocalDate.of(1990, 1, 1), "France", "1234567890", "Male", 0L);
+    }
+
+    @Test
+    void register_shouldReplayTheFirstOutcomeWithoutRegisteringAgain() {
+        IdempotencyCache idempotencyCache = new IdempotencyCache(userProperties);
+        AtomicInteger registrations = new AtomicInteger();
+
+        IdempotencyCache.Outcome first = idempotencyCache.register("key-1", user, () -> {
+            registrations.incrementAndGet();
+            return registeredUser;
+        });
+        IdempotencyCache.Outcome retry = idempotencyCache.register("key-1", user, () -> {
+            registrations.incrementAndGet();
+            throw new UserRegistrationException("Username is already taken");
+        });
+
+        assertEquals(new IdempotencyCache.Outcome(registeredUser, false), first);
+        assertEquals(new IdempotencyCache.Outcome(registeredUser, true), retry);
+        assertEquals(1, registrations.get());
+        assertEquals(1, idempotencyCache.stats().hitCount());
+    }
+
+    @Test
+    void register_shouldRunConcurrentRequestsForTheSameKeyOnce() throws Exception {
+        IdempotencyCache idempotencyCache = new IdempotencyCache(userProperties);
+        AtomicInteger registrations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<IdempotencyCache.Outcome> first = executor.submit(() ->
+                    idempotencyCache.register("key-1", user, () -> {
+                        registrations.incrementAndGet();
+                        started.countDown();
+                        await(release);
+                        return registeredUser;
+                    }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            Future<IdempotencyCache.Outcome> second = executor.submit(() ->
+                    idempotencyCache.register("key-1", user, () -> {
+                        registrations.incrementAndGet();
+                        return registeredUser;
+                    }));
+            release.countDown();
+
+            assertFalse(first.get(5, TimeUnit.SECONDS).replayed());
+            assertEquals(new IdempotencyCache.Outcome(registeredUser, true), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, registrations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void register_shouldForgetTheKeyWhenTheRegistrationFails() {
+        IdempotencyCache idempotencyCache = new IdempotencyCache(userProperties);
+
+        assertThrows(ValidationException.class, () -> idempotencyCache.register("key-1", user, () -> {
+            throw new ValidationException("The user must be at least 18 years old.");
+        }));
+        IdempotencyCache.Outcome retry = idempotencyCache.register("key-1", user, () -> registeredUser);
+
+        assertEquals(new IdempotencyCache.Outcome(registeredUser, false), retry);
+    }
+
+    @Test
+    void register_shouldRejectAKeyReusedForADifferentUser() {
+        IdempotencyCache idempotencyCache = new IdempotencyCache(userProperties);
+        User otherUser = new User(null, "jane_doe", LocalDate.of(1990, 1, 1), "France", null, null);
+
+        idempotencyCache.register("key-1", user, () -> registeredUser);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyCache.register("key-1", otherUser, () -> registeredUser));
+    }
+
+    @Test
+    void register_shouldRejectBlankAndOverlongKeys() {
+        userProperties.getIdempotency().setMaxKeyLength(8);
+        IdempotencyCache idempotencyCache = new IdempotencyCache(userProperties);
+
+        assertThrows(ValidationException.class, () -> idempotencyCache.register(" ", user, () -> registeredUser));
+        assertThrows(ValidationException.class,
+                () -> idempotencyCache.register("123456789", user, () -> registeredUser));
+    }
+
+    @Test
+    void register_whenDisabled_shouldRegisterEveryRequest() {
+        userProperties.getIdempotency().setEnabled(false);
+        IdempotencyCache idempotencyCache = new IdempotencyCache(userProperties);
+        AtomicInteger registrations = new AtomicInteger();
+
+        idempotencyCache.register("key-1", user, () -> {
+            registrations.incrementAndGet();
+            return registeredUser;
+        });
+        IdempotencyCache.Outcome retry = idempotencyCache.register("key-1", user, () -> {
+            registrations.incrementAndGet();
+            return registeredUser;
+        });
+
+        assertFalse(retry.replayed());
+        assertEquals(2, registrations.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
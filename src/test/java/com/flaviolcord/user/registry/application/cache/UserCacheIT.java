@@ -0,0 +1,69 @@
+package com.flaviolcord.user.registry.application.cache;
+
+import com.flaviolcord.user.registry.application.service.UserService;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserCacheIT {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @MockitoSpyBean
+    private DataSource dataSource;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @Test
+    void registeredUser_ShouldBeServedFromCacheWithoutConnection() throws Exception {
+        // Arrange: Registration commits and writes the user through to the cache
+        User registeredUser = userService.registerUser(
+                new User(null, "cacheduser", LocalDate.now().minusYears(20), "France", null, null));
+        long hitsBefore = userCache.stats().hitCount();
+        clearInvocations(dataSource, userRepository);
+
+        // Act
+        User foundUser = userService.findUserById(registeredUser.id());
+
+        // Assert
+        assertEquals(registeredUser, foundUser);
+        assertEquals(hitsBefore + 1, userCache.stats().hitCount());
+        verify(userRepository, never()).findById(any());
+        verify(dataSource, never()).getConnection();
+    }
+
+    @Test
+    void batchRegisteredUser_ShouldBeServedFromCacheWithoutConnection() throws Exception {
+        // Arrange: Each committed chunk writes its users through to the cache
+        User registeredUser = userService.registerUsers(List.of(
+                new User(null, "cachedbatchuser", LocalDate.now().minusYears(20), "France", null, null)))
+                .get(0).user();
+        clearInvocations(dataSource, userRepository);
+
+        // Act
+        User foundUser = userService.findUserById(registeredUser.id());
+
+        // Assert
+        assertEquals(registeredUser, foundUser);
+        verify(userRepository, never()).findById(any());
+        verify(dataSource, never()).getConnection();
+    }
+}
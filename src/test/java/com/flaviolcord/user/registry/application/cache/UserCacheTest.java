@@ -0,0 +1,92 @@
+package com.flaviolcord.user.registry.application.cache;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+
+    private UserProperties userProperties;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userProperties = new UserProperties();
+        user = new User(1L, "john_doe", LocalDate.of(1990, 1, 1), "France", "1234567890", "Male");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void get_shouldReturnPutUserAndRecordHitsAndMisses() {
+        UserCache userCache = new UserCache(userProperties);
+
+        assertTrue(userCache.get(1L).isEmpty());
+        userCache.put(user);
+
+        assertEquals(user, userCache.get(1L).orElseThrow());
+        assertEquals(1, userCache.stats().hitCount());
+        assertEquals(1, userCache.stats().missCount());
+    }
+
+    @Test
+    void put_shouldIgnoreUsersWithoutId() {
+        UserCache userCache = new UserCache(userProperties);
+
+        userCache.put(new User(null, "john_doe", LocalDate.of(1990, 1, 1), "France", null, null));
+
+        assertTrue(userCache.get(null).isEmpty());
+        assertEquals(0, userCache.stats().requestCount());
+    }
+
+    @Test
+    void put_shouldWaitForTransactionCommit() {
+        UserCache userCache = new UserCache(userProperties);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        userCache.put(user);
+        assertTrue(userCache.get(1L).isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(user, userCache.get(1L).orElseThrow());
+    }
+
+    @Test
+    void get_shouldAlwaysMissWhenDisabled() {
+        userProperties.getCache().setEnabled(false);
+        UserCache userCache = new UserCache(userProperties);
+
+        userCache.put(user);
+
+        assertTrue(userCache.get(1L).isEmpty());
+    }
+
+    @Test
+    void bindTo_shouldExposeCacheMetrics() {
+        UserCache userCache = new UserCache(userProperties);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        userCache.bindTo(registry);
+
+        userCache.get(1L);
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "users").tag("result", "miss").functionCounter().count());
+        assertNotNull(registry.get("cache.evictions").tag("cache", "users").functionCounter());
+    }
+}
@@ -3,9 +3,19 @@ package com.flaviolcord.user.registry.application.service;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.flaviolcord.user.registry.application.async.RegistrationQueue;
+import com.flaviolcord.user.registry.application.usecase.ExportUsersUseCase;
 import com.flaviolcord.user.registry.application.usecase.FindUserByIdUseCase;
+import com.flaviolcord.user.registry.application.usecase.FindUserVersionUseCase;
+import com.flaviolcord.user.registry.application.usecase.FindUsersByIdsUseCase;
+import com.flaviolcord.user.registry.application.usecase.ListUsersUseCase;
+import com.flaviolcord.user.registry.application.usecase.RegisterUserBatchUseCase;
 import com.flaviolcord.user.registry.application.usecase.RegisterUserUseCase;
+import com.flaviolcord.user.registry.domain.model.RegistrationResult;
+import com.flaviolcord.user.registry.domain.model.RegistrationStatus;
 import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.model.UserLookupResult;
+import com.flaviolcord.user.registry.infrastructure.exception.RegistrationNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +24,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 @ExtendWith(MockitoExtension.class)
 public class UserServiceTest {
@@ -24,6 +38,24 @@ public class UserServiceTest {
     @Mock
     private FindUserByIdUseCase findUserByIdUseCase;
 
+    @Mock
+    private RegisterUserBatchUseCase registerUserBatchUseCase;
+
+    @Mock
+    private ListUsersUseCase listUsersUseCase;
+
+    @Mock
+    private ExportUsersUseCase exportUsersUseCase;
+
+    @Mock
+    private FindUserVersionUseCase findUserVersionUseCase;
+
+    @Mock
+    private FindUsersByIdsUseCase findUsersByIdsUseCase;
+
+    @Mock
+    private RegistrationQueue registrationQueue;
+
     @InjectMocks
     private UserService userService;
 
@@ -48,6 +80,30 @@ public class UserServiceTest {
         verify(registerUserUseCase, times(1)).execute(validUser); // Verify that execute was called once on registerUserUseCase
     }
 
+    @Test
+    void shouldSubmitRegistrationToQueue() {
+        // Arrange
+        UUID registrationId = UUID.randomUUID();
+        when(registrationQueue.submit(validUser)).thenReturn(registrationId);
+
+        // Act & Assert
+        assertEquals(registrationId, userService.submitRegistration(validUser));
+        verifyNoInteractions(registerUserUseCase);
+    }
+
+    @Test
+    void shouldFindRegistrationStatusOrThrow() {
+        // Arrange
+        UUID known = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        when(registrationQueue.status(known)).thenReturn(Optional.of(RegistrationStatus.PENDING));
+        when(registrationQueue.status(unknown)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertEquals(RegistrationStatus.PENDING, userService.findRegistrationStatus(known));
+        assertThrows(RegistrationNotFoundException.class, () -> userService.findRegistrationStatus(unknown));
+    }
+
     @Test
     void shouldFindUserByIdSuccessfully() {
         // Arrange: Mock findUserByIdUseCase to return the validUser
@@ -62,4 +118,66 @@ public class UserServiceTest {
         assertEquals(validUser, result);
         verify(findUserByIdUseCase, times(1)).execute(userId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRegisterUsersInBatch() {
+        // Arrange: Mock registerUserBatchUseCase to return one successful result
+        List<User> users = List.of(validUser);
+        List<RegistrationResult> results = List.of(RegistrationResult.success(validUser));
+        when(registerUserBatchUseCase.execute(users)).thenReturn(results);
+
+        // Act
+        List<RegistrationResult> result = userService.registerUsers(users);
+
+        // Assert
+        assertEquals(results, result);
+        verify(registerUserBatchUseCase, times(1)).execute(users);
+    }
+
+    @Test
+    void shouldDelegateListingToUseCase() {
+        // Arrange
+        Consumer<User> consumer = user -> { };
+        when(listUsersUseCase.execute(5L, 10, consumer)).thenReturn(Optional.of(15L));
+
+        // Act
+        Optional<Long> nextCursor = userService.listUsers(5L, 10, consumer);
+
+        // Assert
+        assertEquals(Optional.of(15L), nextCursor);
+        verify(listUsersUseCase).execute(5L, 10, consumer);
+    }
+
+    @Test
+    void shouldDelegateExportToUseCase() {
+        // Arrange
+        Consumer<User> consumer = user -> { };
+        when(exportUsersUseCase.execute(consumer)).thenReturn(3L);
+
+        // Act
+        long exported = userService.exportUsers(consumer);
+
+        // Assert
+        assertEquals(3L, exported);
+        verify(exportUsersUseCase).execute(consumer);
+    }
+
+    @Test
+    void shouldDelegateVersionLookupToUseCase() {
+        // Arrange
+        when(findUserVersionUseCase.execute(1L)).thenReturn(7L);
+
+        // Act & Assert
+        assertEquals(7L, userService.findUserVersion(1L));
+    }
+
+    @Test
+    void shouldDelegateMultiGetToUseCase() {
+        // Arrange
+        UserLookupResult lookup = new UserLookupResult(List.of(validUser), List.of(2L));
+        when(findUsersByIdsUseCase.execute(List.of(1L, 2L))).thenReturn(lookup);
+
+        // Act & Assert
+        assertEquals(lookup, userService.findUsersByIds(List.of(1L, 2L)));
+    }
+}
@@ -0,0 +1,61 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportUsersUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private ExportUsersUseCase exportUsersUseCase;
+
+    @Test
+    void execute_shouldHandEveryUserToConsumerAndReturnCount() {
+        // Arrange
+        when(userRepository.streamAll()).thenReturn(Stream.of(user(1L), user(2L), user(3L)));
+        List<User> exported = new ArrayList<>();
+
+        // Act
+        long count = exportUsersUseCase.execute(exported::add);
+
+        // Assert
+        assertEquals(3, count);
+        assertEquals(List.of(1L, 2L, 3L), exported.stream().map(User::id).toList());
+    }
+
+    @Test
+    void execute_shouldCloseStreamWhenConsumerFails() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userRepository.streamAll()).thenReturn(Stream.of(user(1L)).onClose(() -> closed.set(true)));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> exportUsersUseCase.execute(user -> {
+            throw new IllegalStateException("client went away");
+        }));
+
+        // Assert
+        assertTrue(closed.get());
+    }
+
+    private static User user(Long id) {
+        return new User(id, "user" + id, LocalDate.of(1990, 1, 1), "France", null, null);
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import static org.mockito.Mockito.*;
 
+import com.flaviolcord.user.registry.application.cache.UserCache;
 import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.domain.repository.UserRepository;
 import com.flaviolcord.user.registry.infrastructure.exception.UserNotFoundException;
@@ -23,6 +24,9 @@ public class FindUserByIdUseCaseTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCache userCache;
+
     @InjectMocks
     private FindUserByIdUseCase findUserByIdUseCase;
 
@@ -46,6 +50,21 @@ public class FindUserByIdUseCaseTest {
         assertNotNull(result);
         assertEquals(validUser, result);
         verify(userRepository, times(1)).findById(userId); // Verify that findById was called once
+        verify(userCache).put(validUser); // Verify that the loaded user was cached
+    }
+
+    @Test
+    void shouldReturnCachedUserWithoutQueryingRepository() {
+        // Arrange: Mock cache to hold the user
+        Long userId = 1L;
+        when(userCache.get(userId)).thenReturn(Optional.of(validUser));
+
+        // Act
+        User result = findUserByIdUseCase.execute(userId);
+
+        // Assert
+        assertEquals(validUser, result);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -61,5 +80,6 @@ public class FindUserByIdUseCaseTest {
 
         assertEquals("User not found with ID: 1", exception.getMessage()); // Verify exception message
         verify(userRepository, times(1)).findById(userId); // Verify that findById was called once
+        verify(userCache, never()).put(any());
     }
 }
\ No newline at end of file
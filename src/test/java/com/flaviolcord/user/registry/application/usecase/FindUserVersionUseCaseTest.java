@@ -0,0 +1,69 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.application.cache.UserCache;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.exception.UserNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FindUserVersionUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private FindUserVersionUseCase findUserVersionUseCase;
+
+    @Test
+    void execute_shouldAnswerFromCacheWithoutQuerying() {
+        // Arrange
+        when(userCache.get(1L)).thenReturn(Optional.of(
+                new User(1L, "john_doe", LocalDate.of(1990, 1, 1), "France", null, null, 2L)));
+
+        // Act
+        long version = findUserVersionUseCase.execute(1L);
+
+        // Assert
+        assertEquals(2L, version);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void execute_shouldReadVersionOnCacheMiss() {
+        // Arrange
+        when(userCache.get(1L)).thenReturn(Optional.empty());
+        when(userRepository.findVersionById(1L)).thenReturn(Optional.of(5L));
+
+        // Act
+        long version = findUserVersionUseCase.execute(1L);
+
+        // Assert
+        assertEquals(5L, version);
+    }
+
+    @Test
+    void execute_shouldThrowWhenUserDoesNotExist() {
+        // Arrange
+        when(userCache.get(99L)).thenReturn(Optional.empty());
+        when(userRepository.findVersionById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class,
+                () -> findUserVersionUseCase.execute(99L));
+        assertEquals("User not found with ID: 99", exception.getMessage());
+    }
+}
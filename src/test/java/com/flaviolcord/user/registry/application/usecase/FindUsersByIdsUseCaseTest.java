@@ -0,0 +1,98 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.application.cache.UserCache;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.model.UserLookupResult;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FindUsersByIdsUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private UserProperties userProperties;
+
+    @InjectMocks
+    private FindUsersByIdsUseCase findUsersByIdsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        UserProperties.Lookup lookup = new UserProperties.Lookup();
+        lookup.setMaxIds(3);
+        when(userProperties.getLookup()).thenReturn(lookup);
+    }
+
+    @Test
+    void execute_shouldPreserveRequestOrderAndReportMissingIds() {
+        // Arrange: user 3 is cached, users 1 and 2 are queried together, and only user 1 exists
+        when(userCache.get(any())).thenReturn(Optional.empty());
+        when(userCache.get(3L)).thenReturn(Optional.of(user(3L)));
+        when(userRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(user(1L)));
+
+        // Act
+        UserLookupResult result = findUsersByIdsUseCase.execute(List.of(3L, 2L, 1L));
+
+        // Assert
+        assertEquals(List.of(3L, 1L), result.users().stream().map(User::id).toList());
+        assertEquals(List.of(2L), result.missingIds());
+        verify(userCache).put(user(1L));
+    }
+
+    @Test
+    void execute_shouldNotQueryWhenEveryUserIsCached() {
+        // Arrange
+        when(userCache.get(1L)).thenReturn(Optional.of(user(1L)));
+
+        // Act
+        UserLookupResult result = findUsersByIdsUseCase.execute(List.of(1L, 1L));
+
+        // Assert: the repeated ID is returned once
+        assertEquals(List.of(user(1L)), result.users());
+        assertTrue(result.missingIds().isEmpty());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void execute_shouldRejectTooManyIds() {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> findUsersByIdsUseCase.execute(List.of(1L, 2L, 3L, 4L)));
+        assertEquals("Between 1 and 3 IDs must be requested.", exception.getMessage());
+    }
+
+    @Test
+    void execute_shouldRejectEmptyAndNullIds() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () -> findUsersByIdsUseCase.execute(List.of()));
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> findUsersByIdsUseCase.execute(Arrays.asList(1L, null)));
+        assertEquals("IDs must not be null.", exception.getMessage());
+        verifyNoInteractions(userRepository);
+    }
+
+    private static User user(Long id) {
+        return new User(id, "user" + id, LocalDate.of(1990, 1, 1), "France", null, null, 0L);
+    }
+}
@@ -0,0 +1,84 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListUsersUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserProperties userProperties;
+
+    @InjectMocks
+    private ListUsersUseCase listUsersUseCase;
+
+    @BeforeEach
+    void setUp() {
+        UserProperties.Listing listing = new UserProperties.Listing();
+        listing.setDefaultLimit(2);
+        listing.setMaxLimit(5);
+        when(userProperties.getListing()).thenReturn(listing);
+    }
+
+    @Test
+    void execute_shouldReturnCursorOfLastUserWhenMoreUsersExist() {
+        // Arrange: one row beyond the page is read to detect the next page
+        when(userRepository.streamAfter(10L, 3)).thenReturn(Stream.of(user(11L), user(12L), user(13L)));
+        List<User> page = new ArrayList<>();
+
+        // Act
+        Optional<Long> nextCursor = listUsersUseCase.execute(10L, null, page::add);
+
+        // Assert
+        assertEquals(List.of(11L, 12L), page.stream().map(User::id).toList());
+        assertEquals(Optional.of(12L), nextCursor);
+    }
+
+    @Test
+    void execute_shouldReturnEmptyCursorOnLastPage() {
+        // Arrange
+        when(userRepository.streamAfter(0L, 5)).thenReturn(Stream.of(user(1L), user(2L)));
+        List<User> page = new ArrayList<>();
+
+        // Act
+        Optional<Long> nextCursor = listUsersUseCase.execute(null, 4, page::add);
+
+        // Assert
+        assertEquals(2, page.size());
+        assertTrue(nextCursor.isEmpty());
+    }
+
+    @Test
+    void execute_shouldThrowExceptionWhenLimitIsOutOfRange() {
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> listUsersUseCase.execute(null, 6, user -> { }));
+        assertEquals("Limit must be between 1 and 5.", exception.getMessage());
+        assertThrows(ValidationException.class, () -> listUsersUseCase.execute(null, 0, user -> { }));
+        verifyNoInteractions(userRepository);
+    }
+
+    private User user(Long id) {
+        return new User(id, "user" + id, LocalDate.of(2000, 1, 1), "France", null, null);
+    }
+}
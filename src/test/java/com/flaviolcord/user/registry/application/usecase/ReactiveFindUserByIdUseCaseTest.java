@@ -0,0 +1,79 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.application.cache.UserCache;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.ReactiveUserRepository;
+import com.flaviolcord.user.registry.infrastructure.exception.UserNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveFindUserByIdUseCaseTest {
+
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private ReactiveFindUserByIdUseCase findUserByIdUseCase;
+
+    private User validUser;
+
+    @BeforeEach
+    void setUp() {
+        validUser = new User(1L, "john_doe", LocalDate.of(1990, 1, 1), "France", "1234567890", "Male", 0L);
+    }
+
+    @Test
+    void shouldReturnAndCacheUserWhenFound() {
+        // Arrange
+        when(userCache.get(1L)).thenReturn(Optional.empty());
+        when(userRepository.findById(1L)).thenReturn(Mono.just(validUser));
+
+        // Act & Assert
+        StepVerifier.create(findUserByIdUseCase.execute(1L))
+                .expectNext(validUser)
+                .verifyComplete();
+        verify(userCache).put(validUser);
+    }
+
+    @Test
+    void shouldReturnCachedUserWithoutQueryingRepository() {
+        // Arrange
+        when(userCache.get(1L)).thenReturn(Optional.of(validUser));
+
+        // Act & Assert
+        StepVerifier.create(findUserByIdUseCase.execute(1L))
+                .expectNext(validUser)
+                .verifyComplete();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void shouldFailWithUserNotFoundExceptionWhenUserNotFound() {
+        // Arrange
+        when(userCache.get(1L)).thenReturn(Optional.empty());
+        when(userRepository.findById(1L)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(findUserByIdUseCase.execute(1L))
+                .expectErrorMatches(ex -> ex instanceof UserNotFoundException
+                        && ex.getMessage().equals("User not found with ID: 1"))
+                .verify();
+        verify(userCache, never()).put(any());
+    }
+}
@@ -0,0 +1,125 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.application.cache.UserCache;
+import com.flaviolcord.user.registry.application.validator.UserValidator;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.ReactiveUserRepository;
+import com.flaviolcord.user.registry.infrastructure.exception.UserRegistrationException;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveRegisterUserUseCaseTest {
+
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Mock
+    private UserValidator userValidator;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private ReactiveRegisterUserUseCase registerUserUseCase;
+
+    private User newUser;
+    private User savedUser;
+
+    @BeforeEach
+    void setUp() {
+        registerUserUseCase = new ReactiveRegisterUserUseCase(userRepository, userValidator, userCache, transactionalOperator);
+        newUser = new User(null, "validUsername", LocalDate.of(2000, 1, 1), "France", "1234567890", "Male");
+        savedUser = new User(1L, "validUsername", LocalDate.of(2000, 1, 1), "France", "1234567890", "Male", 0L);
+    }
+
+    @Test
+    void shouldRegisterAndCacheUser() {
+        // Arrange
+        runInTransaction();
+        when(userRepository.findByUsername(newUser.username())).thenReturn(Mono.empty());
+        when(userRepository.save(newUser)).thenReturn(Mono.just(savedUser));
+
+        // Act & Assert
+        StepVerifier.create(registerUserUseCase.execute(newUser))
+                .expectNext(savedUser)
+                .verifyComplete();
+        verify(userValidator).validate(newUser);
+        verify(userCache).put(savedUser);
+    }
+
+    @Test
+    void shouldFailWhenUsernameIsTaken() {
+        // Arrange
+        runInTransaction();
+        when(userRepository.findByUsername(newUser.username())).thenReturn(Mono.just(savedUser));
+
+        // Act & Assert
+        StepVerifier.create(registerUserUseCase.execute(newUser))
+                .expectErrorMatches(ex -> ex instanceof UserRegistrationException
+                        && ex.getMessage().equals("Username is already taken"))
+                .verify();
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(userCache);
+    }
+
+    @Test
+    void shouldFailWhenUsernameIsTakenConcurrently() {
+        // Arrange
+        runInTransaction();
+        when(userRepository.findByUsername(newUser.username())).thenReturn(Mono.empty());
+        when(userRepository.save(newUser)).thenReturn(Mono.error(new DataIntegrityViolationException("unique")));
+
+        // Act & Assert
+        StepVerifier.create(registerUserUseCase.execute(newUser))
+                .expectError(UserRegistrationException.class)
+                .verify();
+        verifyNoInteractions(userCache);
+    }
+
+    @Test
+    void shouldFailWithoutQueryingWhenUserIsInvalid() {
+        // Arrange
+        runInTransaction();
+        doThrow(new ValidationException("Only residents of France are allowed to register."))
+                .when(userValidator).validate(newUser);
+
+        // Act & Assert
+        StepVerifier.create(registerUserUseCase.execute(newUser))
+                .expectError(ValidationException.class)
+                .verify();
+        verifyNoInteractions(userRepository, userCache);
+    }
+
+    @Test
+    void shouldNotRunBeforeSubscription() {
+        // Arrange
+        runInTransaction();
+
+        // Act
+        registerUserUseCase.execute(newUser);
+
+        // Assert
+        verifyNoInteractions(userValidator, userRepository, userCache);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runInTransaction() {
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+}
@@ -0,0 +1,172 @@
+package com.flaviolcord.user.registry.application.usecase;
+
+import com.flaviolcord.user.registry.application.cache.UserCache;
+import com.flaviolcord.user.registry.application.validator.UserValidator;
+import com.flaviolcord.user.registry.domain.model.RegistrationResult;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegisterUserBatchUseCaseTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserValidator userValidator;
+
+    @Mock
+    private UserProperties userProperties;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private RegisterUserBatchUseCase registerUserBatchUseCase;
+
+    @BeforeEach
+    void setUp() {
+        UserProperties.Batch batch = new UserProperties.Batch();
+        batch.setMaxSize(10);
+        batch.setChunkSize(2);
+        when(userProperties.getBatch()).thenReturn(batch);
+    }
+
+    @Test
+    void execute_shouldSaveAllValidUsersInOneCall() {
+        // Arrange
+        User alice = user(null, "alice");
+        User bob = user(null, "bob");
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of());
+        when(userRepository.saveAll(List.of(alice, bob))).thenReturn(List.of(user(1L, "alice"), user(2L, "bob")));
+
+        // Act
+        List<RegistrationResult> results = registerUserBatchUseCase.execute(List.of(alice, bob));
+
+        // Assert
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(1L, results.get(0).user().id());
+        assertEquals(2L, results.get(1).user().id());
+        verify(userRepository).findExistingUsernames(Set.of("alice", "bob"));
+        verify(userRepository, never()).findByUsername(any());
+        verify(userRepository, never()).save(any());
+        verify(userCache).put(user(1L, "alice"));
+        verify(userCache).put(user(2L, "bob"));
+    }
+
+    @Test
+    void execute_shouldCommitEachChunkInItsOwnTransaction() {
+        // Arrange
+        User alice = user(null, "alice");
+        User bob = user(null, "bob");
+        User carol = user(null, "carol");
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of());
+        when(userRepository.saveAll(List.of(alice, bob))).thenReturn(List.of(user(1L, "alice"), user(2L, "bob")));
+        when(userRepository.saveAll(List.of(carol))).thenReturn(List.of(user(3L, "carol")));
+
+        // Act
+        List<RegistrationResult> results = registerUserBatchUseCase.execute(List.of(alice, bob, carol));
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), results.stream().map(result -> result.user().id()).toList());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void execute_shouldRetryChunkOneByOneWhenUsernameIsTakenConcurrently() {
+        // Arrange
+        User alice = user(null, "alice");
+        User bob = user(null, "bob");
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of());
+        when(userRepository.saveAll(List.of(alice, bob)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate username: bob"));
+        when(userRepository.save(alice)).thenReturn(user(1L, "alice"));
+        when(userRepository.save(bob)).thenThrow(new DataIntegrityViolationException("Duplicate username: bob"));
+
+        // Act
+        List<RegistrationResult> results = registerUserBatchUseCase.execute(List.of(alice, bob));
+
+        // Assert
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(1L, results.get(0).user().id());
+        assertEquals(RegisterUserBatchUseCase.USERNAME_TAKEN, results.get(1).error());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(userCache).put(user(1L, "alice"));
+        verifyNoMoreInteractions(userCache);
+    }
+
+    @Test
+    void execute_shouldRejectInvalidTakenAndDuplicatedUsersIndividually() {
+        // Arrange
+        User invalid = user(null, "invalid");
+        User taken = user(null, "taken");
+        User valid = user(null, "valid");
+        User duplicate = user(null, "valid");
+        doThrow(new ValidationException("Only residents of France are allowed to register."))
+                .when(userValidator).validate(invalid);
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("taken"));
+        when(userRepository.saveAll(List.of(valid))).thenReturn(List.of(user(7L, "valid")));
+
+        // Act
+        List<RegistrationResult> results = registerUserBatchUseCase.execute(List.of(invalid, taken, valid, duplicate));
+
+        // Assert
+        assertEquals("Only residents of France are allowed to register.", results.get(0).error());
+        assertEquals(RegisterUserBatchUseCase.USERNAME_TAKEN, results.get(1).error());
+        assertTrue(results.get(2).isSuccess());
+        assertEquals(7L, results.get(2).user().id());
+        assertEquals(RegisterUserBatchUseCase.USERNAME_DUPLICATED, results.get(3).error());
+    }
+
+    @Test
+    void execute_shouldNotSaveWhenEveryUserIsRejected() {
+        // Arrange
+        User taken = user(null, "taken");
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("taken"));
+
+        // Act
+        List<RegistrationResult> results = registerUserBatchUseCase.execute(List.of(taken));
+
+        // Assert
+        assertFalse(results.get(0).isSuccess());
+        verify(userRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void execute_shouldThrowExceptionWhenBatchIsTooLarge() {
+        // Arrange
+        List<User> users = Collections.nCopies(11, user(null, "user"));
+
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> registerUserBatchUseCase.execute(users));
+        assertEquals("A batch cannot contain more than 10 users.", exception.getMessage());
+        verifyNoInteractions(userRepository, userValidator);
+    }
+
+    private User user(Long id, String username) {
+        return new User(id, username, LocalDate.of(2000, 1, 1), "France", "1234567890", "Male");
+    }
+}
@@ -1,5 +1,6 @@
 package com.flaviolcord.user.registry.application.usecase;
 
+import com.flaviolcord.user.registry.application.cache.UserCache;
 import com.flaviolcord.user.registry.application.validator.UserValidator;
 import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.domain.repository.UserRepository;
@@ -12,7 +13,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +26,9 @@ class RegisterUserUseCaseTest {
     @Mock
     private UserValidator userValidator;
 
+    @Mock
+    private UserCache userCache;
+
     @InjectMocks
     private RegisterUserUseCase registerUserUseCase;
 
@@ -55,22 +58,21 @@ class RegisterUserUseCaseTest {
     @Test
     void execute_shouldThrowExceptionIfUsernameAlreadyTaken() {
         // Arrange
-        when(userRepository.findByUsername(validUser.username()))
-                .thenReturn(Optional.of(validUser));
+        when(userRepository.existsByUsername(validUser.username())).thenReturn(true);
 
         // Act & Assert
         assertThrows(UserRegistrationException.class, () -> registerUserUseCase.execute(validUser));
 
-        verify(userRepository).findByUsername(validUser.username());
+        verify(userRepository).existsByUsername(validUser.username());
         verify(userValidator).validate(validUser);
         verify(userRepository, never()).save(any());
+        verify(userCache, never()).put(any());
     }
 
     @Test
     void execute_shouldSaveUserIfValidAndUsernameNotTaken() {
         // Arrange
-        when(userRepository.findByUsername(validUser.username()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsByUsername(validUser.username())).thenReturn(false);
         when(userRepository.save(validUser)).thenReturn(validUser);
 
         // Act
@@ -79,7 +81,8 @@ class RegisterUserUseCaseTest {
         // Assert
         assertEquals(validUser, savedUser);
         verify(userValidator).validate(validUser);
-        verify(userRepository).findByUsername(validUser.username());
+        verify(userRepository).existsByUsername(validUser.username());
         verify(userRepository).save(validUser);
+        verify(userCache).put(validUser);
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.flaviolcord.user.registry.application.validator;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * The original implementation of {@link UserValidator}: one allowed country and one minimum age, with the age
+ * computed by {@link Period#between} on every call.
+ * <p>
+ * Kept only as a reference: the tests check that {@link UserValidator} accepts and rejects exactly the same
+ * birthdates, and {@code UserValidatorBenchmark} measures it as the baseline.
+ * </p>
+ */
+public final class LegacyUserValidator {
+
+    private final String allowedCountry;
+    private final int minAge;
+
+    /**
+     * Creates the validator.
+     *
+     * @param allowedCountry the only allowed country
+     * @param minAge         the minimum age
+     */
+    public LegacyUserValidator(String allowedCountry, int minAge) {
+        this.allowedCountry = allowedCountry;
+        this.minAge = minAge;
+    }
+
+    /**
+     * Validates a user against the rules, as of today.
+     *
+     * @param user the user to validate
+     * @throws ValidationException if the user is too young or lives in another country
+     */
+    public void validate(User user) {
+        validate(user, LocalDate.now());
+    }
+
+    /**
+     * Validates a user against the rules, as of a given day.
+     *
+     * @param user  the user to validate
+     * @param today the day the age is computed at
+     * @throws ValidationException if the user is too young or lives in another country
+     */
+    public void validate(User user, LocalDate today) {
+        int userAge = Period.between(user.birthdate(), today).getYears();
+        if (userAge < minAge) {
+            throw new ValidationException("The user must be at least " + minAge + " years old.");
+        }
+        if (!allowedCountry.equalsIgnoreCase(user.countryOfResidence())) {
+            throw new ValidationException("Only residents of " + allowedCountry + " are allowed to register.");
+        }
+    }
+}
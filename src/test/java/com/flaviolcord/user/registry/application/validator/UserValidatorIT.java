@@ -10,6 +10,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -197,4 +198,30 @@ class UserValidatorIT {
         );
         assertTrue(exception.getMessage().contains("must be at least"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void reload_NewRules_ShouldApplyWithoutRestart() {
+        // Arrange
+        User germanUser = new User(
+                null,
+                "testuser",
+                LocalDate.now().minusYears(16),
+                "Germany",
+                "1234567890",
+                "Male"
+        );
+        Map<String, Integer> configuredRules = UserValidator.configuredRules(userProperties);
+
+        try {
+            // Act
+            userValidator.reload(Map.of("France", 18, "Germany", 16));
+
+            // Assert
+            assertDoesNotThrow(() -> userValidator.validate(germanUser));
+            assertDoesNotThrow(() -> userValidator.validate(validUser));
+        } finally {
+            userValidator.reload(configuredRules);
+        }
+        assertThrows(ValidationException.class, () -> userValidator.validate(germanUser));
+    }
+}
@@ -1,41 +1,43 @@
 package com.flaviolcord.user.registry.application.validator;
 
-import static org.junit.jupiter.api.Assertions.*;
-
 import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
 import com.flaviolcord.user.registry.infrastructure.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(MockitoExtension.class)
 class UserValidatorTest {
 
-    @Mock
-    private UserProperties userProperties;
+    private static final String ALLOWED_COUNTRY = "France";
+    private static final int MIN_AGE = 18;
 
-    @InjectMocks
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-02-28T12:00:00Z"));
+    private UserProperties userProperties;
     private UserValidator validator;
 
-    private final String ALLOWED_COUNTRY = "France";
-    private final int MIN_AGE = 18;
+    @BeforeEach
+    void setUp() {
+        userProperties = new UserProperties();
+        userProperties.setAllowedCountry(ALLOWED_COUNTRY);
+        userProperties.setMinAge(MIN_AGE);
+        validator = new UserValidator(userProperties, clock);
+    }
 
     @Test
     void validate_shouldPassWhenUserIsValid() {
         // Arrange
-        when(userProperties.getMinAge()).thenReturn(MIN_AGE);
-        when(userProperties.getAllowedCountry()).thenReturn(ALLOWED_COUNTRY);
-
-        User validUser = new User(1L, "flavio", LocalDate.now().minusYears(20), ALLOWED_COUNTRY, "1234567890", "Male");
+        User validUser = user(today().minusYears(20), ALLOWED_COUNTRY);
 
         // Act & Assert
         assertDoesNotThrow(() -> validator.validate(validUser));
@@ -44,9 +46,7 @@ class UserValidatorTest {
     @Test
     void validate_shouldThrowExceptionWhenUserIsTooYoung() {
         // Arrange
-        when(userProperties.getMinAge()).thenReturn(MIN_AGE);
-
-        User youngUser = new User(1L, "flavio", LocalDate.now().minusYears(15), ALLOWED_COUNTRY, "1234567890", "Male");
+        User youngUser = user(today().minusYears(15), ALLOWED_COUNTRY);
 
         // Act & Assert
         ValidationException exception = assertThrows(ValidationException.class, () -> validator.validate(youngUser));
@@ -56,12 +56,152 @@ class UserValidatorTest {
     @Test
     void validate_shouldThrowExceptionWhenUserIsFromInvalidCountry() {
         // Arrange
-        when(userProperties.getAllowedCountry()).thenReturn(ALLOWED_COUNTRY);
-
-        User invalidCountryUser = new User(1L, "flavio", LocalDate.now().minusYears(20), "Germany", "1234567890", "Male");
+        User invalidCountryUser = user(today().minusYears(20), "Germany");
 
         // Act & Assert
         ValidationException exception = assertThrows(ValidationException.class, () -> validator.validate(invalidCountryUser));
         assertEquals("Only residents of " + ALLOWED_COUNTRY + " are allowed to register.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void validate_shouldApplyMinimumAgeOfEachCountryIgnoringCase() {
+        // Arrange
+        userProperties.getValidation().setMinAges(Map.of("United States", 21, "Germany", 16));
+        validator = new UserValidator(userProperties, clock);
+
+        // Act & Assert
+        assertDoesNotThrow(() -> validator.validate(user(today().minusYears(16), "GERMANY")));
+        assertDoesNotThrow(() -> validator.validate(user(today().minusYears(21), "united states")));
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> validator.validate(user(today().minusYears(20), "United States")));
+        assertEquals("The user must be at least 21 years old.", exception.getMessage());
+        assertThrows(ValidationException.class, () -> validator.validate(user(today().minusYears(17), "france")));
+        assertThrows(ValidationException.class, () -> validator.validate(user(today().minusYears(30), null)));
+        assertEquals(Map.of("France", 18, "United States", 21, "Germany", 16), validator.currentMinAges());
+    }
+
+    @Test
+    void validate_shouldAgreeWithPeriodBetweenAroundLeapDays() {
+        // Arrange
+        LegacyUserValidator legacy = new LegacyUserValidator(ALLOWED_COUNTRY, MIN_AGE);
+        LocalDate firstDay = LocalDate.of(2024, 2, 20);
+
+        for (int day = 0; day < 4 * 366; day++) {
+            LocalDate today = firstDay.plusDays(day);
+            clock.set(today.atTime(23, 59).toInstant(ZoneOffset.UTC));
+            for (int offset = -3; offset <= 3; offset++) {
+                User user = user(today.minusYears(MIN_AGE).plusDays(offset), ALLOWED_COUNTRY);
+
+                // Act
+                boolean legacyValid = isValid(() -> legacy.validate(user, today));
+                boolean valid = isValid(() -> validator.validate(user));
+
+                // Assert
+                assertEquals(legacyValid, valid, "Born " + user.birthdate() + ", validated on " + today);
+            }
+        }
+    }
+
+    @Test
+    void validate_shouldMoveCutoffAtMidnight() {
+        // Arrange
+        User turningEighteenTomorrow = user(today().minusYears(MIN_AGE).plusDays(1), ALLOWED_COUNTRY);
+        assertThrows(ValidationException.class, () -> validator.validate(turningEighteenTomorrow));
+
+        // Act
+        clock.set(Instant.parse("2026-03-01T00:00:00Z"));
+
+        // Assert
+        assertDoesNotThrow(() -> validator.validate(turningEighteenTomorrow));
+    }
+
+    @Test
+    void reload_shouldReplaceRulesAtOnceAndKeepThemWhenInvalid() {
+        // Arrange
+        Map<String, Integer> rules = new LinkedHashMap<>();
+        rules.put("Spain", 18);
+        rules.put("Italy", 16);
+
+        // Act
+        validator.reload(rules);
+
+        // Assert
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> validator.validate(user(today().minusYears(30), ALLOWED_COUNTRY)));
+        assertEquals("Only residents of Spain, Italy are allowed to register.", exception.getMessage());
+        assertDoesNotThrow(() -> validator.validate(user(today().minusYears(16), "Italy")));
+
+        assertThrows(IllegalArgumentException.class, () -> validator.reload(Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> validator.reload(Map.of("Spain", 18, "SPAIN", 16)));
+        assertThrows(IllegalArgumentException.class, () -> validator.reload(Map.of("Spain", -1)));
+        assertThrows(IllegalArgumentException.class, () -> validator.reload(Map.of(" ", 18)));
+        assertEquals(rules, validator.currentMinAges());
+    }
+
+    @Test
+    void validate_withManyCountries_shouldFindEveryCountry() {
+        // Arrange
+        Map<String, Integer> rules = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            rules.put("Country " + i, i % 10 + 15);
+        }
+        validator.reload(rules);
+
+        // Act & Assert
+        for (Map.Entry<String, Integer> rule : rules.entrySet()) {
+            User user = user(today().minusYears(rule.getValue()), rule.getKey().toUpperCase());
+            assertDoesNotThrow(() -> validator.validate(user));
+            User tooYoung = user(today().minusYears(rule.getValue()).plusDays(1), rule.getKey());
+            assertThrows(ValidationException.class, () -> validator.validate(tooYoung));
+        }
+        assertThrows(ValidationException.class, () -> validator.validate(user(today().minusYears(30), "Country 200")));
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    private static boolean isValid(Runnable validation) {
+        try {
+            validation.run();
+            return true;
+        } catch (ValidationException ex) {
+            return false;
+        }
+    }
+
+    private static User user(LocalDate birthdate, String country) {
+        return new User(1L, "flavio", birthdate, country, "1234567890", "Male");
+    }
+
+    /**
+     * A UTC clock whose instant can be moved.
+     */
+    private static final class MutableClock extends Clock {
+
+        private final AtomicReference<Instant> instant;
+
+        MutableClock(Instant instant) {
+            this.instant = new AtomicReference<>(instant);
+        }
+
+        void set(Instant instant) {
+            this.instant.set(instant);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant.get();
+        }
+    }
+}
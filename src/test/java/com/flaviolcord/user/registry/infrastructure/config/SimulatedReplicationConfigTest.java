@@ -0,0 +1,36 @@
+package com.flaviolcord.user.registry.infrastructure.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatedReplicationConfigTest {
+
+    @Test
+    void checkUrls_h2PrimaryAndInMemoryReplica_shouldAccept() {
+        // Act & Assert
+        assertDoesNotThrow(() -> SimulatedReplicationConfig.checkUrls(
+                "jdbc:h2:file:./data/users", "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1"));
+    }
+
+    @Test
+    void checkUrls_fileReplica_shouldRefuse() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> SimulatedReplicationConfig.checkUrls(
+                "jdbc:h2:mem:users", "jdbc:h2:file:./data/replica"));
+    }
+
+    @Test
+    void checkUrls_realReplica_shouldRefuse() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> SimulatedReplicationConfig.checkUrls(
+                "jdbc:h2:mem:users", "jdbc:mysql://replica:3306/users"));
+    }
+
+    @Test
+    void checkUrls_nonH2Primary_shouldRefuse() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> SimulatedReplicationConfig.checkUrls(
+                "jdbc:mysql://primary:3306/users", "jdbc:h2:mem:replica"));
+    }
+}
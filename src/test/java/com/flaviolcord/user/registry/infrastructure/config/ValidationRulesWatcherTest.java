@@ -0,0 +1,110 @@
+package com.flaviolcord.user.registry.infrastructure.config;
+
+import com.flaviolcord.user.registry.application.validator.UserValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationRulesWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    private Path rulesFile;
+    private UserProperties userProperties;
+    private UserValidator userValidator;
+    private ValidationRulesWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        rulesFile = directory.resolve("validation-rules.properties");
+        userProperties = new UserProperties();
+        userProperties.setAllowedCountry("France");
+        userProperties.setMinAge(18);
+        userProperties.getValidation().setRulesFile(rulesFile);
+        userProperties.getValidation().setReloadInterval(Duration.ofHours(1));
+        userValidator = new UserValidator(userProperties);
+        watcher = new ValidationRulesWatcher(userValidator, userProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        watcher.stop();
+    }
+
+    @Test
+    void start_shouldLoadRulesFileAndReloadItWhenChanged() throws IOException {
+        write("# Allowed countries\nFrance = 18\n\nUnited States=21\n", 1);
+
+        watcher.start();
+
+        assertEquals(Map.of("France", 18, "United States", 21), userValidator.currentMinAges());
+        assertFalse(watcher.reloadIfChanged());
+
+        write("France=18\nGermany=16\n", 2);
+
+        assertTrue(watcher.reloadIfChanged());
+        assertEquals(Map.of("France", 18, "Germany", 16), userValidator.currentMinAges());
+    }
+
+    @Test
+    void reloadIfChanged_whenFileInvalidOrMissing_shouldKeepCurrentRules() throws IOException {
+        write("France=18\n", 1);
+        watcher.start();
+
+        write("France=eighteen\n", 2);
+        assertFalse(watcher.reloadIfChanged());
+        Files.delete(rulesFile);
+        assertFalse(watcher.reloadIfChanged());
+
+        assertEquals(Map.of("France", 18), userValidator.currentMinAges());
+    }
+
+    @Test
+    void start_whenFileInvalidOrMissing_shouldFail() throws IOException {
+        assertThrows(UncheckedIOException.class, watcher::start);
+
+        write("", 1);
+        assertThrows(IllegalArgumentException.class, watcher::start);
+    }
+
+    @Test
+    void start_withoutRulesFile_shouldKeepConfiguredRules() {
+        userProperties.getValidation().setRulesFile(null);
+        watcher = new ValidationRulesWatcher(userValidator, userProperties);
+
+        watcher.start();
+
+        assertEquals(Map.of("France", 18), userValidator.currentMinAges());
+    }
+
+    @Test
+    void parse_shouldRejectMalformedLines() {
+        assertEquals(Map.of("Côte d'Ivoire", 18), ValidationRulesWatcher.parse(List.of(" Côte d'Ivoire = 18 ", "#x=1")));
+        assertThrows(IllegalArgumentException.class, () -> ValidationRulesWatcher.parse(List.of("France")));
+        assertThrows(IllegalArgumentException.class, () -> ValidationRulesWatcher.parse(List.of("France=")));
+        assertThrows(IllegalArgumentException.class, () -> ValidationRulesWatcher.parse(List.of("France=18", "France=21")));
+    }
+
+    /**
+     * Writes the rules file with a distinct modification time, as file systems with a coarse timestamp
+     * resolution would not tell apart two writes within the same second.
+     */
+    private void write(String content, int version) throws IOException {
+        Files.writeString(rulesFile, content);
+        Files.setLastModifiedTime(rulesFile, FileTime.from(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(version)));
+    }
+}
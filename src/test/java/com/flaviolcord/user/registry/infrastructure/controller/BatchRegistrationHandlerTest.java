@@ -0,0 +1,78 @@
+package com.flaviolcord.user.registry.infrastructure.controller;
+
+import com.flaviolcord.user.registry.application.service.UserService;
+import com.flaviolcord.user.registry.domain.model.RegistrationResult;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.dto.BatchRegistrationItemDTO;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchRegistrationHandlerTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserMapper userMapper;
+
+    private BatchRegistrationHandler batchRegistrationHandler;
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        batchRegistrationHandler = new BatchRegistrationHandler(userService, userMapper, validator);
+    }
+
+    @Test
+    void register_ShouldMergeResultsBackIntoInputOrder() {
+        // Arrange
+        UserDTO validDto = createUserDTO("alice");
+        UserDTO takenDto = createUserDTO("bob");
+        UserDTO invalidDto = createUserDTO("x"); // Username too short
+        User alice = new User(null, "alice", validDto.getBirthdate(), "France", null, null);
+        User bob = new User(null, "bob", takenDto.getBirthdate(), "France", null, null);
+
+        when(userMapper.toDomainModel(validDto)).thenReturn(alice);
+        when(userMapper.toDomainModel(takenDto)).thenReturn(bob);
+        when(userService.registerUsers(List.of(alice, bob))).thenReturn(List.of(
+                RegistrationResult.success(new User(1L, "alice", alice.birthdate(), "France", null, null)),
+                RegistrationResult.failure("Username is already taken")));
+
+        // Act
+        List<BatchRegistrationItemDTO> items = batchRegistrationHandler.register(
+                Arrays.asList(validDto, invalidDto, takenDto, null));
+
+        // Assert
+        assertEquals(4, items.size());
+        assertEquals(BatchRegistrationItemDTO.CREATED, items.get(0).getStatus());
+        assertEquals(1L, items.get(0).getId());
+        assertEquals("username: Username must be between 3 and 50 characters", items.get(1).getError());
+        assertEquals(2, items.get(2).getIndex());
+        assertEquals("Username is already taken", items.get(2).getError());
+        assertEquals("Entry is required", items.get(3).getError());
+        verify(userMapper, never()).toDomainModel(invalidDto);
+    }
+
+    private UserDTO createUserDTO(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setBirthdate(LocalDate.of(1990, 1, 1));
+        userDTO.setCountryOfResidence("France");
+        return userDTO;
+    }
+}
@@ -0,0 +1,199 @@
+package com.flaviolcord.user.registry.infrastructure.controller;
+
+import com.flaviolcord.user.registry.UserRegistryApplication;
+import com.flaviolcord.user.registry.application.service.UserService;
+import com.flaviolcord.user.registry.domain.repository.ReactiveUserRepository;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+        classes = UserRegistryApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive"
+)
+@ActiveProfiles({"test", "reactive"})
+class ReactiveUserHandlerIT {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Test
+    void context_ShouldRunOnNettyWithoutTheServletStack() {
+        // Assert
+        ReactiveWebServerApplicationContext webContext = (ReactiveWebServerApplicationContext) applicationContext;
+        assertInstanceOf(NettyWebServer.class, webContext.getWebServer());
+        assertTrue(applicationContext.getBeansOfType(UserService.class).isEmpty());
+        assertTrue(applicationContext.getBeansOfType(UserRepository.class).isEmpty());
+    }
+
+    @Test
+    void registerUser_WithValidData_ShouldReturnCreatedUser() {
+        // Arrange
+        UserDTO userDTO = createValidUserDTO();
+
+        // Act
+        UserDTO created = webTestClient.post().uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserDTO.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertNotNull(created);
+        assertNotNull(created.getId());
+        assertEquals(userDTO.getUsername(), created.getUsername());
+        assertEquals(userDTO.getBirthdate(), created.getBirthdate());
+        assertEquals(userDTO.getUsername(), userRepository.findById(created.getId()).block().username());
+    }
+
+    @Test
+    void registerUser_WithTakenUsername_ShouldReturnRegistrationError() {
+        // Arrange
+        UserDTO userDTO = createValidUserDTO();
+        register(userDTO);
+
+        // Act & Assert
+        webTestClient.post().uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Registration error")
+                .jsonPath("$.message").isEqualTo("Username is already taken");
+    }
+
+    @Test
+    void registerUser_WithDisallowedCountry_ShouldReturnValidationError() {
+        // Arrange
+        UserDTO userDTO = createValidUserDTO();
+        userDTO.setCountryOfResidence("Germany");
+
+        // Act & Assert
+        webTestClient.post().uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.error").isEqualTo("Validation error");
+    }
+
+    @Test
+    void registerUser_WithoutUsername_ShouldReturnFieldError() {
+        // Arrange
+        UserDTO userDTO = createValidUserDTO();
+        userDTO.setUsername(null);
+
+        // Act & Assert
+        webTestClient.post().uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDTO)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation error")
+                .jsonPath("$.message").isEqualTo("username: Username is required");
+    }
+
+    @Test
+    void registerUser_WithIdempotencyKey_ShouldBeRejected() {
+        // Act & Assert
+        webTestClient.post().uri("/api/v1/users")
+                .header(UserController.IDEMPOTENCY_KEY, "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createValidUserDTO())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation error");
+    }
+
+    @Test
+    void getUserById_ShouldReturnUserWithETag() {
+        // Arrange
+        UserDTO created = register(createValidUserDTO());
+        String eTag = UserController.eTagOf(created.getId(), 0L);
+
+        // Act & Assert
+        webTestClient.get().uri("/api/v1/users/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(created.getId())
+                .jsonPath("$.username").isEqualTo(created.getUsername())
+                .jsonPath("$.country_of_residence").isEqualTo("France");
+    }
+
+    @Test
+    void getUserById_WithMatchingETag_ShouldReturnNotModified() {
+        // Arrange
+        UserDTO created = register(createValidUserDTO());
+
+        // Act & Assert
+        webTestClient.get().uri("/api/v1/users/{id}", created.getId())
+                .header(HttpHeaders.IF_NONE_MATCH, UserController.eTagOf(created.getId(), 0L))
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void getUserById_WhenUserDoesNotExist_ShouldReturnNotFound() {
+        // Act & Assert
+        webTestClient.get().uri("/api/v1/users/{id}", 42L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("User not found")
+                .jsonPath("$.message").isEqualTo("User not found with ID: 42");
+    }
+
+    private UserDTO register(UserDTO userDTO) {
+        return webTestClient.post().uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDTO)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private UserDTO createValidUserDTO() {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("reactive-" + UUID.randomUUID().toString().substring(0, 8));
+        userDTO.setBirthdate(LocalDate.of(1990, 1, 1));
+        userDTO.setCountryOfResidence("France");
+        userDTO.setPhoneNumber("1234567890");
+        userDTO.setGender("Male");
+        return userDTO;
+    }
+}
@@ -5,18 +5,23 @@ import com.flaviolcord.user.registry.UserRegistryApplication;
 import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.domain.repository.UserRepository;
 import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.json.UserJsonCache;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +44,9 @@ class UserControllerIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserJsonCache userJsonCache;
+
     @Test
     void registerUser_WithValidData_ShouldReturnCreatedUser() throws Exception {
         // Arrange
@@ -119,6 +127,53 @@ class UserControllerIT {
                 .andExpect(jsonPath("$.message", is("Username is already taken")));
     }
 
+    @Test
+    void registerUser_RetriedWithIdempotencyKey_ShouldReplayTheCreatedUser() throws Exception {
+        // Arrange
+        UserDTO userDTO = createValidUserDTO();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        // First registration
+        String created = mockMvc.perform(post("/api/v1/users")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Act & Assert - Retry with the same key
+        mockMvc.perform(post("/api/v1/users")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().json(created, true));
+    }
+
+    @Test
+    void registerUser_WithIdempotencyKeyReusedForAnotherUser_ShouldReturnUnprocessableEntity() throws Exception {
+        // Arrange
+        UserDTO userDTO = createValidUserDTO();
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/api/v1/users")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isCreated());
+
+        // Act & Assert
+        userDTO.setUsername("otheruser");
+        mockMvc.perform(post("/api/v1/users")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error", is("Idempotency error")));
+    }
+
     @Test
     void getUserById_ExistingUser_ShouldReturnUser() throws Exception {
         // Arrange
@@ -127,13 +182,94 @@ class UserControllerIT {
         // Act & Assert
         mockMvc.perform(get("/api/v1/users/{id}", savedUser.id()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id", is(savedUser.id().intValue())))
+                .andExpect(jsonPath("$.id", is(savedUser.id())))
                 .andExpect(jsonPath("$.username", is(savedUser.username())))
                 .andExpect(jsonPath("$.country_of_residence", is(savedUser.countryOfResidence())))
                 .andExpect(jsonPath("$.phone_number", is(savedUser.phoneNumber())))
                 .andExpect(jsonPath("$.gender", is(savedUser.gender())));
     }
 
+    @Test
+    void getUserById_Repeated_ShouldWriteTheCachedBody() throws Exception {
+        // Arrange
+        User savedUser = userRepository.save(createValidUser());
+        String firstBody = mockMvc.perform(get("/api/v1/users/{id}", savedUser.id()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long hits = userJsonCache.stats().hitCount();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users/{id}", savedUser.id()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(firstBody));
+        assertEquals(hits + 1, userJsonCache.stats().hitCount());
+    }
+
+    @Test
+    void getUserById_WithCurrentETag_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        User savedUser = userRepository.save(createValidUser());
+        String eTag = mockMvc.perform(get("/api/v1/users/{id}", savedUser.id()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + savedUser.id() + "-0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users/{id}", savedUser.id()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/users/{id}", savedUser.id()).header(HttpHeaders.IF_NONE_MATCH, "\"0-0\", W/" + eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getUserById_WithIfNoneMatchForMissingUser_ShouldReturnNotFound() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users/{id}", 999L).header(HttpHeaders.IF_NONE_MATCH, "\"999-0\""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getUsersByIds_ShouldReturnUsersInRequestOrderAndReportMissingIds() throws Exception {
+        // Arrange
+        User first = userRepository.save(createValidUser());
+        User second = userRepository.save(new User(null, "otheruser", LocalDate.of(1985, 5, 5), "France", null, null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users").param("ids", second.id() + ",999," + first.id()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()", is(2)))
+                .andExpect(jsonPath("$.users[0].username", is("otheruser")))
+                .andExpect(jsonPath("$.users[1].username", is(first.username())))
+                .andExpect(jsonPath("$.missing_ids[0]", is(999)));
+    }
+
+    @Test
+    void lookupUsers_WithIdsInBody_ShouldReturnUsersInRequestOrder() throws Exception {
+        // Arrange
+        User saved = userRepository.save(createValidUser());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[998, " + saved.id() + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].id", is(saved.id())))
+                .andExpect(jsonPath("$.missing_ids[0]", is(998)));
+    }
+
+    @Test
+    void lookupUsers_WithoutIds_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/users/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Between 1 and 1000 IDs must be requested.")));
+    }
+
     @Test
     void getUserById_NonExistingUser_ShouldReturnNotFound() throws Exception {
         // Act & Assert
@@ -143,6 +279,40 @@ class UserControllerIT {
                 .andExpect(jsonPath("$.message", is("User not found with ID: 999")));
     }
 
+    @Test
+    void registerUsers_WithMixedEntries_ShouldCreateValidOnesAndReportRejections() throws Exception {
+        // Arrange
+        userRepository.save(createValidUser()); // "testuser" is already taken
+
+        UserDTO valid = createValidUserDTO();
+        valid.setUsername("batchuser");
+
+        UserDTO taken = createValidUserDTO();
+
+        UserDTO wrongCountry = createValidUserDTO();
+        wrongCountry.setUsername("brazilian");
+        wrongCountry.setCountryOfResidence("Brazil");
+
+        UserDTO missingFields = new UserDTO();
+        missingFields.setUsername("incomplete");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, taken, wrongCountry, missingFields))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.rejected", is(3)))
+                .andExpect(jsonPath("$.results[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[0].id").isNumber())
+                .andExpect(jsonPath("$.results[1].status", is("REJECTED")))
+                .andExpect(jsonPath("$.results[1].error", is("Username is already taken")))
+                .andExpect(jsonPath("$.results[2].error", is("Only residents of France are allowed to register.")))
+                .andExpect(jsonPath("$.results[3].index", is(3)))
+                .andExpect(jsonPath("$.results[3].error", is(
+                        "birthdate: Birthdate is required, countryOfResidence: Country of residence is required")));
+    }
+
     private UserDTO createValidUserDTO() {
         UserDTO userDTO = new UserDTO();
         userDTO.setUsername("testuser");
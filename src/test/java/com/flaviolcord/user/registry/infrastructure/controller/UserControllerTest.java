@@ -1,9 +1,13 @@
 package com.flaviolcord.user.registry.infrastructure.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flaviolcord.user.registry.application.cache.IdempotencyCache;
+import com.flaviolcord.user.registry.domain.model.RegistrationStatus;
 import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.application.service.UserService;
+import com.flaviolcord.user.registry.infrastructure.dto.BatchRegistrationItemDTO;
 import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.json.UserJsonCache;
 import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
 import com.flaviolcord.user.registry.infrastructure.exception.UserNotFoundException;
 import com.flaviolcord.user.registry.infrastructure.exception.GlobalExceptionHandler;
@@ -13,13 +17,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -36,6 +48,15 @@ class UserControllerTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private BatchRegistrationHandler batchRegistrationHandler;
+
+    @Mock
+    private IdempotencyCache idempotencyCache;
+
+    @Mock
+    private UserJsonCache userJsonCache;
+
     @InjectMocks
     private UserController userController;
 
@@ -103,6 +124,80 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.gender").value("Male"));
     }
 
+    @Test
+    void registerUser_ReplayedIdempotencyKey_ShouldReturnStoredUserWithoutRegistering() throws Exception {
+        // Arrange
+        UserDTO inputDto = new UserDTO();
+        inputDto.setUsername("testUser");
+        inputDto.setBirthdate(LocalDate.of(1990, 1, 1));
+        inputDto.setCountryOfResidence("France");
+
+        User domainUser = new User(null, "testUser", LocalDate.of(1990, 1, 1), "France", null, null);
+        User registeredUser = new User(1L, "testUser", LocalDate.of(1990, 1, 1), "France", null, null, 0L);
+        UserDTO responseDto = new UserDTO();
+        responseDto.setId(1L);
+        responseDto.setUsername("testUser");
+
+        when(userMapper.toDomainModel(any(UserDTO.class))).thenReturn(domainUser);
+        when(idempotencyCache.register(eq("key-1"), eq(domainUser), any()))
+                .thenReturn(new IdempotencyCache.Outcome(registeredUser, true));
+        when(userMapper.toDTO(registeredUser)).thenReturn(responseDto);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/users")
+                        .header(UserController.IDEMPOTENCY_KEY, "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(inputDto)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(UserController.IDEMPOTENT_REPLAYED, "true"))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.username").value("testUser"));
+
+        verify(userService, never()).registerUser(any());
+    }
+
+    @Test
+    void submitUser_ShouldReturnAcceptedWithStatusLocation() throws Exception {
+        // Arrange
+        UserDTO inputDto = new UserDTO();
+        inputDto.setUsername("testUser");
+        inputDto.setBirthdate(LocalDate.of(1990, 1, 1));
+        inputDto.setCountryOfResidence("France");
+        UUID registrationId = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+        when(userMapper.toDomainModel(any(UserDTO.class)))
+                .thenReturn(new User(null, "testUser", LocalDate.of(1990, 1, 1), "France", null, null));
+        when(userService.submitRegistration(any(User.class))).thenReturn(registrationId);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/users").param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(inputDto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION,
+                        "http://localhost/api/v1/users/registrations/" + registrationId))
+                .andExpect(jsonPath("$.registration_id").value(registrationId.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.user_id").doesNotExist());
+
+        verify(userService, never()).registerUser(any());
+    }
+
+    @Test
+    void getRegistrationStatus_ShouldReturnCurrentStatus() throws Exception {
+        // Arrange
+        UUID registrationId = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+        when(userService.findRegistrationStatus(registrationId)).thenReturn(RegistrationStatus.created(
+                new User(7L, "testUser", LocalDate.of(1990, 1, 1), "France", null, null), 0));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users/registrations/{id}", registrationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CREATED"))
+                .andExpect(jsonPath("$.user_id").value(7))
+                .andExpect(jsonPath("$.error").doesNotExist());
+    }
+
     @Test
     void registerUser_InvalidData_ShouldReturnBadRequest() throws Exception {
         // Arrange
@@ -138,11 +233,12 @@ class UserControllerTest {
         responseDto.setGender("Male");
 
         when(userService.findUserById(userId)).thenReturn(user);
-        when(userMapper.toDTO(user)).thenReturn(responseDto);
+        when(userJsonCache.serialize(user)).thenReturn(objectMapper.writeValueAsBytes(responseDto));
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/users/{id}", userId))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value(userId))
                 .andExpect(jsonPath("$.username").value("testUser"))
                 .andExpect(jsonPath("$.country_of_residence").value("Brazil"))
@@ -150,6 +246,40 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.gender").value("Male"));
     }
 
+    @Test
+    void getUserById_MatchingIfNoneMatch_ShouldReturnNotModifiedWithoutLoadingUser() throws Exception {
+        // Arrange
+        when(userService.findUserVersion(1L)).thenReturn(3L);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string(""));
+
+        verify(userService, never()).findUserById(any());
+        verifyNoInteractions(userMapper, userJsonCache);
+    }
+
+    @Test
+    void getUserById_StaleIfNoneMatch_ShouldReturnUserWithCurrentETag() throws Exception {
+        // Arrange
+        User user = new User(1L, "testUser", LocalDate.of(1990, 1, 1), "Brazil", null, null, 4L);
+        UserDTO responseDto = new UserDTO();
+        responseDto.setId(1L);
+        responseDto.setUsername("testUser");
+
+        when(userService.findUserVersion(1L)).thenReturn(4L);
+        when(userService.findUserById(1L)).thenReturn(user);
+        when(userJsonCache.serialize(user)).thenReturn(objectMapper.writeValueAsBytes(responseDto));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+                .andExpect(jsonPath("$.username").value("testUser"));
+    }
+
     @Test
     void getUserById_NonExistingUser_ShouldReturnNotFound() throws Exception {
         // Arrange
@@ -164,4 +294,27 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.error").value("User not found"))
                 .andExpect(jsonPath("$.message").value("User not found"));
     }
+
+    @Test
+    void registerUsers_ShouldReturnSummaryAndPerEntryResults() throws Exception {
+        // Arrange
+        UserDTO inputDto = new UserDTO();
+        inputDto.setUsername("testUser");
+
+        when(batchRegistrationHandler.register(anyList())).thenReturn(List.of(
+                new BatchRegistrationItemDTO(0, BatchRegistrationItemDTO.CREATED, 1L, "testUser", null),
+                new BatchRegistrationItemDTO(1, BatchRegistrationItemDTO.REJECTED, null, "testUser",
+                        "Username is duplicated within the batch")));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(inputDto, inputDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(1))
+                .andExpect(jsonPath("$.results[0].error").doesNotExist())
+                .andExpect(jsonPath("$.results[1].error").value("Username is duplicated within the batch"));
+    }
 }
\ No newline at end of file
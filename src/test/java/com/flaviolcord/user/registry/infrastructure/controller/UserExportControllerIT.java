@@ -0,0 +1,110 @@
+package com.flaviolcord.user.registry.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import com.flaviolcord.user.registry.infrastructure.persistence.repository.JpaUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserExportControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @BeforeEach
+    void setUp() {
+        jpaUserRepository.deleteAll();
+        jpaUserRepository.saveAll(List.of(
+                new UserEntity(null, "exported1", LocalDate.of(1990, 1, 1), "France", "1234567890", "Male", null),
+                new UserEntity(null, "exported2", LocalDate.of(1985, 6, 15), "Saint Kitts, Nevis", null, null, null)));
+    }
+
+    @Test
+    void exportUsers_AsNdjson_ShouldWriteOneUserPerLine() throws Exception {
+        // Act
+        String body = mockMvc.perform(get("/api/v1/users/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("exported1", first.get("username").asText());
+        assertEquals("1990-01-01", first.get("birthdate").asText());
+        assertEquals("France", first.get("country_of_residence").asText());
+        assertEquals("exported2", objectMapper.readTree(lines[1]).get("username").asText());
+    }
+
+    @Test
+    void exportUsers_AsCsv_ShouldWriteHeaderAndQuoteFieldsWithDelimiters() throws Exception {
+        // Arrange
+        long secondId = jpaUserRepository.findByUsername("exported2").orElseThrow().getId();
+
+        // Act
+        String body = mockMvc.perform(get("/api/v1/users/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals(UserExportController.CSV_HEADER, lines[0]);
+        assertTrue(lines[1].endsWith(",exported1,1990-01-01,France,1234567890,Male"));
+        assertEquals(secondId + ",exported2,1985-06-15,\"Saint Kitts, Nevis\",,", lines[2]);
+    }
+
+    @Test
+    void exportUsers_AcceptingGzip_ShouldCompressBody() throws Exception {
+        // Act
+        byte[] body = mockMvc.perform(get("/api/v1/users/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        String decompressed;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            decompressed = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertEquals(2, decompressed.split("\n").length);
+    }
+
+    @Test
+    void exportUsers_WithUnknownFormat_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"))
+                .andExpect(jsonPath("$.message").value("Format must be ndjson or csv."));
+    }
+}
@@ -0,0 +1,45 @@
+package com.flaviolcord.user.registry.infrastructure.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserExportControllerTest {
+
+    @Test
+    void acceptsGzip_shouldHonourQualityValues() {
+        assertTrue(UserExportController.acceptsGzip("gzip"));
+        assertTrue(UserExportController.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertFalse(UserExportController.acceptsGzip("gzip;q=0"));
+        assertFalse(UserExportController.acceptsGzip("br, deflate"));
+        assertFalse(UserExportController.acceptsGzip(null));
+    }
+
+    @Test
+    void writeCsvField_shouldQuoteOnlyWhenNeeded() throws IOException {
+        assertEquals("plain", csv("plain"));
+        assertEquals("\"a,b\"", csv("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", csv("say \"hi\""));
+        assertEquals("\"two\nlines\"", csv("two\nlines"));
+        assertEquals("", csv(null));
+    }
+
+    @Test
+    void writeCsvField_shouldNeutralizeFormulas() throws IOException {
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"", csv("=HYPERLINK(\"http://x\")"));
+        assertEquals("\"'+33612345678\"", csv("+33612345678"));
+        assertEquals("\"'-1\"", csv("-1"));
+        assertEquals("\"'@SUM(A1)\"", csv("@SUM(A1)"));
+        assertEquals("\"'\tcmd\"", csv("\tcmd"));
+        assertEquals("a=b", csv("a=b"));
+    }
+
+    private static String csv(String value) throws IOException {
+        StringWriter out = new StringWriter();
+        UserExportController.writeCsvField(out, value);
+        return out.toString();
+    }
+}
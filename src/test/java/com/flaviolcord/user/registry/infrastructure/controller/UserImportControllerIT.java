@@ -0,0 +1,187 @@
+package com.flaviolcord.user.registry.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.persistence.repository.JpaUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"user.batch.import-chunk-size=2", "user.batch.import-max-line-length=512"})
+class UserImportControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @BeforeEach
+    void setUp() {
+        jpaUserRepository.deleteAll();
+    }
+
+    @Test
+    void importUsers_ShouldCommitInChunksAndReportEachChunk() throws Exception {
+        // Arrange: 5 records -> chunks of 2, 2 and 1; one malformed line and one invalid record
+        String body = String.join("\n",
+                toJson(createUserDTO("import1", "France")),
+                "{not json",
+                "",
+                toJson(createUserDTO("import2", "France")),
+                toJson(createUserDTO("import3", "Brazil")),
+                toJson(createUserDTO("import4", "France"))) + "\n";
+
+        // Act
+        List<JsonNode> lines = importBody(body.getBytes(StandardCharsets.UTF_8), null);
+
+        // Assert
+        assertEquals(3, lines.size());
+        assertEquals(1, lines.get(0).get("created").asInt());
+        assertEquals(1, lines.get(0).get("rejected").asInt());
+        assertEquals(1, lines.get(0).get("errors").get(0).get("index").asInt());
+        assertEquals("Malformed JSON record", lines.get(0).get("errors").get(0).get("error").asText());
+
+        assertEquals(1, lines.get(1).get("created").asInt());
+        assertEquals(4, lines.get(1).get("errors").get(0).get("index").asInt());
+        assertEquals("Only residents of France are allowed to register.",
+                lines.get(1).get("errors").get(0).get("error").asText());
+
+        assertEquals(3, lines.get(2).get("chunk").asInt());
+        assertEquals(5, lines.get(2).get("total_processed").asLong());
+        assertEquals(3, jpaUserRepository.count());
+    }
+
+    @Test
+    void importUsers_WithOversizedLine_ShouldRejectItAndImportTheOthers() throws Exception {
+        // Arrange
+        UserDTO oversized = createUserDTO("oversized", "France");
+        oversized.setGender("x".repeat(10_000));
+        String body = String.join("\r\n",
+                toJson(oversized),
+                toJson(createUserDTO("after-oversized", "France"))) + "\r\n";
+
+        // Act
+        List<JsonNode> lines = importBody(body.getBytes(StandardCharsets.UTF_8), null);
+
+        // Assert
+        assertEquals(1, lines.size());
+        assertEquals(1, lines.get(0).get("created").asInt());
+        assertEquals(1, lines.get(0).get("rejected").asInt());
+        assertEquals(0, lines.get(0).get("errors").get(0).get("index").asInt());
+        assertEquals("Line exceeds 512 characters", lines.get(0).get("errors").get(0).get("error").asText());
+        assertTrue(jpaUserRepository.findByUsername("after-oversized").isPresent());
+        assertTrue(jpaUserRepository.findByUsername("oversized").isEmpty());
+    }
+
+    @Test
+    void importUsers_WithGzipBody_ShouldDecompressAndImport() throws Exception {
+        // Arrange
+        String body = toJson(createUserDTO("gzipped", "France")) + "\n";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Act
+        List<JsonNode> lines = importBody(compressed.toByteArray(), "gzip");
+
+        // Assert
+        assertEquals(1, lines.size());
+        assertEquals(1, lines.get(0).get("created").asInt());
+        assertTrue(jpaUserRepository.findByUsername("gzipped").isPresent());
+    }
+
+    @Test
+    void importUsers_WithGzipAmongCaseInsensitiveCodings_ShouldDecompressAndImport() throws Exception {
+        // Arrange
+        String body = toJson(createUserDTO("gzipped-token", "France")) + "\n";
+
+        // Act
+        List<JsonNode> lines = importBody(gzip(body), " GZIP ");
+
+        // Assert
+        assertEquals(1, lines.get(0).get("created").asInt());
+        assertTrue(jpaUserRepository.findByUsername("gzipped-token").isPresent());
+    }
+
+    @Test
+    void importUsers_WithCodingOnlyContainingGzip_ShouldReadBodyAsIs() throws Exception {
+        // Arrange
+        String body = toJson(createUserDTO("not-gzipped", "France")) + "\n";
+
+        // Act
+        List<JsonNode> lines = importBody(body.getBytes(StandardCharsets.UTF_8), "x-gzip-broken");
+
+        // Assert
+        assertEquals(1, lines.get(0).get("created").asInt());
+        assertTrue(jpaUserRepository.findByUsername("not-gzipped").isPresent());
+    }
+
+    private byte[] gzip(String body) throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return compressed.toByteArray();
+    }
+
+    private List<JsonNode> importBody(byte[] body, String contentEncoding) throws Exception {
+        var request = post("/api/v1/users/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body);
+        if (contentEncoding != null) {
+            request.header(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+
+        String response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private String toJson(UserDTO userDTO) throws Exception {
+        return objectMapper.writeValueAsString(userDTO);
+    }
+
+    private UserDTO createUserDTO(String username, String country) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setBirthdate(LocalDate.now().minusYears(20));
+        userDTO.setCountryOfResidence(country);
+        userDTO.setPhoneNumber("1234567890");
+        userDTO.setGender("Male");
+        return userDTO;
+    }
+}
@@ -0,0 +1,105 @@
+package com.flaviolcord.user.registry.infrastructure.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import com.flaviolcord.user.registry.infrastructure.persistence.repository.JpaUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserListingControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @BeforeEach
+    void setUp() {
+        jpaUserRepository.deleteAll();
+        jpaUserRepository.saveAll(IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> new UserEntity(null, "listed" + i, LocalDate.of(1990, 1, 1), "France", null, null, null))
+                .toList());
+    }
+
+    @Test
+    void listUsers_ShouldPageThroughAllUsersWithCursor() throws Exception {
+        // Arrange
+        List<String> usernames = new ArrayList<>();
+        String after = null;
+
+        // Act: follow next_cursor until the last page
+        int pages = 0;
+        do {
+            JsonNode page = fetchPage(after, 2);
+            page.get("users").forEach(user -> usernames.add(user.get("username").asText()));
+            JsonNode nextCursor = page.get("next_cursor");
+            after = nextCursor.isNull() ? null : nextCursor.asText();
+            pages++;
+        } while (after != null);
+
+        // Assert
+        assertEquals(3, pages);
+        assertEquals(List.of("listed1", "listed2", "listed3", "listed4", "listed5"), usernames);
+    }
+
+    @Test
+    void listUsers_AfterLastUser_ShouldReturnEmptyPage() throws Exception {
+        // Arrange
+        long lastId = jpaUserRepository.findByUsername("listed5").orElseThrow().getId();
+
+        // Act
+        JsonNode page = fetchPage(String.valueOf(lastId), null);
+
+        // Assert
+        assertEquals(0, page.get("users").size());
+        assertTrue(page.get("next_cursor").isNull());
+    }
+
+    @Test
+    void listUsers_WithLimitAboveMaximum_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users").param("limit", "1001"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation error"))
+                .andExpect(jsonPath("$.message").value("Limit must be between 1 and 1000."));
+    }
+
+    private JsonNode fetchPage(String after, Integer limit) throws Exception {
+        var request = get("/api/v1/users");
+        if (after != null) {
+            request.param("after", after);
+        }
+        if (limit != null) {
+            request.param("limit", String.valueOf(limit));
+        }
+
+        String response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
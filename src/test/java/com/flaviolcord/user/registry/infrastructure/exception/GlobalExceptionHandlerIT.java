@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -29,6 +30,9 @@ class GlobalExceptionHandlerIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void handleValidationException_ShouldReturnBadRequest() throws Exception {
         // Arrange
@@ -70,6 +74,26 @@ class GlobalExceptionHandlerIT {
                 .andExpect(jsonPath("$.message", is("Username is already taken")));
     }
 
+    @Test
+    void handleDataIntegrityViolationException_UsernameTakenByAnotherNode_ShouldReturnBadRequest() throws Exception {
+        // Arrange - A row written by another node, unknown to this node's username index
+        jdbcTemplate.update("INSERT INTO users (id, username, birthdate, country_of_residence, version) "
+                + "VALUES (?, ?, ?, ?, 0)", 42L, "othernodeuser", LocalDate.of(1990, 1, 1), "France");
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("othernodeuser");
+        userDTO.setBirthdate(LocalDate.now().minusYears(20));
+        userDTO.setCountryOfResidence("France");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", is(400)))
+                .andExpect(jsonPath("$.error", is("Registration error")))
+                .andExpect(jsonPath("$.message", is("Username is already taken")));
+    }
+
     @Test
     void handleUserNotFoundException_ShouldReturnNotFound() throws Exception {
         // Act & Assert
@@ -2,6 +2,7 @@ package com.flaviolcord.user.registry.infrastructure.exception;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -61,6 +62,41 @@ class GlobalExceptionHandlerTest {
         );
     }
 
+    @Test
+    void handleDataIntegrityViolationException_OnUsername_ShouldReturnRegistrationError() {
+        // Arrange
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_USERNAME ON PUBLIC.USERS(USERNAME)\""));
+
+        // Act
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleDataIntegrityViolationException(ex);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode()),
+                () -> assertEquals("Registration error", response.getBody().getError()),
+                () -> assertEquals("Username is already taken", response.getBody().getMessage())
+        );
+    }
+
+    @Test
+    void handleDataIntegrityViolationException_OnOtherConstraint_ShouldReturnConflictWithoutDetails() {
+        // Arrange
+        DataIntegrityViolationException ex = new DataIntegrityViolationException("Value too long for column USERNAME");
+
+        // Act
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleDataIntegrityViolationException(ex);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(HttpStatus.CONFLICT, response.getStatusCode()),
+                () -> assertEquals(409, response.getBody().getStatus()),
+                () -> assertEquals("The request conflicts with the stored data", response.getBody().getMessage())
+        );
+    }
+
     @Test
     void handleUserNotFoundException_ShouldReturnNotFound() {
         // Arrange
@@ -80,6 +116,62 @@ class GlobalExceptionHandlerTest {
         );
     }
 
+    @Test
+    void handleIdempotencyKeyReusedException_ShouldReturnUnprocessableEntity() {
+        // Arrange
+        String errorMessage = "The Idempotency-Key was already used for a different user.";
+        IdempotencyKeyReusedException ex = new IdempotencyKeyReusedException(errorMessage);
+
+        // Act
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleIdempotencyKeyReusedException(ex);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode()),
+                () -> assertEquals(422, response.getBody().getStatus()),
+                () -> assertEquals("Idempotency error", response.getBody().getError()),
+                () -> assertEquals(errorMessage, response.getBody().getMessage())
+        );
+    }
+
+    @Test
+    void handleRegistrationNotFoundException_ShouldReturnNotFound() {
+        // Arrange
+        String errorMessage = "Registration not found with ID: 123e4567-e89b-12d3-a456-426614174000";
+        RegistrationNotFoundException ex = new RegistrationNotFoundException(errorMessage);
+
+        // Act
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleRegistrationNotFoundException(ex);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode()),
+                () -> assertEquals("Registration not found", response.getBody().getError()),
+                () -> assertEquals(errorMessage, response.getBody().getMessage())
+        );
+    }
+
+    @Test
+    void handleRegistrationQueueFullException_ShouldReturnServiceUnavailableWithRetryAfter() {
+        // Arrange
+        String errorMessage = "Too many registrations are waiting, retry later.";
+        RegistrationQueueFullException ex = new RegistrationQueueFullException(errorMessage);
+
+        // Act
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response =
+                exceptionHandler.handleRegistrationQueueFullException(ex);
+
+        // Assert
+        assertAll(
+                () -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode()),
+                () -> assertEquals("1", response.getHeaders().getFirst("Retry-After")),
+                () -> assertEquals(503, response.getBody().getStatus()),
+                () -> assertEquals(errorMessage, response.getBody().getMessage())
+        );
+    }
+
     @Test
     void handleMethodArgumentNotValidException_ShouldReturnBadRequest() {
         // Arrange
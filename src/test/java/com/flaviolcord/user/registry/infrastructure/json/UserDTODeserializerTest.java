@@ -0,0 +1,125 @@
+package com.flaviolcord.user.registry.infrastructure.json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDTODeserializerTest {
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper reflectiveObjectMapper;
+
+    @BeforeEach
+    void setUp() {
+        // Spring Boot does not fail on unknown properties
+        objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        reflectiveObjectMapper = UserDTOSerializerTest.reflectiveObjectMapper()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Test
+    void deserialize_CompleteUser_ShouldReadAllFields() throws Exception {
+        // Arrange
+        String json = "{\"id\":42,\"username\":\"john_doe\",\"birthdate\":\"1990-01-31\","
+                + "\"country_of_residence\":\"France\",\"phone_number\":\"1234567890\",\"gender\":\"Male\"}";
+
+        // Act
+        UserDTO user = objectMapper.readValue(json, UserDTO.class);
+
+        // Assert
+        assertEquals(42L, user.getId());
+        assertEquals("john_doe", user.getUsername());
+        assertEquals(LocalDate.of(1990, 1, 31), user.getBirthdate());
+        assertEquals("France", user.getCountryOfResidence());
+        assertEquals("1234567890", user.getPhoneNumber());
+        assertEquals("Male", user.getGender());
+    }
+
+    @Test
+    void deserialize_ShouldMatchReflectiveDeserializer() throws Exception {
+        // Arrange
+        List<String> inputs = List.of(
+                "{}",
+                "{\"username\":null,\"birthdate\":null,\"id\":null}",
+                "{\"gender\":\"Other\",\"username\":\"reordered\",\"birthdate\":\" 2000-02-29 \"}",
+                "{\"id\":\"7\",\"phone_number\":1234567890,\"username\":true}",
+                "{\"birthdate\":\"\"}",
+                "{\"countryOfResidence\":\"ignored\",\"extra\":{\"nested\":[1,2,{\"a\":null}]},\"username\":\"kept\"}");
+
+        for (String json : inputs) {
+            // Act
+            UserDTO expected = reflectiveObjectMapper.readValue(json, UserDTO.class);
+            UserDTO actual = objectMapper.readValue(json, UserDTO.class);
+
+            // Assert
+            assertEquals(reflectiveObjectMapper.writeValueAsString(expected),
+                    reflectiveObjectMapper.writeValueAsString(actual), json);
+        }
+    }
+
+    @Test
+    void deserialize_ArrayOfUsers_ShouldReadEachUser() throws Exception {
+        // Act
+        UserDTO[] users = objectMapper.readValue("[{\"username\":\"first\"},{\"username\":\"second\"}]",
+                UserDTO[].class);
+
+        // Assert
+        assertEquals(2, users.length);
+        assertEquals("first", users[0].getUsername());
+        assertEquals("second", users[1].getUsername());
+    }
+
+    @Test
+    void deserialize_MalformedBirthdate_ShouldThrowInvalidFormat() {
+        // Act & Assert
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"birthdate\":\"31/01/1990\"}", UserDTO.class));
+    }
+
+    @Test
+    void deserialize_NumericBirthdate_ShouldThrowMismatchedInput() {
+        // Act & Assert
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"birthdate\":19900131}", UserDTO.class));
+    }
+
+    @Test
+    void deserialize_NonNumericId_ShouldThrowInvalidFormat() {
+        // Act & Assert
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"id\":\"abc\"}", UserDTO.class));
+    }
+
+    @Test
+    void deserialize_StructuredUsername_ShouldThrowMismatchedInput() {
+        // Act & Assert
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"username\":{\"first\":\"john\"}}", UserDTO.class));
+    }
+
+    @Test
+    void deserialize_NotAnObject_ShouldThrowMismatchedInput() {
+        // Act & Assert
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue("\"john\"", UserDTO.class));
+    }
+
+    @Test
+    void deserialize_UnknownPropertyWhenFailing_ShouldThrowUnrecognizedProperty() {
+        // Arrange
+        ObjectMapper strictObjectMapper = new ObjectMapper();
+
+        // Act & Assert
+        assertThrows(UnrecognizedPropertyException.class,
+                () -> strictObjectMapper.readValue("{\"extra\":1}", UserDTO.class));
+    }
+}
@@ -0,0 +1,91 @@
+package com.flaviolcord.user.registry.infrastructure.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UserDTOSerializerTest {
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper reflectiveObjectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        reflectiveObjectMapper = reflectiveObjectMapper();
+    }
+
+    @Test
+    void serialize_CompleteUser_ShouldWriteAllFieldsInJacksonOrder() throws Exception {
+        // Arrange
+        UserDTO user = createUserDTO();
+
+        // Act
+        String json = objectMapper.writeValueAsString(user);
+
+        // Assert
+        assertEquals("{\"id\":42,\"username\":\"john_doe\",\"birthdate\":\"1990-01-31\","
+                + "\"gender\":\"Male\",\"country_of_residence\":\"France\",\"phone_number\":\"1234567890\"}", json);
+    }
+
+    @Test
+    void serialize_CompleteUser_ShouldMatchReflectiveSerializer() throws Exception {
+        // Arrange
+        UserDTO user = createUserDTO();
+        user.setUsername("jöhn \"the\" dœ\n");
+
+        // Act & Assert
+        assertEquals(reflectiveObjectMapper.writeValueAsString(user), objectMapper.writeValueAsString(user));
+    }
+
+    @Test
+    void serialize_EmptyUser_ShouldMatchReflectiveSerializer() throws Exception {
+        // Arrange
+        UserDTO user = new UserDTO();
+
+        // Act & Assert
+        assertEquals(reflectiveObjectMapper.writeValueAsString(user), objectMapper.writeValueAsString(user));
+    }
+
+    private static UserDTO createUserDTO() {
+        UserDTO user = new UserDTO();
+        user.setId(42L);
+        user.setUsername("john_doe");
+        user.setBirthdate(LocalDate.of(1990, 1, 31));
+        user.setCountryOfResidence("France");
+        user.setPhoneNumber("1234567890");
+        user.setGender("Male");
+        return user;
+    }
+
+    /**
+     * Creates an object mapper that ignores the custom (de)serializers declared on UserDTO,
+     * configured for dates like the application's.
+     */
+    static ObjectMapper reflectiveObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+            @Override
+            public Object findSerializer(Annotated annotated) {
+                return annotated.getRawType() == UserDTO.class ? null : super.findSerializer(annotated);
+            }
+
+            @Override
+            public Object findDeserializer(Annotated annotated) {
+                return annotated.getRawType() == UserDTO.class ? null : super.findDeserializer(annotated);
+            }
+        });
+        return objectMapper;
+    }
+}
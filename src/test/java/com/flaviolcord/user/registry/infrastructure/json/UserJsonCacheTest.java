@@ -0,0 +1,127 @@
+package com.flaviolcord.user.registry.infrastructure.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserJsonCacheTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    private UserProperties userProperties;
+    private UserJsonCache userJsonCache;
+
+    @BeforeEach
+    void setUp() {
+        userProperties = new UserProperties();
+        userJsonCache = new UserJsonCache(userMapper, new ObjectMapper(), userProperties);
+        lenient().when(userMapper.toDTO(any())).thenAnswer(invocation -> toDTO(invocation.getArgument(0)));
+    }
+
+    @Test
+    void serialize_ShouldWriteTheUserAsJson() {
+        // Act
+        byte[] body = userJsonCache.serialize(createUser(1L, "john_doe", 0L));
+
+        // Assert
+        assertEquals("{\"id\":1,\"username\":\"john_doe\",\"birthdate\":\"1990-01-01\","
+                        + "\"gender\":null,\"country_of_residence\":\"France\",\"phone_number\":null}",
+                new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void serialize_SameVersion_ShouldReuseTheBodyWithoutMapping() {
+        // Arrange
+        byte[] first = userJsonCache.serialize(createUser(1L, "john_doe", 0L));
+
+        // Act
+        byte[] second = userJsonCache.serialize(createUser(1L, "john_doe", 0L));
+
+        // Assert
+        assertSame(first, second);
+        verify(userMapper, times(1)).toDTO(any());
+        assertEquals(1, userJsonCache.stats().hitCount());
+    }
+
+    @Test
+    void serialize_NewVersion_ShouldWriteTheNewBody() {
+        // Arrange
+        userJsonCache.serialize(createUser(1L, "john_doe", 0L));
+
+        // Act
+        byte[] body = userJsonCache.serialize(createUser(1L, "jane_doe", 1L));
+
+        // Assert
+        assertTrue(new String(body, StandardCharsets.UTF_8).contains("\"username\":\"jane_doe\""));
+        verify(userMapper, times(2)).toDTO(any());
+    }
+
+    @Test
+    void serialize_WithoutVersion_ShouldNotCache() {
+        // Act
+        userJsonCache.serialize(createUser(1L, "john_doe", null));
+        userJsonCache.serialize(createUser(1L, "john_doe", null));
+
+        // Assert
+        verify(userMapper, times(2)).toDTO(any());
+        assertEquals(0, userJsonCache.stats().requestCount());
+    }
+
+    @Test
+    void serialize_Disabled_ShouldAlwaysWrite() {
+        // Arrange
+        userProperties.getJsonCache().setEnabled(false);
+        UserJsonCache disabledCache = new UserJsonCache(userMapper, new ObjectMapper(), userProperties);
+
+        // Act
+        disabledCache.serialize(createUser(1L, "john_doe", 0L));
+        disabledCache.serialize(createUser(1L, "john_doe", 0L));
+
+        // Assert
+        verify(userMapper, times(2)).toDTO(any());
+    }
+
+    @Test
+    void bindTo_ShouldRegisterCacheMetrics() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // Act
+        userJsonCache.bindTo(registry);
+
+        // Assert
+        assertNotNull(registry.find("cache.gets").tag("cache", UserJsonCache.CACHE_NAME).meter());
+    }
+
+    private static User createUser(Long id, String username, Long version) {
+        return new User(id, username, LocalDate.of(1990, 1, 1), "France", null, null, version);
+    }
+
+    private static UserDTO toDTO(User user) {
+        UserDTO dto = new UserDTO();
+        dto.setId(user.id());
+        dto.setUsername(user.username());
+        dto.setBirthdate(user.birthdate());
+        dto.setCountryOfResidence(user.countryOfResidence());
+        dto.setPhoneNumber(user.phoneNumber());
+        dto.setGender(user.gender());
+        return dto;
+    }
+}
@@ -0,0 +1,56 @@
+package com.flaviolcord.user.registry.infrastructure.metrics;
+
+import com.flaviolcord.user.registry.application.service.UserService;
+import com.flaviolcord.user.registry.domain.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LatencyEndpointIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void latency_ShouldExposePercentilesOfUseCaseAndRepositoryMethods() throws Exception {
+        // Arrange
+        userService.registerUser(new User(null, "latencyuser", LocalDate.now().minusYears(20), "France", null, null));
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/latency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.baseUnit").value("milliseconds"))
+                .andExpect(jsonPath("$.methods[*].method",
+                        hasItems("RegisterUserUseCase.execute", "UserRepositoryImpl.save")));
+
+        mockMvc.perform(get("/actuator/latency/RegisterUserUseCase.execute"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.p50").isNumber())
+                .andExpect(jsonPath("$.p99").isNumber())
+                .andExpect(jsonPath("$.p999").isNumber());
+    }
+
+    @Test
+    void latency_UnknownMethod_ShouldReturnNotFound() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/latency/Unknown.method"))
+                .andExpect(status().isNotFound());
+    }
+}
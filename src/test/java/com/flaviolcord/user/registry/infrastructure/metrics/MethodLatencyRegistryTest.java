@@ -0,0 +1,43 @@
+package com.flaviolcord.user.registry.infrastructure.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MethodLatencyRegistryTest {
+
+    @Test
+    void snapshot_shouldSummarizeEachMethodInMilliseconds() throws Exception {
+        MethodLatencyRegistry registry = new MethodLatencyRegistry();
+        Method toString = Object.class.getMethod("toString");
+        Method hashCode = Object.class.getMethod("hashCode");
+
+        registry.record(toString, 2_000_000L);
+        registry.record(toString, 4_000_000L);
+        registry.record(hashCode, 1_000L);
+
+        List<MethodLatency> latencies = registry.snapshot();
+        assertEquals(List.of("Object.hashCode", "Object.toString"), latencies.stream().map(MethodLatency::method).toList());
+
+        MethodLatency latency = registry.snapshot("Object.toString").orElseThrow();
+        assertEquals(2, latency.count());
+        assertEquals(3.0, latency.mean(), 0.001);
+        assertEquals(2.0, latency.p50(), 0.1);
+        assertEquals(4.0, latency.p999(), 0.001);
+        assertEquals(4.0, latency.max(), 0.001);
+    }
+
+    @Test
+    void snapshot_shouldMergeOverloads() throws Exception {
+        MethodLatencyRegistry registry = new MethodLatencyRegistry();
+
+        registry.record(String.class.getMethod("valueOf", int.class), 1_000L);
+        registry.record(String.class.getMethod("valueOf", long.class), 1_000L);
+
+        assertEquals(2, registry.snapshot("String.valueOf").orElseThrow().count());
+        assertTrue(registry.snapshot("String.format").isEmpty());
+    }
+}
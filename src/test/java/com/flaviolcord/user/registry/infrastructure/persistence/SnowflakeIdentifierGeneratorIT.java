@@ -0,0 +1,44 @@
+package com.flaviolcord.user.registry.infrastructure.persistence;
+
+import com.flaviolcord.user.registry.infrastructure.persistence.repository.JpaUserRepository;
+import com.flaviolcord.user.registry.util.SnowflakeIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+@TestPropertySource(properties = "user.id.node-id=42")
+class SnowflakeIdentifierGeneratorIT {
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @Test
+    void saveAll_ShouldAssignIncreasingIdsOfConfiguredNode() {
+        // Arrange
+        List<UserEntity> entities = List.of(
+                new UserEntity(null, "snowflake1", LocalDate.of(1990, 1, 1), "France", null, null, null),
+                new UserEntity(null, "snowflake2", LocalDate.of(1990, 1, 1), "France", null, null, null));
+
+        // Act
+        List<UserEntity> saved = jpaUserRepository.saveAll(entities);
+        jpaUserRepository.flush();
+
+        // Assert
+        long first = saved.get(0).getId();
+        long second = saved.get(1).getId();
+        assertTrue(second > first);
+        assertEquals(42, SnowflakeIdGenerator.nodeIdOf(first));
+        assertEquals(42, SnowflakeIdGenerator.nodeIdOf(second));
+    }
+}
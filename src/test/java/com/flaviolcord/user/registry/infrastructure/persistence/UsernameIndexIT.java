@@ -0,0 +1,43 @@
+package com.flaviolcord.user.registry.infrastructure.persistence;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class UsernameIndexIT {
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void shouldBeLoadedOnStartup() {
+        assertTrue(usernameIndex.isReady());
+    }
+
+    @Test
+    void shouldIndexSavedUsernames() {
+        // Arrange
+        assertFalse(usernameIndex.mightContain("indexeduser"));
+
+        // Act
+        userRepository.save(new User(null, "indexeduser", LocalDate.of(1990, 1, 1), "France", null, null));
+
+        // Assert
+        assertTrue(usernameIndex.mightContain("indexeduser"));
+        assertTrue(userRepository.findByUsername("indexeduser").isPresent());
+    }
+}
@@ -0,0 +1,114 @@
+package com.flaviolcord.user.registry.infrastructure.persistence;
+
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import com.flaviolcord.user.registry.infrastructure.persistence.repository.JpaUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UsernameIndexTest {
+
+    @Mock
+    private JpaUserRepository jpaUserRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserProperties userProperties;
+
+    @BeforeEach
+    void setUp() {
+        userProperties = new UserProperties();
+        userProperties.getUsernameIndex().setExpectedInsertions(1_000);
+    }
+
+    @Test
+    void mightContain_shouldAnswerMaybeUntilLoaded() {
+        // Arrange
+        UsernameIndex index = new UsernameIndex(jpaUserRepository, transactionManager, userProperties);
+
+        // Act & Assert
+        assertFalse(index.isReady());
+        assertTrue(index.mightContain("anyone"));
+    }
+
+    @Test
+    void load_shouldIndexExistingUsernames() {
+        // Arrange
+        when(jpaUserRepository.streamAllUsernames()).thenReturn(Stream.of("alice", "bob"));
+        UsernameIndex index = new UsernameIndex(jpaUserRepository, transactionManager, userProperties);
+
+        // Act
+        index.load();
+
+        // Assert
+        assertTrue(index.isReady());
+        assertTrue(index.mightContain("alice"));
+        assertTrue(index.mightContain("bob"));
+        assertFalse(index.mightContain("carol"));
+    }
+
+    @Test
+    void add_shouldIndexSavedUsernames() {
+        // Arrange
+        when(jpaUserRepository.streamAllUsernames()).thenReturn(Stream.empty());
+        UsernameIndex index = new UsernameIndex(jpaUserRepository, transactionManager, userProperties);
+        index.load();
+
+        // Act
+        index.add("carol");
+
+        // Assert
+        assertTrue(index.mightContain("carol"));
+    }
+
+    @Test
+    void load_shouldDoNothingWhenDisabled() {
+        // Arrange
+        userProperties.getUsernameIndex().setEnabled(false);
+        UsernameIndex index = new UsernameIndex(jpaUserRepository, transactionManager, userProperties);
+
+        // Act
+        index.load();
+
+        // Assert
+        assertFalse(index.isReady());
+        assertTrue(index.mightContain("anyone"));
+        verifyNoInteractions(jpaUserRepository);
+    }
+
+    @Test
+    void bindTo_shouldExposeLookupAndAccuracyMetrics() {
+        // Arrange
+        when(jpaUserRepository.streamAllUsernames()).thenReturn(Stream.of("alice"));
+        UsernameIndex index = new UsernameIndex(jpaUserRepository, transactionManager, userProperties);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        index.bindTo(registry);
+        index.load();
+
+        // Act: one definite miss, one confirmed hit and one false positive
+        index.mightContain("nobody");
+        index.mightContain("alice");
+        index.recordFalsePositive();
+
+        // Assert
+        assertEquals(1.0, registry.get("user.username.index.lookups").tag("answer", "absent").functionCounter().count());
+        assertEquals(1.0, registry.get("user.username.index.lookups").tag("answer", "maybe").functionCounter().count());
+        assertEquals(1.0, registry.get("user.username.index.false.positives").functionCounter().count());
+        assertEquals(0.5, registry.get("user.username.index.false.positive.rate").gauge().value());
+        assertEquals(1.0, registry.get("user.username.index.size").gauge().value());
+        assertTrue(registry.get("user.username.index.memory").gauge().value() > 0);
+        assertTrue(registry.get("user.username.index.expected.false.positive.probability").gauge().value() > 0);
+    }
+}
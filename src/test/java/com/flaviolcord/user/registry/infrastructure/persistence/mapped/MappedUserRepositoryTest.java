@@ -0,0 +1,217 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.mapped;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedUserRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void testSave_generatesIdAndInitialVersion() {
+        User saved = repository.save(user("john"));
+
+        assertNotNull(saved.id());
+        assertEquals(0L, saved.version());
+        assertEquals("john", saved.username());
+        assertEquals(Optional.of(saved), repository.findById(saved.id()));
+        assertEquals(Optional.of(0L), repository.findVersionById(saved.id()));
+    }
+
+    @Test
+    void testSave_roundTripsNullAndNonAsciiValues() {
+        User saved = repository.save(new User(null, "zoé", null, "France", null, null));
+
+        User found = repository.findById(saved.id()).orElseThrow();
+
+        assertEquals("zoé", found.username());
+        assertNull(found.birthdate());
+        assertNull(found.phoneNumber());
+        assertNull(found.gender());
+        assertEquals(Optional.of(found), repository.findByUsername("zoé"));
+    }
+
+    @Test
+    void testSave_rejectsDuplicateUsername() {
+        repository.save(user("john"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> repository.save(user("john")));
+    }
+
+    @Test
+    void testSave_rejectsValueTooLongForItsField() {
+        User user = new User(null, "john", LocalDate.of(1990, 1, 1), "France", "0".repeat(20), "Male");
+
+        assertThrows(DataIntegrityViolationException.class, () -> repository.save(user));
+        assertTrue(repository.findByUsername("john").isEmpty());
+    }
+
+    @Test
+    void testSave_rejectsUnknownIdBelowHighestStoredId() {
+        User saved = repository.save(user("john"));
+        User older = new User(saved.id() - 1, "jane", LocalDate.of(1990, 1, 1), "France", null, null);
+
+        assertThrows(DataIntegrityViolationException.class, () -> repository.save(older));
+    }
+
+    @Test
+    void testSave_updatesExistingUserAndIncrementsVersion() {
+        User saved = repository.save(user("john"));
+        User renamed = new User(saved.id(), "johnny", saved.birthdate(), saved.countryOfResidence(),
+                "0612345678", saved.gender(), saved.version());
+
+        User updated = repository.save(renamed);
+
+        assertEquals(1L, updated.version());
+        assertEquals(Optional.of(updated), repository.findById(saved.id()));
+        assertTrue(repository.findByUsername("john").isEmpty());
+        assertEquals(Optional.of(updated), repository.findByUsername("johnny"));
+    }
+
+    @Test
+    void testSave_rejectsStaleVersion() {
+        User saved = repository.save(user("john"));
+        repository.save(saved);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(saved));
+    }
+
+    @Test
+    void testSaveAll_writesUsersInOrder() {
+        List<User> saved = repository.saveAll(List.of(user("a"), user("b"), user("c")));
+
+        assertEquals(List.of("a", "b", "c"), saved.stream().map(User::username).toList());
+        assertTrue(saved.get(0).id() < saved.get(1).id() && saved.get(1).id() < saved.get(2).id());
+        assertEquals(saved, repository.streamAll().toList());
+    }
+
+    @Test
+    void testSaveAll_rejectedBatchWritesNothing() {
+        repository.save(user("taken"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAll(List.of(user("a"), user("b"), user("a"))));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAll(List.of(user("a"), user("taken"))));
+
+        assertEquals(1, repository.streamAll().count());
+    }
+
+    @Test
+    void testFindAllById_skipsMissingIds() {
+        List<User> saved = repository.saveAll(List.of(user("a"), user("b")));
+
+        List<User> found = repository.findAllById(List.of(saved.get(1).id(), -1L, saved.get(0).id()));
+
+        assertEquals(List.of(saved.get(1), saved.get(0)), found);
+        assertTrue(repository.findById(-1L).isEmpty());
+        assertTrue(repository.findVersionById(-1L).isEmpty());
+    }
+
+    @Test
+    void testFindById_nullIdIsNotFound() {
+        repository.save(user("a"));
+
+        assertTrue(repository.findById(null).isEmpty());
+        assertTrue(repository.findVersionById(null).isEmpty());
+        assertTrue(repository.findAllById(Arrays.asList(null, -1L)).isEmpty());
+    }
+
+    @Test
+    void testFindExistingUsernames() {
+        repository.saveAll(List.of(user("a"), user("b")));
+
+        assertEquals(Set.of("a"), repository.findExistingUsernames(List.of("a", "c")));
+        assertTrue(repository.findByUsername("c").isEmpty());
+        assertTrue(repository.findByUsername(null).isEmpty());
+    }
+
+    @Test
+    void testStreamAfter_pagesInIdOrder() {
+        List<User> saved = repository.saveAll(IntStream.range(0, 10).mapToObj(i -> user("user" + i)).toList());
+
+        List<User> firstPage;
+        try (Stream<User> page = repository.streamAfter(0, 4)) {
+            firstPage = page.toList();
+        }
+        List<User> lastPage;
+        try (Stream<User> page = repository.streamAfter(saved.get(7).id(), 4)) {
+            lastPage = page.toList();
+        }
+
+        assertEquals(saved.subList(0, 4), firstPage);
+        assertEquals(saved.subList(8, 10), lastPage);
+        assertEquals(0, repository.streamAfter(saved.get(9).id(), 4).count());
+    }
+
+    @Test
+    void testReopen_keepsUsersAndRebuildsIndexes() throws IOException {
+        List<User> saved = repository.saveAll(IntStream.range(0, 100).mapToObj(i -> user("user" + i)).toList());
+        repository.close();
+
+        repository = open();
+
+        assertEquals(saved, repository.streamAll().toList());
+        assertEquals(Optional.of(saved.get(42)), repository.findById(saved.get(42).id()));
+        assertEquals(Optional.of(saved.get(42)), repository.findByUsername("user42"));
+        User next = repository.save(user("next"));
+        assertTrue(next.id() > saved.get(99).id());
+    }
+
+    @Test
+    void testOpen_rejectsForeignFile() throws IOException {
+        repository.close();
+        Files.write(directory.resolve(MappedUserRepository.RECORDS_FILE), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThrows(DataRetrievalFailureException.class, this::open);
+        repository = open(directory.resolve("other"));
+    }
+
+    private MappedUserRepository open() {
+        return open(directory);
+    }
+
+    private static MappedUserRepository open(Path directory) {
+        UserProperties properties = new UserProperties();
+        properties.getMapped().setDirectory(directory);
+        properties.getMapped().setExpectedUsers(16);
+        return new MappedUserRepository(properties);
+    }
+
+    private static User user(String username) {
+        return new User(null, username, LocalDate.of(1990, 1, 1), "France", "0612345678", "Male");
+    }
+}
@@ -0,0 +1,101 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.mapped;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapIndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testFind_insertedKeys() throws IOException {
+        try (OffHeapIndex index = new OffHeapIndex(directory, "test", 1_000)) {
+            IntStream.range(0, 1_000).forEach(slot -> index.insert(slot * 31, slot));
+
+            assertEquals(1_000, index.size());
+            assertTrue(IntStream.range(0, 1_000).allMatch(slot -> index.find(slot * 31, s -> s == slot) == slot));
+            assertEquals(-1, index.find(-7, s -> true));
+        }
+    }
+
+    @Test
+    void testFind_sameHashResolvedByMatcher() throws IOException {
+        try (OffHeapIndex index = new OffHeapIndex(directory, "test", 16)) {
+            index.insert(42, 0);
+            index.insert(42, 1);
+            index.insert(42, 2);
+
+            assertEquals(1, index.find(42, slot -> slot == 1));
+            assertEquals(2, index.find(42, slot -> slot == 2));
+            assertEquals(-1, index.find(42, slot -> slot == 3));
+        }
+    }
+
+    @Test
+    void testInsert_growsPastMaximumLoad() throws IOException {
+        try (OffHeapIndex index = new OffHeapIndex(directory, "test", 10)) {
+            int initialCapacity = index.capacity();
+            IntStream.range(0, 1_000).forEach(slot -> index.insert(slot, slot));
+
+            assertTrue(index.capacity() > initialCapacity);
+            assertTrue(index.size() * 100L <= (long) index.capacity() * OffHeapIndex.MAX_LOAD_PERCENT);
+            assertEquals(1_000, index.size());
+            assertTrue(IntStream.range(0, 1_000).allMatch(slot -> index.find(slot, s -> s == slot) == slot));
+            // Only the file of the current table is left
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(1, files.count());
+            }
+        }
+    }
+
+    @Test
+    void testRemove_keepsCollidingKeysReachable() throws IOException {
+        try (OffHeapIndex index = new OffHeapIndex(directory, "test", 16)) {
+            index.insert(7, 0);
+            index.insert(7, 1);
+            index.insert(7, 2);
+
+            assertTrue(index.remove(7, 0));
+            assertFalse(index.remove(7, 0));
+
+            assertEquals(2, index.size());
+            assertEquals(-1, index.find(7, slot -> slot == 0));
+            assertEquals(1, index.find(7, slot -> slot == 1));
+            assertEquals(2, index.find(7, slot -> slot == 2));
+        }
+    }
+
+    @Test
+    void testRemove_manyKeys() throws IOException {
+        try (OffHeapIndex index = new OffHeapIndex(directory, "test", 2_000)) {
+            IntStream.range(0, 2_000).forEach(slot -> index.insert(slot % 100, slot));
+            IntStream.range(0, 2_000).filter(slot -> slot % 2 == 0)
+                    .forEach(slot -> assertTrue(index.remove(slot % 100, slot)));
+
+            assertEquals(1_000, index.size());
+            assertTrue(IntStream.range(0, 2_000).allMatch(slot ->
+                    index.find(slot % 100, s -> s == slot) == (slot % 2 == 0 ? -1 : slot)));
+        }
+    }
+
+    @Test
+    void testClose_deletesFile() throws IOException {
+        OffHeapIndex index = new OffHeapIndex(directory, "test", 16);
+        index.insert(1, 0);
+
+        index.close();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.reactive;
+
+import com.flaviolcord.user.registry.UserRegistryApplication;
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.domain.repository.ReactiveUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(
+        classes = UserRegistryApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive"
+)
+@ActiveProfiles({"test", "reactive"})
+class R2dbcUserRepositoryIT {
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private TransactionalOperator transactionalOperator;
+
+    @Test
+    void save_NewUser_ShouldBeFoundByIdAndUsername() {
+        // Arrange
+        User user = newUser(uniqueUsername());
+
+        // Act
+        User saved = userRepository.save(user).block();
+
+        // Assert
+        assertNotNull(saved);
+        assertNotNull(saved.id());
+        assertEquals(0L, saved.version());
+        assertEquals(saved, userRepository.findById(saved.id()).block());
+        assertEquals(saved, userRepository.findByUsername(user.username()).block());
+    }
+
+    @Test
+    void save_UserWithoutOptionalFields_ShouldKeepThemNull() {
+        // Arrange
+        User user = new User(null, uniqueUsername(), LocalDate.of(1990, 1, 1), "France", null, null);
+
+        // Act
+        User saved = userRepository.save(user).block();
+
+        // Assert
+        User found = userRepository.findById(saved.id()).block();
+        assertNull(found.phoneNumber());
+        assertNull(found.gender());
+    }
+
+    @Test
+    void findById_UnknownUser_ShouldCompleteEmpty() {
+        // Act & Assert
+        StepVerifier.create(userRepository.findById(42L)).verifyComplete();
+        StepVerifier.create(userRepository.findByUsername(uniqueUsername())).verifyComplete();
+    }
+
+    @Test
+    void save_ExistingUser_ShouldIncrementTheVersion() {
+        // Arrange
+        User saved = userRepository.save(newUser(uniqueUsername())).block();
+        User changed = new User(saved.id(), saved.username(), saved.birthdate(), saved.countryOfResidence(),
+                "0987654321", saved.gender(), saved.version());
+
+        // Act
+        User updated = userRepository.save(changed).block();
+
+        // Assert
+        assertEquals(1L, updated.version());
+        assertEquals("0987654321", userRepository.findById(saved.id()).block().phoneNumber());
+    }
+
+    @Test
+    void save_StaleVersion_ShouldFailWithOptimisticLockingFailure() {
+        // Arrange
+        User saved = userRepository.save(newUser(uniqueUsername())).block();
+        userRepository.save(saved).block();
+
+        // Act & Assert
+        StepVerifier.create(userRepository.save(saved))
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+    }
+
+    @Test
+    void save_TakenUsername_ShouldFailWithDataIntegrityViolation() {
+        // Arrange
+        String username = uniqueUsername();
+        userRepository.save(newUser(username)).block();
+
+        // Act & Assert
+        StepVerifier.create(userRepository.save(newUser(username)))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+
+    @Test
+    void save_InRolledBackTransaction_ShouldNotBeStored() {
+        // Arrange
+        String username = uniqueUsername();
+
+        // Act
+        StepVerifier.create(userRepository.save(newUser(username))
+                        .then(Mono.error(new IllegalStateException("rollback")))
+                        .as(transactionalOperator::transactional))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        // Assert
+        StepVerifier.create(userRepository.findByUsername(username)).verifyComplete();
+    }
+
+    private static User newUser(String username) {
+        return new User(null, username, LocalDate.of(1990, 1, 1), "France", "1234567890", "Male");
+    }
+
+    private static String uniqueUsername() {
+        return "r2dbc-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,126 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.repository;
+
+import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserNaturalIdCacheIT {
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        jpaUserRepository.deleteAll();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByUsername_AfterRegistration_ShouldNotQueryTheDatabase() {
+        // Arrange
+        Long id = save("cacheduser").getId();
+        statistics.clear();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            Optional<UserEntity> found = findByUsername("cacheduser");
+            assertTrue(found.isPresent());
+            assertEquals(id, found.get().getId());
+        }
+
+        // Assert
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(3, statistics.getNaturalIdCacheHitCount());
+        assertEquals(3, statistics.getDomainDataRegionStatistics(UserEntity.CACHE_REGION).getHitCount());
+    }
+
+    @Test
+    void findByUsername_ColdCache_ShouldQueryOnlyTheFirstLookup() {
+        // Arrange
+        save("colduser");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics.clear();
+
+        // Act
+        assertTrue(findByUsername("colduser").isPresent());
+        long firstLookupStatements = statistics.getPrepareStatementCount();
+        assertTrue(findByUsername("colduser").isPresent());
+        assertTrue(findByUsername("colduser").isPresent());
+
+        // Assert
+        assertTrue(firstLookupStatements > 0);
+        assertEquals(firstLookupStatements, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test
+    void findByUsername_AfterDeletion_ShouldNotReturnTheCachedUser() {
+        // Arrange
+        UserEntity saved = save("deleteduser");
+        assertTrue(findByUsername("deleteduser").isPresent());
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> jpaUserRepository.deleteById(saved.getId()));
+
+        // Assert
+        assertTrue(findByUsername("deleteduser").isEmpty());
+        Long newId = save("deleteduser").getId();
+        assertEquals(Optional.of(newId), findByUsername("deleteduser").map(UserEntity::getId));
+    }
+
+    @Test
+    void findByUsername_AfterRollback_ShouldNotReturnTheUser() {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            jpaUserRepository.saveAndFlush(createUserEntity("rolledback"));
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertTrue(findByUsername("rolledback").isEmpty());
+    }
+
+    private UserEntity save(String username) {
+        return transactionTemplate.execute(status -> jpaUserRepository.save(createUserEntity(username)));
+    }
+
+    private Optional<UserEntity> findByUsername(String username) {
+        return transactionTemplate.execute(status -> jpaUserRepository.findByUsername(username));
+    }
+
+    private UserEntity createUserEntity(String username) {
+        UserEntity entity = new UserEntity();
+        entity.setUsername(username);
+        entity.setBirthdate(LocalDate.of(1990, 1, 1));
+        entity.setCountryOfResidence("France");
+        entity.setPhoneNumber("1234567890");
+        entity.setGender("Male");
+        return entity;
+    }
+}
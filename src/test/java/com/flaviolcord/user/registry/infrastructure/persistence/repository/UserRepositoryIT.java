@@ -4,6 +4,9 @@ import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.domain.repository.UserRepository;
 import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
 import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,7 +17,11 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +42,9 @@ class UserRepositoryIT {
     @Autowired
     private PlatformTransactionManager transactionManager;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private User validUser;
 
     @BeforeEach
@@ -137,6 +147,22 @@ class UserRepositoryIT {
         assertEquals(savedUser.gender(), foundUser.get().gender());
     }
 
+    @Test
+    void findById_ShouldNotLoadAnyEntity() {
+        // Arrange
+        User savedUser = userRepository.save(validUser);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        Optional<User> foundUser = userRepository.findById(savedUser.id());
+
+        // Assert
+        assertTrue(foundUser.isPresent());
+        assertEquals(savedUser.version(), foundUser.get().version());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
     @Test
     void findById_NonExistingUser_ShouldReturnEmpty() {
         // Arrange
@@ -190,4 +216,102 @@ class UserRepositoryIT {
             jpaUserRepository.flush();
         });
     }
+
+    @Test
+    void saveAll_NewUsers_ShouldPersistAllAndReturnThemInOrder() {
+        // Arrange
+        User otherUser = new User(null, "otheruser", LocalDate.of(1992, 2, 2), "France", null, null);
+
+        // Act
+        List<User> savedUsers = userRepository.saveAll(List.of(validUser, otherUser));
+        jpaUserRepository.flush();
+
+        // Assert
+        assertEquals(2, savedUsers.size());
+        assertEquals("testuser", savedUsers.get(0).username());
+        assertEquals("otheruser", savedUsers.get(1).username());
+        assertNotNull(savedUsers.get(0).id());
+        assertNotNull(savedUsers.get(1).id());
+        assertEquals(2, jpaUserRepository.count());
+    }
+
+    @Test
+    void findExistingUsernames_ShouldReturnOnlyRegisteredUsernames() {
+        // Arrange
+        userRepository.save(validUser);
+
+        // Act
+        Set<String> existing = userRepository.findExistingUsernames(List.of("testuser", "nonexistent"));
+
+        // Assert
+        assertEquals(Set.of("testuser"), existing);
+    }
+
+    @Test
+    void streamAfter_ShouldReturnUsersAfterIdInAscendingOrder() {
+        // Arrange
+        List<User> savedUsers = userRepository.saveAll(List.of(
+                new User(null, "first", LocalDate.of(1990, 1, 1), "France", null, null),
+                new User(null, "second", LocalDate.of(1990, 1, 1), "France", null, null),
+                new User(null, "third", LocalDate.of(1990, 1, 1), "France", null, null)));
+        jpaUserRepository.flush();
+
+        // Act
+        List<User> page;
+        try (Stream<User> users = userRepository.streamAfter(savedUsers.get(0).id(), 1)) {
+            page = users.toList();
+        }
+
+        // Assert
+        assertEquals(1, page.size());
+        assertEquals("second", page.get(0).username());
+    }
+
+    @Test
+    void streamAll_ShouldReturnEveryUserInAscendingIdOrder() {
+        // Arrange
+        userRepository.saveAll(List.of(
+                new User(null, "first", LocalDate.of(1990, 1, 1), "France", "1234567890", "Male"),
+                new User(null, "second", LocalDate.of(1991, 2, 3), "Spain", null, null)));
+        jpaUserRepository.flush();
+
+        // Act
+        List<User> exported;
+        try (Stream<User> users = userRepository.streamAll()) {
+            exported = users.toList();
+        }
+
+        // Assert
+        assertEquals(List.of("first", "second"), exported.stream().map(User::username).toList());
+        assertEquals(new User(exported.get(0).id(), "first", LocalDate.of(1990, 1, 1), "France", "1234567890", "Male", 0L),
+                exported.get(0));
+        assertTrue(exported.get(0).id() < exported.get(1).id());
+    }
+
+    @Test
+    void findVersionById_ShouldReturnVersionOfSavedUser() {
+        // Arrange
+        User savedUser = userRepository.save(
+                new User(null, "versioned", LocalDate.of(1990, 1, 1), "France", null, null));
+
+        // Act & Assert
+        assertEquals(0L, savedUser.version());
+        assertEquals(Optional.of(0L), userRepository.findVersionById(savedUser.id()));
+        assertEquals(Optional.empty(), userRepository.findVersionById(-1L));
+    }
+
+    @Test
+    void findAllById_ShouldReturnOnlyExistingUsers() {
+        // Arrange
+        List<User> savedUsers = userRepository.saveAll(List.of(
+                new User(null, "first", LocalDate.of(1990, 1, 1), "France", null, null),
+                new User(null, "second", LocalDate.of(1990, 1, 1), "France", null, null)));
+        jpaUserRepository.flush();
+
+        // Act
+        List<User> found = userRepository.findAllById(List.of(savedUsers.get(1).id(), -1L, savedUsers.get(0).id()));
+
+        // Assert
+        assertEquals(Set.of("first", "second"), found.stream().map(User::username).collect(Collectors.toSet()));
+    }
 }
@@ -4,11 +4,16 @@ import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import com.flaviolcord.user.registry.domain.model.User;
 import com.flaviolcord.user.registry.infrastructure.mapper.UserMapper;
 import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import com.flaviolcord.user.registry.infrastructure.persistence.UsernameIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +30,9 @@ class UserRepositoryImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UsernameIndex usernameIndex;
+
     @InjectMocks
     private UserRepositoryImpl userRepository;
 
@@ -34,7 +42,10 @@ class UserRepositoryImplTest {
     @BeforeEach
     void setUp() {
         user = new User(1L, "john_doe", LocalDate.of(1990, 1, 1), "France", "1234567890", "Male");
-        userEntity = new UserEntity(1L, "john_doe", LocalDate.of(1990, 1, 1), "France", "1234567890", "Male");
+        userEntity = new UserEntity(1L, "john_doe", LocalDate.of(1990, 1, 1), "France", "1234567890", "Male", null);
+
+        // The index cannot rule out any username unless a test says otherwise
+        lenient().when(usernameIndex.mightContain(any())).thenReturn(true);
     }
 
     @Test
@@ -53,22 +64,23 @@ class UserRepositoryImplTest {
         verify(userMapper).toEntity(user);
         verify(jpaUserRepository).save(userEntity);
         verify(userMapper).toDomainModel(userEntity);
+        verify(usernameIndex).add("john_doe");
     }
 
     @Test
     void testFindById() {
-        // Arrange: Mock the behavior of JpaUserRepository and UserMapper
-        when(jpaUserRepository.findById(1L)).thenReturn(Optional.of(userEntity));
-        when(userMapper.toDomainModel(userEntity)).thenReturn(user);
+        // Arrange: Mock the projection query of JpaUserRepository
+        when(jpaUserRepository.findUserById(1L)).thenReturn(Optional.of(user));
 
         // Act: Call the findById method
         Optional<User> foundUser = userRepository.findById(1L);
 
-        // Assert: Verify the expected behavior
+        // Assert: Verify the projected user is returned without loading or mapping an entity
         assertTrue(foundUser.isPresent());
         assertEquals(user.username(), foundUser.get().username());
-        verify(jpaUserRepository).findById(1L);
-        verify(userMapper).toDomainModel(userEntity);
+        verify(jpaUserRepository).findUserById(1L);
+        verify(jpaUserRepository, never()).findById(any());
+        verifyNoInteractions(userMapper);
     }
 
     @Test
@@ -91,14 +103,14 @@ class UserRepositoryImplTest {
     @Test
     void testFindByIdWhenNotFound() {
         // Arrange: Mock JpaUserRepository to return an empty Optional
-        when(jpaUserRepository.findById(1L)).thenReturn(Optional.empty());
+        when(jpaUserRepository.findUserById(1L)).thenReturn(Optional.empty());
 
         // Act: Call findById
         Optional<User> foundUser = userRepository.findById(1L);
 
         // Assert: Verify that no user was found
         assertFalse(foundUser.isPresent());
-        verify(jpaUserRepository).findById(1L);
+        verify(jpaUserRepository).findUserById(1L);
     }
 
     @Test
@@ -113,4 +125,156 @@ class UserRepositoryImplTest {
         assertFalse(foundUser.isPresent());
         verify(jpaUserRepository).findByUsername("john_doe");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindByUsernameWhenIndexRulesItOut() {
+        // Arrange: The index does not know the username, which another node may have registered
+        lenient().when(usernameIndex.mightContain("john_doe")).thenReturn(false);
+        when(jpaUserRepository.findByUsername("john_doe")).thenReturn(Optional.of(userEntity));
+        when(userMapper.toDomainModel(userEntity)).thenReturn(user);
+
+        // Act: Call findByUsername
+        Optional<User> foundUser = userRepository.findByUsername("john_doe");
+
+        // Assert: Verify that the database was queried regardless of the index
+        assertEquals(Optional.of(user), foundUser);
+        verify(usernameIndex, never()).mightContain(any());
+    }
+
+    @Test
+    void testExistsByUsernameWhenIndexRulesItOut() {
+        // Arrange: The index knows the username is absent
+        when(usernameIndex.mightContain("john_doe")).thenReturn(false);
+
+        // Act: Call existsByUsername
+        boolean exists = userRepository.existsByUsername("john_doe");
+
+        // Assert: Verify that the database was not queried
+        assertFalse(exists);
+        verifyNoInteractions(jpaUserRepository);
+    }
+
+    @Test
+    void testExistsByUsernameWhenIndexIsWrong() {
+        // Arrange: The index cannot rule the username out, but the database does not have it
+        when(usernameIndex.mightContain("john_doe")).thenReturn(true);
+        when(jpaUserRepository.findByUsername("john_doe")).thenReturn(Optional.empty());
+
+        // Act: Call existsByUsername
+        boolean exists = userRepository.existsByUsername("john_doe");
+
+        // Assert: Verify that the index miss was recorded
+        assertFalse(exists);
+        verify(jpaUserRepository).findByUsername("john_doe");
+        verify(usernameIndex).recordFalsePositive();
+    }
+
+    @Test
+    void testSaveAll() {
+        // Arrange: Mock the behavior of JpaUserRepository and UserMapper
+        when(userMapper.toEntity(user)).thenReturn(userEntity);
+        when(jpaUserRepository.saveAll(List.of(userEntity))).thenReturn(List.of(userEntity));
+        when(userMapper.toDomainModel(userEntity)).thenReturn(user);
+
+        // Act: Call the saveAll method
+        List<User> savedUsers = userRepository.saveAll(List.of(user));
+
+        // Assert: Verify all users were saved in a single call
+        assertEquals(List.of(user), savedUsers);
+        verify(jpaUserRepository).saveAll(List.of(userEntity));
+        verify(jpaUserRepository, never()).save(any());
+        verify(usernameIndex).add("john_doe");
+    }
+
+    @Test
+    void testFindExistingUsernames() {
+        // Arrange: Mock JpaUserRepository to report one existing username
+        when(jpaUserRepository.findUsernamesIn(List.of("john_doe", "jane_doe"))).thenReturn(Set.of("john_doe"));
+
+        // Act: Call findExistingUsernames
+        Set<String> existing = userRepository.findExistingUsernames(List.of("john_doe", "jane_doe"));
+
+        // Assert: Verify a single query was issued
+        assertEquals(Set.of("john_doe"), existing);
+        verify(jpaUserRepository, times(1)).findUsernamesIn(any());
+    }
+
+    @Test
+    void testFindExistingUsernamesInChunks() {
+        // Arrange: More usernames than fit in a single IN clause
+        List<String> usernames = IntStream.range(0, UserRepositoryImpl.IN_CLAUSE_CHUNK_SIZE + 1)
+                .mapToObj(i -> "user" + i)
+                .toList();
+        when(jpaUserRepository.findUsernamesIn(any())).thenReturn(Set.of());
+
+        // Act: Call findExistingUsernames
+        Set<String> existing = userRepository.findExistingUsernames(usernames);
+
+        // Assert: Verify the usernames were split into two queries
+        assertTrue(existing.isEmpty());
+        verify(jpaUserRepository, times(2)).findUsernamesIn(any());
+    }
+
+    @Test
+    void testFindExistingUsernamesOnlyQueriesUsernamesTheIndexCannotRuleOut() {
+        // Arrange: The index rules out one of the usernames
+        when(usernameIndex.mightContain("jane_doe")).thenReturn(false);
+        when(jpaUserRepository.findUsernamesIn(List.of("john_doe"))).thenReturn(Set.of("john_doe"));
+
+        // Act: Call findExistingUsernames
+        Set<String> existing = userRepository.findExistingUsernames(List.of("john_doe", "jane_doe"));
+
+        // Assert: Verify only the remaining username was queried
+        assertEquals(Set.of("john_doe"), existing);
+        verify(jpaUserRepository).findUsernamesIn(List.of("john_doe"));
+        verify(usernameIndex, never()).recordFalsePositive();
+    }
+
+    @Test
+    void testFindExistingUsernamesWhenEmpty() {
+        // Act: Call findExistingUsernames with no usernames
+        Set<String> existing = userRepository.findExistingUsernames(List.of());
+
+        // Assert: Verify no query was issued
+        assertTrue(existing.isEmpty());
+        verifyNoInteractions(jpaUserRepository);
+    }
+
+    @Test
+    void testFindAllByIdInChunks() {
+        // Arrange: More IDs than fit in a single IN clause
+        List<Long> ids = LongStream.rangeClosed(1, UserRepositoryImpl.IN_CLAUSE_CHUNK_SIZE + 1).boxed().toList();
+        when(jpaUserRepository.findUsersByIdIn(any())).thenReturn(List.of(user), List.of());
+
+        // Act: Call findAllById
+        List<User> users = userRepository.findAllById(ids);
+
+        // Assert: Verify two queries were issued and the projected users were returned together
+        assertEquals(List.of(user), users);
+        verify(jpaUserRepository, times(2)).findUsersByIdIn(any());
+        verifyNoInteractions(userMapper);
+    }
+
+    @Test
+    void testFindAllByIdInOneQuery() {
+        // Arrange: IDs that fit in a single IN clause
+        when(jpaUserRepository.findUsersByIdIn(List.of(1L, 2L))).thenReturn(List.of(user));
+
+        // Act: Call findAllById
+        List<User> users = userRepository.findAllById(List.of(1L, 2L));
+
+        // Assert: Verify the projected users of the single query are returned as is
+        assertEquals(List.of(user), users);
+        verify(jpaUserRepository).findUsersByIdIn(List.of(1L, 2L));
+    }
+
+    @Test
+    void testFindAllByIdWhenEmpty() {
+        // Act: Call findAllById with no IDs
+        List<User> users = userRepository.findAllById(List.of());
+
+        // Assert: Verify no query was issued
+        assertTrue(users.isEmpty());
+        verifyNoInteractions(jpaUserRepository);
+    }
+}
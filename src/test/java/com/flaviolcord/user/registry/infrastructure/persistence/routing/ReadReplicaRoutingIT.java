@@ -0,0 +1,177 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.routing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flaviolcord.user.registry.UserRegistryApplication;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs the API against a primary and a replica that lags far behind, so anything read from the replica
+ * misses the users registered by the test.
+ */
+@SpringBootTest(classes = UserRegistryApplication.class, properties = {
+        "user.replica.url=jdbc:h2:mem:replica-it;DB_CLOSE_DELAY=-1",
+        "user.replica.lag=1h",
+        "user.cache.enabled=false",
+        "user.second-level-cache.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "replica-sim"})
+class ReadReplicaRoutingIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicationPosition replicationPosition;
+
+    @Test
+    void context_ShouldDeferRoutingToFirstStatement() {
+        // Assert
+        assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+        assertInstanceOf(SimulatedReplication.class, AopTestUtils.getTargetObject(replicationPosition));
+    }
+
+    @Test
+    void getUser_WithoutToken_ShouldReadLaggingReplica() throws Exception {
+        // Arrange
+        long id = register("replica-lagging");
+        long replicaConnections = routingDataSource.connections(ReadWriteRoutingDataSource.Target.REPLICA);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/v1/users/{id}", id))
+                .andExpect(status().isNotFound());
+        assertTrue(routingDataSource.connections(ReadWriteRoutingDataSource.Target.REPLICA) > replicaConnections);
+    }
+
+    @Test
+    void getUser_WithTokenOfOwnWrite_ShouldReadPrimary() throws Exception {
+        // Arrange
+        MvcResult registration = registration("replica-own-write");
+        long id = objectMapper.readTree(registration.getResponse().getContentAsString()).get("id").asLong();
+        String token = registration.getResponse().getHeader(ReadYourWrites.HEADER);
+
+        // Act & Assert
+        assertNotNull(token);
+        mockMvc.perform(get("/api/v1/users/{id}", id).header(ReadYourWrites.HEADER, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("replica-own-write")));
+    }
+
+    @Test
+    void getRegistrationStatus_OfCreatedUser_ShouldReturnTokenOfItsWrite() throws Exception {
+        // Arrange
+        MvcResult submission = mockMvc.perform(post("/api/v1/users").param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createValidUserDTO("replica-async"))))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String registrationId = objectMapper.readTree(submission.getResponse().getContentAsString())
+                .get("registration_id").asText();
+
+        // Act
+        MvcResult status = awaitCreated(registrationId);
+        long id = objectMapper.readTree(status.getResponse().getContentAsString()).get("user_id").asLong();
+        String token = status.getResponse().getHeader(ReadYourWrites.HEADER);
+
+        // Assert
+        assertNotNull(token);
+        mockMvc.perform(get("/api/v1/users/{id}", id).header(ReadYourWrites.HEADER, token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("replica-async")));
+    }
+
+    @Test
+    void importUsers_ShouldReturnNoTokenOnceStreamingHasStarted() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(createValidUserDTO("replica-imported")) + "\n";
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/v1/users/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andReturn();
+
+        // Assert
+        assertNull(result.getResponse().getHeader(ReadYourWrites.HEADER));
+    }
+
+    @Test
+    void registerUser_ShouldCheckUsernameOnPrimary() throws Exception {
+        // Arrange
+        register("replica-taken");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createValidUserDTO("replica-taken"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Username is already taken")));
+    }
+
+    private MvcResult awaitCreated(String registrationId) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            MvcResult result = mockMvc.perform(get("/api/v1/users/registrations/{id}", registrationId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            if ("CREATED".equals(objectMapper.readTree(result.getResponse().getContentAsString()).get("status").asText())) {
+                return result;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Registration " + registrationId + " was not created");
+    }
+
+    private long register(String username) throws Exception {
+        return objectMapper.readTree(registration(username).getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private MvcResult registration(String username) throws Exception {
+        return mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createValidUserDTO(username))))
+                .andExpect(status().isCreated())
+                .andReturn();
+    }
+
+    private static UserDTO createValidUserDTO(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setBirthdate(LocalDate.now().minusYears(20));
+        userDTO.setCountryOfResidence("France");
+        userDTO.setPhoneNumber("1234567890");
+        userDTO.setGender("Male");
+        return userDTO;
+    }
+}
@@ -0,0 +1,176 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private final AtomicLong primaryPosition = new AtomicLong();
+    private final AtomicLong replicaPosition = new AtomicLong();
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        ReplicationPosition positions = new ReplicationPosition() {
+            @Override
+            public long primaryPosition() {
+                return primaryPosition.get();
+            }
+
+            @Override
+            public long replicaPosition() {
+                return replicaPosition.get();
+            }
+        };
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replica, positions);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ReadYourWrites.close();
+    }
+
+    @Test
+    void getConnection_outsideReadOnlyTransaction_shouldUsePrimary() throws SQLException {
+        // Arrange
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // Act & Assert
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertEquals(1, routingDataSource.connections(ReadWriteRoutingDataSource.Target.PRIMARY));
+    }
+
+    @Test
+    void getConnection_inReadOnlyTransaction_shouldUseReplica() throws SQLException {
+        // Arrange
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        assertEquals(1, routingDataSource.connections(ReadWriteRoutingDataSource.Target.REPLICA));
+    }
+
+    @Test
+    void getConnection_whenReplicaIsBehindRequiredPosition_shouldUsePrimaryUntilCaughtUp() throws SQLException {
+        // Arrange
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replicaPosition.set(4);
+        ReadYourWrites.open(5, position -> { });
+
+        // Act & Assert
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        replicaPosition.set(5);
+        assertSame(replicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void written_shouldRaiseRequiredPositionAndReportNewToken() throws SQLException {
+        // Arrange
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        AtomicLong token = new AtomicLong();
+        ReadYourWrites.open(0, token::set);
+
+        // Act
+        ReadYourWrites.written(7);
+        ReadYourWrites.written(3);
+
+        // Assert
+        assertEquals(7, token.get());
+        assertEquals(7, ReadYourWrites.requiredPosition());
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_inTrackedReadWriteTransaction_shouldRecordPrimaryPositionAfterCommit() throws SQLException {
+        // Arrange
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        AtomicLong token = new AtomicLong();
+        ReadYourWrites.open(0, token::set);
+        primaryPosition.set(9);
+
+        // Act
+        routingDataSource.getConnection();
+        routingDataSource.getConnection();
+        long beforeCommit = token.get();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+
+        // Assert
+        assertEquals(0, beforeCommit);
+        assertEquals(1, synchronizations.size());
+        assertEquals(9, token.get());
+        assertEquals(9, ReadYourWrites.requiredPosition());
+    }
+
+    @Test
+    void getConnection_inUntrackedReadWriteTransaction_shouldNotQueryPrimaryPosition() throws SQLException {
+        // Arrange
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // Act
+        routingDataSource.getConnection();
+
+        // Assert
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void bindTo_shouldCountConnectionsByTarget() throws SQLException {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        routingDataSource.bindTo(registry);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        // Act
+        routingDataSource.getConnection();
+
+        // Assert
+        assertEquals(1, registry.get("user.datasource.connections").tag("target", "primary").functionCounter().count());
+        assertEquals(0, registry.get("user.datasource.connections").tag("target", "replica").functionCounter().count());
+    }
+}
@@ -0,0 +1,151 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.routing;
+
+import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulatedReplicationTest {
+
+    private JdbcDataSource primary;
+    private JdbcDataSource replica;
+    private Connection primaryKeepAlive;
+    private Connection replicaKeepAlive;
+    private SimulatedReplication replication;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = database("primary");
+        replica = database("replica");
+        primaryKeepAlive = primary.getConnection();
+        replicaKeepAlive = replica.getConnection();
+        try (Statement statement = primaryKeepAlive.createStatement()) {
+            statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(255) NOT NULL UNIQUE, "
+                    + "birthdate DATE NOT NULL, country_of_residence VARCHAR(255) NOT NULL, phone_number VARCHAR(255), "
+                    + "gender VARCHAR(255), version BIGINT)");
+            statement.execute("INSERT INTO users VALUES (1, 'existing', DATE '1990-01-01', 'France', NULL, NULL, 0)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (replication != null) {
+            replication.close();
+        }
+        primaryKeepAlive.close();
+        replicaKeepAlive.close();
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldCopyPrimaryIntoEmptyReplica() throws SQLException {
+        // Arrange
+        replication = new SimulatedReplication(primary, replica, Duration.ZERO);
+
+        // Act
+        replication.afterSingletonsInstantiated();
+
+        // Assert
+        assertEquals("existing", replicaUsername(1));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_nonEmptyReplica_shouldRefuseAndKeepIt() throws SQLException {
+        // Arrange
+        try (Statement statement = replicaKeepAlive.createStatement()) {
+            statement.execute("CREATE TABLE existing (id INT)");
+        }
+        replication = new SimulatedReplication(primary, replica, Duration.ZERO);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, replication::afterSingletonsInstantiated);
+        try (Statement statement = replicaKeepAlive.createStatement();
+             ResultSet tables = statement.executeQuery(
+                     "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'EXISTING'")) {
+            tables.next();
+            assertEquals(1, tables.getInt(1));
+        }
+    }
+
+    @Test
+    void publish_shouldApplyChangesInOrderAfterLag() throws Exception {
+        // Arrange
+        replication = new SimulatedReplication(primary, replica, Duration.ofMillis(200));
+        replication.afterSingletonsInstantiated();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        replication.bindTo(registry);
+        LongSupplier applied = replication::replicaPosition;
+
+        // Act
+        replication.publish(user(2L, "john", 0L), false);
+        replication.publish(user(2L, "johnny", 1L), false);
+        replication.publish(user(1L, "existing", 0L), true);
+
+        // Assert
+        assertEquals(3, replication.primaryPosition());
+        assertEquals(0, applied.getAsLong());
+        assertEquals(3, registry.get("user.replica.pending").gauge().value());
+        awaitPosition(applied, 3);
+        assertEquals("johnny", replicaUsername(2));
+        assertNull(replicaUsername(1));
+        assertEquals(3, registry.get("user.replica.changes").functionCounter().count());
+        assertEquals(0, registry.get("user.replica.pending").gauge().value());
+    }
+
+    @Test
+    void publish_olderVersionAfterNewerOne_shouldNotOverwriteReplica() throws Exception {
+        // Arrange
+        replication = new SimulatedReplication(primary, replica, Duration.ZERO);
+        replication.afterSingletonsInstantiated();
+        LongSupplier applied = replication::replicaPosition;
+
+        // Act: the commit listeners of two updates ran in the opposite order of their commits
+        replication.publish(user(2L, "john", 0L), false);
+        replication.publish(user(2L, "johnny", 2L), false);
+        replication.publish(user(2L, "jon", 1L), false);
+        replication.publish(user(1L, "existing-renamed", 0L), false);
+
+        // Assert
+        awaitPosition(applied, 4);
+        assertEquals("johnny", replicaUsername(2));
+        assertEquals("existing", replicaUsername(1));
+    }
+
+    private String replicaUsername(long id) throws SQLException {
+        try (Statement statement = replicaKeepAlive.createStatement();
+             ResultSet row = statement.executeQuery("SELECT username FROM users WHERE id = " + id)) {
+            return row.next() ? row.getString(1) : null;
+        }
+    }
+
+    private static void awaitPosition(LongSupplier applied, long position) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (applied.getAsLong() < position && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(position, applied.getAsLong());
+    }
+
+    private static JdbcDataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID());
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+
+    private static UserEntity user(Long id, String username, Long version) {
+        return new UserEntity(id, username, LocalDate.of(1990, 1, 1), "France", null, null, version);
+    }
+}
@@ -0,0 +1,55 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.sharded;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardMapTest {
+
+    @Test
+    void shardOf_withoutExplicitBuckets_shouldSpreadSequentialIdsEvenly() {
+        ShardMap map = new ShardMap(256, List.of("", "", ""));
+        int[] counts = new int[3];
+
+        for (long id = 1_000_000; id < 1_030_000; id++) {
+            counts[map.shardOf(id)]++;
+        }
+
+        assertEquals(3, map.shardCount());
+        for (int count : counts) {
+            assertTrue(count > 9_000 && count < 11_000, "Unbalanced shards: " + count);
+        }
+    }
+
+    @Test
+    void shardOf_shouldBeStableForUsernames() {
+        ShardMap map = new ShardMap(16, List.of("", ""));
+
+        assertEquals(map.shardOf("john"), new ShardMap(16, List.of("", "")).shardOf("john"));
+        assertTrue(IntStream.range(0, 100).mapToObj(i -> "user" + i).map(map::shardOf).distinct().count() == 2);
+    }
+
+    @Test
+    void shardOf_withExplicitBuckets_shouldFollowAssignment() {
+        ShardMap map = new ShardMap(4, List.of("0-2", "3"));
+        ShardMap everythingOnSecond = new ShardMap(4, List.of("", "0-3"));
+
+        assertThrows(IllegalArgumentException.class, () -> new ShardMap(4, List.of("0-2", "")));
+        assertTrue(IntStream.range(0, 1_000).map(i -> everythingOnSecond.shardOf((long) i)).allMatch(shard -> shard == 1));
+        assertEquals(2, IntStream.range(0, 1_000).map(i -> map.shardOf((long) i)).distinct().count());
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidAssignments() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardMap(4, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new ShardMap(1, List.of("", "")));
+        assertThrows(IllegalArgumentException.class, () -> new ShardMap(4, List.of("0-2", "2-3")));
+        assertThrows(IllegalArgumentException.class, () -> new ShardMap(4, List.of("0-1", "3")));
+        assertThrows(IllegalArgumentException.class, () -> new ShardMap(4, List.of("0-x", "3")));
+        assertThrows(IllegalArgumentException.class, () -> new ShardMap(4, List.of("0-4", "3")));
+        assertThrows(IllegalArgumentException.class, () -> new ShardMap(4, List.of("2-1", "0,3")));
+    }
+}
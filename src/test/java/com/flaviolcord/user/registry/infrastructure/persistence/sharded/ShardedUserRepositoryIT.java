@@ -0,0 +1,141 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.sharded;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flaviolcord.user.registry.UserRegistryApplication;
+import com.flaviolcord.user.registry.domain.repository.UserRepository;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.persistence.ResourcelessTransactionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(classes = UserRegistryApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "sharded"})
+class ShardedUserRepositoryIT {
+
+    @DynamicPropertySource
+    static void shardProperties(DynamicPropertyRegistry registry) {
+        for (int shard = 0; shard < 3; shard++) {
+            String url = "jdbc:h2:mem:sharded-it-" + shard + ";DB_CLOSE_DELAY=-1";
+            registry.add("user.sharding.shards[" + shard + "].url", () -> url);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void context_ShouldUseShardedStoreWithoutSingleDatabase() {
+        // Assert
+        assertInstanceOf(ShardedUserRepository.class, AopTestUtils.getTargetObject(userRepository));
+        assertInstanceOf(ResourcelessTransactionManager.class, AopTestUtils.getTargetObject(transactionManager));
+        assertEquals(0, applicationContext.getBeanNamesForType(DataSource.class).length);
+    }
+
+    @Test
+    void registerUser_ShouldBeReadableByIdWithETag() throws Exception {
+        // Arrange
+        UserDTO userDTO = createValidUserDTO("sharded-john");
+
+        // Act
+        String body = mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).get("id").asLong();
+
+        // Assert
+        String eTag = mockMvc.perform(get("/api/v1/users/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(id)))
+                .andExpect(jsonPath("$.username", is("sharded-john")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + id + "-0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/v1/users/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void registerUser_WithTakenUsername_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        UserDTO userDTO = createValidUserDTO("sharded-taken");
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isCreated());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Username is already taken")));
+    }
+
+    @Test
+    void registerBatch_ShouldBeListedInIdOrder() throws Exception {
+        // Arrange
+        List<UserDTO> users = List.of(createValidUserDTO("sharded-batch1"), createValidUserDTO("sharded-batch2"));
+
+        // Act
+        mockMvc.perform(post("/api/v1/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(users)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)));
+        String body = mockMvc.perform(get("/api/v1/users").param("limit", "1000"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        JsonNode listed = objectMapper.readTree(body).get("users");
+        List<String> usernames = listed.findValuesAsText("username");
+        assertTrue(usernames.indexOf("sharded-batch1") < usernames.indexOf("sharded-batch2"));
+        assertTrue(usernames.contains("sharded-batch1"));
+    }
+
+    private static UserDTO createValidUserDTO(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setBirthdate(LocalDate.now().minusYears(20));
+        userDTO.setCountryOfResidence("France");
+        userDTO.setPhoneNumber("1234567890");
+        userDTO.setGender("Male");
+        return userDTO;
+    }
+}
@@ -0,0 +1,172 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.sharded;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedUserRepositoryTest {
+
+    private static final int SHARDS = 3;
+
+    private final List<String> urls = new ArrayList<>();
+    private final List<Connection> keepAlive = new ArrayList<>();
+    private ShardedUserRepository repository;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        UserProperties properties = new UserProperties();
+        List<UserProperties.Sharding.Shard> shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            String url = "jdbc:h2:mem:shard" + i + "-" + UUID.randomUUID();
+            urls.add(url);
+            keepAlive.add(DriverManager.getConnection(url, "sa", ""));
+            shards.add(new UserProperties.Sharding.Shard(url));
+        }
+        properties.getSharding().setBucketCount(64);
+        properties.getSharding().setShards(shards);
+        repository = new ShardedUserRepository(properties);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        repository.close();
+        for (Connection connection : keepAlive) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void save_shouldGenerateIdAndBeFoundByIdAndUsername() {
+        User saved = repository.save(user("john"));
+
+        assertNotNull(saved.id());
+        assertEquals(0L, saved.version());
+        assertEquals(Optional.of(saved), repository.findById(saved.id()));
+        assertEquals(Optional.of(saved), repository.findByUsername("john"));
+        assertEquals(Optional.of(0L), repository.findVersionById(saved.id()));
+        assertTrue(repository.findByUsername("jane").isEmpty());
+        assertTrue(repository.findById(null).isEmpty());
+        assertTrue(repository.findVersionById(null).isEmpty());
+    }
+
+    @Test
+    void save_shouldRejectUsernameTakenOnAnyShard() {
+        List<User> saved = repository.saveAll(IntStream.range(0, 30).mapToObj(i -> user("user" + i)).toList());
+
+        for (User user : saved) {
+            assertThrows(DataIntegrityViolationException.class, () -> repository.save(user(user.username())));
+        }
+        assertEquals(30, repository.streamAll().count());
+    }
+
+    @Test
+    void saveAll_shouldRejectDuplicatesBeforeWriting() {
+        repository.save(user("taken"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAll(List.of(user("a"), user("b"), user("a"))));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAll(List.of(user("a"), user("taken"))));
+
+        assertEquals(Set.of("taken"), repository.findExistingUsernames(List.of("a", "b", "taken")));
+        assertEquals(List.of(), repository.saveAll(List.of()));
+        assertEquals(Set.of(), repository.findExistingUsernames(List.of()));
+    }
+
+    @Test
+    void save_shouldUpdateRenameAndRejectStaleVersion() {
+        User saved = repository.save(user("john"));
+        User renamed = new User(saved.id(), "johnny", saved.birthdate(), saved.countryOfResidence(),
+                saved.phoneNumber(), saved.gender(), saved.version());
+
+        User updated = repository.save(renamed);
+
+        assertEquals(1L, updated.version());
+        assertEquals(Optional.of(updated), repository.findById(saved.id()));
+        assertEquals(Optional.of(updated), repository.findByUsername("johnny"));
+        assertTrue(repository.findByUsername("john").isEmpty());
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(renamed));
+        assertNotNull(repository.save(user("john")).id());
+    }
+
+    @Test
+    void streamAfterAndStreamAll_shouldMergeShardsInIdOrder() throws SQLException {
+        List<User> saved = repository.saveAll(IntStream.range(0, 60).mapToObj(i -> user("user" + i)).toList());
+        List<User> sorted = saved.stream().sorted(Comparator.comparing(User::id)).toList();
+
+        assertEquals(sorted.subList(0, 25), repository.streamAfter(0, 25).toList());
+        assertEquals(sorted.subList(25, 50), repository.streamAfter(sorted.get(24).id(), 25).toList());
+        assertEquals(sorted.subList(50, 60), repository.streamAfter(sorted.get(49).id(), 25).toList());
+        try (Stream<User> all = repository.streamAll()) {
+            assertEquals(sorted, all.toList());
+        }
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertTrue(count(shard, "users") > 0, "Shard " + shard + " holds no users");
+        }
+    }
+
+    @Test
+    void findAllById_shouldQueryOwningShards() {
+        List<User> saved = repository.saveAll(IntStream.range(0, 10).mapToObj(i -> user("user" + i)).toList());
+        List<Long> ids = new ArrayList<>(saved.stream().map(User::id).toList());
+        ids.add(-1L);
+
+        List<User> found = repository.findAllById(ids);
+
+        assertEquals(Set.copyOf(saved), Set.copyOf(found));
+        assertEquals(List.of(), repository.findAllById(List.of()));
+    }
+
+    @Test
+    void saveAll_whenShardFails_shouldUndoInsertsAndClaimsOnOtherShards() throws SQLException {
+        try (Statement statement = keepAlive.get(1).createStatement()) {
+            statement.execute("ALTER TABLE users RENAME TO users_offline");
+        }
+
+        assertThrows(DataAccessException.class,
+                () -> repository.saveAll(IntStream.range(0, 30).mapToObj(i -> user("user" + i)).toList()));
+
+        try (Statement statement = keepAlive.get(1).createStatement()) {
+            statement.execute("ALTER TABLE users_offline RENAME TO users");
+        }
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertEquals(0, count(shard, "users"));
+            assertEquals(0, count(shard, "usernames"));
+        }
+        assertEquals(30, repository.saveAll(IntStream.range(0, 30).mapToObj(i -> user("user" + i)).toList()).size());
+    }
+
+    private long count(int shard, String table) throws SQLException {
+        try (Statement statement = keepAlive.get(shard).createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private static User user(String username) {
+        return new User(null, username, LocalDate.of(1990, 1, 1), "France", "0612345678", "Male");
+    }
+}
@@ -0,0 +1,82 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.wal;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Kills a JVM that is writing to the log and checks that every acknowledged registration survives.
+ */
+class WalUserRepositoryRecoveryTest {
+
+    private static final String ACK = "ACK ";
+    private static final int ACKS_BEFORE_KILL = 3_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecovery_afterKillMidWrite_keepsEveryAcknowledgedUser() throws Exception {
+        Process writer = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                Writer.class.getName(), directory.toString())
+                .redirectErrorStream(true)
+                .start();
+
+        // Acknowledgements still in the pipe when the writer dies are not counted; they are durable all the same
+        List<Long> acknowledged = new ArrayList<>();
+        BufferedReader output = new BufferedReader(
+                new InputStreamReader(writer.getInputStream(), StandardCharsets.UTF_8));
+        for (String line = output.readLine(); line != null && acknowledged.size() < ACKS_BEFORE_KILL;
+                line = output.readLine()) {
+            if (line.startsWith(ACK)) {
+                acknowledged.add(Long.parseLong(line.substring(ACK.length())));
+            }
+        }
+        writer.destroyForcibly();
+        assertTrue(writer.waitFor(30, TimeUnit.SECONDS));
+        assertTrue(acknowledged.size() >= ACKS_BEFORE_KILL, "Writer stopped early: " + acknowledged.size());
+
+        WalUserRepository repository = WalUserRepositoryTest.open(directory, 1_000);
+        try {
+            List<User> recovered = repository.streamAll().toList();
+            assertTrue(recovered.size() >= acknowledged.size());
+            for (int i = 0; i < acknowledged.size(); i++) {
+                Optional<User> user = repository.findById(acknowledged.get(i));
+                assertTrue(user.isPresent(), "Lost acknowledged user " + i);
+                assertEquals("user" + i, user.get().username());
+            }
+            assertTrue(repository.save(WalUserRepositoryTest.user("after-recovery")).id()
+                    > recovered.get(recovered.size() - 1).id());
+        } finally {
+            repository.close();
+        }
+    }
+
+    /**
+     * Registers users one after another until killed, printing the ID of each once it is durable.
+     * A small snapshot interval makes the kill land during snapshots and segment rotations as well.
+     */
+    public static final class Writer {
+
+        public static void main(String[] args) {
+            WalUserRepository repository = WalUserRepositoryTest.open(Path.of(args[0]), 1_000);
+            for (int i = 0; ; i++) {
+                User saved = repository.save(WalUserRepositoryTest.user("user" + i));
+                System.out.println(ACK + saved.id());
+            }
+        }
+    }
+}
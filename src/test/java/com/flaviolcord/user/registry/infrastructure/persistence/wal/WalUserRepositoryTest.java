@@ -0,0 +1,247 @@
+package com.flaviolcord.user.registry.infrastructure.persistence.wal;
+
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.config.UserProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalUserRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private WalUserRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = open(1_000_000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void testSave_generatesIdAndInitialVersion() {
+        User saved = repository.save(user("john"));
+
+        assertNotNull(saved.id());
+        assertEquals(0L, saved.version());
+        assertEquals(Optional.of(saved), repository.findById(saved.id()));
+        assertEquals(Optional.of(saved), repository.findByUsername("john"));
+        assertEquals(Optional.of(0L), repository.findVersionById(saved.id()));
+    }
+
+    @Test
+    void testSave_rejectsDuplicateUsername() {
+        repository.save(user("john"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> repository.save(user("john")));
+        assertEquals(1, repository.size());
+    }
+
+    @Test
+    void testSave_whenLogCannotBeWritten_leavesNothingVisible() throws IOException {
+        User saved = repository.save(user("john"));
+        repository.close();
+
+        assertThrows(DataAccessResourceFailureException.class, () -> repository.save(user("jane")));
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> repository.save(new User(saved.id(), "johnny", saved.birthdate(), saved.countryOfResidence(),
+                        saved.phoneNumber(), saved.gender(), saved.version())));
+
+        assertEquals(Optional.empty(), repository.findByUsername("jane"));
+        assertEquals(Set.of(), repository.findExistingUsernames(List.of("jane", "johnny")));
+        assertEquals(Optional.of(saved), repository.findById(saved.id()));
+        assertEquals(1, repository.size());
+    }
+
+    @Test
+    void testSave_rejectsUnknownIdBelowHighestStoredId() {
+        User saved = repository.save(user("john"));
+        User older = new User(saved.id() - 1, "jane", LocalDate.of(1990, 1, 1), "France", null, null);
+
+        assertThrows(DataIntegrityViolationException.class, () -> repository.save(older));
+    }
+
+    @Test
+    void testSave_updatesExistingUserAndRejectsStaleVersion() {
+        User saved = repository.save(user("john"));
+        User renamed = new User(saved.id(), "johnny", saved.birthdate(), saved.countryOfResidence(),
+                saved.phoneNumber(), saved.gender(), saved.version());
+
+        User updated = repository.save(renamed);
+
+        assertEquals(1L, updated.version());
+        assertTrue(repository.findByUsername("john").isEmpty());
+        assertEquals(Optional.of(updated), repository.findByUsername("johnny"));
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(renamed));
+    }
+
+    @Test
+    void testSaveAll_rejectedBatchWritesNothing() {
+        repository.save(user("taken"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAll(List.of(user("a"), user("b"), user("a"))));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAll(List.of(user("a"), user("taken"))));
+
+        assertEquals(1, repository.size());
+        assertEquals(List.of(), repository.saveAll(List.of()));
+    }
+
+    @Test
+    void testFindAllByIdAndExistingUsernames() {
+        List<User> saved = repository.saveAll(List.of(user("a"), user("b")));
+
+        assertEquals(List.of(saved.get(1), saved.get(0)),
+                repository.findAllById(List.of(saved.get(1).id(), -1L, saved.get(0).id())));
+        assertEquals(Set.of("a"), repository.findExistingUsernames(List.of("a", "c")));
+        assertTrue(repository.findVersionById(-1L).isEmpty());
+    }
+
+    @Test
+    void testStreamAfter_pagesInIdOrder() {
+        List<User> saved = repository.saveAll(IntStream.range(0, 10).mapToObj(i -> user("user" + i)).toList());
+
+        assertEquals(saved.subList(0, 4), repository.streamAfter(0, 4).toList());
+        assertEquals(saved.subList(8, 10), repository.streamAfter(saved.get(7).id(), 4).toList());
+        assertEquals(saved, repository.streamAll().toList());
+    }
+
+    @Test
+    void testReopen_replaysLog() throws IOException {
+        List<User> saved = repository.saveAll(IntStream.range(0, 100).mapToObj(i -> user("user" + i)).toList());
+        User updated = repository.save(saved.get(5));
+        repository.close();
+
+        repository = open(1_000_000);
+
+        List<User> expected = new ArrayList<>(saved);
+        expected.set(5, updated);
+        assertEquals(expected, repository.streamAll().toList());
+        assertEquals(Optional.of(updated), repository.findByUsername("user5"));
+        assertTrue(repository.save(user("next")).id() > saved.get(99).id());
+    }
+
+    @Test
+    void testSnapshot_compactsLogAndIsLoadedOnReopen() throws IOException {
+        repository.close();
+        repository = open(50);
+
+        List<User> saved = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            saved.add(repository.save(user("user" + i)));
+        }
+        repository.snapshot().join();
+        repository.save(user("after-snapshot"));
+        repository.close();
+
+        assertTrue(Files.exists(directory.resolve(UserSnapshot.FILE_NAME)));
+        assertEquals(1, WriteAheadLog.segments(directory).size());
+
+        repository = open(50);
+        assertEquals(121, repository.size());
+        assertEquals(saved, repository.streamAll().limit(120).toList());
+        assertTrue(repository.findByUsername("after-snapshot").isPresent());
+    }
+
+    @Test
+    void testReopen_truncatesTornRecordAtEndOfLog() throws IOException {
+        List<User> saved = repository.saveAll(List.of(user("a"), user("b")));
+        repository.close();
+        Path segment = lastSegment();
+        long validLength = Files.size(segment);
+        byte[] torn = UserLogCodec.encode(new User(Long.MAX_VALUE, "torn", null, "France", null, null, 0L));
+        Files.write(segment, Arrays.copyOf(torn, torn.length - 3), StandardOpenOption.APPEND);
+
+        repository = open(1_000_000);
+
+        assertEquals(saved, repository.streamAll().toList());
+        assertEquals(validLength, Files.size(segment));
+        assertTrue(repository.findByUsername("torn").isEmpty());
+    }
+
+    @Test
+    void testOpen_rejectsCorruptOlderSegment() throws IOException {
+        Path corrupt = Files.createDirectory(directory.resolve("corrupt"));
+        byte[] first = UserLogCodec.encode(new User(1L, "first", null, "France", null, null, 0L));
+        byte[] second = UserLogCodec.encode(new User(2L, "second", null, "France", null, null, 0L));
+        Files.write(WriteAheadLog.segmentPath(corrupt, 1), Arrays.copyOf(first, first.length + 4));
+        Files.write(WriteAheadLog.segmentPath(corrupt, 2), second);
+
+        assertThrows(UncheckedIOException.class, () -> open(corrupt, 1_000_000));
+    }
+
+    @Test
+    void testConcurrentSaves_shareFsyncs() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        repository.bindTo(registry);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<User>> futures = new ArrayList<>();
+        for (int i = 0; i < 800; i++) {
+            String username = "user" + i;
+            futures.add(executor.submit(() -> repository.save(user(username))));
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Future<User> future : futures) {
+            ids.add(future.get().id());
+        }
+        executor.shutdown();
+
+        double records = registry.get("user.wal.records").functionCounter().count();
+        double syncs = registry.get("user.wal.syncs").functionCounter().count();
+        assertEquals(800, records);
+        assertTrue(syncs < records, "Expected group commits, got " + syncs + " fsyncs for 800 records");
+        assertEquals(800, registry.get("user.wal.users").gauge().value());
+        Collections.sort(ids);
+        assertEquals(ids, repository.streamAll().map(User::id).toList());
+    }
+
+    private Path lastSegment() throws IOException {
+        List<Long> segments = WriteAheadLog.segments(directory);
+        return WriteAheadLog.segmentPath(directory, segments.get(segments.size() - 1));
+    }
+
+    private WalUserRepository open(long snapshotInterval) {
+        return open(directory, snapshotInterval);
+    }
+
+    static WalUserRepository open(Path directory, long snapshotInterval) {
+        UserProperties properties = new UserProperties();
+        properties.getWal().setDirectory(directory);
+        properties.getWal().setSnapshotInterval(snapshotInterval);
+        return new WalUserRepository(properties);
+    }
+
+    static User user(String username) {
+        return new User(null, username, LocalDate.of(1990, 1, 1), "France", "0612345678", "Male");
+    }
+}
@@ -0,0 +1,201 @@
+package com.flaviolcord.user.registry.infrastructure.ratelimit;
+
+import com.flaviolcord.user.registry.util.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private FilterChain chain;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        chain = mock(FilterChain.class);
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void doFilter_registrationOverBudget_shouldReturnTooManyRequestsWithRetryAfter() throws Exception {
+        RateLimitFilter filter = filter(1, 0);
+
+        MockHttpServletResponse admitted = perform(filter, "POST", "/api/v1/users", "partner");
+        MockHttpServletResponse rejected = perform(filter, "POST", "/api/v1/users", "partner");
+
+        assertEquals(200, admitted.getStatus());
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getContentAsString().contains("\"status\":429"));
+        verify(chain, times(1)).doFilter(any(), any());
+        assertEquals(1, counter("registration", "admitted"));
+        assertEquals(1, counter("registration", "rate_limited"));
+    }
+
+    @Test
+    void doFilter_shouldKeepSeparateBudgetsForRegistrationsAndLookupsAndClients() throws Exception {
+        RateLimitFilter filter = filter(1, 0);
+
+        perform(filter, "POST", "/api/v1/users", "partner");
+
+        assertEquals(200, perform(filter, "GET", "/api/v1/users/1", "partner").getStatus());
+        assertEquals(200, perform(filter, "POST", "/api/v1/users", "other").getStatus());
+        assertEquals(200, perform(filter, "POST", "/api/v1/users/batch", "partner").getStatus());
+    }
+
+    @Test
+    void doFilter_withoutClientHeader_shouldLimitByRemoteAddress() throws Exception {
+        RateLimitFilter filter = filter(1, 0);
+
+        perform(filter, "POST", "/api/v1/users", null);
+
+        assertEquals(429, perform(filter, "POST", "/api/v1/users", null).getStatus());
+    }
+
+    @Test
+    void doFilter_fromUntrustedAddress_shouldIgnoreClientHeader() throws Exception {
+        RateLimitFilter filter = filter(1, 0);
+
+        MockHttpServletRequest first = request("POST", "/api/v1/users", "first");
+        first.setRemoteAddr("203.0.113.7");
+        filter.doFilter(first, new MockHttpServletResponse(), chain);
+        MockHttpServletRequest second = request("POST", "/api/v1/users", "second");
+        second.setRemoteAddr("203.0.113.7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(second, response, chain);
+
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void clientOf_shouldTrustClientHeaderOnlyFromTrustedProxiesOrAuthenticatedPrincipals() {
+        RateLimitFilter filter = filter(1, 0);
+        MockHttpServletRequest proxied = request("GET", "/api/v1/users/1", "partner");
+        MockHttpServletRequest direct = request("GET", "/api/v1/users/1", "partner");
+        direct.setRemoteAddr("203.0.113.7");
+        MockHttpServletRequest authenticated = request("GET", "/api/v1/users/1", "partner");
+        authenticated.setRemoteAddr("203.0.113.7");
+        authenticated.setUserPrincipal(() -> "partner");
+
+        assertEquals("partner", filter.clientOf(proxied));
+        assertEquals("203.0.113.7", filter.clientOf(direct));
+        assertEquals("partner", filter.clientOf(authenticated));
+    }
+
+    @Test
+    void doFilter_bulkRegistration_shouldChargeOnePermitPerEntry() throws Exception {
+        RateLimitFilter filter = filter(10, 0);
+        FilterChain batchChain = (request, response) -> RateLimitFilter.chargeEntries(request, 10);
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/users/batch", "partner"), first, batchChain);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/api/v1/users/import", "partner"), second, batchChain);
+
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals("2", second.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, counter("bulk", "admitted"));
+        assertEquals(1, counter("bulk", "rate_limited"));
+    }
+
+    @Test
+    void doFilter_overInFlightThreshold_shouldShedWithServiceUnavailable() throws Exception {
+        RateLimitFilter filter = filter(1_000, 1);
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        FilterChain blockingChain = (request, response) ->
+                nested[0] = perform(filter, "GET", "/api/v1/users/2", "other");
+
+        MockHttpServletRequest request = request("GET", "/api/v1/users/1", "partner");
+        filter.doFilter(request, new MockHttpServletResponse(), blockingChain);
+
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("3", nested[0].getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, counter("lookup", "shed"));
+        assertEquals(0, registry.get("user.admission.in.flight").gauge().value());
+    }
+
+    @Test
+    void doFilter_otherPaths_shouldPassThroughUncounted() throws Exception {
+        RateLimitFilter filter = filter(1, 1);
+
+        perform(filter, "GET", "/actuator/health", "partner");
+
+        verify(chain).doFilter(any(ServletRequest.class), any(ServletResponse.class));
+        assertEquals(0, registry.find("user.admission.requests").functionCounters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+    }
+
+    @Test
+    void endpointOf_shouldClassifyRequests() {
+        assertEquals(RateLimitFilter.Endpoint.REGISTRATION, RateLimitFilter.endpointOf("POST", "/api/v1/users"));
+        assertEquals(RateLimitFilter.Endpoint.LOOKUP, RateLimitFilter.endpointOf("GET", "/api/v1/users/42"));
+        assertEquals(RateLimitFilter.Endpoint.OTHER, RateLimitFilter.endpointOf("GET", "/api/v1/users"));
+        assertEquals(RateLimitFilter.Endpoint.OTHER, RateLimitFilter.endpointOf("GET", "/api/v1/users/export"));
+        assertEquals(RateLimitFilter.Endpoint.OTHER, RateLimitFilter.endpointOf("POST", "/api/v1/users/lookup"));
+        assertEquals(RateLimitFilter.Endpoint.BULK, RateLimitFilter.endpointOf("POST", "/api/v1/users/batch"));
+        assertEquals(RateLimitFilter.Endpoint.BULK, RateLimitFilter.endpointOf("POST", "/api/v1/users/import"));
+    }
+
+    @Test
+    void doFilter_withoutLimiters_shouldAdmitEverything() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(null, null, null, "X-Client-Id", List.of(), 0,
+                Duration.ofSeconds(1));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, perform(filter, "POST", "/api/v1/users", "partner").getStatus());
+        }
+    }
+
+    private RateLimitFilter filter(int burst, long maxInFlight) {
+        RateLimitFilter filter = new RateLimitFilter(
+                new TokenBucketRateLimiter(0.5, burst, 100, clock::get),
+                new TokenBucketRateLimiter(0.5, burst, 100, clock::get),
+                new TokenBucketRateLimiter(0.5, burst, 100, clock::get),
+                "X-Client-Id", List.of("127.0.0.1"), maxInFlight, Duration.ofSeconds(3));
+        filter.bindTo(registry);
+        return filter;
+    }
+
+    private MockHttpServletResponse perform(RateLimitFilter filter, String method, String path, String client)
+            throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, path, client), response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (client != null) {
+            request.addHeader("X-Client-Id", client);
+        }
+        return request;
+    }
+
+    private double counter(String endpoint, String outcome) {
+        return registry.get("user.admission.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .functionCounter()
+                .count();
+    }
+}
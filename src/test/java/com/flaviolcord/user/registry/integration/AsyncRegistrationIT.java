@@ -0,0 +1,124 @@
+package com.flaviolcord.user.registry.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.persistence.repository.JpaUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AsyncRegistrationIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JpaUserRepository jpaUserRepository;
+
+    @BeforeEach
+    void setUp() {
+        jpaUserRepository.deleteAll();
+    }
+
+    @Test
+    void registerUserAsync_ShouldAcceptThenCreateTheUser() throws Exception {
+        // Act
+        MvcResult accepted = mockMvc.perform(post("/api/v1/users").param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createUserDTO("asyncuser"))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andReturn();
+
+        // Assert
+        JsonNode status = awaitDone(accepted.getResponse().getHeader(HttpHeaders.LOCATION));
+        assertEquals("CREATED", status.get("status").asText());
+        assertTrue(jpaUserRepository.findById(status.get("user_id").asLong()).isPresent());
+    }
+
+    @Test
+    void registerUserAsync_DuplicateUsername_ShouldReportRejected() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/api/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createUserDTO("asyncuser"))))
+                .andExpect(status().isCreated());
+
+        // Act
+        MvcResult accepted = mockMvc.perform(post("/api/v1/users").param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createUserDTO("asyncuser"))))
+                .andExpect(status().isAccepted())
+                .andReturn();
+
+        // Assert
+        JsonNode status = awaitDone(accepted.getResponse().getHeader(HttpHeaders.LOCATION));
+        assertEquals("REJECTED", status.get("status").asText());
+        assertEquals("Username is already taken", status.get("error").asText());
+    }
+
+    @Test
+    void registerUserAsync_InvalidUser_ShouldBeRejectedBeforeQueueing() throws Exception {
+        UserDTO userDTO = createUserDTO("asyncuser");
+        userDTO.setCountryOfResidence("Brazil");
+
+        mockMvc.perform(post("/api/v1/users").param("async", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(userDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Only residents of France are allowed to register."));
+    }
+
+    @Test
+    void getRegistrationStatus_UnknownId_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/users/registrations/{id}", "00000000-0000-0000-0000-000000000000"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Registration not found"));
+    }
+
+    private JsonNode awaitDone(String statusUrl) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            String body = mockMvc.perform(get(statusUrl))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode status = objectMapper.readTree(body);
+            if (!"PENDING".equals(status.get("status").asText())) {
+                return status;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Registration was not processed: " + statusUrl);
+    }
+
+    private static UserDTO createUserDTO(String username) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername(username);
+        userDTO.setBirthdate(LocalDate.now().minusYears(20));
+        userDTO.setCountryOfResidence("France");
+        return userDTO;
+    }
+}
@@ -0,0 +1,59 @@
+package com.flaviolcord.user.registry.integration;
+
+import com.flaviolcord.user.registry.application.service.UserService;
+import com.flaviolcord.user.registry.domain.model.User;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class VirtualThreadPinningIT {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void registrationAndLookup_OnVirtualThreads_ShouldNotPin() throws Exception {
+        // Arrange: record every park of a virtual thread that holds a monitor
+        Path file = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            // Act: more concurrent callers than pooled connections, so callers wait for a connection
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                IntStream.range(0, 200).forEach(i -> executor.submit(() -> {
+                    User user = userService.registerUser(
+                            new User(null, "pinning" + i, LocalDate.now().minusYears(20), "France", null, null));
+                    userService.findUserById(user.id());
+                    userService.registerUsers(List.of(
+                            new User(null, "pinningbatch" + i, LocalDate.now().minusYears(20), "France", null, null)));
+                    return null;
+                }));
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        assertTrue(events.isEmpty(), () -> "Virtual threads were pinned:\n" + events);
+    }
+}
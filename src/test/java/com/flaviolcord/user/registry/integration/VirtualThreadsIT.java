@@ -0,0 +1,33 @@
+package com.flaviolcord.user.registry.integration;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+class VirtualThreadsIT {
+
+    @Autowired
+    private ServletWebServerApplicationContext context;
+
+    @Test
+    void virtualThreadsEnabled_ShouldHandleRequestsOnVirtualThreads() {
+        // Arrange
+        Connector connector = ((TomcatWebServer) context.getWebServer()).getTomcat().getConnector();
+
+        // Act
+        Object executor = connector.getProtocolHandler().getExecutor();
+
+        // Assert
+        assertInstanceOf(VirtualThreadExecutor.class, executor);
+    }
+}
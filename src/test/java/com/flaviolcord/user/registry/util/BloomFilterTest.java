@@ -0,0 +1,83 @@
+package com.flaviolcord.user.registry.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testMightContain_addedValues() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+        IntStream.range(0, 1_000).forEach(i -> filter.put("user" + i));
+
+        assertTrue(IntStream.range(0, 1_000).allMatch(i -> filter.mightContain("user" + i)));
+    }
+
+    @Test
+    void testMightContain_emptyFilter() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+        assertFalse(filter.mightContain("user"));
+        assertEquals(0, filter.approximateElementCount());
+        assertEquals(0.0, filter.expectedFalsePositiveProbability());
+    }
+
+    @Test
+    void testFalsePositiveRate_withinTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("user" + i));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("other" + i))
+                .count();
+
+        assertTrue(falsePositives / 100_000.0 < 0.02, "False-positive rate too high: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveProbability() < 0.02);
+    }
+
+    @Test
+    void testPut_reportsWhetherBitsChanged() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+        assertTrue(filter.put("user"));
+        assertFalse(filter.put("user"));
+        assertEquals(1, filter.approximateElementCount());
+    }
+
+    @Test
+    void testSizing() {
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+
+        // ~9.6 bits per value and 7 hash functions for a 1% target
+        assertEquals(7, filter.hashFunctions());
+        assertTrue(filter.bitSize() >= 9_585_059);
+        assertEquals(filter.bitSize() / 8, filter.sizeInBytes());
+    }
+
+    @Test
+    void testConcurrentPuts() throws InterruptedException {
+        BloomFilter filter = BloomFilter.create(40_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int offset = t * 10_000;
+            executor.execute(() -> IntStream.range(offset, offset + 10_000).forEach(i -> filter.put("user" + i)));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertTrue(IntStream.range(0, 40_000).allMatch(i -> filter.mightContain("user" + i)));
+    }
+
+    @Test
+    void testCreate_invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(1_000, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(1_000, 1));
+    }
+}
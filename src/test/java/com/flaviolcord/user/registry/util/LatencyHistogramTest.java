@@ -0,0 +1,68 @@
+package com.flaviolcord.user.registry.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void valueAtPercentile_shouldStayWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.rangeClosed(1, 100_000).forEach(i -> histogram.record(i * 1_000L));
+
+        assertWithinError(50_000_000L, histogram.valueAtPercentile(50));
+        assertWithinError(99_000_000L, histogram.valueAtPercentile(99));
+        assertWithinError(99_900_000L, histogram.valueAtPercentile(99.9));
+        assertEquals(100_000_000L, histogram.valueAtPercentile(100));
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000_000L, histogram.max());
+        assertEquals(50_000_500.0, histogram.mean(), 0.001);
+    }
+
+    @Test
+    void valueAtPercentile_shouldBeExactForSmallValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(-5);
+
+        assertEquals(0, histogram.valueAtPercentile(0));
+        assertEquals(3, histogram.valueAtPercentile(50));
+        assertEquals(7, histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void record_shouldCapValuesAboveTrackableRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(Long.MAX_VALUE, histogram.max());
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_VALUE, histogram.valueAtPercentile(50));
+    }
+
+    @Test
+    void emptyHistogram_shouldReportZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.valueAtPercentile(99));
+        assertEquals(0, histogram.mean());
+        assertThrows(IllegalArgumentException.class, () -> histogram.valueAtPercentile(101));
+    }
+
+    @Test
+    void bucketBounds_shouldCoverEveryValueOnce() {
+        for (long value = 0; value < 100_000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.highestValueInBucket(index) >= value);
+            assertTrue(index == 0 || LatencyHistogram.highestValueInBucket(index - 1) < value);
+        }
+    }
+
+    private static void assertWithinError(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected * 1.04,
+                () -> "Expected ~" + expected + " but was " + actual);
+    }
+}
@@ -1,9 +1,15 @@
 package com.flaviolcord.user.registry.util;
 
+import com.flaviolcord.user.registry.domain.model.User;
+import com.flaviolcord.user.registry.infrastructure.dto.UserDTO;
+import com.flaviolcord.user.registry.infrastructure.persistence.UserEntity;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -106,4 +112,55 @@ class SensitiveDataSanitizerTest {
         String expected = "Th****";;
         assertEquals(expected, SensitiveDataSanitizer.sanitizeArg(longString));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSanitizeArg_sameOutputAsReflectiveImplementation() {
+        // sensitive class with a static field, a primitive field and a nested sensitive object
+        class UserHolder {
+            static final String PREFIX = "holder";
+            private final int attempts = 3;
+            private final User user = new User(7L, "john_doe", LocalDate.of(1990, 5, 17), "France", "33612345678", "Female");
+            private final Object nothing = null;
+        }
+
+        UserDTO userDTO = new UserDTO();
+        userDTO.setUsername("jane_doe");
+        userDTO.setBirthdate(LocalDate.of(1985, 12, 31));
+        userDTO.setPhoneNumber("123456789");
+
+        List<Object> values = new ArrayList<>(List.of(
+                new UserHolder(),
+                userDTO,
+                new UserEntity(1L, "entity", LocalDate.of(2000, 2, 29), "France", "0612345678", "Other", null),
+                new Object[]{"x", 1.5, List.of(), new Object[]{}},
+                Set.of("12345678901"),
+                Map.of("key", "value"),
+                "a".repeat(150),
+                "１２３４５６７８９０",
+                "0",
+                ""
+        ));
+        values.add(null);
+
+        for (Object value : values) {
+            assertEquals(LegacySensitiveDataSanitizer.sanitizeArg(value), SensitiveDataSanitizer.sanitizeArg(value));
+        }
+        assertEquals(LegacySensitiveDataSanitizer.sanitizeArgs(values.toArray()),
+                SensitiveDataSanitizer.sanitizeArgs(values.toArray()));
+    }
+
+    @Test
+    void testSanitizeArg_longNonSensitiveObject() {
+        record Note(String text) { }
+        Note note = new Note("n".repeat(200));
+
+        assertEquals(note.toString().substring(0, 100) + "...", SensitiveDataSanitizer.sanitizeArg(note));
+    }
+
+    @Test
+    void testSanitizeArg_primitiveArrayIsNotExpanded() {
+        char[] secret = {'1', '2', '3'};
+
+        assertEquals(secret.toString(), SensitiveDataSanitizer.sanitizeArg(secret));
+    }
+}
@@ -0,0 +1,147 @@
+package com.flaviolcord.user.registry.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final AtomicLong clock = new AtomicLong(EPOCH.toEpochMilli() + 10_000);
+
+    @Test
+    void nextId_shouldEncodeTimestampNodeAndSequence() {
+        SnowflakeIdGenerator generator = generator(42);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        assertTrue(first > 0);
+        assertEquals(first + 1, second);
+        assertEquals(42, SnowflakeIdGenerator.nodeIdOf(first));
+        assertEquals(EPOCH.plusMillis(10_000), SnowflakeIdGenerator.timestampOf(first, EPOCH));
+    }
+
+    @Test
+    void nextId_shouldOrderIdsByTimeAcrossNodes() {
+        SnowflakeIdGenerator node1 = generator(1);
+        SnowflakeIdGenerator node2 = generator(2);
+
+        long earlier = node2.nextId();
+        clock.incrementAndGet();
+        long later = node1.nextId();
+
+        assertTrue(later > earlier);
+        assertNotEquals(SnowflakeIdGenerator.nodeIdOf(earlier), SnowflakeIdGenerator.nodeIdOf(later));
+    }
+
+    @Test
+    void nextId_shouldWaitForNextMillisecondWhenSequenceIsExhausted() {
+        AtomicLong reads = new AtomicLong();
+        // The clock only moves on once the sequence is used up and the generator has asked a few more times
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, EPOCH, Duration.ofSeconds(1),
+                () -> reads.incrementAndGet() > 4100 ? clock.get() + 1 : clock.get());
+
+        long last = 0;
+        for (int i = 0; i < 4097; i++) {
+            long id = generator.nextId();
+            assertTrue(id > last);
+            last = id;
+        }
+
+        assertEquals(EPOCH.plusMillis(10_001), SnowflakeIdGenerator.timestampOf(last, EPOCH));
+        assertEquals(0, last & 4095);
+        assertTrue(reads.get() > 4100);
+    }
+
+    @Test
+    void nextId_afterExhaustedSequence_shouldNotReportClockRegression() {
+        AtomicLong reads = new AtomicLong();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, EPOCH, Duration.ZERO,
+                () -> reads.incrementAndGet() > 4100 ? clock.get() + 1 : clock.get());
+
+        for (int i = 0; i < 4097; i++) {
+            generator.nextId();
+        }
+
+        assertDoesNotThrow(generator::nextId);
+    }
+
+    @Test
+    void nextId_shouldKeepIncreasingWhenClockMovesBackWithinTolerance() {
+        SnowflakeIdGenerator generator = generator(0);
+        long before = generator.nextId();
+
+        clock.addAndGet(-500);
+        long after = generator.nextId();
+
+        assertTrue(after > before);
+    }
+
+    @Test
+    void nextId_shouldFailWhenClockMovesBackBeyondTolerance() {
+        SnowflakeIdGenerator generator = generator(0);
+        generator.nextId();
+
+        clock.addAndGet(-1_001);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, generator::nextId);
+        assertTrue(exception.getMessage().startsWith("Clock moved backwards by 1001 ms"));
+
+        clock.addAndGet(1_001);
+        assertDoesNotThrow(generator::nextId);
+    }
+
+    @Test
+    void nextId_shouldFailBeforeEpoch() {
+        clock.set(EPOCH.toEpochMilli() - 1);
+
+        assertThrows(IllegalStateException.class, () -> generator(0).nextId());
+    }
+
+    @Test
+    void constructor_shouldRejectNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> generator(-1));
+        assertThrows(IllegalArgumentException.class, () -> generator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    void nextId_shouldBeUniqueAcrossThreads() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, EPOCH, Duration.ofSeconds(1));
+
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < 10_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                    return ids;
+                }));
+            }
+        }
+
+        Set<Long> unique = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            unique.addAll(future.get());
+        }
+        assertEquals(40_000, unique.size());
+    }
+
+    private SnowflakeIdGenerator generator(long nodeId) {
+        return new SnowflakeIdGenerator(nodeId, EPOCH, Duration.ofSeconds(1), clock::get);
+    }
+}
@@ -0,0 +1,96 @@
+package com.flaviolcord.user.registry.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(42 * SECOND);
+
+    @Test
+    void tryAcquire_shouldAdmitBurstThenReportWaitUntilNextPermit() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 100, clock::get);
+
+        IntStream.range(0, 5).forEach(i -> assertEquals(0, limiter.tryAcquire("client")));
+
+        assertEquals(SECOND / 10, limiter.tryAcquire("client"));
+    }
+
+    @Test
+    void tryAcquire_shouldRefillAtTheConfiguredRate() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 100, clock::get);
+        IntStream.range(0, 5).forEach(i -> limiter.tryAcquire("client"));
+
+        clock.addAndGet(SECOND / 5);
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertTrue(limiter.tryAcquire("client") > 0);
+    }
+
+    @Test
+    void charge_shouldRefuseTheClientUntilTheDebtIsRefilled() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 5, 100, clock::get);
+        assertEquals(0, limiter.tryAcquire("client"));
+
+        limiter.charge("client", 9);
+
+        assertEquals(SECOND * 6 / 10, limiter.tryAcquire("client"));
+        clock.addAndGet(SECOND * 6 / 10);
+        assertEquals(0, limiter.tryAcquire("client"));
+    }
+
+    @Test
+    void tryAcquire_shouldKeepSeparateBudgetsPerClient() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("first"));
+        assertTrue(limiter.tryAcquire("first") > 0);
+        assertEquals(0, limiter.tryAcquire("second"));
+    }
+
+    @Test
+    void tryAcquire_shouldForgetClientsWithFullBucketsBeyondMaxClients() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 1, clock::get);
+        IntStream.range(0, 1_000).forEach(i -> limiter.tryAcquire("client" + i));
+
+        clock.addAndGet(2 * SECOND);
+        limiter.tryAcquire("last");
+
+        assertTrue(limiter.trackedClients() < 1_000, "Idle clients were kept: " + limiter.trackedClients());
+    }
+
+    @Test
+    void tryAcquire_concurrentCallers_shouldNotAdmitMoreThanTheBurst() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 100, 100, clock::get);
+        LongAdder admitted = new LongAdder();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        IntStream.range(0, 1_000).forEach(i -> executor.submit(() -> {
+            if (limiter.tryAcquire("client") == 0) {
+                admitted.increment();
+            }
+        }));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, admitted.sum());
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(1, 1, 0));
+    }
+}